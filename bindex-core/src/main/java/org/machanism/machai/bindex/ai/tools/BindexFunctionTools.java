@@ -6,7 +6,10 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -218,56 +221,79 @@ public class BindexFunctionTools implements FunctionTools {
 	}
 
 	/**
-	 * Functional AI Tool that registers a Bindex record from a file in the
-	 * project directory or from a remote URL.
+	 * Functional AI Tool that registers Bindex records from files in the project
+	 * directory or from remote URLs.
+	 * <p>
+	 * Several locations may be given separated by commas; all records are then
+	 * embedded and stored together with {@link Picker#saveAll(List)}.
+	 * </p>
 	 *
-	 * @param path         The path of the Bindex file to register (must exist in
-	 *                     the project directory). Default: "bindex.json".
+	 * @param path         The paths or URLs of the Bindex files to register,
+	 *                     separated by commas (files must exist in the project
+	 *                     directory). Default: "bindex.json".
 	 * @param projectDir   The project directory.
 	 * @param configurator The configuration object.
-	 * @return The unique record ID assigned by the configured picker.
-	 * @throws FileNotFoundException If the specified file does not exist.
-	 * @throws IOException           If there is an error reading the file.
+	 * @return The Bindex IDs of the registered entries, separated by commas.
+	 * @throws FileNotFoundException If a specified file does not exist.
+	 * @throws IOException           If there is an error reading a file.
 	 */
-	@Tool(name = "register_bindex", description = "Registers a Bindex JSON object either at the specified URL or from a file located in the project directory. "
-			+ "Upon success, the Bindex ID is returned. Use this tool to add new or update existing Bindex metadata for your project, improving library search and integration.")
+	@Tool(name = "register_bindex", concurrent = false, description = "Registers Bindex JSON objects either at the specified URLs or from files located in the project directory. "
+			+ "Several locations may be separated by commas; they are registered in one batch. "
+			+ "Upon success, the Bindex IDs are returned. Use this tool to add new or update existing Bindex metadata for your project, improving library search and integration.")
 	public String registerBindex(
-			@Param(name = "bindex_file_path", description = "The path of the Bindex file to register (must exist in the project directory) or URL.", defaultValue = BINDEX_JSON_FILE_NAME) String path,
+			@Param(name = "bindex_file_path", description = "The path of the Bindex file to register (must exist in the project directory) or URL. Separate several paths or URLs with commas.", defaultValue = BINDEX_JSON_FILE_NAME) String path,
 			File projectDir,
 			Configurator configurator) throws IOException {
 
-		Bindex bindex = null;
+		List<Bindex> bindexes = new ArrayList<>();
+		for (String location : StringUtils.split(path, ',')) {
+			if (StringUtils.isNotBlank(location)) {
+				Bindex bindex = readBindex(location.trim(), projectDir);
+				bindex.set$schema(BINDEX_SCHEMA);
+				bindexes.add(bindex);
+			}
+		}
+
+		Picker picker = new Picker(getBindexRepository(configurator), configurator);
+		List<String> recordIds = picker.saveAll(bindexes);
+
+		return String.join(", ", recordIds);
+	}
+
+	/**
+	 * Reads a Bindex record from a URL or from a file in the project directory.
+	 *
+	 * @param path       URL, or path of a file inside the project directory
+	 * @param projectDir the project directory, required for file paths
+	 * @return the Bindex record
+	 * @throws IOException              if the record cannot be read
+	 * @throws IllegalArgumentException if a file path is used without a project
+	 *                                  directory or points outside of it
+	 */
+	private Bindex readBindex(String path, File projectDir) throws IOException {
 		if (Strings.CS.startsWithAny(path, "http://", "https://")) {
 			URL bindexFile = new URL(path);
-			bindex = new ObjectMapper().readValue(bindexFile, Bindex.class);
+			return new ObjectMapper().readValue(bindexFile, Bindex.class);
+		}
+
+		if (projectDir == null) {
+			throw new IllegalArgumentException(
+					"Project directory is not defined in the environment. Only registration by URL is supported in this context.");
+		}
 
+		File bindexFile = new File(path);
+		if (!bindexFile.isAbsolute()) {
+			bindexFile = new File(projectDir, path);
 		} else {
-			if (projectDir == null) {
+			String relativ = projectDir.toURI().relativize(new File(path).toURI()).getPath();
+			if (new File(relativ).isAbsolute()) {
 				throw new IllegalArgumentException(
-						"Project directory is not defined in the environment. Only registration by URL is supported in this context.");
-			}
-
-			File bindexFile = new File(path);
-			if (!bindexFile.isAbsolute()) {
-				bindexFile = new File(projectDir, path);
-			} else {
-				String relativ = projectDir.toURI().relativize(new File(path).toURI()).getPath();
-				if (new File(relativ).isAbsolute()) {
-					throw new IllegalArgumentException(
-							"The 'path' parameter must be specified as a relative path within the project directory.");
-				}
-				bindexFile = new File(projectDir, relativ);
+						"The 'path' parameter must be specified as a relative path within the project directory.");
 			}
-
-			bindex = new ObjectMapper().readValue(bindexFile, Bindex.class);
+			bindexFile = new File(projectDir, relativ);
 		}
 
-		bindex.set$schema(BINDEX_SCHEMA);
-
-		Picker picker = new Picker(getBindexRepository(configurator), configurator);
-		String recordId = picker.save(bindex);
-
-		return recordId;
+		return new ObjectMapper().readValue(bindexFile, Bindex.class);
 	}
 
 	/**
@@ -277,15 +303,14 @@ public class BindexFunctionTools implements FunctionTools {
 	 * @param configurator The configuration object.
 	 * @return The unique Bindex ID assigned to the registered entry.
 	 */
-	@Tool(name = "register_bindex_json", description = "Registers a Bindex JSON object and returns the bindexId on successful registration.")
+	@Tool(name = "register_bindex_json", concurrent = false, description = "Registers a Bindex JSON object and returns the bindexId on successful registration.")
 	public String registerBindexJson(
 			@Param(name = "bindex_json", description = "The Bindex JSON object to register.") Bindex bindex,
 			Configurator configurator) {
 		Picker picker = new Picker(getBindexRepository(configurator), configurator);
 		bindex.set$schema(BINDEX_SCHEMA);
 
-		String bindexId = picker.save(bindex);
-		return bindexId;
+		return picker.saveAll(Collections.singletonList(bindex)).get(0);
 	}
 
 	/**
@@ -1,5 +1,6 @@
 package org.machanism.machai.bindex.core;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -62,4 +63,30 @@ public interface BindexRepository {
 	 */
 	String save(Bindex bindex, List<Double> embeddingBson);
 
-}
\ No newline at end of file
+	/**
+	 * Saves several {@link Bindex} entries to the repository, along with their
+	 * embedding vectors.
+	 * <p>
+	 * The default implementation calls {@link #save(Bindex, List)} for each
+	 * entry. Repositories that support bulk writes override it to store all
+	 * entries in one request.
+	 * </p>
+	 *
+	 * @param bindexes   the {@link Bindex} objects to save
+	 * @param embeddings the embedding vectors, one per entry in the same order
+	 * @return the unique identifiers assigned to the saved entries, in input order
+	 * @since 1.3.3
+	 */
+	default List<String> saveAll(List<Bindex> bindexes, float[][] embeddings) {
+		List<String> ids = new ArrayList<>(bindexes.size());
+		for (int i = 0; i < bindexes.size(); i++) {
+			List<Double> embedding = new ArrayList<>(embeddings[i].length);
+			for (float value : embeddings[i]) {
+				embedding.add((double) value);
+			}
+			ids.add(save(bindexes.get(i), embedding));
+		}
+		return ids;
+	}
+
+}
@@ -38,6 +38,7 @@ import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Aggregates;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Projections;
+import com.mongodb.client.result.InsertManyResult;
 import com.mongodb.client.result.InsertOneResult;
 
 /**
@@ -274,46 +275,112 @@ public class MongoBindexRepository implements BindexRepository {
 		if (bindex == null) {
 			throw new IllegalArgumentException("bindex must not be null");
 		}
+		BsonArray vector = new BsonArray(embedding.stream().map(BsonDouble::new).collect(Collectors.toList()));
 		try {
-			ObjectMapper objectMapper = new ObjectMapper();
-			String bindexJson = objectMapper.writeValueAsString(bindex);
-			String id = bindex.getId();
-			collection.deleteOne(Filters.eq(ID_FIELD_NAME, id));
+			Document bindexDocument = toDocument(bindex, vector);
+			collection.deleteOne(Filters.eq(ID_FIELD_NAME, bindex.getId()));
+			InsertOneResult result = collection.insertOne(bindexDocument);
+			return result.getInsertedId().asObjectId().getValue().toString();
 
-			Classification classification = bindex.getClassification();
-			Set<String> languages = classification.getLanguages().stream().map(Picker::getNormalizedLanguageName)
-					.distinct()
-					.collect(Collectors.toSet());
-			Set<String> integrations = classification.getIntegrations().stream().map(String::toLowerCase).distinct()
-					.collect(Collectors.toSet());
+		} catch (MongoCommandException e) {
+			reportMissingPassword();
+			throw e;
+		}
+	}
 
-			if (languages.isEmpty()) {
-				logger.warn("No language defined for: {}.", id);
+	/**
+	 * Registers or replaces several Bindex entries with one delete and one insert
+	 * request.
+	 *
+	 * @param bindexes   the Bindex definitions to persist
+	 * @param embeddings the embedding vectors, one per entry in the same order
+	 * @return the inserted MongoDB identifiers as strings, in input order
+	 * @throws IllegalArgumentException if a Bindex or its classification cannot
+	 *                                  be serialized
+	 */
+	@Override
+	public List<String> saveAll(List<Bindex> bindexes, float[][] embeddings) {
+		if (bindexes.isEmpty()) {
+			return new ArrayList<>();
+		}
+		List<Document> documents = new ArrayList<>(bindexes.size());
+		List<String> ids = new ArrayList<>(bindexes.size());
+		for (int i = 0; i < bindexes.size(); i++) {
+			Bindex bindex = bindexes.get(i);
+			if (bindex == null) {
+				throw new IllegalArgumentException("bindex must not be null");
 			}
+			List<BsonDouble> values = new ArrayList<>(embeddings[i].length);
+			for (float value : embeddings[i]) {
+				values.add(new BsonDouble(value));
+			}
+			documents.add(toDocument(bindex, new BsonArray(values)));
+			ids.add(bindex.getId());
+		}
 
-			Document bindexDocument = new Document(BINDEX_PROP_NAME, bindexJson)
-					.append(NAME_FIELD_NAME, bindex.getName())
-					.append(VERSION_FIELD_NAME, bindex.getVersion())
-					.append(DESCRIPTION_FIELD_NAME, bindex.getDescription())
-					.append(DOMAINS_PROP_NAME, classification.getDomains())
-					.append(LAYERS_PROP_NAME, classification.getLayers()).append(LANGUAGES_PROP_NAME, languages)
-					.append(INTEGRATIONS_PROP_NAME, integrations)
-					.append(CLASSIFICATION_EMBEDDING_PROP_NAME,
-							new BsonArray(embedding.stream().map(BsonDouble::new).collect(Collectors.toList())))
-					.append(ID_FIELD_NAME, bindex.getId());
-
-			InsertOneResult result = collection.insertOne(bindexDocument);
-			return result.getInsertedId().asObjectId().getValue().toString();
+		try {
+			collection.deleteMany(Filters.in(ID_FIELD_NAME, ids));
+			InsertManyResult result = collection.insertMany(documents);
+			List<String> recordIds = new ArrayList<>(documents.size());
+			for (int i = 0; i < documents.size(); i++) {
+				recordIds.add(result.getInsertedIds().get(i).asObjectId().getValue().toString());
+			}
+			return recordIds;
 
 		} catch (MongoCommandException e) {
-			String bindexRegPassword = System.getenv(MongoBindexRepository.BINDEX_PASSWORD_PROP_NAME);
-			if (bindexRegPassword == null || bindexRegPassword.isEmpty()) {
-				logger.error("To register a Bindex, the BINDEX_REG_PASSWORD env property is required.");
-			}
+			reportMissingPassword();
 			throw e;
+		}
+	}
+
+	/**
+	 * Builds the MongoDB document stored for a Bindex entry.
+	 *
+	 * @param bindex the Bindex definition to persist
+	 * @param vector the embedding vector associated with the Bindex entry
+	 * @return the document to insert
+	 * @throws IllegalArgumentException if the Bindex cannot be serialized
+	 */
+	private Document toDocument(Bindex bindex, BsonArray vector) {
+		String bindexJson;
+		try {
+			bindexJson = new ObjectMapper().writeValueAsString(bindex);
 		} catch (JsonProcessingException e) {
 			throw new IllegalArgumentException(e);
 		}
+		String id = bindex.getId();
+
+		Classification classification = bindex.getClassification();
+		Set<String> languages = classification.getLanguages().stream().map(Picker::getNormalizedLanguageName)
+				.distinct()
+				.collect(Collectors.toSet());
+		Set<String> integrations = classification.getIntegrations().stream().map(String::toLowerCase).distinct()
+				.collect(Collectors.toSet());
+
+		if (languages.isEmpty()) {
+			logger.warn("No language defined for: {}.", id);
+		}
+
+		return new Document(BINDEX_PROP_NAME, bindexJson)
+				.append(NAME_FIELD_NAME, bindex.getName())
+				.append(VERSION_FIELD_NAME, bindex.getVersion())
+				.append(DESCRIPTION_FIELD_NAME, bindex.getDescription())
+				.append(DOMAINS_PROP_NAME, classification.getDomains())
+				.append(LAYERS_PROP_NAME, classification.getLayers()).append(LANGUAGES_PROP_NAME, languages)
+				.append(INTEGRATIONS_PROP_NAME, integrations)
+				.append(CLASSIFICATION_EMBEDDING_PROP_NAME, vector)
+				.append(ID_FIELD_NAME, id);
+	}
+
+	/**
+	 * Logs a hint when a write was rejected and no registration password is
+	 * configured.
+	 */
+	private void reportMissingPassword() {
+		String bindexRegPassword = System.getenv(MongoBindexRepository.BINDEX_PASSWORD_PROP_NAME);
+		if (bindexRegPassword == null || bindexRegPassword.isEmpty()) {
+			logger.error("To register a Bindex, the BINDEX_REG_PASSWORD env property is required.");
+		}
 	}
 
 	/**
@@ -1,8 +1,10 @@
 package org.machanism.machai.bindex.core;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -12,8 +14,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.machanism.macha.core.commons.configurator.Configurator;
 import org.machanism.machai.ai.manager.GenaiProviderManager;
+import org.machanism.machai.ai.provider.CachingEmbeddingProvider;
+import org.machanism.machai.ai.provider.EmbeddingCache;
 import org.machanism.machai.ai.provider.EmbeddingProvider;
 import org.machanism.machai.ai.provider.Genai;
+import org.machanism.machai.project.layout.ProjectLayout;
 import org.machanism.machai.schema.Bindex;
 import org.machanism.machai.schema.Classification;
 import org.machanism.machai.schema.Language;
@@ -61,6 +66,15 @@ public class Picker {
 	/** Configuration property selecting the GenAI model used for classification. */
 	private static final String MODEL_PROP_NAME = "pick.model";
 
+	/**
+	 * Configuration property that enables the persistent embedding cache under
+	 * {@link ProjectLayout#getTempDir()}. Enabled by default.
+	 */
+	public static final String EMBEDDING_CACHE_PROP_NAME = "embedding.cache";
+
+	/** Name of the embedding cache directory inside the temporary directory. */
+	private static final String EMBEDDING_CACHE_DIR_NAME = "embeddings";
+
 	/** Configuration used to select AI and embedding providers. */
 	private Configurator configurator;
 	/** Repository used for Bindex persistence and semantic search. */
@@ -107,6 +121,50 @@ public class Picker {
 		}
 	}
 
+	/**
+	 * Saves several {@link Bindex} entries, generating their embedding vectors
+	 * with batched embedding requests.
+	 * <p>
+	 * All classifications are embedded through
+	 * {@link EmbeddingProvider#embeddings(List, long)} and the entries are stored
+	 * with {@link BindexRepository#saveAll(List, float[][])}, so registering many
+	 * entries takes a few requests instead of two per entry.
+	 * </p>
+	 *
+	 * @param bindexes the {@link Bindex} objects to save
+	 * @return the identifiers of the saved entries, in input order
+	 * @throws IllegalArgumentException if a classification is missing or cannot
+	 *                                  be serialized
+	 */
+	public List<String> saveAll(List<Bindex> bindexes) {
+		List<String> texts = new ArrayList<>(bindexes.size());
+		for (Bindex bindex : bindexes) {
+			Classification classification = bindex.getClassification();
+			if (classification == null) {
+				throw new IllegalArgumentException("classification must not be null");
+			}
+			try {
+				texts.add(getClassificationText(classification));
+			} catch (JsonProcessingException e) {
+				throw new IllegalArgumentException(
+						"Failed to serialize classification embedding for Bindex ID: " + bindex.getId(), e);
+			}
+		}
+
+		EmbeddingProvider embeddingProvider = getEmbeddingProvider(configurator);
+		float[][] vectors = embeddingProvider.embeddings(texts, dimensions);
+		List<String> recordIds = bindexRepository.saveAll(bindexes, vectors);
+
+		List<String> ids = new ArrayList<>(bindexes.size());
+		for (int i = 0; i < bindexes.size(); i++) {
+			Bindex bindex = bindexes.get(i);
+			logger.debug("Successfully registered Bindex [ID: {}] in repository under database record [ID: {}]",
+					bindex.getId(), recordIds.get(i));
+			ids.add(bindex.getId());
+		}
+		return ids;
+	}
+
 	/**
 	 * Recommends a list of {@link Bindex} entries based on the provided prompt and
 	 * minimum score.
@@ -131,8 +189,7 @@ public class Picker {
 			throws IOException {
 		String classificationStr = getClassification(prompt, configurator);
 
-		String embeddingModel = configurator.get("embedding.model");
-		EmbeddingProvider embeddingProvider = GenaiProviderManager.getEmbeddingProvider(embeddingModel, configurator);
+		EmbeddingProvider embeddingProvider = getEmbeddingProvider(configurator);
 
 		List<Double> embedding = embeddingProvider.embedding(classificationStr, dimensions);
 
@@ -167,13 +224,40 @@ public class Picker {
 			throw new IllegalArgumentException("classification must not be null");
 		}
 		String text = getClassificationText(classification);
-		String embeddingModel = configurator.get("embedding.model");
 
-		EmbeddingProvider embeddingProvider = GenaiProviderManager.getEmbeddingProvider(embeddingModel, configurator);
+		EmbeddingProvider embeddingProvider = getEmbeddingProvider(configurator);
 		List<Double> descEmbedding = embeddingProvider.embedding(text, dimensions);
 		return descEmbedding;
 	}
 
+	/**
+	 * Creates the configured embedding provider, backed by the persistent
+	 * embedding cache unless {@value #EMBEDDING_CACHE_PROP_NAME} is {@code false}.
+	 * <p>
+	 * Unchanged classifications are therefore embedded only once across runs. If
+	 * the cache cannot be opened (for example, because another process holds it),
+	 * the provider is used without caching.
+	 * </p>
+	 *
+	 * @param configurator the configuration selecting the embedding model
+	 * @return the embedding provider
+	 */
+	private EmbeddingProvider getEmbeddingProvider(Configurator configurator) {
+		String embeddingModel = configurator.get("embedding.model");
+		EmbeddingProvider embeddingProvider = GenaiProviderManager.getEmbeddingProvider(embeddingModel, configurator);
+
+		if (embeddingProvider != null && configurator.getBoolean(EMBEDDING_CACHE_PROP_NAME, true)) {
+			try {
+				EmbeddingCache cache = EmbeddingCache
+						.open(new File(ProjectLayout.getTempDir(), EMBEDDING_CACHE_DIR_NAME));
+				embeddingProvider = new CachingEmbeddingProvider(embeddingProvider, embeddingModel, cache);
+			} catch (IOException e) {
+				logger.warn("Embedding cache is not available: {}", e.getMessage());
+			}
+		}
+		return embeddingProvider;
+	}
+
 	/**
 	 * Serializes a classification into JSON text for prompt and embedding
 	 * generation.
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -71,7 +72,7 @@ class BindexFunctionToolsTest {
         BindexFunctionTools tools = new BindexFunctionTools();
         setRepository(tools, mock(BindexRepository.class));
         try (MockedConstruction<Picker> ignored = org.mockito.Mockito.mockConstruction(Picker.class,
-                (picker, context) -> when(picker.save(any(Bindex.class))).thenReturn("saved"))) {
+                (picker, context) -> when(picker.saveAll(anyList())).thenReturn(List.of("saved")))) {
             // Act
             String result = tools.registerBindex(descriptor.getAbsolutePath(), projectDir,
                     mock(Configurator.class));
@@ -96,7 +97,7 @@ class BindexFunctionToolsTest {
         BindexFunctionTools tools = new BindexFunctionTools();
         setRepository(tools, mock(BindexRepository.class));
         try (MockedConstruction<Picker> ignored = org.mockito.Mockito.mockConstruction(Picker.class,
-                (picker, context) -> when(picker.save(any(Bindex.class))).thenReturn("remote-saved"))) {
+                (picker, context) -> when(picker.saveAll(anyList())).thenReturn(List.of("remote-saved")))) {
             try {
                 // Act
                 String result = tools.registerBindex("http://localhost:" + server.getAddress().getPort()
@@ -187,7 +188,7 @@ class BindexFunctionToolsTest {
         setRepository(tools, mock(BindexRepository.class));
         try (MockedConstruction<Picker> ignored =
                      org.mockito.Mockito.mockConstruction(Picker.class,
-                             (picker, context) -> when(picker.save(any(Bindex.class))).thenReturn("ignored"))) {
+                             (picker, context) -> when(picker.saveAll(anyList())).thenReturn(List.of("ignored")))) {
             // Act
             String result = tools.registerBindexJson(bindex, mock(Configurator.class));
 
@@ -205,7 +206,7 @@ class BindexFunctionToolsTest {
         setRepository(tools, mock(BindexRepository.class));
         try (MockedConstruction<Picker> ignored =
                      org.mockito.Mockito.mockConstruction(Picker.class,
-                             (picker, context) -> when(picker.save(any(Bindex.class))).thenReturn("file-id"))) {
+                             (picker, context) -> when(picker.saveAll(anyList())).thenReturn(List.of("file-id")))) {
             // Act
             String result = tools.registerBindex("bindex.json", projectDir, mock(Configurator.class));
 
@@ -214,6 +215,28 @@ class BindexFunctionToolsTest {
         }
     }
 
+    @Test
+    void registerBindex_registersSeveralFilesInOneBatch(@TempDir File projectDir) throws Exception {
+        // Arrange
+        Files.writeString(new File(projectDir, "a.json").toPath(), "{\"id\":\"a\"}");
+        Files.writeString(new File(projectDir, "b.json").toPath(), "{\"id\":\"b\"}");
+        BindexFunctionTools tools = new BindexFunctionTools();
+        setRepository(tools, mock(BindexRepository.class));
+        try (MockedConstruction<Picker> pickers =
+                     org.mockito.Mockito.mockConstruction(Picker.class,
+                             (picker, context) -> when(picker.saveAll(anyList())).thenReturn(List.of("a", "b")))) {
+            // Act
+            String result = tools.registerBindex("a.json, b.json", projectDir, mock(Configurator.class));
+
+            // Assert
+            assertEquals("a, b", result);
+            org.mockito.ArgumentCaptor<List<Bindex>> batch = org.mockito.ArgumentCaptor.forClass(List.class);
+            org.mockito.Mockito.verify(pickers.constructed().get(0)).saveAll(batch.capture());
+            assertEquals(2, batch.getValue().size());
+            assertEquals("b", batch.getValue().get(1).getId());
+        }
+    }
+
     @Test
     void registerBindex_rejectsMissingProjectDirectoryForLocalPath() {
         // Act and assert
@@ -2,15 +2,25 @@ package org.machanism.machai.bindex.core;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
+import org.machanism.macha.core.commons.configurator.Configurator;
+import org.machanism.machai.ai.provider.EmbeddingProvider;
 import org.machanism.machai.schema.Bindex;
+import org.machanism.machai.schema.Classification;
 import org.machanism.machai.schema.Language;
 
 /** Package-level tests for dependency traversal and language normalization. */
@@ -63,6 +73,56 @@ class PickerTest {
         assertTrue(dependencies.isEmpty());
     }
 
+    @Test
+    void saveAllEmbedsAndStoresEntriesInOneRoundTrip() {
+        // Arrange
+        RecordingEmbeddingProvider.requests.clear();
+        BindexRepository repository = mock(BindexRepository.class);
+        when(repository.saveAll(anyList(), any(float[][].class))).thenReturn(List.of("r1", "r2", "r3"));
+        Configurator configurator = mock(Configurator.class);
+        when(configurator.get("embedding.model")).thenReturn(RecordingEmbeddingProvider.class.getName() + ":model");
+        when(configurator.getBoolean(eq(Picker.EMBEDDING_CACHE_PROP_NAME), any())).thenReturn(false);
+        List<Bindex> bindexes = List.of(classified("a"), classified("b"), classified("c"));
+        Picker picker = new Picker(repository, configurator);
+
+        // Act
+        List<String> ids = picker.saveAll(bindexes);
+
+        // Assert
+        assertEquals(List.of("a", "b", "c"), ids);
+        assertEquals(1, RecordingEmbeddingProvider.requests.size());
+        assertEquals(3, RecordingEmbeddingProvider.requests.get(0).size());
+        verify(repository, times(1)).saveAll(eq(bindexes), any(float[][].class));
+        verify(repository, never()).save(any(Bindex.class), anyList());
+    }
+
+    /** Embedding provider fixture that records each batched request. */
+    public static class RecordingEmbeddingProvider implements EmbeddingProvider {
+        static final List<List<String>> requests = new ArrayList<>();
+
+        @Override
+        public void init(String model, Configurator conf) {
+        }
+
+        @Override
+        public List<Double> embedding(String text, long dimensions) {
+            throw new AssertionError("Entries must be embedded in one batch.");
+        }
+
+        @Override
+        public float[][] embeddings(List<String> texts, long dimensions) {
+            requests.add(texts);
+            return new float[texts.size()][2];
+        }
+    }
+
+    private static Bindex classified(String id) {
+        Bindex value = new Bindex();
+        value.setId(id);
+        value.setClassification(new Classification());
+        return value;
+    }
+
     private static Bindex bindex(String id, List<String> dependencies) {
         Bindex value = new Bindex();
         value.setId(id);
@@ -2,11 +2,19 @@ package org.machanism.machai.ai.manager;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.machanism.macha.core.commons.configurator.Configurator;
 import org.machanism.machai.ai.provider.EmbeddingProvider;
 import org.machanism.machai.ai.provider.Genai;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Utility class for dynamically loading and initializing generative AI
@@ -43,12 +51,120 @@ import org.machanism.machai.ai.provider.Genai;
  * {@link IllegalArgumentException} is thrown.
  * </p>
  *
+ * <h2>Provider Pool</h2>
+ * <p>
+ * Callers that create one provider per unit of work, such as one per processed
+ * file, can borrow pre-initialized providers with
+ * {@link #borrowProvider(String, Configurator, Object)} instead. Providers are
+ * pooled by model and a caller-supplied configuration key; closing the
+ * {@link Lease} clears the conversation and returns the provider, so its
+ * registered tools and shared SDK client are reused by the next borrower.
+ * </p>
+ *
+ * <pre>
+ * try (GenaiProviderManager.Lease lease = GenaiProviderManager.borrowProvider("OpenAI:gpt-4", conf, configKey)) {
+ *     Genai provider = lease.getProvider();
+ *     if (!lease.isReused()) {
+ *         provider.addTools(tools, enabledTools);
+ *     }
+ *     ...
+ * }
+ * </pre>
+ *
  * @author Viktor Tovstyi
  */
 public class GenaiProviderManager {
 
 	private static final String AI_CLIENT_CLASS_NAME_PATTERN = "org.machanism.machai.ai.provider.impl.%sProvider";
 
+	/** Maximum number of idle providers kept per pool key. */
+	public static final int MAX_IDLE_PROVIDERS = 64;
+
+	/** Logger for pool diagnostics. */
+	private static final Logger logger = LoggerFactory.getLogger(GenaiProviderManager.class);
+
+	/** Idle providers by model and configuration key. */
+	private static final ConcurrentMap<List<Object>, Deque<Genai>> idleProviders = new ConcurrentHashMap<>();
+
+	/**
+	 * Provider borrowed from the pool. Closing the lease clears the provider's
+	 * conversation and returns it to the pool.
+	 *
+	 * @since 1.3.3
+	 */
+	public static final class Lease implements AutoCloseable {
+
+		/** Pool key. */
+		private final List<Object> key;
+
+		/** Borrowed provider. */
+		private final Genai provider;
+
+		/** Whether the provider was taken from the pool rather than created. */
+		private final boolean reused;
+
+		/** Whether the lease was closed. */
+		private boolean closed;
+
+		/**
+		 * Creates a lease.
+		 *
+		 * @param key      pool key
+		 * @param provider borrowed provider
+		 * @param reused   whether the provider was pooled
+		 */
+		private Lease(List<Object> key, Genai provider, boolean reused) {
+			this.key = key;
+			this.provider = provider;
+			this.reused = reused;
+		}
+
+		/**
+		 * Returns the borrowed provider.
+		 *
+		 * @return initialized provider
+		 */
+		public Genai getProvider() {
+			return provider;
+		}
+
+		/**
+		 * Indicates whether the provider was used before, in which case tools and
+		 * other registrations made by the previous borrower are still in place.
+		 *
+		 * @return {@code true} if the provider came from the pool
+		 */
+		public boolean isReused() {
+			return reused;
+		}
+
+		/**
+		 * Clears the provider's conversation and returns it to the pool. A provider
+		 * that fails to clear, or that does not fit into the pool, is discarded and
+		 * closed.
+		 */
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				provider.clear();
+			} catch (RuntimeException e) {
+				logger.debug("Discarding provider that failed to clear: {}", e.getMessage());
+				discard(provider);
+				return;
+			}
+			Deque<Genai> idle = idleProviders.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+			if (idle.size() < MAX_IDLE_PROVIDERS) {
+				idle.push(provider);
+			} else {
+				discard(provider);
+			}
+		}
+	}
+
 	/**
 	 * Private constructor to prevent instantiation of this utility class.
 	 */
@@ -109,6 +225,62 @@ public class GenaiProviderManager {
 		}
 	}
 
+	/**
+	 * Borrows an initialized {@link Genai} provider from the pool, creating one
+	 * with {@link #getProvider(String, Configurator)} if no idle provider matches.
+	 *
+	 * <p>
+	 * A pooled provider keeps the configuration it was initialized with, so
+	 * {@code configKey} must distinguish every configuration, tool selection or
+	 * other setup that makes providers of the same model not interchangeable. It
+	 * must implement {@code equals} and {@code hashCode}, for example a list of
+	 * the relevant values.
+	 * </p>
+	 *
+	 * @param chatModel the provider/model string (e.g., {@code OpenAI:gpt-4})
+	 * @param conf      the configuration object for provider initialization
+	 * @param configKey key of the provider setup, may be {@code null}
+	 * @return lease of the provider, or {@code null} if the provider name is blank
+	 * @throws IllegalArgumentException if the provider cannot be created
+	 */
+	public static Lease borrowProvider(String chatModel, Configurator conf, Object configKey) {
+		List<Object> key = Arrays.asList(chatModel, configKey);
+		Deque<Genai> idle = idleProviders.get(key);
+		Genai provider = idle != null ? idle.poll() : null;
+		if (provider != null) {
+			return new Lease(key, provider, true);
+		}
+		provider = getProvider(chatModel, conf);
+		return provider != null ? new Lease(key, provider, false) : null;
+	}
+
+	/**
+	 * Discards and closes all idle providers, releasing the configurations, tools
+	 * and threads they hold.
+	 */
+	public static void clearProviderPool() {
+		for (List<Object> key : idleProviders.keySet()) {
+			Deque<Genai> idle = idleProviders.remove(key);
+			if (idle != null) {
+				idle.forEach(GenaiProviderManager::discard);
+			}
+		}
+	}
+
+	/**
+	 * Closes a provider that leaves the pool, logging instead of propagating
+	 * failures.
+	 *
+	 * @param provider discarded provider
+	 */
+	private static void discard(Genai provider) {
+		try {
+			provider.close();
+		} catch (RuntimeException e) {
+			logger.debug("Provider close failed: {}", e.getMessage());
+		}
+	}
+
 	/**
 	 * Dynamically loads and initializes an {@link EmbeddingProvider} based on the
 	 * specified provider/model string.
@@ -0,0 +1,182 @@
+package org.machanism.machai.ai.manager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with logarithmic buckets and a fixed relative
+ * precision, in the style of HdrHistogram.
+ *
+ * <p>
+ * Values are recorded in microseconds. Values below {@value #SUB_BUCKETS}
+ * microseconds get one bucket each; every larger power-of-two range is split
+ * into {@value #HALF_SUB_BUCKETS} equal buckets, so a reported percentile is
+ * within about 3% of the recorded value. Values above roughly 19 hours are
+ * recorded in the last bucket. Recording is a single atomic increment and never
+ * blocks; reads are not atomic snapshots but are consistent enough for
+ * monitoring.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * LatencyHistogram histogram = new LatencyHistogram();
+ * histogram.record(System.nanoTime() - start);
+ * long p95 = histogram.getPercentile(95.0, TimeUnit.MILLISECONDS);
+ * </pre>
+ *
+ * @since 1.3.3
+ */
+public final class LatencyHistogram {
+
+	/** Number of linear buckets below the first logarithmic range. */
+	private static final int SUB_BUCKETS = 64;
+
+	/** Buckets per power-of-two range. */
+	private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+
+	/** Largest power of two tracked with full precision, in microseconds. */
+	private static final int MAX_MAGNITUDE = 36;
+
+	/** Total number of buckets. */
+	private static final int BUCKETS = SUB_BUCKETS + (MAX_MAGNITUDE - 5) * HALF_SUB_BUCKETS;
+
+	/** Recorded values per bucket. */
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/** Number of recorded values. */
+	private final LongAdder count = new LongAdder();
+
+	/** Sum of recorded values in microseconds. */
+	private final LongAdder sum = new LongAdder();
+
+	/** Largest recorded value in microseconds. */
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Records one duration.
+	 *
+	 * @param nanos duration in nanoseconds; negative values are recorded as
+	 *              {@code 0}
+	 */
+	public void record(long nanos) {
+		long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+		counts.incrementAndGet(index(micros));
+		count.increment();
+		sum.add(micros);
+		max.accumulate(micros);
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns the sum of recorded values.
+	 *
+	 * @param unit result unit
+	 * @return sum in {@code unit}
+	 */
+	public long getSum(TimeUnit unit) {
+		return unit.convert(sum.sum(), TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * Returns the largest recorded value.
+	 *
+	 * @param unit result unit
+	 * @return maximum in {@code unit}, {@code 0} if nothing was recorded
+	 */
+	public long getMax(TimeUnit unit) {
+		return unit.convert(max.get(), TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * Returns the mean of recorded values.
+	 *
+	 * @param unit result unit
+	 * @return mean in {@code unit}, {@code 0} if nothing was recorded
+	 */
+	public double getMean(TimeUnit unit) {
+		long n = count.sum();
+		if (n == 0) {
+			return 0;
+		}
+		return (double) sum.sum() / n / (unit.toNanos(1) / 1000.0);
+	}
+
+	/**
+	 * Returns the value at a percentile: the upper bound of the bucket holding
+	 * that rank, capped at the recorded maximum.
+	 *
+	 * @param percentile percentile between {@code 0} and {@code 100}
+	 * @param unit       result unit
+	 * @return value in {@code unit}, {@code 0} if nothing was recorded
+	 * @throws IllegalArgumentException if {@code percentile} is out of range
+	 */
+	public long getPercentile(double percentile, TimeUnit unit) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+		}
+		long total = 0;
+		long[] snapshot = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return unit.convert(Math.min(upperBound(i), max.get()), TimeUnit.MICROSECONDS);
+			}
+		}
+		return unit.convert(max.get(), TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * Returns the bucket of a value.
+	 *
+	 * @param micros value in microseconds
+	 * @return bucket index
+	 */
+	static int index(long micros) {
+		if (micros < SUB_BUCKETS) {
+			return (int) micros;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+		if (magnitude > MAX_MAGNITUDE) {
+			return BUCKETS - 1;
+		}
+		int shift = magnitude - 5;
+		return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) (micros >>> shift) - HALF_SUB_BUCKETS;
+	}
+
+	/**
+	 * Returns the largest value that falls into a bucket.
+	 *
+	 * @param index bucket index
+	 * @return upper bound in microseconds
+	 */
+	static long upperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+		long subBucket = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+		return ((subBucket + 1) << shift) - 1;
+	}
+}
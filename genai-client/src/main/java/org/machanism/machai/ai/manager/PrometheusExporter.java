@@ -0,0 +1,199 @@
+package org.machanism.machai.ai.manager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Renders the {@link UsageStatistics} metrics in the Prometheus text exposition
+ * format (version 0.0.4).
+ *
+ * <p>
+ * Model metrics carry {@code provider} and {@code model} labels, taken from the
+ * {@code Provider:Model} identifier; tool metrics carry a {@code tool} label.
+ * Latencies are exported as summaries in seconds with the 0.5, 0.9, 0.95 and
+ * 0.99 quantiles. An HTTP server mounts the output under a path such as
+ * {@code /metrics} and serves it with {@link #CONTENT_TYPE}.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * response.setContentType(PrometheusExporter.CONTENT_TYPE);
+ * PrometheusExporter.write(response.getWriter());
+ * </pre>
+ *
+ * @since 1.3.3
+ */
+public final class PrometheusExporter {
+
+	/** Content type of the text exposition format. */
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	/** Exported summary quantiles. */
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.95, 0.99 };
+
+	/**
+	 * Private constructor to prevent instantiation of this utility class.
+	 */
+	private PrometheusExporter() {
+		// Utility class.
+	}
+
+	/**
+	 * Writes all model and tool metrics.
+	 *
+	 * @param out target
+	 * @throws IOException if writing fails
+	 */
+	public static void write(Appendable out) throws IOException {
+		Map<String, UsageMetrics> models = UsageStatistics.getAllModelMetrics();
+		counter(out, "machai_model_requests_total", "Model requests sent.", models, true, UsageMetrics::getCalls);
+		counter(out, "machai_model_request_errors_total", "Model requests that failed.", models, true,
+				UsageMetrics::getErrors);
+		counter(out, "machai_model_input_tokens_total", "Input tokens reported by the provider.", models, true,
+				UsageMetrics::getInputTokens);
+		counter(out, "machai_model_cached_input_tokens_total", "Cached input tokens reported by the provider.",
+				models, true, UsageMetrics::getCachedInputTokens);
+		counter(out, "machai_model_output_tokens_total", "Output tokens reported by the provider.", models, true,
+				UsageMetrics::getOutputTokens);
+		summary(out, "machai_model_request_duration_seconds", "Model request latency.", models, true);
+
+		Map<String, UsageMetrics> tools = UsageStatistics.getAllToolMetrics();
+		counter(out, "machai_tool_calls_total", "Tool calls executed.", tools, false, UsageMetrics::getCalls);
+		counter(out, "machai_tool_call_errors_total", "Tool calls that failed.", tools, false,
+				UsageMetrics::getErrors);
+		summary(out, "machai_tool_call_duration_seconds", "Tool call latency.", tools, false);
+	}
+
+	/**
+	 * Returns all metrics as a string.
+	 *
+	 * @return exposition text
+	 */
+	public static String scrape() {
+		StringBuilder out = new StringBuilder();
+		try {
+			write(out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toString();
+	}
+
+	/**
+	 * Writes one counter family.
+	 *
+	 * @param out     target
+	 * @param family  metric name
+	 * @param help    help text
+	 * @param metrics metrics by key
+	 * @param model   whether keys are model identifiers
+	 * @param value   counter accessor
+	 * @throws IOException if writing fails
+	 */
+	private static void counter(Appendable out, String family, String help, Map<String, UsageMetrics> metrics,
+			boolean model, ToLongFunction<UsageMetrics> value) throws IOException {
+		if (metrics.isEmpty()) {
+			return;
+		}
+		header(out, family, help, "counter");
+		for (Map.Entry<String, UsageMetrics> entry : metrics.entrySet()) {
+			out.append(family).append(labels(entry.getKey(), model, null)).append(' ')
+					.append(Long.toString(value.applyAsLong(entry.getValue()))).append('\n');
+		}
+	}
+
+	/**
+	 * Writes one latency summary family.
+	 *
+	 * @param out     target
+	 * @param family  metric name
+	 * @param help    help text
+	 * @param metrics metrics by key
+	 * @param model   whether keys are model identifiers
+	 * @throws IOException if writing fails
+	 */
+	private static void summary(Appendable out, String family, String help, Map<String, UsageMetrics> metrics,
+			boolean model) throws IOException {
+		if (metrics.isEmpty()) {
+			return;
+		}
+		header(out, family, help, "summary");
+		for (Map.Entry<String, UsageMetrics> entry : metrics.entrySet()) {
+			LatencyHistogram latency = entry.getValue().getLatency();
+			for (double quantile : QUANTILES) {
+				out.append(family).append(labels(entry.getKey(), model, Double.toString(quantile))).append(' ')
+						.append(seconds(latency.getPercentile(quantile * 100, TimeUnit.MICROSECONDS))).append('\n');
+			}
+			String labels = labels(entry.getKey(), model, null);
+			out.append(family).append("_sum").append(labels).append(' ')
+					.append(seconds(latency.getSum(TimeUnit.MICROSECONDS))).append('\n');
+			out.append(family).append("_count").append(labels).append(' ').append(Long.toString(latency.getCount()))
+					.append('\n');
+		}
+	}
+
+	/**
+	 * Writes the {@code HELP} and {@code TYPE} lines of a family.
+	 *
+	 * @param out    target
+	 * @param family metric name
+	 * @param help   help text
+	 * @param type   metric type
+	 * @throws IOException if writing fails
+	 */
+	private static void header(Appendable out, String family, String help, String type) throws IOException {
+		out.append("# HELP ").append(family).append(' ').append(help).append('\n');
+		out.append("# TYPE ").append(family).append(' ').append(type).append('\n');
+	}
+
+	/**
+	 * Builds the label set of a sample.
+	 *
+	 * @param key      model identifier or tool name
+	 * @param model    whether {@code key} is a model identifier
+	 * @param quantile summary quantile, or {@code null}
+	 * @return label set including braces
+	 */
+	private static String labels(String key, boolean model, String quantile) {
+		StringBuilder labels = new StringBuilder("{");
+		if (model) {
+			String provider = key.contains(":") ? StringUtils.substringBefore(key, ":") : "";
+			String name = key.contains(":") ? StringUtils.substringAfter(key, ":") : key;
+			labels.append("provider=\"").append(escape(provider)).append("\",model=\"").append(escape(name))
+					.append('"');
+		} else {
+			labels.append("tool=\"").append(escape(key)).append('"');
+		}
+		if (quantile != null) {
+			labels.append(",quantile=\"").append(quantile).append('"');
+		}
+		return labels.append('}').toString();
+	}
+
+	/**
+	 * Escapes a label value.
+	 *
+	 * @param value raw value
+	 * @return escaped value
+	 */
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	/**
+	 * Formats microseconds as seconds.
+	 *
+	 * @param micros duration in microseconds
+	 * @return seconds
+	 */
+	private static String seconds(long micros) {
+		return Double.toString(micros / 1_000_000.0);
+	}
+}
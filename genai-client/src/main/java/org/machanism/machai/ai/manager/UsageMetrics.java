@@ -0,0 +1,151 @@
+package org.machanism.machai.ai.manager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated counters and latency histogram of one model or tool.
+ *
+ * <p>
+ * Counters are {@link LongAdder}s, so concurrent providers and tool threads
+ * update them without contention, and memory use stays constant no matter how
+ * many requests are recorded. Instances are created and owned by
+ * {@link UsageStatistics}.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public final class UsageMetrics implements UsageMetricsMXBean {
+
+	/** Model identifier or tool name. */
+	private final String name;
+
+	/** Completed requests or tool calls. */
+	private final LongAdder calls = new LongAdder();
+
+	/** Failed requests or tool calls. */
+	private final LongAdder errors = new LongAdder();
+
+	/** Input tokens. */
+	private final LongAdder inputTokens = new LongAdder();
+
+	/** Cached input tokens. */
+	private final LongAdder cachedInputTokens = new LongAdder();
+
+	/** Output tokens. */
+	private final LongAdder outputTokens = new LongAdder();
+
+	/** Latency of requests or tool calls. */
+	private final LatencyHistogram latency = new LatencyHistogram();
+
+	/**
+	 * Creates empty metrics.
+	 *
+	 * @param name model identifier or tool name
+	 */
+	UsageMetrics(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Adds the tokens of one response.
+	 *
+	 * @param usage token usage
+	 */
+	void add(Usage usage) {
+		inputTokens.add(usage.getInputTokens());
+		cachedInputTokens.add(usage.getInputCachedTokens());
+		outputTokens.add(usage.getOutputTokens());
+	}
+
+	/**
+	 * Records one request or tool call.
+	 *
+	 * @param nanos   duration in nanoseconds
+	 * @param success {@code false} if the call failed
+	 */
+	void record(long nanos, boolean success) {
+		calls.increment();
+		if (!success) {
+			errors.increment();
+		}
+		latency.record(nanos);
+	}
+
+	/**
+	 * Returns the model identifier or tool name.
+	 *
+	 * @return name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the token totals.
+	 *
+	 * @return usage totals
+	 */
+	public Usage getUsage() {
+		return new Usage(inputTokens.sum(), cachedInputTokens.sum(), outputTokens.sum());
+	}
+
+	/**
+	 * Returns the latency histogram.
+	 *
+	 * @return histogram
+	 */
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	@Override
+	public long getCalls() {
+		return calls.sum();
+	}
+
+	@Override
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	@Override
+	public long getInputTokens() {
+		return inputTokens.sum();
+	}
+
+	@Override
+	public long getCachedInputTokens() {
+		return cachedInputTokens.sum();
+	}
+
+	@Override
+	public long getOutputTokens() {
+		return outputTokens.sum();
+	}
+
+	@Override
+	public double getLatencyMeanMillis() {
+		return latency.getMean(TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public long getLatencyP50Millis() {
+		return latency.getPercentile(50, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public long getLatencyP95Millis() {
+		return latency.getPercentile(95, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public long getLatencyP99Millis() {
+		return latency.getPercentile(99, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public long getLatencyMaxMillis() {
+		return latency.getMax(TimeUnit.MILLISECONDS);
+	}
+}
@@ -0,0 +1,85 @@
+package org.machanism.machai.ai.manager;
+
+/**
+ * JMX view of the {@link UsageMetrics} of one model or tool.
+ *
+ * <p>
+ * {@link UsageStatistics} registers one bean per model under
+ * {@code org.machanism.machai:type=Model,name=<Provider:Model>} and one per
+ * tool under {@code org.machanism.machai:type=Tool,name=<tool>}.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public interface UsageMetricsMXBean {
+
+	/**
+	 * Returns the number of completed requests or tool calls.
+	 *
+	 * @return calls
+	 */
+	long getCalls();
+
+	/**
+	 * Returns the number of failed requests or tool calls.
+	 *
+	 * @return errors
+	 */
+	long getErrors();
+
+	/**
+	 * Returns the input tokens reported by the provider.
+	 *
+	 * @return input tokens, {@code 0} for tools
+	 */
+	long getInputTokens();
+
+	/**
+	 * Returns the cached input tokens reported by the provider.
+	 *
+	 * @return cached input tokens, {@code 0} for tools
+	 */
+	long getCachedInputTokens();
+
+	/**
+	 * Returns the output tokens reported by the provider.
+	 *
+	 * @return output tokens, {@code 0} for tools
+	 */
+	long getOutputTokens();
+
+	/**
+	 * Returns the mean latency.
+	 *
+	 * @return mean latency in milliseconds
+	 */
+	double getLatencyMeanMillis();
+
+	/**
+	 * Returns the median latency.
+	 *
+	 * @return 50th percentile in milliseconds
+	 */
+	long getLatencyP50Millis();
+
+	/**
+	 * Returns the 95th percentile latency.
+	 *
+	 * @return 95th percentile in milliseconds
+	 */
+	long getLatencyP95Millis();
+
+	/**
+	 * Returns the 99th percentile latency.
+	 *
+	 * @return 99th percentile in milliseconds
+	 */
+	long getLatencyP99Millis();
+
+	/**
+	 * Returns the largest latency.
+	 *
+	 * @return maximum in milliseconds
+	 */
+	long getLatencyMaxMillis();
+}
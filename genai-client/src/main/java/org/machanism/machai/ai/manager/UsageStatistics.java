@@ -1,20 +1,32 @@
 package org.machanism.machai.ai.manager;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Central registry for aggregated GenAI token-usage statistics.
+ * Central registry for aggregated GenAI token usage, request latency and tool
+ * call metrics.
  *
  * <p>
- * Usage entries are grouped by model identifier and can later be logged or
- * queried programmatically. All access to the internal storage is synchronized
- * on the shared map instance.
+ * Metrics are kept per model identifier (for example
+ * {@code OpenAI:gpt-4o-mini}) and per tool name as {@link UsageMetrics}:
+ * striped counters and a {@link LatencyHistogram}. Recording never locks and
+ * memory use does not grow with the number of requests, so the registry is safe
+ * for long-running servers. The same data is consumed by
+ * {@link #logUsage()}, by the JMX beans registered for every model and tool
+ * (see {@link UsageMetricsMXBean}) and by {@link PrometheusExporter}.
+ * </p>
  */
 public class UsageStatistics {
 
@@ -23,10 +35,18 @@ public class UsageStatistics {
 	 */
 	private static final Logger logger = LoggerFactory.getLogger(UsageStatistics.class);
 
+	/** JMX domain of the registered metrics beans. */
+	static final String JMX_DOMAIN = "org.machanism.machai";
+
+	/**
+	 * Metrics grouped by model identifier.
+	 */
+	private static final ConcurrentMap<String, UsageMetrics> modelMetrics = new ConcurrentHashMap<>();
+
 	/**
-	 * In-memory registry of usage entries grouped by model identifier.
+	 * Metrics grouped by tool name.
 	 */
-	private static final Map<String, List<Usage>> modelUsages = new HashMap<>();
+	private static final ConcurrentMap<String, UsageMetrics> toolMetrics = new ConcurrentHashMap<>();
 
 	/**
 	 * Private constructor to prevent instantiation of this usage statistics utility
@@ -48,89 +68,192 @@ public class UsageStatistics {
 	}
 
 	/**
-	 * Adds a single {@link Usage} record for a specific model identifier.
+	 * Adds the token usage of one response for a specific model identifier.
 	 *
 	 * @param modelId the model identifier, for example {@code OpenAI:gpt-4o-mini}
 	 * @param usage   the usage entry to record
 	 */
 	public static void addUsage(String modelId, Usage usage) {
-		synchronized (modelUsages) {
-			List<Usage> list = modelUsages.get(modelId);
-			if (list == null) {
-				list = new ArrayList<>();
-				modelUsages.put(modelId, list);
-			}
-			list.add(usage);
-		}
+		metrics(modelMetrics, "Model", modelId).add(usage);
+	}
+
+	/**
+	 * Records the latency and outcome of one model request.
+	 *
+	 * @param modelId the model identifier, for example {@code OpenAI:gpt-4o-mini}
+	 * @param nanos   request duration in nanoseconds
+	 * @param success {@code false} if the request failed
+	 */
+	public static void recordRequest(String modelId, long nanos, boolean success) {
+		metrics(modelMetrics, "Model", modelId).record(nanos, success);
 	}
 
 	/**
-	 * Logs usage summaries for every model currently present in the registry.
+	 * Records the latency and outcome of one tool call.
+	 *
+	 * @param tool    tool name
+	 * @param nanos   call duration in nanoseconds
+	 * @param success {@code false} if the tool failed
+	 */
+	public static void recordToolCall(String tool, long nanos, boolean success) {
+		metrics(toolMetrics, "Tool", tool).record(nanos, success);
+	}
+
+	/**
+	 * Logs usage summaries for every model currently present in the registry, and
+	 * tool call summaries at debug level.
 	 */
 	public static void logUsage() {
-		modelUsages.keySet().stream().forEach(UsageStatistics::logUsageForModel);
+		new TreeMap<>(modelMetrics).keySet().forEach(UsageStatistics::logUsageForModel);
+		if (logger.isDebugEnabled()) {
+			new TreeMap<>(toolMetrics).values().forEach(tool -> logger.debug(
+					"Tool call summary for '{}': Calls = {}, Errors = {}, p50 = {} ms, p95 = {} ms, Max = {} ms.",
+					tool.getName(), tool.getCalls(), tool.getErrors(), tool.getLatencyP50Millis(),
+					tool.getLatencyP95Millis(), tool.getLatencyMaxMillis()));
+		}
 	}
 
 	/**
-	 * Logs a summary of the aggregated {@link Usage} records for a specific model.
+	 * Logs a summary of the aggregated usage and request latency for a specific
+	 * model.
 	 *
 	 * @param modelId the model identifier, for example {@code OpenAI:gpt-4o-mini}
 	 */
 	public static void logUsageForModel(String modelId) {
-		List<Usage> list;
-		synchronized (modelUsages) {
-			list = modelUsages.get(modelId);
-		}
-		if (list != null && !list.isEmpty()) {
-			long inputTokens = 0;
-			long inputCachedTokens = 0;
-			long outputTokens = 0;
-
-			for (Usage u : list) {
-				inputTokens += u.getInputTokens();
-				inputCachedTokens += u.getInputCachedTokens();
-				outputTokens += u.getOutputTokens();
-			}
-
+		UsageMetrics metrics = modelMetrics.get(modelId);
+		if (metrics != null) {
 			logger.info("Token usage summary for model '{}': Input = {}, Cached = {}, Output = {}.",
-					modelId, inputTokens, inputCachedTokens, outputTokens);
+					modelId, metrics.getInputTokens(), metrics.getCachedInputTokens(), metrics.getOutputTokens());
+			if (metrics.getCalls() > 0) {
+				logger.info("Request summary for model '{}': Requests = {}, Errors = {}, p50 = {} ms, p95 = {} ms, "
+						+ "p99 = {} ms.", modelId, metrics.getCalls(), metrics.getErrors(),
+						metrics.getLatencyP50Millis(), metrics.getLatencyP95Millis(), metrics.getLatencyP99Millis());
+			}
 		} else {
 			logger.info("GenAI token usage information not found for model '{}'.", modelId);
 		}
 	}
 
 	/**
-	 * Returns the aggregated usage entries for a specific model.
+	 * Returns the token totals of a specific model.
 	 *
-	 * <p>
-	 * A defensive copy is returned so callers can inspect the recorded values
-	 * without modifying the internal registry state.
+	 * @param modelId the model identifier to query
+	 * @return the summed usage; all counts are {@code 0} for unknown models
+	 */
+	public static Usage getUsageForModel(String modelId) {
+		UsageMetrics metrics = modelMetrics.get(modelId);
+		return metrics != null ? metrics.getUsage() : new Usage(0, 0, 0);
+	}
+
+	/**
+	 * Returns the metrics of a specific model.
 	 *
 	 * @param modelId the model identifier to query
-	 * @return a defensive copy of the recorded usage entries for the specified
-	 *         model; never {@code null}
+	 * @return live metrics, or {@code null} if nothing was recorded for the model
 	 */
-	public static List<Usage> getUsageForModel(String modelId) {
-		synchronized (modelUsages) {
-			List<Usage> list = modelUsages.get(modelId);
-			return list != null ? new ArrayList<>(list) : new ArrayList<>();
+	public static UsageMetrics getModelMetrics(String modelId) {
+		return modelMetrics.get(modelId);
+	}
+
+	/**
+	 * Returns the metrics of all models.
+	 *
+	 * @return read-only snapshot of the registry, sorted by model identifier; the
+	 *         metrics themselves are live
+	 */
+	public static Map<String, UsageMetrics> getAllModelMetrics() {
+		return Collections.unmodifiableMap(new TreeMap<>(modelMetrics));
+	}
+
+	/**
+	 * Returns the metrics of all tools.
+	 *
+	 * @return read-only snapshot of the registry, sorted by tool name; the
+	 *         metrics themselves are live
+	 */
+	public static Map<String, UsageMetrics> getAllToolMetrics() {
+		return Collections.unmodifiableMap(new TreeMap<>(toolMetrics));
+	}
+
+	/**
+	 * Removes all recorded metrics and unregisters their JMX beans.
+	 */
+	public static void reset() {
+		unregister(modelMetrics, "Model");
+		unregister(toolMetrics, "Tool");
+	}
+
+	/**
+	 * Returns the metrics of a key, creating and registering them on first use.
+	 *
+	 * @param registry model or tool registry
+	 * @param type     JMX type
+	 * @param key      model identifier or tool name
+	 * @return metrics
+	 */
+	private static UsageMetrics metrics(ConcurrentMap<String, UsageMetrics> registry, String type, String key) {
+		UsageMetrics metrics = registry.get(key);
+		if (metrics == null) {
+			metrics = registry.computeIfAbsent(key, name -> {
+				UsageMetrics created = new UsageMetrics(name);
+				register(type, created);
+				return created;
+			});
 		}
+		return metrics;
 	}
 
 	/**
-	 * Returns the aggregated usage map for all models.
+	 * Clears a registry and unregisters its JMX beans.
 	 *
-	 * <p>
-	 * The returned map is a shallow copy of the registry. The map instance itself
-	 * can be modified by the caller without affecting the registry, but the nested
-	 * usage lists remain shared references.
+	 * @param registry model or tool registry
+	 * @param type     JMX type
+	 */
+	private static void unregister(ConcurrentMap<String, UsageMetrics> registry, String type) {
+		for (String key : registry.keySet()) {
+			if (registry.remove(key) != null) {
+				try {
+					MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+					ObjectName name = objectName(type, key);
+					if (server.isRegistered(name)) {
+						server.unregisterMBean(name);
+					}
+				} catch (JMException | RuntimeException e) {
+					logger.debug("Failed to unregister JMX metrics of '{}'.", key, e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Registers the JMX bean of new metrics. Failures are logged and otherwise
+	 * ignored, as metrics remain available through the other consumers.
 	 *
-	 * @return a shallow copy of the model-to-usage-list registry
+	 * @param type    JMX type
+	 * @param metrics new metrics
 	 */
-	public static Map<String, List<Usage>> getAllModelUsages() {
-		synchronized (modelUsages) {
-			return new HashMap<>(modelUsages);
+	private static void register(String type, UsageMetrics metrics) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = objectName(type, metrics.getName());
+			if (!server.isRegistered(name)) {
+				server.registerMBean(metrics, name);
+			}
+		} catch (JMException | RuntimeException e) {
+			logger.debug("Failed to register JMX metrics of '{}'.", metrics.getName(), e);
 		}
 	}
 
+	/**
+	 * Returns the JMX name of a model or tool.
+	 *
+	 * @param type JMX type
+	 * @param key  model identifier or tool name
+	 * @return object name
+	 * @throws JMException if the name is malformed
+	 */
+	static ObjectName objectName(String type, String key) throws JMException {
+		return new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(String.valueOf(key)));
+	}
+
 }
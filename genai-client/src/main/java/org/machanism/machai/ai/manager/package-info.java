@@ -40,8 +40,14 @@
  *     accept a fully qualified class name.</li>
  * <li>{@link Usage} is an immutable record of input, cached-input, and output
  *     token counts for one provider interaction.</li>
- * <li>{@link UsageStatistics} stores usage records by model identifier and
- *     provides methods for retrieving records and logging token totals.</li>
+ * <li>{@link UsageStatistics} aggregates token usage, request latency and
+ *     tool call latency per model identifier and tool name as
+ *     {@link UsageMetrics}, and logs the totals.</li>
+ * <li>{@link LatencyHistogram} is the lock-free, fixed-precision histogram
+ *     behind the latency percentiles.</li>
+ * <li>{@link UsageMetricsMXBean} exposes each model and tool through JMX, and
+ *     {@link PrometheusExporter} renders all metrics in the Prometheus text
+ *     format.</li>
  * </ul>
  *
  * <h2>Provider resolution</h2>
@@ -56,11 +62,12 @@
  * constructor and implement the requested provider interface.</p>
  *
  * <h2>Usage tracking</h2>
- * <p>Initialize the statistics class if desired during application startup, then
- * add each provider response to the registry. Records are grouped by the exact
- * model identifier supplied by the caller. Retrieval of one model returns a
- * defensive copy of its list; retrieval of all models returns a shallow copy of
- * the registry map.</p>
+ * <p>Initialize the statistics class if desired during application startup.
+ * Providers add the usage and latency of each response under their
+ * {@code Provider:Model} identifier, and every tool call under the tool name.
+ * Only running totals and histogram buckets are kept, so memory use is constant
+ * regardless of the number of requests. Metrics are registered as JMX beans in
+ * the {@code org.machanism.machai} domain as they appear.</p>
  *
  * <h2>Example</h2>
  * <pre>
@@ -71,6 +78,7 @@
  *         "OpenAI:text-embedding-3-small", conf);
  * UsageStatistics.addUsage("OpenAI:gpt-4o", new Usage(500, 100, 200));
  * UsageStatistics.logUsage();
+ * String metrics = PrometheusExporter.scrape();
  * </pre>
  *
  * @see org.machanism.machai.ai.provider.Genai
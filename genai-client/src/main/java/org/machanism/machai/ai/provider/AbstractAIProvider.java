@@ -4,27 +4,46 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
-import org.apache.commons.lang3.SystemUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.text.StringSubstitutor;
 import org.machanism.macha.core.commons.configurator.Configurator;
+import org.machanism.machai.ai.manager.GenaiProviderManager;
+import org.machanism.machai.ai.manager.UsageStatistics;
 import org.machanism.machai.ai.provider.ToolLogger.Type;
 import org.machanism.machai.ai.provider.impl.OpenAIProvider;
+import org.machanism.machai.ai.tokenizer.TokenEstimator;
+import org.machanism.machai.ai.trace.Span;
+import org.machanism.machai.ai.trace.Tracer;
 import org.machanism.machai.ai.tools.FunctionTools;
-import org.machanism.machai.ai.tools.Param;
 import org.machanism.machai.ai.tools.ParamDescriptor;
 import org.machanism.machai.ai.tools.Prompt;
 import org.machanism.machai.ai.tools.Resource;
@@ -91,6 +110,120 @@ public abstract class AbstractAIProvider implements Genai {
 	/** Name of the project directory parameter. */
 	public static final String PROJECT_DIR_PARAM_NAME = "project_dir";
 
+	/**
+	 * Configuration property holding the maximum number of tool calls from one
+	 * model turn that may run concurrently. Values of {@code 1} or less (the
+	 * default) execute tool calls sequentially.
+	 */
+	public static final String PARALLEL_TOOL_CALLS_PROP_NAME = "GENAI_PARALLEL_TOOL_CALLS";
+
+	/**
+	 * Configuration property selecting the record/replay mode of model requests:
+	 * {@code off} (default), {@code record}, {@code replay-only} or
+	 * {@code read-through}. See {@link ResponseCache}.
+	 */
+	public static final String REPLAY_MODE_PROP_NAME = "GENAI_REPLAY_MODE";
+
+	/**
+	 * Configuration property holding the directory of recorded responses.
+	 * Defaults to {@code .machai/replay} in the system temporary directory.
+	 */
+	public static final String REPLAY_DIR_PROP_NAME = "GENAI_REPLAY_DIR";
+
+	/**
+	 * Configuration property holding the estimated input size, in tokens, above
+	 * which the conversation is compacted before a tool follow-up request.
+	 * {@code 0} (the default) disables compaction.
+	 */
+	public static final String COMPACTION_TOKENS_PROP_NAME = "GENAI_COMPACTION_TOKENS";
+
+	/**
+	 * Configuration property selecting the built-in {@link CompactionPolicy}:
+	 * {@code stub} (default), {@code drop} or {@code summarize}.
+	 */
+	public static final String COMPACTION_POLICY_PROP_NAME = "GENAI_COMPACTION_POLICY";
+
+	/**
+	 * Configuration property holding the number of most recent conversation
+	 * groups kept verbatim by compaction. Defaults to {@code 4}.
+	 */
+	public static final String COMPACTION_KEEP_TURNS_PROP_NAME = "GENAI_COMPACTION_KEEP_TURNS";
+
+	/**
+	 * Configuration property holding the {@code Provider:Model}, typically a
+	 * cheaper model, used by the {@code summarize} policy. Required for that
+	 * policy.
+	 */
+	public static final String COMPACTION_MODEL_PROP_NAME = "GENAI_COMPACTION_MODEL";
+
+	/**
+	 * Configuration property holding the maximum estimated input size, in
+	 * tokens, of one request. Larger requests are trimmed with the compaction
+	 * policy and rejected if they still do not fit. {@code 0} (the default)
+	 * disables the check.
+	 */
+	public static final String MAX_INPUT_TOKENS_PROP_NAME = "GENAI_MAX_INPUT_TOKENS";
+
+	/**
+	 * Configuration property holding the maximum number of characters of a tool
+	 * result passed to the model. Longer results are written to the session
+	 * {@link SpillStore} and replaced by a head/tail preview with a handle for
+	 * {@value #READ_SPILLED_RESULT_TOOL_NAME}. A per-tool ceiling can be set with
+	 * {@code GENAI_TOOL_RESULT_MAX_CHARS.<tool name>}. {@code 0} (the default)
+	 * disables spilling.
+	 */
+	public static final String TOOL_RESULT_MAX_CHARS_PROP_NAME = "GENAI_TOOL_RESULT_MAX_CHARS";
+
+	/**
+	 * Configuration property holding the path of a Chrome trace-event file. When
+	 * set, {@link Tracer} records spans for {@code perform()} calls, model round
+	 * trips and tool invocations and writes them to the file on
+	 * {@link Tracer#flush()} and at JVM exit.
+	 */
+	public static final String TRACE_FILE_PROP_NAME = "GENAI_TRACE_FILE";
+
+	/**
+	 * Configuration property holding the requests per minute allowed for one
+	 * {@code Provider:Model} pair across all provider instances of the process.
+	 * Requests are paced by the shared {@link RateGovernor}. {@code 0} (the
+	 * default) disables the limit.
+	 */
+	public static final String REQUESTS_PER_MINUTE_PROP_NAME = "GENAI_REQUESTS_PER_MINUTE";
+
+	/**
+	 * Configuration property holding the estimated input tokens per minute
+	 * allowed for one {@code Provider:Model} pair across all provider instances
+	 * of the process. {@code 0} (the default) disables the limit.
+	 */
+	public static final String TOKENS_PER_MINUTE_PROP_NAME = "GENAI_TOKENS_PER_MINUTE";
+
+	/**
+	 * Configuration property holding how often a request rejected with a rate
+	 * limit or a transient server error is retried. Defaults to
+	 * {@value #DEFAULT_MAX_RETRIES}.
+	 */
+	public static final String MAX_RETRIES_PROP_NAME = "GENAI_MAX_RETRIES";
+
+	/** Default of {@link #MAX_RETRIES_PROP_NAME}. */
+	public static final int DEFAULT_MAX_RETRIES = 3;
+
+	/** Name of the tool that pages through spilled tool results. */
+	public static final String READ_SPILLED_RESULT_TOOL_NAME = "read_spilled_result";
+
+	/** Text prepended to the user message that replaces compacted turns. */
+	protected static final String COMPACTION_SUMMARY_PREFIX = "Summary of the earlier conversation:\n";
+
+	/** Instructions given to the model that summarizes compacted turns. */
+	private static final String COMPACTION_INSTRUCTIONS = "Summarize the following earlier part of an agent "
+			+ "conversation. Keep facts, decisions, file names and open tasks that later steps may rely on. "
+			+ "Omit raw tool output that is no longer needed.";
+
+	/** Idle time after which parallel tool-call worker threads are released. */
+	private static final long TOOL_THREAD_KEEP_ALIVE_SEC = 30;
+
+	/** Shared executor running continuations of asynchronous requests. */
+	private static volatile ExecutorService asyncExecutor;
+
 	/** Active model identifier used in {@link #perform()}. */
 	protected String chatModel;
 
@@ -109,9 +242,54 @@ public abstract class AbstractAIProvider implements Genai {
 	/** Maximum number of tool calls permitted per response. */
 	protected Long maxToolCalls;
 
+	/** Maximum number of same-turn tool calls executed concurrently. */
+	protected int parallelToolCalls = 1;
+
+	/** Registered local tool handlers by normalized tool name. */
+	private final Map<String, ToolFunction> toolIndex = new HashMap<>();
+
+	/** Normalized names of tools that must not run concurrently with other calls. */
+	private final Set<String> sequentialTools = new HashSet<>();
+
+	/** Lazily created executor for parallel tool calls. */
+	private ExecutorService toolExecutor;
+
 	/** Configuration source used to initialize clients and provider features. */
 	private Configurator config;
 
+	/** Record/replay store of model responses. */
+	private ResponseCache responseCache = ResponseCache.DISABLED;
+
+	/** Estimated input size that triggers compaction; {@code 0} disables it. */
+	private long compactionTokens;
+
+	/** Policy applied when the conversation exceeds {@link #compactionTokens}. */
+	private CompactionPolicy compactionPolicy;
+
+	/** Maximum estimated input tokens per request; {@code 0} disables the check. */
+	private long maxInputTokens;
+
+	/** Token estimator of {@link #chatModel}. */
+	private TokenEstimator tokenEstimator = TokenEstimator.forModel(null);
+
+	/** Estimated size of the last measured request. */
+	private volatile RequestSize lastRequestSize;
+
+	/** Default tool result ceiling in characters; {@code 0} disables spilling. */
+	private int toolResultMaxChars;
+
+	/** Session store of oversized tool results. */
+	private final SpillStore spillStore = new SpillStore();
+
+	/** Requests per minute of the shared {@link RateGovernor}; {@code 0} if unlimited. */
+	private long requestsPerMinute;
+
+	/** Tokens per minute of the shared {@link RateGovernor}; {@code 0} if unlimited. */
+	private long tokensPerMinute;
+
+	/** Retries of rate-limited or transiently failed requests. */
+	private int maxRetries = DEFAULT_MAX_RETRIES;
+
 	/**
 	 * Flag indicating if standard runtime exceptions should be wrapped or handled
 	 * conversationally.
@@ -142,6 +320,24 @@ public abstract class AbstractAIProvider implements Genai {
 
 		maxOutputTokens = config.getLong("MAX_OUTPUT_TOKENS", MAX_OUTPUT_TOKENS);
 		maxToolCalls = config.getLong("MAX_TOOL_CALLS", 0L);
+		parallelToolCalls = config.getInt(PARALLEL_TOOL_CALLS_PROP_NAME, 1);
+		responseCache = ResponseCache.create(config.get(REPLAY_MODE_PROP_NAME, null),
+				config.get(REPLAY_DIR_PROP_NAME, null));
+		compactionTokens = config.getLong(COMPACTION_TOKENS_PROP_NAME, 0L);
+		compactionPolicy = createCompactionPolicy(config);
+		maxInputTokens = config.getLong(MAX_INPUT_TOKENS_PROP_NAME, 0L);
+		tokenEstimator = TokenEstimator.forModel(model);
+		toolResultMaxChars = config.getInt(TOOL_RESULT_MAX_CHARS_PROP_NAME, 0);
+		if (toolResultMaxChars > 0) {
+			addSpillTool();
+		}
+		requestsPerMinute = config.getLong(REQUESTS_PER_MINUTE_PROP_NAME, 0L);
+		tokensPerMinute = config.getLong(TOKENS_PER_MINUTE_PROP_NAME, 0L);
+		maxRetries = config.getInt(MAX_RETRIES_PROP_NAME, DEFAULT_MAX_RETRIES);
+		String traceFile = config.get(TRACE_FILE_PROP_NAME, null);
+		if (StringUtils.isNotBlank(traceFile) && !Tracer.isEnabled()) {
+			Tracer.enable(new File(traceFile));
+		}
 
 		addWebSearch();
 		addMcpServers();
@@ -242,6 +438,10 @@ public abstract class AbstractAIProvider implements Genai {
 	/**
 	 * Safely invokes a tool function and converts {@link IOException}s into a
 	 * textual error payload suitable for the model conversation.
+	 * Results longer than {@link #TOOL_RESULT_MAX_CHARS_PROP_NAME} are spilled,
+	 * see {@link #spillIfOversized(String, Object)}. The latency and outcome of
+	 * every call are recorded in {@link UsageStatistics} and as a
+	 * {@link Tracer#CATEGORY_TOOL} span.
 	 *
 	 * @param name       tool name
 	 * @param tool       tool handler
@@ -252,9 +452,13 @@ public abstract class AbstractAIProvider implements Genai {
 	 *                          error-handling is disabled
 	 */
 	protected Object safelyInvokeTool(String name, ToolFunction tool, JsonNode params, File projectDir) {
+		long start = System.nanoTime();
+		boolean success = false;
+		Span span = Tracer.start(name, Tracer.CATEGORY_TOOL);
 		try {
 			Object result = tool.apply(params, projectDir, getConfigurator());
-			return result;
+			success = true;
+			return spillIfOversized(name, result);
 
 		} catch (Exception e) {
 			if (e instanceof SpecialException) {
@@ -280,9 +484,535 @@ public abstract class AbstractAIProvider implements Genai {
 				}
 				return message;
 			}
+		} finally {
+			UsageStatistics.recordToolCall(name, System.nanoTime() - start, success);
+			span.attribute("success", success).close();
+		}
+	}
+
+	/**
+	 * Replaces a tool result longer than the configured ceiling with a preview.
+	 * <p>
+	 * The full text is written to the session {@link SpillStore}; the model
+	 * receives the head and tail of the result and a handle it can pass to
+	 * {@value #READ_SPILLED_RESULT_TOOL_NAME} to read the rest.
+	 * </p>
+	 *
+	 * @param name   tool name
+	 * @param result tool result
+	 * @return the result itself, or a preview if it was spilled
+	 * @throws IOException if the result cannot be written to the spill store
+	 */
+	protected Object spillIfOversized(String name, Object result) throws IOException {
+		if (!(result instanceof CharSequence) || READ_SPILLED_RESULT_TOOL_NAME.equals(name)) {
+			return result;
+		}
+		int limit = getToolResultMaxChars(name);
+		String text = result.toString();
+		if (limit <= 0 || text.length() <= limit) {
+			return result;
+		}
+
+		String handle = spillStore.put(name, text);
+		int tail = limit / 4;
+		int head = limit - tail;
+		logger.debug("Spilled {} characters of '{}' result to {}.", text.length(), name, handle);
+		return "[Result of '" + name + "' has " + text.length() + " characters; showing the first " + head
+				+ " and the last " + tail + ". Call " + READ_SPILLED_RESULT_TOOL_NAME + " with handle \"" + handle
+				+ "\" to read more.]\n" + text.substring(0, head) + "\n[... " + (text.length() - head - tail)
+				+ " characters omitted ...]\n" + text.substring(text.length() - tail);
+	}
+
+	/**
+	 * Returns the result ceiling of a tool.
+	 *
+	 * @param name tool name
+	 * @return maximum characters, {@code 0} if spilling is disabled
+	 */
+	protected int getToolResultMaxChars(String name) {
+		if (toolResultMaxChars <= 0) {
+			return 0;
+		}
+		return getConfigurator().getInt(TOOL_RESULT_MAX_CHARS_PROP_NAME + "." + name, toolResultMaxChars);
+	}
+
+	/**
+	 * Returns the session store of spilled tool results.
+	 *
+	 * @return spill store
+	 */
+	protected SpillStore getSpillStore() {
+		return spillStore;
+	}
+
+	/**
+	 * Registers the {@value #READ_SPILLED_RESULT_TOOL_NAME} tool that pages
+	 * through spilled tool results. Each call returns at most the default result
+	 * ceiling, so reading a spilled result never spills again.
+	 */
+	protected void addSpillTool() {
+		addTool(READ_SPILLED_RESULT_TOOL_NAME,
+				"Reads part of a large tool result that was shortened to a preview. Use the handle given in the preview "
+						+ "and page through the result with offset and length.",
+				(params, args) -> {
+					String handle = params.path("handle").asText();
+					long offset = params.path("offset").asLong(0);
+					int length = params.path("length").asInt(toolResultMaxChars);
+					length = Math.min(Math.max(length, 0), toolResultMaxChars);
+					long total = spillStore.length(handle);
+					String chunk = spillStore.read(handle, offset, length);
+					long end = offset + chunk.length();
+					return "[" + handle + " characters " + offset + "-" + end + " of " + total
+							+ (end < total ? "; continue with offset " + end : "; end of result") + "]\n" + chunk;
+				},
+				new ParamDescriptor("handle", "string", true, "Handle from the result preview.", null),
+				new ParamDescriptor("offset", "integer", false, "Character offset to start reading from.", 0),
+				new ParamDescriptor("length", "integer", false,
+						"Number of characters to read, at most " + toolResultMaxChars + ".", toolResultMaxChars));
+	}
+
+	/**
+	 * Records a local tool handler in the shared dispatch index.
+	 * <p>
+	 * Concrete providers call this from {@link #addTool(String, String, ToolFunction, ParamDescriptor...)}
+	 * before adding the SDK-specific tool definition. Names are compared after
+	 * {@link #normalize(String) normalization}; the first registration wins and
+	 * later duplicates are rejected so that the model never sees two tools with
+	 * the same name.
+	 * </p>
+	 *
+	 * @param name     tool name exposed to the model
+	 * @param function tool handler
+	 * @return {@code true} if the tool was registered, {@code false} if a tool with
+	 *         the same normalized name already exists
+	 */
+	protected boolean registerTool(String name, ToolFunction function) {
+		String key = normalize(name);
+		if (toolIndex.containsKey(key)) {
+			logger.warn("Duplicate tool name '{}' ignored; the first registration is kept.", name);
+			return false;
+		}
+		toolIndex.put(key, function);
+		return true;
+	}
+
+	/**
+	 * Looks up the handler of a tool requested by the model.
+	 *
+	 * @param name tool name as requested by the model
+	 * @return registered handler, or {@code null} if no tool with the given
+	 *         normalized name exists
+	 */
+	protected ToolFunction findTool(String name) {
+		return toolIndex.get(normalize(name));
+	}
+
+	/**
+	 * Indicates whether the named tool may run concurrently with other tool calls.
+	 *
+	 * @param name tool name as requested by the model
+	 * @return {@code false} if the tool was declared with
+	 *         {@code @Tool(concurrent = false)}; otherwise {@code true}
+	 */
+	protected boolean isConcurrent(String name) {
+		return !sequentialTools.contains(normalize(name));
+	}
+
+	/**
+	 * Executes the tool calls requested by the model in one turn and returns their
+	 * results in request order.
+	 * <p>
+	 * When {@link #PARALLEL_TOOL_CALLS_PROP_NAME} is greater than {@code 1},
+	 * consecutive concurrent tools are dispatched on a bounded executor and
+	 * awaited together. A tool that is not {@link #isConcurrent(String)
+	 * concurrent} acts as a barrier: it runs alone on the calling thread after all
+	 * preceding calls have completed. Otherwise calls run sequentially on the
+	 * calling thread.
+	 * </p>
+	 *
+	 * @param names tool names, one per call
+	 * @param calls tool invocations, in the order requested by the model
+	 * @return tool results in the same order as {@code calls}
+	 * @throws RuntimeException the first failure thrown by a tool invocation, in
+	 *                          request order
+	 */
+	protected List<Object> invokeToolCalls(List<String> names, List<Supplier<Object>> calls) {
+		List<Object> results = new ArrayList<>(calls.size());
+		if (parallelToolCalls <= 1 || calls.size() < 2) {
+			for (Supplier<Object> call : calls) {
+				results.add(call.get());
+			}
+			return results;
+		}
+
+		List<Future<Object>> batch = new ArrayList<>();
+		for (int i = 0; i < calls.size(); i++) {
+			Supplier<Object> call = calls.get(i);
+			if (isConcurrent(names.get(i))) {
+				batch.add(getToolExecutor().submit(Tracer.withCurrentSpan(call::get)));
+			} else {
+				awaitAll(batch, results);
+				results.add(call.get());
+			}
+		}
+		awaitAll(batch, results);
+		return results;
+	}
+
+	/**
+	 * Waits for the given tool calls, appends their results in order and clears
+	 * the batch.
+	 *
+	 * @param batch   submitted tool calls
+	 * @param results result list to append to
+	 */
+	private void awaitAll(List<Future<Object>> batch, List<Object> results) {
+		for (Future<Object> future : batch) {
+			try {
+				results.add(future.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for a tool call.", e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+		batch.clear();
+	}
+
+	/**
+	 * Returns the executor used for parallel tool calls, creating it on first use.
+	 * Worker threads are daemon threads released after a short idle period.
+	 *
+	 * @return bounded tool-call executor
+	 */
+	private synchronized ExecutorService getToolExecutor() {
+		if (toolExecutor == null) {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelToolCalls, parallelToolCalls,
+					TOOL_THREAD_KEEP_ALIVE_SEC, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+						Thread thread = new Thread(r, "genai-tool-call");
+						thread.setDaemon(true);
+						return thread;
+					});
+			executor.allowCoreThreadTimeOut(true);
+			toolExecutor = executor;
+		}
+		return toolExecutor;
+	}
+
+	/**
+	 * Returns the shared executor that runs continuations of asynchronous requests,
+	 * such as response parsing and tool calls between model rounds.
+	 * <p>
+	 * Its daemon threads are only busy while such work runs; no thread is held
+	 * while a request is waiting for the model.
+	 * </p>
+	 *
+	 * @return shared asynchronous continuation executor
+	 */
+	protected static Executor getAsyncExecutor() {
+		ExecutorService result = asyncExecutor;
+		if (result == null) {
+			synchronized (AbstractAIProvider.class) {
+				result = asyncExecutor;
+				if (result == null) {
+					result = Executors.newCachedThreadPool(r -> {
+						Thread thread = new Thread(r, "genai-async");
+						thread.setDaemon(true);
+						return thread;
+					});
+					asyncExecutor = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Runs a future-producing action, converting an exception thrown while
+	 * starting it into an exceptionally completed future.
+	 *
+	 * @param <T>    future value type
+	 * @param action action starting an asynchronous operation
+	 * @return the started future, or a failed future if {@code action} threw
+	 */
+	protected static <T> CompletableFuture<T> startAsync(Supplier<CompletableFuture<T>> action) {
+		try {
+			return action.get();
+		} catch (RuntimeException e) {
+			CompletableFuture<T> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+	}
+
+	/**
+	 * Returns the identifier under which usage and request metrics of this
+	 * provider are recorded in {@link UsageStatistics}.
+	 *
+	 * @return identifier in the {@code Provider:Model} format
+	 */
+	protected String getMetricsId() {
+		Class<?> type = getClass();
+		while (type.isAnonymousClass()) {
+			type = type.getSuperclass();
+		}
+		return StringUtils.removeEnd(type.getSimpleName(), "Provider") + ":" + chatModel;
+	}
+
+	/**
+	 * Runs a model request, records its latency and outcome in
+	 * {@link UsageStatistics} and traces it as a {@link Tracer#CATEGORY_LLM}
+	 * span.
+	 *
+	 * @param <T>     response type
+	 * @param request request to run
+	 * @return the response
+	 */
+	protected <T> T timeRequest(Supplier<T> request) {
+		long start = System.nanoTime();
+		boolean success = false;
+		Span span = Tracer.start("request", Tracer.CATEGORY_LLM).attribute("model", getMetricsId());
+		try {
+			T response = request.get();
+			success = true;
+			return response;
+		} finally {
+			UsageStatistics.recordRequest(getMetricsId(), System.nanoTime() - start, success);
+			span.attribute("success", success).close();
+		}
+	}
+
+	/**
+	 * Starts an asynchronous model request, and records its latency and outcome in
+	 * {@link UsageStatistics} and an asynchronous trace span when it completes.
+	 *
+	 * @param <T>     response type
+	 * @param request action starting the request
+	 * @return future completed with the response
+	 */
+	protected <T> CompletableFuture<T> timeRequestAsync(Supplier<CompletableFuture<T>> request) {
+		long start = System.nanoTime();
+		String metricsId = getMetricsId();
+		Span span = Tracer.startAsync("request", Tracer.CATEGORY_LLM).attribute("model", metricsId);
+		return startAsync(request).whenComplete((response, error) -> {
+			UsageStatistics.recordRequest(metricsId, System.nanoTime() - start, error == null);
+			span.attribute("success", error == null).close();
+		});
+	}
+
+	/**
+	 * Returns the {@link RateGovernor} shared by all providers of this
+	 * {@code Provider:Model} pair.
+	 *
+	 * @return rate governor
+	 */
+	protected RateGovernor getRateGovernor() {
+		return RateGovernor.get(getMetricsId(), requestsPerMinute, tokensPerMinute);
+	}
+
+	/**
+	 * Sends a model request through the shared {@link RateGovernor}.
+	 *
+	 * <p>
+	 * The request waits for its permits, is timed with
+	 * {@link #timeRequest(Supplier)}, and is retried up to
+	 * {@link #MAX_RETRIES_PROP_NAME} times when {@link #rateSignal(RuntimeException)}
+	 * classifies the failure as retryable. Streaming requests use
+	 * {@link #sendStreamingRequest(Consumer, Function)} instead, which stops
+	 * retrying transient failures once events were delivered; rate-limit
+	 * rejections arrive before any event and are always retried.
+	 * </p>
+	 *
+	 * @param <T>            response type
+	 * @param request        request to send
+	 * @param retryTransient whether transient failures are retried
+	 * @return the response
+	 */
+	protected <T> T sendRequest(Supplier<T> request, boolean retryTransient) {
+		return sendRequest(request, () -> retryTransient);
+	}
+
+	/**
+	 * Sends a streaming model request through the shared {@link RateGovernor}.
+	 *
+	 * <p>
+	 * Behaves like {@link #sendRequest(Supplier, boolean)}, but transient
+	 * failures are only retried until the first event reached the listener. A
+	 * stream that fails later is not retried, because the listener would receive
+	 * the delivered events twice.
+	 * </p>
+	 *
+	 * @param <T>      response type
+	 * @param listener receiver of streamed events
+	 * @param request  request streaming its events to the given listener
+	 * @return the response
+	 */
+	protected <T> T sendStreamingRequest(Consumer<GenaiEvent> listener, Function<Consumer<GenaiEvent>, T> request) {
+		AtomicBoolean delivered = new AtomicBoolean();
+		Consumer<GenaiEvent> tracking = event -> {
+			delivered.set(true);
+			listener.accept(event);
+		};
+		return sendRequest(() -> request.apply(tracking), () -> !delivered.get());
+	}
+
+	/**
+	 * Sends a model request, deciding after each failure whether transient
+	 * failures may still be retried.
+	 *
+	 * @param <T>            response type
+	 * @param request        request to send
+	 * @param retryTransient tells whether transient failures are retried
+	 * @return the response
+	 */
+	private <T> T sendRequest(Supplier<T> request, BooleanSupplier retryTransient) {
+		RateGovernor governor = getRateGovernor();
+		for (int attempt = 1;; attempt++) {
+			governor.acquire(estimateRequestTokens());
+			try {
+				T response = timeRequest(request);
+				governor.onSuccess();
+				return response;
+			} catch (RuntimeException e) {
+				long wait = retryDelay(governor, e, attempt, retryTransient.getAsBoolean());
+				if (wait < 0) {
+					throw e;
+				}
+				try {
+					Thread.sleep(wait);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw e;
+				}
+			}
 		}
 	}
 
+	/**
+	 * Sends an asynchronous model request through the shared
+	 * {@link RateGovernor}. Waits and retries are scheduled without blocking a
+	 * thread; see {@link #sendRequest(Supplier, boolean)}.
+	 *
+	 * @param <T>     response type
+	 * @param request action starting the request
+	 * @return future completed with the response
+	 */
+	protected <T> CompletableFuture<T> sendRequestAsync(Supplier<CompletableFuture<T>> request) {
+		return sendRequestAsync(request, 1);
+	}
+
+	/**
+	 * Sends one attempt of an asynchronous request and schedules the next attempt
+	 * if it fails with a retryable error.
+	 *
+	 * @param <T>     response type
+	 * @param request action starting the request
+	 * @param attempt attempt number, starting at {@code 1}
+	 * @return future completed with the response
+	 */
+	private <T> CompletableFuture<T> sendRequestAsync(Supplier<CompletableFuture<T>> request, int attempt) {
+		RateGovernor governor = getRateGovernor();
+		return governor.acquireAsync(estimateRequestTokens()).thenCompose(ready -> timeRequestAsync(request))
+				.handle((response, error) -> {
+					if (error == null) {
+						governor.onSuccess();
+						return CompletableFuture.completedFuture(response);
+					}
+					Throwable cause = error instanceof CompletionException && error.getCause() != null
+							? error.getCause()
+							: error;
+					long wait = cause instanceof RuntimeException
+							? retryDelay(governor, (RuntimeException) cause, attempt, true)
+							: -1;
+					if (wait < 0) {
+						CompletableFuture<T> failed = new CompletableFuture<>();
+						failed.completeExceptionally(cause);
+						return failed;
+					}
+					return RateGovernor.delay(wait).thenCompose(ready -> sendRequestAsync(request, attempt + 1));
+				}).thenCompose(Function.identity());
+	}
+
+	/**
+	 * Decides whether a failed request is retried and reports rate limits to the
+	 * governor.
+	 *
+	 * @param governor       governor of the request
+	 * @param error          failure
+	 * @param attempt        failed attempt number
+	 * @param retryTransient whether transient failures are retried
+	 * @return wait before the next attempt in milliseconds, in addition to the
+	 *         governor pause, or {@code -1} if the failure is final
+	 */
+	private long retryDelay(RateGovernor governor, RuntimeException error, int attempt, boolean retryTransient) {
+		RateGovernor.Signal signal = rateSignal(error);
+		if (signal == null) {
+			return -1;
+		}
+		if (signal.isRateLimited()) {
+			governor.onRateLimited(signal.getRetryAfterMillis());
+			return attempt > maxRetries ? -1 : 0;
+		}
+		if (!retryTransient || attempt > maxRetries) {
+			return -1;
+		}
+		long wait = signal.getRetryAfterMillis() > 0 ? signal.getRetryAfterMillis()
+				: RateGovernor.backoffMillis(attempt);
+		logger.debug("Retrying request to {} in {} ms after: {}", getMetricsId(), wait, error.getMessage());
+		return wait;
+	}
+
+	/**
+	 * Classifies a failed request for the {@link RateGovernor}. Providers
+	 * override this method to recognize the rate-limit and server errors of their
+	 * SDK.
+	 *
+	 * @param error failure thrown by the request
+	 * @return signal for retryable failures, or {@code null} if the failure is
+	 *         final; this implementation always returns {@code null}
+	 */
+	protected RateGovernor.Signal rateSignal(RuntimeException error) {
+		return null;
+	}
+
+	/**
+	 * Returns the estimated input tokens of the next request for the
+	 * tokens-per-minute limit.
+	 *
+	 * @return estimate from {@link #getLastRequestSize()}, {@code 0} if unknown
+	 */
+	private long estimateRequestTokens() {
+		RequestSize size = lastRequestSize;
+		return size != null ? size.getTotal() : 0;
+	}
+
+	/**
+	 * Wraps a listener so that events emitted from parallel tool-call threads are
+	 * delivered one at a time.
+	 *
+	 * @param listener event listener, may be {@code null}
+	 * @return synchronized listener, or {@code null} if {@code listener} is
+	 *         {@code null}
+	 */
+	protected static Consumer<GenaiEvent> synchronizedListener(Consumer<GenaiEvent> listener) {
+		if (listener == null) {
+			return null;
+		}
+		return event -> {
+			synchronized (listener) {
+				listener.accept(event);
+			}
+		};
+	}
+
 	/**
 	 * Sets system-level instructions applied to subsequent requests.
 	 *
@@ -336,16 +1066,17 @@ public abstract class AbstractAIProvider implements Genai {
 	 * based on an optional array of enabled tool patterns.
 	 * <p>
 	 * This method inspects all public methods of the provided {@code tools} object using
-	 * reflection, looking for methods annotated with {@link Tool}. For each annotated method,
-	 * it performs the following steps:
+	 * reflection, looking for methods annotated with {@link Tool}. The reflected metadata is
+	 * cached per class, so repeated registrations of the same tools class do not reflect again.
+	 * For each annotated method, it performs the following steps:
 	 * <ul>
-	 *     <li>Extracts and interpolates the tool's description via {@link #interpolateDescription(String)}.</li>
+	 *     <li>Extracts and interpolates the tool's description, replacing {@code ${OS_NAME}}.</li>
 	 *     <li>Determines the tool's name — either from {@link Tool#name()} if explicitly set,
 	 *         or falls back to the method's name if {@link Tool#name()} equals {@link Tool#NOT_DEFINED}.</li>
 	 *     <li>Builds a fully qualified tool name in the format {@code <ClassName>:<toolName>}.</li>
 	 *     <li>Checks whether the tool should be registered based on the {@code enabledTools} filter
 	 *         (see below for filtering logic).</li>
-	 *     <li>If the tool passes the filter, it is registered via {@link #addTool(FunctionTools, Method, String, String)}.</li>
+	 *     <li>If the tool passes the filter, it is registered via {@link #addTool(String, String, ToolFunction, ParamDescriptor...)}.</li>
 	 * </ul>
 	 * <p>
 	 * <b>Filtering logic:</b>
@@ -353,7 +1084,8 @@ public abstract class AbstractAIProvider implements Genai {
 	 *     <li>If {@code enabledTools} is {@code null}, all annotated tools are registered without restriction.</li>
 	 *     <li>If {@code enabledTools} is provided, each entry is treated as a regular expression pattern.
 	 *         A tool is registered only if its fully qualified name matches at least one of the provided
-	 *         patterns (using {@link Pattern#compile(String)} and {@link java.util.regex.Matcher#find()}).</li>
+	 *         patterns (using {@link Pattern#compile(String)} and {@link java.util.regex.Matcher#find()}).
+	 *         Compiled patterns are cached by expression.</li>
 	 *     <li>When {@code enabledTools} is not {@code null} and a tool matches, an informational log entry
 	 *         is written indicating which tool was enabled.</li>
 	 * </ul>
@@ -367,58 +1099,25 @@ public abstract class AbstractAIProvider implements Genai {
 	 *
 	 * @see Tool
 	 * @see FunctionTools
-	 * @see #interpolateDescription(String)
-	 * @see #addTool(FunctionTools, Method, String, String)
+	 * @see #addTool(String, String, ToolFunction, ParamDescriptor...)
 	 */
 	@Override
 	public void addTools(FunctionTools tools, String[] enabledTools) {
-		Class<? extends FunctionTools> toolsClass = tools.getClass();
-		Method[] methods = toolsClass.getMethods();
-		for (Method method : methods) {
-			Tool toolAnnotation = method.getAnnotation(Tool.class);
-			if (toolAnnotation != null) {
-				String description = toolAnnotation.description();
-
-				description = interpolateDescription(description);
-
-				String name;
-				if (Tool.NOT_DEFINED.equals(toolAnnotation.name())) {
-					name = method.getName();
-				} else {
-					name = toolAnnotation.name();
+		Pattern[] patterns = ToolDescriptor.compile(enabledTools);
+		for (ToolDescriptor tool : ToolDescriptor.tools(tools.getClass())) {
+			if (tool.isEnabled(patterns)) {
+				if (enabledTools != null) {
+					logger.debug("Enabled tool: {}", tool.getFullName());
 				}
 
-				String fullName = toolsClass.getName() + ":" + name;
-				if (enabledTools == null
-						|| Arrays.stream(enabledTools).anyMatch(
-								pattern -> {
-									return Pattern.compile(pattern).matcher(fullName).find();
-								})) {
-
-					if (enabledTools != null) {
-						logger.debug("Enabled tool: {}", fullName);
-					}
-
-					addTool(tools, method, name, description);
+				if (!tool.isConcurrent()) {
+					sequentialTools.add(normalize(tool.getName()));
 				}
+				addTool(tools, tool);
 			}
 		}
 	}
 
-	/**
-	 * Interpolates system metadata variables (e.g., OS Name) inside the
-	 * annotation's tool description text before registering it with the LLM.
-	 *
-	 * @param description the raw tool description from the annotation
-	 * @return the interpolated description string
-	 */
-	private String interpolateDescription(String description) {
-		HashMap<String, String> valueMap = new HashMap<String, String>();
-		valueMap.put("OS_NAME", SystemUtils.OS_NAME);
-		description = StringSubstitutor.replace(description, valueMap);
-		return description;
-	}
-
 	/**
 	 * Registers all annotated prompt methods from the given {@link FunctionTools}
 	 * instance.
@@ -490,7 +1189,8 @@ public abstract class AbstractAIProvider implements Genai {
 	 */
 	private void addResource(FunctionTools tools, Method method, String[] uris, String description,
 			String mimeType) {
-		ParamDescriptor[] paramsDesc = fillParamDesc(method);
+		ToolDescriptor descriptor = ToolDescriptor.of(method);
+		ParamDescriptor[] paramsDesc = descriptor.getParamDescriptors(projectDir != null);
 
 		for (String uriStr : uris) {
 			URI uri;
@@ -506,7 +1206,7 @@ public abstract class AbstractAIProvider implements Genai {
 				ToolLogger toolLogger = new ToolLogger(Type.RESOURCE, tools);
 				try {
 					toolLogger.logInput(name, props, dir);
-					Object result = invoke(tools, method, props, dir, config, uri);
+					Object result = invoke(tools, descriptor, props, dir, config, uri);
 					toolLogger.logResult(name, dir, result);
 
 					return result;
@@ -552,7 +1252,8 @@ public abstract class AbstractAIProvider implements Genai {
 	 * @param role        role level instructions
 	 */
 	private void addPrompt(FunctionTools tools, Method method, String name, String description, Role role) {
-		ParamDescriptor[] paramsDesc = fillParamDesc(method);
+		ToolDescriptor descriptor = ToolDescriptor.of(method);
+		ParamDescriptor[] paramsDesc = descriptor.getParamDescriptors(projectDir != null);
 
 		addPrompt(name, description, (props, paramsByType) -> {
 			File dir = getParamByType(File.class, paramsByType);
@@ -560,7 +1261,7 @@ public abstract class AbstractAIProvider implements Genai {
 			ToolLogger toolLogger = new ToolLogger(Type.PROMPT, tools);
 			try {
 				toolLogger.logInput(name, props, dir);
-				Object result = invoke(tools, method, props, dir, config);
+				Object result = invoke(tools, descriptor, props, dir, config);
 				toolLogger.logResult(name, dir, result);
 
 				return result;
@@ -597,21 +1298,20 @@ public abstract class AbstractAIProvider implements Genai {
 	/**
 	 * Configures and registers a single tool method.
 	 *
-	 * @param tools       instance container
-	 * @param method      reflection handle
-	 * @param name        the tool name
-	 * @param description tool capabilities description
+	 * @param tools instance container
+	 * @param tool  cached tool metadata
 	 */
-	private void addTool(FunctionTools tools, Method method, String name, String description) {
-		ParamDescriptor[] paramsDesc = fillParamDesc(method);
+	private void addTool(FunctionTools tools, ToolDescriptor tool) {
+		String name = tool.getName();
+		ParamDescriptor[] paramsDesc = tool.getParamDescriptors(projectDir != null);
 
-		addTool(name, description, (props, paramsByType) -> {
+		addTool(name, tool.getDescription(), (props, paramsByType) -> {
 			File dir = getParamByType(File.class, paramsByType);
 
 			ToolLogger toolLogger = new ToolLogger(Type.TOOL, tools);
 			try {
 				toolLogger.logInput(name, props, dir);
-				Object result = invoke(tools, method, props, paramsByType);
+				Object result = invoke(tools, tool, props, paramsByType);
 				toolLogger.logResult(name, dir, result);
 
 				return result;
@@ -634,95 +1334,45 @@ public abstract class AbstractAIProvider implements Genai {
 	}
 
 	/**
-	 * Analyzes method signature annotations to build an array of parameter
-	 * descriptions.
-	 *
-	 * @param method the method to inspect
-	 * @return an array of {@link ParamDescriptor} instances detailing parameters
-	 */
-	private ParamDescriptor[] fillParamDesc(Method method) {
-		List<ParamDescriptor> paramsDesc = new ArrayList<>();
-		Parameter[] parameters = method.getParameters();
-		for (Parameter param : parameters) {
-			Param paramAnn = param.getAnnotation(Param.class);
-			if (paramAnn != null) {
-				String paramName = paramAnn.name();
-				if (Param.NOT_DEFINED.equals(paramName)) {
-					paramName = param.getName();
-				}
-
-				if (!PROJECT_DIR_PARAM_NAME.equals(paramName) || projectDir == null) {
-					Class<?> type = param.getType();
-					Object defaultValue = paramAnn.defaultValue();
-					boolean required = defaultValue.equals(Param.NOT_DEFINED);
-					String typeStr = TypeConverter.get(type);
-					String description = paramAnn.description();
-					defaultValue = TypeConverter.convertToType(param, (String) defaultValue);
-					ParamDescriptor paramDescription = new ParamDescriptor(paramName, typeStr, required,
-							description, defaultValue);
-					paramsDesc.add(paramDescription);
-				}
-			}
-		}
-		return paramsDesc.toArray(new ParamDescriptor[0]);
-	}
-
-	/**
-	 * Dynamically invokes the specified method on the given tools instance,
-	 * matching arguments dynamically.
+	 * Invokes the described method on the given tools instance, converting the
+	 * incoming JSON attributes with the converters cached in the descriptor.
 	 *
 	 * @param tools        target instance
-	 * @param method       method handle
+	 * @param descriptor   cached method metadata
 	 * @param props        the incoming JSON attributes
 	 * @param paramsByType variable array of parameter context constraints
 	 * @return execution output
 	 * @throws ReflectiveOperationException if the invoked target throws an
 	 *                                      exception
 	 */
-	private Object invoke(FunctionTools tools, Method method, JsonNode props, Object... paramsByType)
+	private Object invoke(FunctionTools tools, ToolDescriptor descriptor, JsonNode props, Object... paramsByType)
 			throws ReflectiveOperationException {
-		List<Object> args = new ArrayList<>();
+		ToolDescriptor.ParamSpec[] params = descriptor.getParams();
+		Object[] args = new Object[params.length];
 		Map<String, Object> map = new HashMap<>();
 
-		Parameter[] params = method.getParameters();
-		for (Parameter param : params) {
-			Param paramAnn = param.getAnnotation(Param.class);
-			if (paramAnn != null) {
-				String defaultValue = paramAnn.defaultValue();
-				if (Strings.CS.containsAny(defaultValue, Param.NULL, Param.NOT_DEFINED)) {
-					defaultValue = null;
-				}
-
-				String paramName = paramAnn.name();
-				if (Param.NOT_DEFINED.equals(paramName)) {
-					paramName = param.getName();
+		for (int i = 0; i < params.length; i++) {
+			ToolDescriptor.ParamSpec param = params[i];
+			if (param.annotated) {
+				String defaultValue = param.defaultValue(getParamByType(File.class, paramsByType));
+				if (Strings.CS.contains(defaultValue, "${")) {
+					defaultValue = StringSubstitutor.replace(defaultValue, map);
 				}
+				String valueStr = getParamValue(props, param.name, defaultValue);
 
-				if (PROJECT_DIR_PARAM_NAME.equals(paramName)) {
-					File dir = getParamByType(File.class, paramsByType);
+				Object value = param.converter.apply(valueStr);
 
-					if (dir != null) {
-						defaultValue = dir.getAbsolutePath();
-					}
-				}
-
-				defaultValue = StringSubstitutor.replace(defaultValue, map);
-				String valueStr = getParamValue(props, paramName, defaultValue);
-
-				Object value = TypeConverter.convertToType(param, valueStr);
-
-				map.put(paramName, value);
-				args.add(value);
+				map.put(param.name, value);
+				args[i] = value;
 
 			} else {
-				Object value = getParamByType(param.getType(), paramsByType);
-				args.add(value);
+				args[i] = getParamByType(param.type, paramsByType);
 			}
 		}
 
-		Object result = method.invoke(tools, args.toArray());
+		Object result = descriptor.invoke(tools, args);
 
-		if (result instanceof String) {
+		if (result instanceof String && Strings.CS.contains((String) result, "${")) {
 			result = StringSubstitutor.replace((String) result, map);
 		}
 
@@ -803,11 +1453,31 @@ public abstract class AbstractAIProvider implements Genai {
 	}
 
 	/**
-	 * Clears the provider state.
+	 * Clears the provider state and deletes the tool results spilled during the
+	 * conversation. Subclasses that keep conversation state call
+	 * {@code super.clear()}.
 	 */
 	@Override
 	public void clear() {
-		// To be implemented by subclasses if needed
+		spillStore.clear();
+	}
+
+	/**
+	 * Deletes spilled tool results and shuts down the executor of parallel tool
+	 * calls. Tool calls already submitted complete; a later parallel tool call
+	 * creates a new executor.
+	 */
+	@Override
+	public void close() {
+		spillStore.clear();
+		ExecutorService executor;
+		synchronized (this) {
+			executor = toolExecutor;
+			toolExecutor = null;
+		}
+		if (executor != null) {
+			executor.shutdown();
+		}
 	}
 
 	/**
@@ -857,4 +1527,201 @@ public abstract class AbstractAIProvider implements Genai {
 		return config;
 	}
 
+	/**
+	 * Replaces the compaction policy selected by
+	 * {@link #COMPACTION_POLICY_PROP_NAME}.
+	 *
+	 * @param compactionPolicy policy to apply
+	 * @param thresholdTokens  estimated input size that triggers compaction;
+	 *                         {@code 0} disables compaction
+	 */
+	public void setCompactionPolicy(CompactionPolicy compactionPolicy, long thresholdTokens) {
+		this.compactionPolicy = compactionPolicy;
+		this.compactionTokens = thresholdTokens;
+	}
+
+	/**
+	 * Applies the compaction policy when the estimated size of a conversation
+	 * exceeds {@link #COMPACTION_TOKENS_PROP_NAME}.
+	 *
+	 * <p>
+	 * Providers call this before each tool follow-up request and rebuild their
+	 * SDK inputs from the result, see {@link ConversationItem}.
+	 * </p>
+	 *
+	 * @param items provider-neutral description of the accumulated inputs
+	 * @return compacted conversation, or {@code null} if the conversation is
+	 *         within budget or compaction is disabled
+	 */
+	protected List<ConversationItem> compact(List<ConversationItem> items) {
+		if (compactionTokens <= 0 || compactionPolicy == null) {
+			return null;
+		}
+		long before = ConversationItem.estimateTokens(items, tokenEstimator);
+		if (before <= compactionTokens) {
+			return null;
+		}
+		List<ConversationItem> result = compactionPolicy.compact(items, compactionTokens);
+		if (result == null || result == items) {
+			return null;
+		}
+		logger.debug("Compacted conversation from ~{} to ~{} tokens.", before,
+				ConversationItem.estimateTokens(result, tokenEstimator));
+		return result;
+	}
+
+	/**
+	 * Indicates whether providers should measure requests before sending them,
+	 * which is the case when {@link #MAX_INPUT_TOKENS_PROP_NAME} or
+	 * {@link #TOKENS_PER_MINUTE_PROP_NAME} is set or debug logging is enabled.
+	 *
+	 * @return {@code true} if {@link #preflight(String, List)} should be called
+	 */
+	protected boolean isPreflightEnabled() {
+		return maxInputTokens > 0 || tokensPerMinute > 0 || logger.isDebugEnabled();
+	}
+
+	/**
+	 * Estimates the size of the next request and enforces
+	 * {@link #MAX_INPUT_TOKENS_PROP_NAME}.
+	 *
+	 * <p>
+	 * If the request exceeds the limit, the conversation is trimmed with the
+	 * compaction policy regardless of {@link #COMPACTION_TOKENS_PROP_NAME}. The
+	 * policy receives the limit minus the instruction and tool schema tokens as
+	 * its budget. The resulting size is available from
+	 * {@link #getLastRequestSize()}.
+	 * </p>
+	 *
+	 * @param tools JSON of the tool schemas sent with the request, may be
+	 *              {@code null}
+	 * @param items provider-neutral description of the conversation
+	 * @return trimmed conversation that the provider must send instead, or
+	 *         {@code null} if the request is sent unchanged
+	 * @throws IllegalArgumentException if the request does not fit even after
+	 *                                  trimming
+	 */
+	protected List<ConversationItem> preflight(String tools, List<ConversationItem> items) {
+		RequestSize size = measure(tools, items);
+		List<ConversationItem> trimmed = null;
+		// Instructions and tool schemas are sent unchanged, so only the rest of the
+		// budget is available to the conversation.
+		long conversationBudget = maxInputTokens - size.getInstructions() - size.getTools();
+		if (maxInputTokens > 0 && size.getTotal() > maxInputTokens && compactionPolicy != null
+				&& conversationBudget > 0) {
+			List<ConversationItem> result = compactionPolicy.compact(items, conversationBudget);
+			if (result != null && result != items) {
+				logger.debug("Trimmed request of {} to fit {}={}.", size, MAX_INPUT_TOKENS_PROP_NAME, maxInputTokens);
+				trimmed = result;
+				size = measure(tools, trimmed);
+			}
+		}
+
+		lastRequestSize = size;
+		logger.debug("Request size: {}", size);
+		if (maxInputTokens > 0 && size.getTotal() > maxInputTokens) {
+			throw new IllegalArgumentException("The request of " + size + " exceeds " + MAX_INPUT_TOKENS_PROP_NAME
+					+ "=" + maxInputTokens + ".");
+		}
+		return trimmed;
+	}
+
+	/**
+	 * Estimates the per-component size of a request.
+	 *
+	 * @param tools JSON of the tool schemas, may be {@code null}
+	 * @param items conversation
+	 * @return request size
+	 */
+	private RequestSize measure(String tools, List<ConversationItem> items) {
+		long history = 0;
+		long toolResults = 0;
+		for (ConversationItem item : items) {
+			if (item.getKind() == ConversationItem.Kind.TOOL_RESULT) {
+				toolResults += item.estimateTokens(tokenEstimator);
+			} else {
+				history += item.estimateTokens(tokenEstimator);
+			}
+		}
+		return new RequestSize(tokenEstimator.count(instructions), tokenEstimator.count(tools), history,
+				toolResults);
+	}
+
+	/**
+	 * Returns the estimated size of the last request measured by
+	 * {@link #preflight(String, List)}.
+	 *
+	 * @return request size, or {@code null} if no request was measured
+	 */
+	public RequestSize getLastRequestSize() {
+		return lastRequestSize;
+	}
+
+	/**
+	 * Returns the token estimator of the configured chat model.
+	 *
+	 * @return token estimator
+	 */
+	protected TokenEstimator getTokenEstimator() {
+		return tokenEstimator;
+	}
+
+	/**
+	 * Indicates whether a compaction threshold is configured, so providers can
+	 * skip describing their inputs otherwise.
+	 *
+	 * @return {@code true} if {@link #compact(List)} may change the conversation
+	 */
+	protected boolean isCompactionEnabled() {
+		return compactionTokens > 0 && compactionPolicy != null;
+	}
+
+	/**
+	 * Creates the built-in compaction policy selected in the configuration.
+	 *
+	 * @param config configuration source
+	 * @return policy
+	 * @throws IllegalArgumentException if the policy name is unknown or the
+	 *                                  summary model is missing
+	 */
+	private CompactionPolicy createCompactionPolicy(Configurator config) {
+		int keepTurns = config.getInt(COMPACTION_KEEP_TURNS_PROP_NAME, 4);
+		String name = config.get(COMPACTION_POLICY_PROP_NAME, "stub").trim().toLowerCase(Locale.ROOT);
+		switch (name) {
+		case "stub":
+			return CompactionPolicy.stubToolResults(keepTurns);
+		case "drop":
+			return CompactionPolicy.dropOldTurns(keepTurns);
+		case "summarize":
+			String model = config.get(COMPACTION_MODEL_PROP_NAME, null);
+			if (StringUtils.isBlank(model)) {
+				throw new IllegalArgumentException("The summarize compaction policy requires "
+						+ COMPACTION_MODEL_PROP_NAME + " in the `Provider:Model` format.");
+			}
+			// The summarizer is borrowed from the provider pool for each summary and returned (or closed) after it.
+			return CompactionPolicy.summarize(keepTurns, transcript -> {
+				try (GenaiProviderManager.Lease lease = GenaiProviderManager.borrowProvider(model, getConfigurator(),
+						Arrays.asList(CompactionPolicy.class, getConfigurator()))) {
+					Genai summarizer = lease.getProvider();
+					summarizer.instructions(COMPACTION_INSTRUCTIONS);
+					summarizer.prompt(transcript);
+					return summarizer.perform();
+				}
+			});
+		default:
+			throw new IllegalArgumentException("Unsupported compaction policy: `" + name
+					+ "`. Expected one of: stub, drop, summarize.");
+		}
+	}
+
+	/**
+	 * Returns the record/replay store consulted before each model request.
+	 *
+	 * @return response cache; {@link ResponseCache#DISABLED} unless
+	 *         {@link #REPLAY_MODE_PROP_NAME} is set
+	 */
+	protected ResponseCache getResponseCache() {
+		return responseCache;
+	}
+
 }
\ No newline at end of file
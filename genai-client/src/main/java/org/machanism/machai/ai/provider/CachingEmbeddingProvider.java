@@ -0,0 +1,164 @@
+package org.machanism.machai.ai.provider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.machanism.macha.core.commons.configurator.Configurator;
+
+/**
+ * {@link EmbeddingProvider} decorator that serves repeated texts from an
+ * {@link EmbeddingCache}.
+ *
+ * <p>
+ * Vectors are looked up by (model, dimensions, text). Only texts that are not
+ * cached are passed to the delegate, in a single
+ * {@link EmbeddingProvider#embeddings(List, long)} call, and the returned
+ * vectors are stored for later runs.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ *     EmbeddingProvider provider = GenaiProviderManager.getEmbeddingProvider(model, conf);
+ *     provider = new CachingEmbeddingProvider(provider, model, EmbeddingCache.open(cacheDir));
+ * </pre>
+ *
+ * @since 1.3.3
+ */
+public class CachingEmbeddingProvider implements EmbeddingProvider {
+
+	/** Provider used for cache misses. */
+	private final EmbeddingProvider delegate;
+
+	/** Vector store shared with other providers. */
+	private final EmbeddingCache cache;
+
+	/** Model identifier that is part of the cache key. */
+	private String model;
+
+	/**
+	 * Creates a caching decorator around an initialized provider.
+	 *
+	 * @param delegate provider used for cache misses
+	 * @param model    model identifier used in cache keys, typically the full
+	 *                 {@code Provider:model} string
+	 * @param cache    vector store
+	 */
+	public CachingEmbeddingProvider(EmbeddingProvider delegate, String model, EmbeddingCache cache) {
+		this.delegate = delegate;
+		this.model = model;
+		this.cache = cache;
+	}
+
+	/**
+	 * Initializes the delegate and uses {@code model} in subsequent cache keys.
+	 *
+	 * @param model model identifier to use
+	 * @param conf  configuration source
+	 */
+	@Override
+	public void init(String model, Configurator conf) {
+		delegate.init(model, conf);
+		this.model = model;
+	}
+
+	/**
+	 * Returns the cached vector for {@code text}, requesting it from the delegate
+	 * on a miss.
+	 *
+	 * @param text       the input text
+	 * @param dimensions desired embedding dimensionality
+	 * @return the embedding vector, or the delegate result for a {@code null}
+	 *         text
+	 */
+	@Override
+	public List<Double> embedding(String text, long dimensions) {
+		if (text == null) {
+			return delegate.embedding(null, dimensions);
+		}
+		return toList(embeddings(Collections.singletonList(text), dimensions)[0]);
+	}
+
+	/**
+	 * Returns cached vectors and requests all missing ones from the delegate in
+	 * one batch.
+	 *
+	 * @param texts      the input texts; {@code null} elements are allowed
+	 * @param dimensions desired embedding dimensionality
+	 * @return one vector per input text, in input order
+	 */
+	@Override
+	public float[][] embeddings(List<String> texts, long dimensions) {
+		float[][] result = new float[texts.size()][];
+		List<Integer> missing = new ArrayList<>();
+		List<String> missingTexts = new ArrayList<>();
+		for (int i = 0; i < result.length; i++) {
+			String text = texts.get(i);
+			if (text != null) {
+				result[i] = cache.get(model, dimensions, text);
+				if (result[i] == null) {
+					missing.add(i);
+					missingTexts.add(text);
+				}
+			}
+		}
+
+		if (!missing.isEmpty()) {
+			float[][] fetched = delegate.embeddings(missingTexts, dimensions);
+			for (int j = 0; j < fetched.length; j++) {
+				if (fetched[j] != null) {
+					cache.put(model, dimensions, missingTexts.get(j), fetched[j]);
+					result[missing.get(j)] = fetched[j];
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a completed future on a cache hit; otherwise delegates and stores
+	 * the result when it arrives.
+	 *
+	 * @param text       the input text
+	 * @param dimensions desired embedding dimensionality
+	 * @return future completed with the embedding vector
+	 */
+	@Override
+	public CompletableFuture<List<Double>> embeddingAsync(String text, long dimensions) {
+		float[] cached = text != null ? cache.get(model, dimensions, text) : null;
+		if (cached != null) {
+			return CompletableFuture.completedFuture(toList(cached));
+		}
+		return delegate.embeddingAsync(text, dimensions).thenApply(embedding -> {
+			if (text != null && embedding != null) {
+				float[] vector = new float[embedding.size()];
+				for (int i = 0; i < vector.length; i++) {
+					vector[i] = embedding.get(i).floatValue();
+				}
+				cache.put(model, dimensions, text, vector);
+			}
+			return embedding;
+		});
+	}
+
+	/**
+	 * Converts a vector to the boxed form returned by
+	 * {@link #embedding(String, long)}.
+	 *
+	 * @param vector vector, may be {@code null}
+	 * @return boxed vector, or {@code null}
+	 */
+	private static List<Double> toList(float[] vector) {
+		if (vector == null) {
+			return null;
+		}
+		List<Double> list = new ArrayList<>(vector.length);
+		for (float value : vector) {
+			list.add((double) value);
+		}
+		return list;
+	}
+}
@@ -0,0 +1,320 @@
+package org.machanism.machai.ai.provider;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide cache of SDK clients shared by provider instances.
+ * <p>
+ * Providers are created per processed file, while the SDK clients they use own
+ * an HTTP connection pool, TLS sessions and dispatcher threads. This cache keeps
+ * one client per connection key (base URL, credential identity, timeout and
+ * retry settings) so that every provider instance talking to the same endpoint reuses
+ * the same warm connections.
+ * </p>
+ * <p>
+ * Each cached client belongs to one credential identity, such as an API key or
+ * the user an access token was issued to. Separate identities always get
+ * separate clients. When the same identity presents a new secret (for example
+ * after an access token was rotated), the client created for the previous
+ * secret is replaced and closed. Closing a client only releases idle
+ * connections and stops accepting new asynchronous work, so calls that are
+ * already in flight complete normally.
+ * </p>
+ *
+ * <h2>Usage</h2>
+ *
+ * <pre>
+ * private static final ClientCache&lt;OpenAIClient&gt; CLIENTS = new ClientCache&lt;&gt;("OpenAI", OpenAIClient::close);
+ *
+ * OpenAIClient client = CLIENTS.get(baseUrl, apiKey, timeoutSec, 3, () -&gt; createClient());
+ * OpenAIClient rotating = CLIENTS.get(baseUrl, username, accessToken, timeoutSec, 3, () -&gt; createClient());
+ * </pre>
+ *
+ * @param <C> SDK client type
+ * @since 1.3.3
+ */
+public final class ClientCache<C> {
+
+	/** Logger used for client lifecycle diagnostics. */
+	private static final Logger logger = LoggerFactory.getLogger(ClientCache.class);
+
+	/**
+	 * Caches created in this JVM, closed together by {@link #closeAll()}. Caches
+	 * are held weakly so that unreachable caches do not accumulate.
+	 */
+	private static final Set<ClientCache<?>> caches = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(ClientCache::closeAll, "genai-client-cache-shutdown"));
+	}
+
+	/** Cached clients by connection key. */
+	private final Map<Key, Cached<C>> clients = new ConcurrentHashMap<>();
+
+	/** Human-readable cache name used in log messages. */
+	private final String name;
+
+	/** Callback that releases the resources held by a client. */
+	private final Consumer<C> closer;
+
+	/**
+	 * Creates a client cache and registers it for {@link #closeAll()}.
+	 *
+	 * @param name   cache name used in log messages, for example {@code OpenAI}
+	 * @param closer callback that releases the resources held by a client
+	 */
+	public ClientCache(String name, Consumer<C> closer) {
+		this.name = name;
+		this.closer = closer;
+		caches.add(this);
+	}
+
+	/**
+	 * Returns the cached client for the given connection settings, creating it
+	 * with {@code factory} on the first request.
+	 * <p>
+	 * The credential is its own identity, so every distinct API key gets its own
+	 * client.
+	 * </p>
+	 *
+	 * @param baseUrl    endpoint base URL, or {@code null} for the SDK default
+	 * @param credential API key or access token used by the client
+	 * @param timeoutSec request timeout in seconds; {@code 0} for SDK defaults
+	 * @param maxRetries maximum number of SDK retries
+	 * @param factory    creates a new client for these settings
+	 * @return the shared client instance
+	 */
+	public C get(String baseUrl, String credential, long timeoutSec, int maxRetries, Supplier<C> factory) {
+		return get(baseUrl, credential, credential, timeoutSec, maxRetries, factory);
+	}
+
+	/**
+	 * Returns the cached client for the given connection settings and credential
+	 * identity, creating it with {@code factory} on the first request.
+	 * <p>
+	 * When the client cached for {@code identity} was created with a different
+	 * secret, it is replaced by a new client and closed, so a rotated credential
+	 * never leaves stale connection pools behind. Clients of other identities on
+	 * the same endpoint are not affected.
+	 * </p>
+	 *
+	 * @param baseUrl    endpoint base URL, or {@code null} for the SDK default
+	 * @param identity   stable identity of the credential, for example the user an
+	 *                   access token was issued to
+	 * @param credential current secret of that identity
+	 * @param timeoutSec request timeout in seconds; {@code 0} for SDK defaults
+	 * @param maxRetries maximum number of SDK retries
+	 * @param factory    creates a new client for these settings
+	 * @return the shared client instance
+	 */
+	public C get(String baseUrl, String identity, String credential, long timeoutSec, int maxRetries,
+			Supplier<C> factory) {
+		Key key = new Key(baseUrl, fingerprint(identity), timeoutSec, maxRetries);
+		String secret = Objects.equals(identity, credential) ? key.identity : fingerprint(credential);
+		Cached<C> cached = clients.get(key);
+		if (cached != null && cached.secret.equals(secret)) {
+			return cached.client;
+		}
+
+		Cached<C> rotated;
+		C client;
+		synchronized (clients) {
+			rotated = clients.get(key);
+			if (rotated != null && rotated.secret.equals(secret)) {
+				return rotated.client;
+			}
+			client = factory.get();
+			clients.put(key, new Cached<>(client, secret));
+		}
+
+		if (rotated != null) {
+			logger.debug("{} credential rotated, closing the previous client.", name);
+			closeQuietly(rotated.client);
+		} else {
+			logger.debug("{} client created for endpoint: {}", name, StringUtils.defaultString(baseUrl, "default"));
+		}
+		return client;
+	}
+
+	/**
+	 * Closes and removes all clients cached for the given base URL.
+	 *
+	 * @param baseUrl endpoint base URL, or {@code null} for the SDK default
+	 */
+	public void invalidate(String baseUrl) {
+		List<C> removed = new ArrayList<>();
+		synchronized (clients) {
+			Iterator<Entry<Key, Cached<C>>> iterator = clients.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Entry<Key, Cached<C>> entry = iterator.next();
+				if (Objects.equals(entry.getKey().baseUrl, baseUrl)) {
+					removed.add(entry.getValue().client);
+					iterator.remove();
+				}
+			}
+		}
+		removed.forEach(this::closeQuietly);
+	}
+
+	/**
+	 * Closes and removes every client held by this cache.
+	 */
+	public void close() {
+		List<C> removed;
+		synchronized (clients) {
+			removed = new ArrayList<>();
+			clients.values().forEach(cached -> removed.add(cached.client));
+			clients.clear();
+		}
+		removed.forEach(this::closeQuietly);
+	}
+
+	/**
+	 * Returns the number of cached clients.
+	 *
+	 * @return cached client count
+	 */
+	public int size() {
+		return clients.size();
+	}
+
+	/**
+	 * Closes every client cache created in this JVM.
+	 * <p>
+	 * Intended to be called once an application run completes. The method is also
+	 * registered as a JVM shutdown hook.
+	 * </p>
+	 */
+	public static void closeAll() {
+		List<ClientCache<?>> registered;
+		synchronized (caches) {
+			registered = new ArrayList<>(caches);
+		}
+		registered.forEach(ClientCache::close);
+	}
+
+	/**
+	 * Closes a client, logging instead of propagating failures.
+	 *
+	 * @param client client to close
+	 */
+	private void closeQuietly(C client) {
+		try {
+			closer.accept(client);
+		} catch (RuntimeException e) {
+			logger.debug("{} client close failed: {}", name, e.getMessage());
+		}
+	}
+
+	/**
+	 * Computes a SHA-256 fingerprint of a credential so that secrets are not kept
+	 * as map keys.
+	 *
+	 * @param credential credential value, may be {@code null}
+	 * @return hexadecimal fingerprint, or an empty string for {@code null}
+	 */
+	static String fingerprint(String credential) {
+		if (credential == null) {
+			return StringUtils.EMPTY;
+		}
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(credential.getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				sb.append(String.format("%02x", b));
+			}
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Cached client together with the fingerprint of the secret it was created
+	 * with.
+	 *
+	 * @param <C> SDK client type
+	 */
+	private static final class Cached<C> {
+
+		/** Cached client. */
+		private final C client;
+
+		/** Fingerprint of the secret used to create {@link #client}. */
+		private final String secret;
+
+		private Cached(C client, String secret) {
+			this.client = client;
+			this.secret = secret;
+		}
+	}
+
+	/**
+	 * Connection settings identifying one cached client.
+	 */
+	private static final class Key {
+
+		/** Endpoint base URL, or {@code null} for the SDK default. */
+		private final String baseUrl;
+
+		/** Credential identity fingerprint. */
+		private final String identity;
+
+		/** Request timeout in seconds. */
+		private final long timeoutSec;
+
+		/** Maximum number of SDK retries. */
+		private final int maxRetries;
+
+		/**
+		 * Creates a connection key.
+		 *
+		 * @param baseUrl    endpoint base URL
+		 * @param identity   credential identity fingerprint
+		 * @param timeoutSec request timeout in seconds
+		 * @param maxRetries maximum number of SDK retries
+		 */
+		private Key(String baseUrl, String identity, long timeoutSec, int maxRetries) {
+			this.baseUrl = baseUrl;
+			this.identity = identity;
+			this.timeoutSec = timeoutSec;
+			this.maxRetries = maxRetries;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return Objects.equals(baseUrl, other.baseUrl) && Objects.equals(identity, other.identity)
+					&& timeoutSec == other.timeoutSec && maxRetries == other.maxRetries;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(baseUrl, identity, timeoutSec, maxRetries);
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package org.machanism.machai.ai.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Strategy that shrinks an accumulated conversation once its estimated size
+ * exceeds the configured token threshold.
+ *
+ * <p>
+ * {@link AbstractAIProvider} calls the policy before each follow-up request of
+ * a tool loop. Built-in policies split the conversation into three parts: the
+ * leading messages up to the first tool call (the task prompt), which are
+ * always kept; the last {@code keepTurns} groups, which are kept verbatim; and
+ * the older groups in between, which are compacted.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #stubToolResults(int)} replaces old tool results with a short
+ * placeholder and keeps the tool calls.</li>
+ * <li>{@link #dropOldTurns(int)} removes old groups entirely.</li>
+ * <li>{@link #summarize(int, Function)} replaces old groups with a summary
+ * produced by {@code summarizer}, typically a cheaper model.</li>
+ * </ul>
+ *
+ * @since 1.3.3
+ */
+@FunctionalInterface
+public interface CompactionPolicy {
+
+	/**
+	 * Compacts a conversation.
+	 *
+	 * @param items  conversation in request order
+	 * @param budget token threshold that triggered the compaction
+	 * @return compacted conversation; items keep their groups so that the
+	 *         provider can rebuild valid requests
+	 */
+	List<ConversationItem> compact(List<ConversationItem> items, long budget);
+
+	/**
+	 * Returns a policy that replaces older tool results with placeholders.
+	 *
+	 * @param keepTurns number of most recent groups kept verbatim
+	 * @return policy
+	 */
+	static CompactionPolicy stubToolResults(int keepTurns) {
+		return (items, budget) -> ConversationCompaction.apply(items, keepTurns, ConversationCompaction::stub);
+	}
+
+	/**
+	 * Returns a policy that removes older groups.
+	 *
+	 * @param keepTurns number of most recent groups kept verbatim
+	 * @return policy
+	 */
+	static CompactionPolicy dropOldTurns(int keepTurns) {
+		return (items, budget) -> ConversationCompaction.apply(items, keepTurns, middle -> new ArrayList<>());
+	}
+
+	/**
+	 * Returns a policy that folds older groups into a summary. If the summarizer
+	 * fails or returns a blank text, older tool results are stubbed instead.
+	 *
+	 * @param keepTurns  number of most recent groups kept verbatim
+	 * @param summarizer function producing a summary from a transcript of the
+	 *                   compacted entries
+	 * @return policy
+	 */
+	static CompactionPolicy summarize(int keepTurns, Function<String, String> summarizer) {
+		return (items, budget) -> ConversationCompaction.apply(items, keepTurns,
+				middle -> ConversationCompaction.summarize(middle, summarizer));
+	}
+}
@@ -0,0 +1,131 @@
+package org.machanism.machai.ai.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of the built-in {@link CompactionPolicy} strategies.
+ */
+final class ConversationCompaction {
+
+	/** Text identifying tool results that were already replaced by a placeholder. */
+	private static final String STUB_MARKER = " omitted to save context: ";
+
+	/** Logger used for compaction diagnostics. */
+	private static final Logger logger = LoggerFactory.getLogger(ConversationCompaction.class);
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private ConversationCompaction() {
+	}
+
+	/**
+	 * Splits the conversation and compacts the older part.
+	 *
+	 * @param items     conversation in request order
+	 * @param keepTurns number of most recent groups kept verbatim
+	 * @param compactor function compacting the older part
+	 * @return compacted conversation, or {@code items} if there is nothing to
+	 *         compact
+	 */
+	static List<ConversationItem> apply(List<ConversationItem> items, int keepTurns,
+			Function<List<ConversationItem>, List<ConversationItem>> compactor) {
+		int start = 0;
+		while (start < items.size() && items.get(start).getKind() == ConversationItem.Kind.MESSAGE) {
+			start++;
+		}
+		if (start < items.size()) {
+			start = groupStart(items, start);
+		}
+
+		int end = items.size();
+		int groups = 0;
+		while (end > start && groups < Math.max(0, keepTurns)) {
+			end = groupStart(items, end - 1);
+			groups++;
+		}
+		if (end <= start) {
+			return items;
+		}
+
+		List<ConversationItem> result = new ArrayList<>(items.subList(0, start));
+		result.addAll(compactor.apply(items.subList(start, end)));
+		result.addAll(items.subList(end, items.size()));
+		return result;
+	}
+
+	/**
+	 * Replaces tool results with placeholders.
+	 *
+	 * @param items entries to compact
+	 * @return compacted entries
+	 */
+	static List<ConversationItem> stub(List<ConversationItem> items) {
+		List<ConversationItem> result = new ArrayList<>(items.size());
+		for (ConversationItem item : items) {
+			if (item.getKind() == ConversationItem.Kind.TOOL_RESULT && !item.getText().contains(STUB_MARKER)) {
+				String stub = "[Result of " + StringUtils.defaultString(item.getLabel(), "tool") + STUB_MARKER
+						+ item.getText().length() + " characters]";
+				result.add(stub.length() < item.getText().length() ? item.withText(stub) : item);
+			} else {
+				result.add(item);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Replaces entries with a summary, falling back to {@link #stub(List)}.
+	 *
+	 * @param items      entries to compact
+	 * @param summarizer summary function
+	 * @return compacted entries
+	 */
+	static List<ConversationItem> summarize(List<ConversationItem> items,
+			Function<String, String> summarizer) {
+		StringBuilder transcript = new StringBuilder();
+		for (ConversationItem item : items) {
+			transcript.append(item.getKind());
+			if (item.getLabel() != null) {
+				transcript.append(' ').append(item.getLabel());
+			}
+			transcript.append(": ").append(item.getText()).append('\n');
+		}
+
+		String summary = null;
+		try {
+			summary = summarizer.apply(transcript.toString());
+		} catch (RuntimeException e) {
+			logger.warn("Conversation summary failed, stubbing tool results instead: {}", e.getMessage());
+		}
+		if (StringUtils.isBlank(summary)) {
+			return stub(items);
+		}
+		List<ConversationItem> result = new ArrayList<>(1);
+		result.add(ConversationItem.summary(summary));
+		return result;
+	}
+
+	/**
+	 * Returns the index of the first item of the group containing
+	 * {@code index}.
+	 *
+	 * @param items conversation
+	 * @param index item index
+	 * @return first index of the group
+	 */
+	private static int groupStart(List<ConversationItem> items, int index) {
+		int group = items.get(index).getGroup();
+		int start = index;
+		while (start > 0 && items.get(start - 1).getGroup() == group) {
+			start--;
+		}
+		return start;
+	}
+}
@@ -0,0 +1,192 @@
+package org.machanism.machai.ai.provider;
+
+import org.machanism.machai.ai.tokenizer.TokenEstimator;
+
+/**
+ * Provider-neutral view of one entry of an accumulated conversation, used by
+ * {@link CompactionPolicy} implementations.
+ *
+ * <p>
+ * Providers describe each SDK input item with its {@link Kind}, a readable
+ * text, the group it belongs to and the original SDK object. Items of the same
+ * group (for example a tool call and its result) are only kept or dropped
+ * together, so the conversation stays valid for the model API. After
+ * compaction a provider rebuilds its inputs from the returned items: unchanged
+ * items map back to {@link #getSource()}, tool results with
+ * {@link #isModified()} are rebuilt with the new text, and {@link Kind#SUMMARY}
+ * items become user messages.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public final class ConversationItem {
+
+	/**
+	 * Conversation entry type.
+	 */
+	public enum Kind {
+		/** User prompt or assistant message. */
+		MESSAGE,
+		/** Tool call requested by the model. */
+		TOOL_CALL,
+		/** Result of a tool call. */
+		TOOL_RESULT,
+		/** Summary of compacted conversation entries. */
+		SUMMARY
+	}
+
+	/** Per-item overhead in tokens for role and framing. */
+	private static final int ITEM_OVERHEAD_TOKENS = 4;
+
+	/** Entry type. */
+	private final Kind kind;
+
+	/** Tool name for tool entries, role for messages. */
+	private final String label;
+
+	/** Readable entry text. */
+	private final String text;
+
+	/** Group index; entries of one group are kept or dropped together. */
+	private final int group;
+
+	/** Original provider SDK object, {@code null} for summaries. */
+	private final Object source;
+
+	/** Whether {@link #text} replaces the text of {@link #source}. */
+	private final boolean modified;
+
+	/**
+	 * Creates an item.
+	 *
+	 * @param kind     entry type
+	 * @param label    tool name or role
+	 * @param text     readable text
+	 * @param group    group index
+	 * @param source   original SDK object
+	 * @param modified whether the text replaces the source text
+	 */
+	private ConversationItem(Kind kind, String label, String text, int group, Object source, boolean modified) {
+		this.kind = kind;
+		this.label = label;
+		this.text = text != null ? text : "";
+		this.group = group;
+		this.source = source;
+		this.modified = modified;
+	}
+
+	/**
+	 * Describes an SDK input item.
+	 *
+	 * @param kind   entry type
+	 * @param label  tool name for tool entries, role for messages
+	 * @param text   readable text used for estimates and summaries
+	 * @param group  group index
+	 * @param source original SDK object
+	 * @return item
+	 */
+	public static ConversationItem of(Kind kind, String label, String text, int group, Object source) {
+		return new ConversationItem(kind, label, text, group, source, false);
+	}
+
+	/**
+	 * Creates a summary item that replaces compacted entries.
+	 *
+	 * @param text summary text
+	 * @return summary item
+	 */
+	public static ConversationItem summary(String text) {
+		return new ConversationItem(Kind.SUMMARY, null, text, -1, null, true);
+	}
+
+	/**
+	 * Returns a copy of this item with replaced text, for example a stub in place
+	 * of a large tool result.
+	 *
+	 * @param replacement new text
+	 * @return modified copy
+	 */
+	public ConversationItem withText(String replacement) {
+		return new ConversationItem(kind, label, replacement, group, source, true);
+	}
+
+	/**
+	 * Returns the estimated tokens of this item.
+	 *
+	 * @param estimator token estimator of the model
+	 * @return estimated tokens, including a small framing overhead
+	 */
+	public long estimateTokens(TokenEstimator estimator) {
+		return estimator.count(text) + ITEM_OVERHEAD_TOKENS;
+	}
+
+	/**
+	 * Returns the estimated tokens of a list of items.
+	 *
+	 * @param items     conversation items
+	 * @param estimator token estimator of the model
+	 * @return estimated tokens
+	 */
+	public static long estimateTokens(Iterable<ConversationItem> items, TokenEstimator estimator) {
+		long total = 0;
+		for (ConversationItem item : items) {
+			total += item.estimateTokens(estimator);
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the entry type.
+	 *
+	 * @return kind
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Returns the tool name for tool entries, or the role for messages.
+	 *
+	 * @return label, may be {@code null}
+	 */
+	public String getLabel() {
+		return label;
+	}
+
+	/**
+	 * Returns the readable text.
+	 *
+	 * @return text, never {@code null}
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * Returns the group index.
+	 *
+	 * @return group, {@code -1} for summaries
+	 */
+	public int getGroup() {
+		return group;
+	}
+
+	/**
+	 * Returns the original provider SDK object.
+	 *
+	 * @return source object, {@code null} for summaries
+	 */
+	public Object getSource() {
+		return source;
+	}
+
+	/**
+	 * Indicates whether the text was replaced during compaction.
+	 *
+	 * @return {@code true} if the provider must rebuild the item from
+	 *         {@link #getText()}
+	 */
+	public boolean isModified() {
+		return modified;
+	}
+}
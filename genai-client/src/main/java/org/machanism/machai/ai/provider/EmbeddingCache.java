@@ -0,0 +1,432 @@
+package org.machanism.machai.ai.provider;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent, content-addressed store of embedding vectors.
+ *
+ * <p>
+ * Vectors are keyed by the SHA-256 digest of (model, dimensions, text) and
+ * stored as {@code float32} values in a memory-mapped, append-only file. An
+ * in-memory index maps each key to the offset of its record and is rebuilt by
+ * scanning the file when the cache is opened.
+ * </p>
+ *
+ * <p>
+ * The file is bounded by a maximum size. When an append would exceed it, the
+ * least recently used entries are evicted until the live data fits in three
+ * quarters of the limit, and the remaining records are compacted in place.
+ * Evicted records stay in the file only until the next compaction, which also
+ * runs on {@link #close()}, so evictions survive reopening the cache.
+ * </p>
+ *
+ * <p>
+ * Instances are shared per file within the JVM and guarded by an exclusive
+ * file lock across processes. All methods are thread-safe.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public final class EmbeddingCache implements Closeable {
+
+	/** Logger used for cache diagnostics. */
+	private static final Logger logger = LoggerFactory.getLogger(EmbeddingCache.class);
+
+	/** Default upper bound of the cache file size in bytes. */
+	public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+	/** Name of the cache file inside the cache directory. */
+	public static final String FILE_NAME = "embeddings.bin";
+
+	/** File signature. */
+	private static final int MAGIC = 0x4D454D42;
+
+	/** File format version. */
+	private static final int VERSION = 1;
+
+	/** Header layout: magic, version and the end offset of the last record. */
+	private static final int HEADER_SIZE = 16;
+
+	/** Offset of the end-of-data field in the header. */
+	private static final int END_OFFSET = 8;
+
+	/** Size of the SHA-256 key stored in front of each record. */
+	private static final int KEY_SIZE = 32;
+
+	/** Record layout: key followed by the vector length. */
+	private static final int RECORD_HEADER_SIZE = KEY_SIZE + 4;
+
+	/** Open caches by canonical file path. */
+	private static final Map<String, EmbeddingCache> caches = new HashMap<>();
+
+	/** Cache file. */
+	private final File file;
+
+	/** Maximum size of the cache file in bytes. */
+	private final long maxBytes;
+
+	/** Channel of the cache file. */
+	private final FileChannel channel;
+
+	/** Exclusive lock held while the cache is open. */
+	private final FileLock lock;
+
+	/** Mapping of the whole cache file. */
+	private MappedByteBuffer buffer;
+
+	/** Record offsets by key, in least-recently-used order. */
+	private final LinkedHashMap<Key, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Offset just past the last record. */
+	private long end;
+
+	/** Total size of the indexed records in bytes. */
+	private long liveBytes;
+
+	/** Whether entries were evicted since the last compaction. */
+	private boolean evicted;
+
+	/**
+	 * Opens a cache file and rebuilds its index.
+	 *
+	 * @param file     cache file
+	 * @param maxBytes maximum file size in bytes
+	 * @throws IOException if the file cannot be opened, locked or mapped
+	 */
+	private EmbeddingCache(File file, long maxBytes) throws IOException {
+		this.file = file;
+		this.maxBytes = maxBytes;
+
+		File dir = file.getParentFile();
+		if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Unable to create embedding cache directory: " + dir);
+		}
+
+		@SuppressWarnings("resource")
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		this.channel = raf.getChannel();
+		FileLock fileLock;
+		try {
+			fileLock = channel.tryLock();
+		} catch (OverlappingFileLockException e) {
+			fileLock = null;
+		}
+		if (fileLock == null) {
+			channel.close();
+			throw new IOException("Embedding cache is in use by another process: " + file);
+		}
+		this.lock = fileLock;
+
+		try {
+			long capacity = Math.max(maxBytes, channel.size());
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+			load();
+		} catch (IOException | RuntimeException e) {
+			lock.release();
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens the cache stored in the given directory with the
+	 * {@link #DEFAULT_MAX_BYTES default size limit}.
+	 *
+	 * @param dir cache directory
+	 * @return shared cache instance
+	 * @throws IOException if the cache file cannot be opened or is locked by
+	 *                     another process
+	 */
+	public static EmbeddingCache open(File dir) throws IOException {
+		return open(dir, DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Opens the cache stored in the given directory.
+	 * <p>
+	 * A cache that is already open in this JVM is returned as is; its size limit
+	 * is not changed.
+	 * </p>
+	 *
+	 * @param dir      cache directory
+	 * @param maxBytes maximum cache file size in bytes
+	 * @return shared cache instance
+	 * @throws IOException              if the cache file cannot be opened or is
+	 *                                  locked by another process
+	 * @throws IllegalArgumentException if {@code maxBytes} is too small or
+	 *                                  exceeds {@link Integer#MAX_VALUE}
+	 */
+	public static EmbeddingCache open(File dir, long maxBytes) throws IOException {
+		if (maxBytes <= HEADER_SIZE || maxBytes > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid embedding cache size: " + maxBytes);
+		}
+		File file = new File(dir, FILE_NAME).getCanonicalFile();
+		synchronized (caches) {
+			EmbeddingCache cache = caches.get(file.getPath());
+			if (cache == null) {
+				cache = new EmbeddingCache(file, maxBytes);
+				caches.put(file.getPath(), cache);
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * Returns the cached vector for a text.
+	 *
+	 * @param model      embedding model identifier
+	 * @param dimensions requested dimensionality
+	 * @param text       embedded text
+	 * @return a copy of the cached vector, or {@code null} if it is not cached
+	 */
+	public float[] get(String model, long dimensions, String text) {
+		Key key = key(model, dimensions, text);
+		synchronized (this) {
+			Long offset = buffer != null ? index.get(key) : null;
+			if (offset == null) {
+				return null;
+			}
+			ByteBuffer view = buffer.duplicate();
+			view.position((int) (offset + KEY_SIZE));
+			float[] vector = new float[view.getInt()];
+			view.asFloatBuffer().get(vector);
+			return vector;
+		}
+	}
+
+	/**
+	 * Stores the vector for a text, evicting least recently used entries when the
+	 * size limit would be exceeded.
+	 *
+	 * @param model      embedding model identifier
+	 * @param dimensions requested dimensionality
+	 * @param text       embedded text
+	 * @param vector     embedding vector
+	 */
+	public void put(String model, long dimensions, String text, float[] vector) {
+		Key key = key(model, dimensions, text);
+		long size = RECORD_HEADER_SIZE + 4L * vector.length;
+		synchronized (this) {
+			if (buffer == null || index.containsKey(key) || size > maxBytes - HEADER_SIZE) {
+				return;
+			}
+
+			if (liveBytes + size > maxBytes - HEADER_SIZE) {
+				evict(Math.min(maxBytes * 3 / 4, maxBytes - HEADER_SIZE - size));
+			}
+			if (end + size > maxBytes) {
+				compact();
+			}
+
+			ByteBuffer view = buffer.duplicate();
+			view.position((int) end);
+			view.put(key.hash);
+			view.putInt(vector.length);
+			view.asFloatBuffer().put(vector);
+
+			index.put(key, end);
+			liveBytes += size;
+			end += size;
+			buffer.putLong(END_OFFSET, end);
+		}
+	}
+
+	/**
+	 * Returns the number of cached vectors.
+	 *
+	 * @return entry count
+	 */
+	public synchronized int size() {
+		return index.size();
+	}
+
+	/**
+	 * Compacts the file if entries were evicted, flushes the mapped file and
+	 * releases the file lock. Subsequent lookups miss and stores are ignored.
+	 *
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (caches) {
+			caches.remove(file.getPath());
+		}
+		synchronized (this) {
+			if (buffer != null) {
+				if (evicted) {
+					compact();
+				}
+				buffer.force();
+				buffer = null;
+				index.clear();
+				lock.release();
+				channel.close();
+			}
+		}
+	}
+
+	/**
+	 * Reads the header and indexes all complete records.
+	 */
+	private void load() {
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			buffer.putInt(0, MAGIC);
+			buffer.putInt(4, VERSION);
+			buffer.putLong(END_OFFSET, HEADER_SIZE);
+		}
+
+		long limit = Math.min(buffer.getLong(END_OFFSET), buffer.capacity());
+		long position = HEADER_SIZE;
+		byte[] hash = new byte[KEY_SIZE];
+		ByteBuffer view = buffer.duplicate();
+		while (position + RECORD_HEADER_SIZE <= limit) {
+			view.position((int) position);
+			view.get(hash);
+			int length = view.getInt();
+			long size = RECORD_HEADER_SIZE + 4L * length;
+			if (length < 0 || position + size > limit) {
+				break;
+			}
+			Long previous = index.put(new Key(hash.clone()), position);
+			if (previous != null) {
+				liveBytes -= recordSize(previous);
+			}
+			liveBytes += size;
+			position += size;
+		}
+		end = position;
+		buffer.putLong(END_OFFSET, end);
+
+		if (end > maxBytes) {
+			evict(maxBytes * 3 / 4);
+			compact();
+		}
+		logger.debug("Embedding cache '{}' opened with {} entries.", file, index.size());
+	}
+
+	/**
+	 * Removes least recently used entries until the live data fits the target.
+	 *
+	 * @param target maximum live data size in bytes
+	 */
+	private void evict(long target) {
+		Iterator<Map.Entry<Key, Long>> iterator = index.entrySet().iterator();
+		while (liveBytes > target && iterator.hasNext()) {
+			liveBytes -= recordSize(iterator.next().getValue());
+			iterator.remove();
+			evicted = true;
+		}
+	}
+
+	/**
+	 * Moves all indexed records to the front of the file, dropping the space of
+	 * evicted records, without changing the recency order of the index.
+	 */
+	private void compact() {
+		List<Map.Entry<Key, Long>> entries = new ArrayList<>(index.entrySet());
+		entries.sort(Map.Entry.comparingByValue());
+
+		ByteBuffer view = buffer.duplicate();
+		long cursor = HEADER_SIZE;
+		for (Map.Entry<Key, Long> entry : entries) {
+			long offset = entry.getValue();
+			int size = (int) recordSize(offset);
+			if (offset != cursor) {
+				byte[] record = new byte[size];
+				view.position((int) offset);
+				view.get(record);
+				view.position((int) cursor);
+				view.put(record);
+				entry.setValue(cursor);
+			}
+			cursor += size;
+		}
+		end = cursor;
+		buffer.putLong(END_OFFSET, end);
+		evicted = false;
+	}
+
+	/**
+	 * Returns the size of the record at the given offset.
+	 *
+	 * @param offset record offset
+	 * @return record size in bytes
+	 */
+	private long recordSize(long offset) {
+		return RECORD_HEADER_SIZE + 4L * buffer.getInt((int) (offset + KEY_SIZE));
+	}
+
+	/**
+	 * Computes the cache key of a text.
+	 *
+	 * @param model      embedding model identifier
+	 * @param dimensions requested dimensionality
+	 * @param text       embedded text
+	 * @return SHA-256 based key
+	 */
+	private static Key key(String model, long dimensions, String text) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(String.valueOf(model).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(Long.toString(dimensions).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			return new Key(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * SHA-256 digest used as an index key.
+	 */
+	private static final class Key {
+
+		/** Digest bytes. */
+		private final byte[] hash;
+
+		/** Cached hash code. */
+		private final int hashCode;
+
+		/**
+		 * Creates a key.
+		 *
+		 * @param hash digest bytes
+		 */
+		private Key(byte[] hash) {
+			this.hash = hash;
+			this.hashCode = Arrays.hashCode(hash);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && Arrays.equals(hash, ((Key) obj).hash);
+		}
+	}
+}
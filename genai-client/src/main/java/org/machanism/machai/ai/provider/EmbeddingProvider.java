@@ -1,6 +1,7 @@
 package org.machanism.machai.ai.provider;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.machanism.macha.core.commons.configurator.Configurator;
 
@@ -19,6 +20,7 @@ import org.machanism.macha.core.commons.configurator.Configurator;
  *     EmbeddingProvider provider = ...;
  *     provider.init(configurator);
  *     List&lt;Double&gt; vector = provider.embedding("example text", 384);
+ *     float[][] vectors = provider.embeddings(Arrays.asList("first", "second"), 384);
  * </pre>
  *
  * @author Viktor Tovstyi
@@ -42,4 +44,50 @@ public interface EmbeddingProvider {
 	 */
 	List<Double> embedding(String text, long dimensions);
 
+	/**
+	 * Computes embedding vectors for several texts.
+	 * <p>
+	 * Providers whose API accepts batch input override this method to embed the
+	 * texts in as few requests as possible. The default implementation calls
+	 * {@link #embedding(String, long)} once per text.
+	 * </p>
+	 *
+	 * @param texts      the input texts; {@code null} elements are allowed
+	 * @param dimensions desired embedding dimensionality (provider-specific)
+	 * @return one vector per input text, in input order; the row for a
+	 *         {@code null} text is {@code null}
+	 * @since 1.3.3
+	 */
+	default float[][] embeddings(List<String> texts, long dimensions) {
+		float[][] result = new float[texts.size()][];
+		for (int i = 0; i < result.length; i++) {
+			List<Double> embedding = embedding(texts.get(i), dimensions);
+			if (embedding != null) {
+				float[] vector = new float[embedding.size()];
+				for (int j = 0; j < vector.length; j++) {
+					vector[j] = embedding.get(j).floatValue();
+				}
+				result[i] = vector;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes an embedding vector without blocking the calling thread.
+	 * <p>
+	 * The default implementation runs {@link #embedding(String, long)} on the
+	 * common fork-join pool; providers with an asynchronous SDK client override
+	 * it.
+	 * </p>
+	 *
+	 * @param text       the input text
+	 * @param dimensions desired embedding dimensionality (provider-specific)
+	 * @return future completed with the embedding vector
+	 * @since 1.3.3
+	 */
+	default CompletableFuture<List<Double>> embeddingAsync(String text, long dimensions) {
+		return CompletableFuture.supplyAsync(() -> embedding(text, dimensions));
+	}
+
 }
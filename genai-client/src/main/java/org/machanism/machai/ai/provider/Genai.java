@@ -1,6 +1,8 @@
 package org.machanism.machai.ai.provider;
 
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.machanism.macha.core.commons.configurator.Configurator;
 import org.machanism.machai.ai.tools.FunctionTools;
@@ -63,6 +65,20 @@ public interface Genai {
 	 */
 	void clear();
 
+	/**
+	 * Releases resources held by the provider beyond its conversation, such as
+	 * worker threads and temporary files.
+	 * <p>
+	 * Called when a provider is discarded, for example when it is evicted from
+	 * the provider pool. The default implementation does nothing.
+	 * </p>
+	 *
+	 * @since 1.3.3
+	 */
+	default void close() {
+		// Nothing to release by default.
+	}
+
 	/**
 	 * Sets system/session instructions for the current conversation.
 	 *
@@ -78,6 +94,54 @@ public interface Genai {
 	 */
 	String perform();
 
+	/**
+	 * Executes the provider like {@link #perform()}, streaming incremental events to
+	 * {@code listener} while the response is being generated.
+	 *
+	 * <p>
+	 * Providers backed by a streaming API emit text and reasoning deltas as they
+	 * arrive, tool-call start/finish events around each tool round, and a usage
+	 * event per model request. The default implementation performs a blocking call
+	 * and emits the complete response as a single {@link GenaiEvent.Type#TEXT_DELTA}
+	 * event.
+	 * </p>
+	 *
+	 * @param listener receiver of streamed events; {@code null} behaves like
+	 *                 {@link #perform()}
+	 * @return the complete provider response as a string
+	 * @since 1.3.3
+	 */
+	default String perform(Consumer<GenaiEvent> listener) {
+		String result = perform();
+		if (listener != null && result != null) {
+			listener.accept(GenaiEvent.textDelta(result));
+		}
+		return result;
+	}
+
+	/**
+	 * Executes the provider like {@link #perform()} without blocking the calling
+	 * thread.
+	 *
+	 * <p>
+	 * Providers backed by an asynchronous SDK client keep no thread busy while the
+	 * model is generating; continuation work such as tool calls runs on a shared
+	 * executor. The default implementation runs {@link #perform()} on the common
+	 * fork-join pool.
+	 * </p>
+	 *
+	 * <p>
+	 * A provider instance holds a single conversation, so callers must not start
+	 * another request on the same instance before the returned future completes.
+	 * </p>
+	 *
+	 * @return future completed with the provider response
+	 * @since 1.3.3
+	 */
+	default CompletableFuture<String> performAsync() {
+		return CompletableFuture.supplyAsync(this::perform);
+	}
+
 	/**
 	 * Registers the tools exposed by the given {@link FunctionTools} implementation, optionally
 	 * restricting registration to a filtered subset of tools.
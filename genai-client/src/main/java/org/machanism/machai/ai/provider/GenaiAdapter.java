@@ -1,6 +1,8 @@
 package org.machanism.machai.ai.provider;
 
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.machanism.macha.core.commons.configurator.Configurator;
 import org.machanism.machai.ai.tools.FunctionTools;
@@ -84,6 +86,16 @@ public class GenaiAdapter implements Genai {
 		provider.clear();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() {
+		if (provider != null) {
+			provider.close();
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -100,6 +112,22 @@ public class GenaiAdapter implements Genai {
 		return provider.perform();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String perform(Consumer<GenaiEvent> listener) {
+		return provider.perform(listener);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompletableFuture<String> performAsync() {
+		return provider.performAsync();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,177 @@
+package org.machanism.machai.ai.provider;
+
+import org.machanism.machai.ai.manager.Usage;
+
+/**
+ * Incremental event emitted while a provider streams a response.
+ *
+ * <p>
+ * Events are delivered to the listener passed to
+ * {@link Genai#perform(java.util.function.Consumer)} in the order they are
+ * produced: text and reasoning deltas as the model generates them, tool-call
+ * start/finish notifications around each local tool invocation, and a usage
+ * event once each model request completes.
+ * </p>
+ *
+ * <p>
+ * Each event records the {@link System#nanoTime()} value at which it was
+ * created, so listeners can measure time-to-first-token and inter-token
+ * latency.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public final class GenaiEvent {
+
+	/**
+	 * Kind of streamed event.
+	 */
+	public enum Type {
+		/** A fragment of the model's response text. */
+		TEXT_DELTA,
+		/** A fragment of the model's reasoning or thinking output. */
+		REASONING_DELTA,
+		/** A local tool is about to be invoked. */
+		TOOL_CALL_STARTED,
+		/** A local tool invocation has completed. */
+		TOOL_CALL_FINISHED,
+		/** Token usage reported for a completed model request. */
+		USAGE
+	}
+
+	/** Event kind. */
+	private final Type type;
+
+	/** Delta text, tool arguments or tool result, depending on {@link #type}. */
+	private final String text;
+
+	/** Tool name for tool-call events, otherwise {@code null}. */
+	private final String toolName;
+
+	/** Token usage for {@link Type#USAGE} events, otherwise {@code null}. */
+	private final Usage usage;
+
+	/** {@link System#nanoTime()} value captured when the event was created. */
+	private final long timestamp;
+
+	/**
+	 * Creates an event.
+	 *
+	 * @param type     event kind
+	 * @param text     delta text, tool arguments or tool result
+	 * @param toolName tool name for tool-call events
+	 * @param usage    token usage for usage events
+	 */
+	private GenaiEvent(Type type, String text, String toolName, Usage usage) {
+		this.type = type;
+		this.text = text;
+		this.toolName = toolName;
+		this.usage = usage;
+		this.timestamp = System.nanoTime();
+	}
+
+	/**
+	 * Creates a response text delta event.
+	 *
+	 * @param delta text fragment
+	 * @return event instance
+	 */
+	public static GenaiEvent textDelta(String delta) {
+		return new GenaiEvent(Type.TEXT_DELTA, delta, null, null);
+	}
+
+	/**
+	 * Creates a reasoning delta event.
+	 *
+	 * @param delta reasoning fragment
+	 * @return event instance
+	 */
+	public static GenaiEvent reasoningDelta(String delta) {
+		return new GenaiEvent(Type.REASONING_DELTA, delta, null, null);
+	}
+
+	/**
+	 * Creates a tool-call start event.
+	 *
+	 * @param toolName  tool name requested by the model
+	 * @param arguments raw JSON arguments supplied by the model
+	 * @return event instance
+	 */
+	public static GenaiEvent toolCallStarted(String toolName, String arguments) {
+		return new GenaiEvent(Type.TOOL_CALL_STARTED, arguments, toolName, null);
+	}
+
+	/**
+	 * Creates a tool-call completion event.
+	 *
+	 * @param toolName tool name
+	 * @param result   string form of the tool result, may be {@code null}
+	 * @return event instance
+	 */
+	public static GenaiEvent toolCallFinished(String toolName, String result) {
+		return new GenaiEvent(Type.TOOL_CALL_FINISHED, result, toolName, null);
+	}
+
+	/**
+	 * Creates a usage event.
+	 *
+	 * @param usage token usage reported for a completed model request
+	 * @return event instance
+	 */
+	public static GenaiEvent usage(Usage usage) {
+		return new GenaiEvent(Type.USAGE, null, null, usage);
+	}
+
+	/**
+	 * Returns the event kind.
+	 *
+	 * @return event type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the event text: the delta for text and reasoning events, the JSON
+	 * arguments for {@link Type#TOOL_CALL_STARTED} and the tool result for
+	 * {@link Type#TOOL_CALL_FINISHED}.
+	 *
+	 * @return event text, or {@code null} for usage events
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * Returns the tool name for tool-call events.
+	 *
+	 * @return tool name, or {@code null} for other event types
+	 */
+	public String getToolName() {
+		return toolName;
+	}
+
+	/**
+	 * Returns the token usage for {@link Type#USAGE} events.
+	 *
+	 * @return usage, or {@code null} for other event types
+	 */
+	public Usage getUsage() {
+		return usage;
+	}
+
+	/**
+	 * Returns the {@link System#nanoTime()} value captured when the event was
+	 * created.
+	 *
+	 * @return event timestamp in nanoseconds
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	@Override
+	public String toString() {
+		return type + (toolName != null ? "[" + toolName + "]" : "") + (text != null ? ": " + text : "");
+	}
+}
@@ -0,0 +1,535 @@
+package org.machanism.machai.ai.provider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide rate governor shared by all provider instances of one
+ * {@code Provider:Model} pair.
+ *
+ * <p>
+ * Each governor holds two token buckets, requests per minute and tokens per
+ * minute, that hand out reservations: a caller takes its permits immediately
+ * and waits until the bucket would have held them, so concurrent workers are
+ * spaced out instead of bursting. A bucket holds at most ten seconds of its
+ * rate. The effective rate is the configured limit multiplied by an AIMD factor
+ * that halves on every rate-limit response (HTTP 429) and recovers additively
+ * on each success. A 429 also pauses the governor until the time announced by
+ * {@code Retry-After} or the provider rate-limit reset headers, or, without
+ * such a hint, for an exponential backoff with full jitter. Limits of
+ * {@code 0} disable the corresponding bucket; the pause still applies.
+ * </p>
+ *
+ * <h2>Usage</h2>
+ *
+ * <pre>
+ * RateGovernor governor = RateGovernor.get("OpenAI:gpt-4.1", 500, 200_000);
+ * Thread.sleep(governor.reserve(estimatedTokens));
+ * try {
+ *     send();
+ *     governor.onSuccess();
+ * } catch (RateLimitException e) {
+ *     governor.onRateLimited(RateGovernor.retryAfterMillis(e.headers()::values));
+ * }
+ * </pre>
+ *
+ * @since 1.3.3
+ */
+public final class RateGovernor {
+
+	/**
+	 * Classification of a failed request, produced by a provider.
+	 */
+	public static final class Signal {
+
+		/** Whether the provider rejected the request because of rate limits. */
+		private final boolean rateLimited;
+
+		/** Wait announced by the provider in milliseconds, {@code 0} if unknown. */
+		private final long retryAfterMillis;
+
+		/**
+		 * Creates a signal.
+		 *
+		 * @param rateLimited      whether the request was rate limited
+		 * @param retryAfterMillis announced wait, {@code 0} if unknown
+		 */
+		private Signal(boolean rateLimited, long retryAfterMillis) {
+			this.rateLimited = rateLimited;
+			this.retryAfterMillis = Math.max(0, retryAfterMillis);
+		}
+
+		/**
+		 * Creates a signal for a rate-limit response.
+		 *
+		 * @param retryAfterMillis announced wait, {@code 0} if unknown
+		 * @return signal
+		 */
+		public static Signal rateLimited(long retryAfterMillis) {
+			return new Signal(true, retryAfterMillis);
+		}
+
+		/**
+		 * Creates a signal for a transient failure such as a server error or a
+		 * connection reset.
+		 *
+		 * @param retryAfterMillis announced wait, {@code 0} if unknown
+		 * @return signal
+		 */
+		public static Signal transientError(long retryAfterMillis) {
+			return new Signal(false, retryAfterMillis);
+		}
+
+		/**
+		 * Indicates whether the request was rate limited.
+		 *
+		 * @return {@code true} for HTTP 429 responses
+		 */
+		public boolean isRateLimited() {
+			return rateLimited;
+		}
+
+		/**
+		 * Returns the wait announced by the provider.
+		 *
+		 * @return milliseconds, {@code 0} if unknown
+		 */
+		public long getRetryAfterMillis() {
+			return retryAfterMillis;
+		}
+	}
+
+	/** Logger for rate-limit events. */
+	private static final Logger logger = LoggerFactory.getLogger(RateGovernor.class);
+
+	/** Governors by {@code Provider:Model} key. */
+	private static final ConcurrentMap<String, RateGovernor> governors = new ConcurrentHashMap<>();
+
+	/** Scheduler that releases delayed asynchronous requests. */
+	private static volatile ScheduledExecutorService scheduler;
+
+	/** Seconds of the configured rate a bucket can hold. */
+	private static final double BURST_SECONDS = 10;
+
+	/** Lowest AIMD factor. */
+	private static final double MIN_FACTOR = 0.05;
+
+	/** AIMD factor added per successful request. */
+	private static final double ADDITIVE_STEP = 0.05;
+
+	/** First backoff step in milliseconds. */
+	private static final long BASE_BACKOFF_MILLIS = 500;
+
+	/** Longest backoff in milliseconds. */
+	private static final long MAX_BACKOFF_MILLIS = 60_000;
+
+	/** Duration format of OpenAI reset headers, for example {@code 6m0s} or {@code 20ms}. */
+	private static final Pattern DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+	/** Governor key. */
+	private final String key;
+
+	/** Configured requests per minute, {@code 0} if unlimited. */
+	private final long requestsPerMinute;
+
+	/** Configured tokens per minute, {@code 0} if unlimited. */
+	private final long tokensPerMinute;
+
+	/** Available requests; negative while reservations are outstanding. */
+	private double requests;
+
+	/** Available tokens; negative while reservations are outstanding. */
+	private double tokens;
+
+	/** {@link System#nanoTime()} of the last refill. */
+	private long refilledAt = System.nanoTime();
+
+	/** {@link System#nanoTime()} until which no request may start. */
+	private long pausedUntil = refilledAt;
+
+	/** Multiplicative share of the configured rate currently granted. */
+	private double factor = 1.0;
+
+	/** Rate-limit responses since the last success. */
+	private int rateLimitStreak;
+
+	/**
+	 * Creates a governor with full buckets.
+	 *
+	 * @param key               {@code Provider:Model} key
+	 * @param requestsPerMinute requests per minute, {@code 0} if unlimited
+	 * @param tokensPerMinute   tokens per minute, {@code 0} if unlimited
+	 */
+	RateGovernor(String key, long requestsPerMinute, long tokensPerMinute) {
+		this.key = key;
+		this.requestsPerMinute = Math.max(0, requestsPerMinute);
+		this.tokensPerMinute = Math.max(0, tokensPerMinute);
+		this.requests = capacity(this.requestsPerMinute);
+		this.tokens = capacity(this.tokensPerMinute);
+	}
+
+	/**
+	 * Returns the shared governor of a key, creating it with the given limits on
+	 * first use. Later calls with other limits for the same key reuse the
+	 * existing governor.
+	 *
+	 * @param key               {@code Provider:Model} key
+	 * @param requestsPerMinute requests per minute, {@code 0} if unlimited
+	 * @param tokensPerMinute   tokens per minute, {@code 0} if unlimited
+	 * @return governor
+	 */
+	public static RateGovernor get(String key, long requestsPerMinute, long tokensPerMinute) {
+		return governors.computeIfAbsent(key, k -> new RateGovernor(k, requestsPerMinute, tokensPerMinute));
+	}
+
+	/**
+	 * Returns the shared governor of a key without creating one.
+	 *
+	 * @param key {@code Provider:Model} key
+	 * @return governor, or {@code null} if no request used the key yet
+	 */
+	public static RateGovernor find(String key) {
+		return key != null ? governors.get(key) : null;
+	}
+
+	/**
+	 * Removes all shared governors.
+	 */
+	public static void reset() {
+		governors.clear();
+	}
+
+	/**
+	 * Reserves one request and the given tokens and returns how long the caller
+	 * must wait before sending.
+	 *
+	 * @param requestTokens estimated tokens of the request
+	 * @return wait in milliseconds, {@code 0} to send immediately
+	 */
+	public synchronized long reserve(long requestTokens) {
+		long now = System.nanoTime();
+		refill(now);
+		double waitSeconds = 0;
+		if (requestsPerMinute > 0) {
+			requests -= 1;
+			waitSeconds = Math.max(waitSeconds, -requests / rate(requestsPerMinute));
+		}
+		if (tokensPerMinute > 0 && requestTokens > 0) {
+			tokens -= requestTokens;
+			waitSeconds = Math.max(waitSeconds, -tokens / rate(tokensPerMinute));
+		}
+		long wait = (long) Math.ceil(waitSeconds * 1000);
+		long paused = TimeUnit.NANOSECONDS.toMillis(pausedUntil - now);
+		return Math.max(0, Math.max(wait, paused));
+	}
+
+	/**
+	 * Reserves permits and blocks until they are valid.
+	 *
+	 * @param requestTokens estimated tokens of the request
+	 * @throws IllegalStateException if the thread is interrupted while waiting
+	 */
+	public void acquire(long requestTokens) {
+		long wait = reserve(requestTokens);
+		if (wait > 0) {
+			logger.debug("Rate governor '{}' delays a request by {} ms.", key, wait);
+			try {
+				Thread.sleep(wait);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for a rate-limit permit.", e);
+			}
+		}
+	}
+
+	/**
+	 * Reserves permits and returns a future that completes when they are valid,
+	 * without blocking the calling thread.
+	 *
+	 * @param requestTokens estimated tokens of the request
+	 * @return future completed after the wait
+	 */
+	public CompletableFuture<Void> acquireAsync(long requestTokens) {
+		return delay(reserve(requestTokens));
+	}
+
+	/**
+	 * Records a successful request: additive increase of the rate factor.
+	 */
+	public synchronized void onSuccess() {
+		rateLimitStreak = 0;
+		factor = Math.min(1.0, factor + ADDITIVE_STEP);
+	}
+
+	/**
+	 * Records a rate-limit response: multiplicative decrease of the rate factor
+	 * and a pause of all requests of this governor.
+	 *
+	 * @param retryAfterMillis wait announced by the provider, {@code 0} if unknown
+	 * @return pause in milliseconds
+	 */
+	public synchronized long onRateLimited(long retryAfterMillis) {
+		long now = System.nanoTime();
+		refill(now);
+		factor = Math.max(MIN_FACTOR, factor / 2);
+		rateLimitStreak++;
+		long pause = retryAfterMillis > 0 ? retryAfterMillis + jitter(retryAfterMillis / 10 + 1)
+				: backoffMillis(rateLimitStreak);
+		pausedUntil = Math.max(pausedUntil, now + TimeUnit.MILLISECONDS.toNanos(pause));
+		logger.warn("Rate limit reached for '{}'; pausing requests for {} ms at {}% of the configured rate.", key,
+				pause, Math.round(factor * 100));
+		return pause;
+	}
+
+	/**
+	 * Returns the current share of the configured rate.
+	 *
+	 * @return AIMD factor between {@code 0.05} and {@code 1}
+	 */
+	public synchronized double getFactor() {
+		return factor;
+	}
+
+	/**
+	 * Returns how long requests of this governor remain paused after a
+	 * rate-limit response.
+	 *
+	 * @return remaining pause in milliseconds, {@code 0} if not paused
+	 */
+	public synchronized long getPauseMillis() {
+		return Math.max(0, TimeUnit.NANOSECONDS.toMillis(pausedUntil - System.nanoTime()));
+	}
+
+	/**
+	 * Returns an exponential backoff with full jitter.
+	 *
+	 * @param attempt failed attempt number, starting at {@code 1}
+	 * @return wait in milliseconds
+	 */
+	public static long backoffMillis(int attempt) {
+		long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(16, Math.max(0, attempt - 1)));
+		return ceiling / 2 + jitter(ceiling / 2);
+	}
+
+	/**
+	 * Returns a future that completes after a delay, without holding a thread.
+	 *
+	 * @param millis delay in milliseconds
+	 * @return future
+	 */
+	public static CompletableFuture<Void> delay(long millis) {
+		if (millis <= 0) {
+			return CompletableFuture.completedFuture(null);
+		}
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		scheduler().schedule(() -> future.complete(null), millis, TimeUnit.MILLISECONDS);
+		return future;
+	}
+
+	/**
+	 * Reads the wait announced by a rate-limit response.
+	 *
+	 * <p>
+	 * {@code retry-after-ms} and {@code retry-after} (seconds or HTTP date) take
+	 * precedence. Otherwise the latest reset among the exhausted OpenAI
+	 * ({@code x-ratelimit-reset-*}) or Anthropic
+	 * ({@code anthropic-ratelimit-*-reset}) limits is used.
+	 * </p>
+	 *
+	 * @param headers header lookup returning all values of a header name
+	 * @return wait in milliseconds, {@code 0} if the response has no hint
+	 */
+	public static long retryAfterMillis(Function<String, List<String>> headers) {
+		String retryAfterMs = header(headers, "retry-after-ms");
+		if (StringUtils.isNumeric(retryAfterMs)) {
+			return Long.parseLong(retryAfterMs);
+		}
+		String retryAfter = header(headers, "retry-after");
+		if (retryAfter != null) {
+			long millis = parseRetryAfter(retryAfter);
+			if (millis > 0) {
+				return millis;
+			}
+		}
+
+		long wait = 0;
+		for (String limit : new String[] { "requests", "tokens", "input-tokens", "output-tokens" }) {
+			if ("0".equals(header(headers, "x-ratelimit-remaining-" + limit))) {
+				wait = Math.max(wait, parseDuration(header(headers, "x-ratelimit-reset-" + limit)));
+			}
+			if ("0".equals(header(headers, "anthropic-ratelimit-" + limit + "-remaining"))) {
+				wait = Math.max(wait, untilInstant(header(headers, "anthropic-ratelimit-" + limit + "-reset")));
+			}
+		}
+		return wait;
+	}
+
+	/**
+	 * Adds the tokens accumulated since the last refill.
+	 *
+	 * @param now current {@link System#nanoTime()}
+	 */
+	private void refill(long now) {
+		double seconds = (now - refilledAt) / 1e9;
+		refilledAt = now;
+		if (requestsPerMinute > 0) {
+			requests = Math.min(capacity(requestsPerMinute), requests + seconds * rate(requestsPerMinute));
+		}
+		if (tokensPerMinute > 0) {
+			tokens = Math.min(capacity(tokensPerMinute), tokens + seconds * rate(tokensPerMinute));
+		}
+	}
+
+	/**
+	 * Returns the current refill rate of a limit.
+	 *
+	 * @param perMinute configured limit
+	 * @return permits per second
+	 */
+	private double rate(long perMinute) {
+		return perMinute / 60.0 * factor;
+	}
+
+	/**
+	 * Returns the bucket capacity of a limit.
+	 *
+	 * @param perMinute configured limit
+	 * @return permits, at least one
+	 */
+	private static double capacity(long perMinute) {
+		return Math.max(1, perMinute / 60.0 * BURST_SECONDS);
+	}
+
+	/**
+	 * Returns a random wait.
+	 *
+	 * @param bound exclusive upper bound in milliseconds
+	 * @return wait between {@code 0} and {@code bound}
+	 */
+	private static long jitter(long bound) {
+		return bound > 0 ? ThreadLocalRandom.current().nextLong(bound) : 0;
+	}
+
+	/**
+	 * Returns the first value of a header.
+	 *
+	 * @param headers header lookup
+	 * @param name    header name
+	 * @return trimmed value, or {@code null}
+	 */
+	private static String header(Function<String, List<String>> headers, String name) {
+		List<String> values = headers.apply(name);
+		return values == null || values.isEmpty() ? null : StringUtils.trimToNull(values.get(0));
+	}
+
+	/**
+	 * Parses a {@code Retry-After} value.
+	 *
+	 * @param value seconds or HTTP date
+	 * @return wait in milliseconds, {@code 0} if unparseable
+	 */
+	private static long parseRetryAfter(String value) {
+		try {
+			return (long) (Double.parseDouble(value) * 1000);
+		} catch (NumberFormatException e) {
+			try {
+				Instant at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+				return Math.max(0, Duration.between(Instant.now(), at).toMillis());
+			} catch (DateTimeParseException ex) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Parses an OpenAI reset duration such as {@code 1s}, {@code 6m0s} or
+	 * {@code 20ms}.
+	 *
+	 * @param value duration
+	 * @return milliseconds, {@code 0} if absent or unparseable
+	 */
+	static long parseDuration(String value) {
+		if (value == null) {
+			return 0;
+		}
+		double millis = 0;
+		Matcher matcher = DURATION.matcher(value.toLowerCase(Locale.ROOT));
+		while (matcher.find()) {
+			double amount = Double.parseDouble(matcher.group(1));
+			switch (matcher.group(2)) {
+			case "h":
+				millis += amount * 3_600_000;
+				break;
+			case "m":
+				millis += amount * 60_000;
+				break;
+			case "s":
+				millis += amount * 1000;
+				break;
+			default:
+				millis += amount;
+			}
+		}
+		return (long) Math.ceil(millis);
+	}
+
+	/**
+	 * Returns the wait until an RFC 3339 instant.
+	 *
+	 * @param value instant
+	 * @return milliseconds, {@code 0} if absent, past or unparseable
+	 */
+	private static long untilInstant(String value) {
+		if (value == null) {
+			return 0;
+		}
+		try {
+			return Math.max(0, Duration.between(Instant.now(), Instant.parse(value)).toMillis());
+		} catch (DateTimeParseException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the scheduler for asynchronous delays, creating its daemon thread on
+	 * first use.
+	 *
+	 * @return scheduler
+	 */
+	private static ScheduledExecutorService scheduler() {
+		ScheduledExecutorService result = scheduler;
+		if (result == null) {
+			synchronized (RateGovernor.class) {
+				result = scheduler;
+				if (result == null) {
+					result = Executors.newSingleThreadScheduledExecutor(runnable -> {
+						Thread thread = new Thread(runnable, "genai-rate-governor");
+						thread.setDaemon(true);
+						return thread;
+					});
+					scheduler = result;
+				}
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,99 @@
+package org.machanism.machai.ai.provider;
+
+/**
+ * Estimated size of one model request, broken down by component.
+ *
+ * <p>
+ * Computed by {@link AbstractAIProvider} before a request is sent, using the
+ * {@link org.machanism.machai.ai.tokenizer.TokenEstimator} of the model. The
+ * breakdown shows what dominates the prompt: the system instructions, the tool
+ * schemas, the conversation history or the accumulated tool results.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public final class RequestSize {
+
+	/** Estimated tokens of the system instructions. */
+	private final long instructions;
+
+	/** Estimated tokens of the tool schemas. */
+	private final long tools;
+
+	/** Estimated tokens of messages and tool calls. */
+	private final long history;
+
+	/** Estimated tokens of tool results. */
+	private final long toolResults;
+
+	/**
+	 * Creates a request size.
+	 *
+	 * @param instructions estimated tokens of the system instructions
+	 * @param tools        estimated tokens of the tool schemas
+	 * @param history      estimated tokens of messages and tool calls
+	 * @param toolResults  estimated tokens of tool results
+	 */
+	public RequestSize(long instructions, long tools, long history, long toolResults) {
+		this.instructions = instructions;
+		this.tools = tools;
+		this.history = history;
+		this.toolResults = toolResults;
+	}
+
+	/**
+	 * Returns the estimated tokens of the system instructions.
+	 *
+	 * @return tokens
+	 */
+	public long getInstructions() {
+		return instructions;
+	}
+
+	/**
+	 * Returns the estimated tokens of the tool schemas.
+	 *
+	 * @return tokens
+	 */
+	public long getTools() {
+		return tools;
+	}
+
+	/**
+	 * Returns the estimated tokens of messages and tool calls.
+	 *
+	 * @return tokens
+	 */
+	public long getHistory() {
+		return history;
+	}
+
+	/**
+	 * Returns the estimated tokens of tool results.
+	 *
+	 * @return tokens
+	 */
+	public long getToolResults() {
+		return toolResults;
+	}
+
+	/**
+	 * Returns the estimated total input tokens.
+	 *
+	 * @return sum of all components
+	 */
+	public long getTotal() {
+		return instructions + tools + history + toolResults;
+	}
+
+	/**
+	 * Returns a one-line breakdown suitable for logs and error messages.
+	 *
+	 * @return breakdown text
+	 */
+	@Override
+	public String toString() {
+		return "~" + getTotal() + " tokens (instructions: " + instructions + ", tools: " + tools + ", history: "
+				+ history + ", tool results: " + toolResults + ")";
+	}
+}
@@ -0,0 +1,300 @@
+package org.machanism.machai.ai.provider;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Record/replay store for model responses.
+ *
+ * <p>
+ * Providers call {@link #key(String, Object, ObjectMapper)} with the complete
+ * request of each model round trip: model, instructions, conversation inputs
+ * (including earlier tool calls and tool results) and tool schemas. The request
+ * is serialized to canonical JSON (object properties sorted by name) and hashed
+ * with SHA-256. Responses are stored as gzip-compressed JSON, one file per
+ * request hash, under {@code <dir>/<first two hash characters>/<hash>.json.gz}.
+ * </p>
+ *
+ * <p>
+ * On a hit the provider uses the stored response instead of calling the model.
+ * Tool calls contained in a replayed response are still executed locally, so
+ * their side effects are reproduced and the follow-up request hashes to the
+ * next recorded response.
+ * </p>
+ *
+ * <p>
+ * Configuration keys read by {@link AbstractAIProvider}:
+ * </p>
+ * <ul>
+ * <li>{@value AbstractAIProvider#REPLAY_MODE_PROP_NAME}: one of {@code off}
+ * (default), {@code record}, {@code replay-only} or {@code read-through}; see
+ * {@link Mode}.</li>
+ * <li>{@value AbstractAIProvider#REPLAY_DIR_PROP_NAME}: store directory;
+ * defaults to {@code .machai/replay} in the system temporary directory.</li>
+ * </ul>
+ *
+ * @since 1.3.3
+ */
+public final class ResponseCache {
+
+	/** Logger used for cache diagnostics. */
+	private static final Logger logger = LoggerFactory.getLogger(ResponseCache.class);
+
+	/**
+	 * Record/replay mode.
+	 */
+	public enum Mode {
+		/** Every request goes to the model; nothing is stored. */
+		OFF,
+		/** Every request goes to the model and its response is stored. */
+		RECORD,
+		/** Responses are served from the store only; a miss is an error. */
+		REPLAY_ONLY,
+		/** Stored responses are served; misses go to the model and are stored. */
+		READ_THROUGH;
+
+		/**
+		 * Parses a configuration value such as {@code replay-only}.
+		 *
+		 * @param value configuration value, may be {@code null}
+		 * @return parsed mode, {@link #OFF} for a blank value
+		 * @throws IllegalArgumentException if the value names no mode
+		 */
+		public static Mode parse(String value) {
+			if (StringUtils.isBlank(value)) {
+				return OFF;
+			}
+			try {
+				return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException("Unsupported replay mode: `" + value
+						+ "`. Expected one of: off, record, replay-only, read-through.", e);
+			}
+		}
+	}
+
+	/** Cache instance that never stores or replays anything. */
+	public static final ResponseCache DISABLED = new ResponseCache(Mode.OFF, null);
+
+	/** Name of the default store directory inside the temporary directory. */
+	private static final String DEFAULT_DIR_NAME = ".machai/replay";
+
+	/** Suffix of stored response files. */
+	private static final String FILE_SUFFIX = ".json.gz";
+
+	/** Active mode. */
+	private final Mode mode;
+
+	/** Store directory, {@code null} when disabled. */
+	private final File dir;
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param mode active mode
+	 * @param dir  store directory
+	 */
+	private ResponseCache(Mode mode, File dir) {
+		this.mode = mode;
+		this.dir = dir;
+	}
+
+	/**
+	 * Creates a cache from configuration values.
+	 *
+	 * @param mode configured mode, see {@link Mode#parse(String)}
+	 * @param dir  configured store directory, or {@code null} for the default
+	 * @return cache instance; {@link #DISABLED} when the mode is {@code off}
+	 */
+	public static ResponseCache create(String mode, String dir) {
+		Mode parsed = Mode.parse(mode);
+		if (parsed == Mode.OFF) {
+			return DISABLED;
+		}
+		File storeDir = StringUtils.isBlank(dir) ? new File(System.getProperty("java.io.tmpdir"), DEFAULT_DIR_NAME)
+				: new File(dir);
+		return new ResponseCache(parsed, storeDir);
+	}
+
+	/**
+	 * Returns the active mode.
+	 *
+	 * @return mode
+	 */
+	public Mode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Returns the store directory.
+	 *
+	 * @return directory, or {@code null} when disabled
+	 */
+	public File getDir() {
+		return dir;
+	}
+
+	/**
+	 * Computes the key of a model request.
+	 *
+	 * @param provider provider name, part of the key so that providers never
+	 *                 share entries
+	 * @param request  request object serializable by {@code mapper}
+	 * @param mapper   mapper of the provider SDK
+	 * @return SHA-256 hex key, or {@code null} when the cache is disabled
+	 * @throws IllegalArgumentException if the request cannot be serialized
+	 */
+	public String key(String provider, Object request, ObjectMapper mapper) {
+		if (mode == Mode.OFF) {
+			return null;
+		}
+		try {
+			String json = mapper.writeValueAsString(canonical(mapper.valueToTree(request)));
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(provider.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			byte[] hash = digest.digest(json.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(hash.length * 2);
+			for (byte b : hash) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (JsonProcessingException | NoSuchAlgorithmException e) {
+			throw new IllegalArgumentException("Unable to compute the replay key of the request.", e);
+		}
+	}
+
+	/**
+	 * Returns the stored response for a request.
+	 *
+	 * @param <T>    response type
+	 * @param key    request key from {@link #key(String, Object, ObjectMapper)},
+	 *               may be {@code null}
+	 * @param type   response class
+	 * @param mapper mapper of the provider SDK
+	 * @return stored response, or {@code null} on a miss or when the mode does
+	 *         not replay
+	 * @throws IllegalStateException if the mode is {@link Mode#REPLAY_ONLY} and
+	 *                               no response is stored
+	 */
+	public <T> T lookup(String key, Class<T> type, ObjectMapper mapper) {
+		if (key == null || mode == Mode.OFF || mode == Mode.RECORD) {
+			return null;
+		}
+
+		File file = file(key);
+		if (file.isFile()) {
+			try (InputStream in = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+				T response = mapper.readValue(in, type);
+				logger.debug("Replayed recorded response {}.", key);
+				return response;
+			} catch (IOException e) {
+				logger.warn("Unable to read recorded response '{}': {}", file, e.getMessage());
+			}
+		}
+
+		if (mode == Mode.REPLAY_ONLY) {
+			throw new IllegalStateException("No recorded response for request " + key + " in "
+					+ dir.getAbsolutePath() + " (replay-only mode).");
+		}
+		return null;
+	}
+
+	/**
+	 * Stores the response of a live request when the mode records.
+	 *
+	 * @param key      request key, may be {@code null}
+	 * @param response response object
+	 * @param mapper   mapper of the provider SDK
+	 */
+	public void store(String key, Object response, ObjectMapper mapper) {
+		if (key == null || response == null || (mode != Mode.RECORD && mode != Mode.READ_THROUGH)) {
+			return;
+		}
+
+		File file = file(key);
+		try {
+			Path parent = Files.createDirectories(file.getParentFile().toPath());
+			Path temp = Files.createTempFile(parent, key, ".tmp");
+			try {
+				try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+					mapper.writeValue(out, response);
+				}
+				try {
+					Files.move(temp, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		} catch (IOException e) {
+			logger.warn("Unable to record response '{}': {}", file, e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the store file of a key.
+	 *
+	 * @param key request key
+	 * @return file path
+	 */
+	private File file(String key) {
+		return new File(new File(dir, key.substring(0, 2)), key + FILE_SUFFIX);
+	}
+
+	/**
+	 * Returns a copy of a JSON tree with object properties sorted by name.
+	 *
+	 * @param node JSON tree
+	 * @return canonical tree
+	 */
+	static JsonNode canonical(JsonNode node) {
+		if (node.isObject()) {
+			List<String> names = new ArrayList<>();
+			for (Iterator<String> it = node.fieldNames(); it.hasNext();) {
+				names.add(it.next());
+			}
+			Collections.sort(names);
+			ObjectNode sorted = ((ObjectNode) node).objectNode();
+			for (String name : names) {
+				sorted.set(name, canonical(node.get(name)));
+			}
+			return sorted;
+		}
+		if (node.isArray()) {
+			ArrayNode array = ((ArrayNode) node).arrayNode();
+			for (JsonNode element : node) {
+				array.add(canonical(element));
+			}
+			return array;
+		}
+		return node;
+	}
+}
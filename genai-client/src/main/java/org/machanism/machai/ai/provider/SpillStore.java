@@ -0,0 +1,223 @@
+package org.machanism.machai.ai.provider;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Session store for oversized tool results.
+ *
+ * <p>
+ * When a tool returns more text than the configured ceiling,
+ * {@link AbstractAIProvider} writes the full text here and passes only a
+ * preview and a handle to the model. The model can then page through the
+ * stored text with the {@value AbstractAIProvider#READ_SPILLED_RESULT_TOOL_NAME}
+ * tool. Reads stream from disk, so memory use does not depend on the size of
+ * the stored result.
+ * </p>
+ *
+ * <p>
+ * The store directory is created on first use in the system temporary
+ * directory and removed by {@link #clear()}. Directories of stores that were
+ * not cleared are removed by a shutdown hook, so the JVM does not accumulate a
+ * {@link File#deleteOnExit()} registration per stored result.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public final class SpillStore {
+
+	/** Directories of all stores that were not cleared yet. */
+	private static final Set<Path> liveDirs = ConcurrentHashMap.newKeySet();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> liveDirs.forEach(SpillStore::deleteTree),
+				"genai-spill-cleanup"));
+	}
+
+	/** Stored results by handle. */
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/** Sequence used to create handles. */
+	private final AtomicInteger sequence = new AtomicInteger();
+
+	/** Store directory, created lazily. */
+	private volatile Path dir;
+
+	/**
+	 * Stores a tool result.
+	 *
+	 * @param tool   name of the tool that produced the result
+	 * @param result full result text
+	 * @return handle of the stored result
+	 * @throws IOException if the result cannot be written
+	 */
+	public String put(String tool, String result) throws IOException {
+		String handle = "spill-" + sequence.incrementAndGet();
+		Path file = directory().resolve(handle + ".txt");
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write(result);
+		}
+		entries.put(handle, new Entry(tool, file, result.length()));
+		return handle;
+	}
+
+	/**
+	 * Reads part of a stored result.
+	 *
+	 * @param handle handle returned by {@link #put(String, String)}
+	 * @param offset character offset to start from
+	 * @param length maximum number of characters to return
+	 * @return requested characters; empty if {@code offset} is at or past the end
+	 * @throws IllegalArgumentException if the handle is unknown or the range is
+	 *                                  negative
+	 * @throws IOException              if the stored result cannot be read
+	 */
+	public String read(String handle, long offset, int length) throws IOException {
+		Entry entry = entries.get(handle);
+		if (entry == null) {
+			throw new IllegalArgumentException("Unknown spilled result handle: " + handle);
+		}
+		if (offset < 0 || length < 0) {
+			throw new IllegalArgumentException("Offset and length must not be negative.");
+		}
+
+		try (Reader reader = Files.newBufferedReader(entry.file, StandardCharsets.UTF_8)) {
+			long remaining = offset;
+			while (remaining > 0) {
+				long skipped = reader.skip(remaining);
+				if (skipped <= 0) {
+					return "";
+				}
+				remaining -= skipped;
+			}
+			char[] buffer = new char[(int) Math.min(length, Math.max(0, entry.length - offset))];
+			int read = 0;
+			while (read < buffer.length) {
+				int n = reader.read(buffer, read, buffer.length - read);
+				if (n < 0) {
+					break;
+				}
+				read += n;
+			}
+			return new String(buffer, 0, read);
+		}
+	}
+
+	/**
+	 * Returns the length of a stored result.
+	 *
+	 * @param handle result handle
+	 * @return length in characters, or {@code -1} if the handle is unknown
+	 */
+	public long length(String handle) {
+		Entry entry = entries.get(handle);
+		return entry != null ? entry.length : -1;
+	}
+
+	/**
+	 * Returns the name of the tool that produced a stored result.
+	 *
+	 * @param handle result handle
+	 * @return tool name, or {@code null} if the handle is unknown
+	 */
+	public String tool(String handle) {
+		Entry entry = entries.get(handle);
+		return entry != null ? entry.tool : null;
+	}
+
+	/**
+	 * Deletes all stored results.
+	 */
+	public synchronized void clear() {
+		for (Entry entry : entries.values()) {
+			deleteQuietly(entry.file);
+		}
+		entries.clear();
+		if (dir != null) {
+			deleteTree(dir);
+			liveDirs.remove(dir);
+			dir = null;
+		}
+	}
+
+	/**
+	 * Deletes a file, ignoring failures.
+	 *
+	 * @param path path to delete
+	 */
+	private static void deleteQuietly(Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			// Left to the shutdown hook or the next temporary directory cleanup.
+		}
+	}
+
+	/**
+	 * Deletes a store directory with any files left in it, ignoring failures.
+	 *
+	 * @param directory directory to delete
+	 */
+	private static void deleteTree(Path directory) {
+		File[] files = directory.toFile().listFiles();
+		if (files != null) {
+			for (File file : files) {
+				deleteQuietly(file.toPath());
+			}
+		}
+		deleteQuietly(directory);
+	}
+
+	/**
+	 * Returns the store directory, creating it when needed.
+	 *
+	 * @return directory
+	 * @throws IOException if the directory cannot be created
+	 */
+	private synchronized Path directory() throws IOException {
+		if (dir == null) {
+			File base = new File(System.getProperty("java.io.tmpdir"), ".machai/spill");
+			Files.createDirectories(base.toPath());
+			dir = Files.createTempDirectory(base.toPath(), "session-");
+			liveDirs.add(dir);
+		}
+		return dir;
+	}
+
+	/**
+	 * Stored result metadata.
+	 */
+	private static final class Entry {
+
+		/** Tool that produced the result. */
+		private final String tool;
+
+		/** Result file. */
+		private final Path file;
+
+		/** Result length in characters. */
+		private final long length;
+
+		/**
+		 * Creates an entry.
+		 *
+		 * @param tool   tool name
+		 * @param file   result file
+		 * @param length result length in characters
+		 */
+		private Entry(String tool, Path file, long length) {
+			this.tool = tool;
+			this.file = file;
+			this.length = length;
+		}
+	}
+}
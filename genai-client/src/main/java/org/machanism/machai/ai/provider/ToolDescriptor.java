@@ -0,0 +1,391 @@
+package org.machanism.machai.ai.provider;
+
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.Strings;
+import org.apache.commons.lang3.SystemUtils;
+import org.apache.commons.text.StringSubstitutor;
+import org.machanism.machai.ai.tools.Param;
+import org.machanism.machai.ai.tools.ParamDescriptor;
+import org.machanism.machai.ai.tools.Tool;
+
+/**
+ * Reflection metadata of one annotated {@link org.machanism.machai.ai.tools.FunctionTools}
+ * method, resolved once per class and reused by every provider instance.
+ *
+ * <p>
+ * A descriptor holds the parsed {@link Tool} and {@link Param} annotation
+ * values, the interpolated description, the argument converters resolved by
+ * {@link TypeConverter#converterFor(Parameter)} and a {@link MethodHandle}
+ * that spreads an argument array onto the target method. Registering tools
+ * and dispatching calls therefore no longer needs to walk annotations or
+ * reflective metadata.
+ * </p>
+ */
+final class ToolDescriptor {
+
+	/** {@link Tool}-annotated methods by declaring {@link org.machanism.machai.ai.tools.FunctionTools} class. */
+	private static final ClassValue<List<ToolDescriptor>> TOOLS = new ClassValue<List<ToolDescriptor>>() {
+		@Override
+		protected List<ToolDescriptor> computeValue(Class<?> type) {
+			List<ToolDescriptor> result = new ArrayList<>();
+			for (Method method : type.getMethods()) {
+				Tool tool = method.getAnnotation(Tool.class);
+				if (tool != null) {
+					String name = Tool.NOT_DEFINED.equals(tool.name()) ? method.getName() : tool.name();
+					result.add(new ToolDescriptor(type, method, name, interpolate(tool.description()),
+							tool.concurrent()));
+				}
+			}
+			return Collections.unmodifiableList(result);
+		}
+	};
+
+	/** Descriptors of prompt and resource methods, which are not tools. */
+	private static final Map<Method, ToolDescriptor> METHODS = new ConcurrentHashMap<>();
+
+	/** Compiled enabled-tool patterns by source expression. */
+	private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+	/** Method type of the spread invoker: {@code (Object target, Object[] args) -> Object}. */
+	private static final MethodType SPREAD_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	/** Target method. */
+	private final Method method;
+
+	/** Tool name, or the method name for non-tool methods. */
+	private final String name;
+
+	/** Tool name qualified by the declaring class, used for enabled-tool filtering. */
+	private final String fullName;
+
+	/** Interpolated tool description. */
+	private final String description;
+
+	/** Whether the tool may run concurrently with other tool calls. */
+	private final boolean concurrent;
+
+	/** Argument metadata in declaration order. */
+	private final ParamSpec[] params;
+
+	/** Spread invoker, or {@code null} when the method is not accessible via method handles. */
+	private final MethodHandle invoker;
+
+	/**
+	 * Resolves the metadata of one method.
+	 *
+	 * @param type        class the method was discovered on
+	 * @param method      target method
+	 * @param name        tool name
+	 * @param description interpolated description
+	 * @param concurrent  whether the tool may run concurrently
+	 */
+	private ToolDescriptor(Class<?> type, Method method, String name, String description, boolean concurrent) {
+		this.method = method;
+		this.name = name;
+		this.fullName = type.getName() + ":" + name;
+		this.description = description;
+		this.concurrent = concurrent;
+
+		Parameter[] parameters = method.getParameters();
+		this.params = new ParamSpec[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			params[i] = new ParamSpec(parameters[i]);
+		}
+		this.invoker = spreadInvoker(method);
+	}
+
+	/**
+	 * Returns descriptors of all {@link Tool}-annotated public methods of the
+	 * given class, in {@link Class#getMethods()} order.
+	 *
+	 * @param type tools class
+	 * @return cached, unmodifiable descriptor list
+	 */
+	static List<ToolDescriptor> tools(Class<?> type) {
+		return TOOLS.get(type);
+	}
+
+	/**
+	 * Returns the descriptor of an arbitrary annotated method, such as a prompt or
+	 * resource method.
+	 *
+	 * @param method target method
+	 * @return cached descriptor
+	 */
+	static ToolDescriptor of(Method method) {
+		return METHODS.computeIfAbsent(method,
+				m -> new ToolDescriptor(m.getDeclaringClass(), m, m.getName(), null, true));
+	}
+
+	/**
+	 * Compiles enabled-tool patterns, reusing patterns compiled earlier.
+	 *
+	 * @param expressions regular expressions, may be {@code null}
+	 * @return compiled patterns, or {@code null} if {@code expressions} is
+	 *         {@code null}
+	 */
+	static Pattern[] compile(String[] expressions) {
+		if (expressions == null) {
+			return null;
+		}
+		Pattern[] patterns = new Pattern[expressions.length];
+		for (int i = 0; i < expressions.length; i++) {
+			patterns[i] = PATTERNS.computeIfAbsent(expressions[i], Pattern::compile);
+		}
+		return patterns;
+	}
+
+	/**
+	 * Checks the qualified tool name against enabled-tool patterns.
+	 *
+	 * @param patterns compiled patterns, or {@code null} to enable every tool
+	 * @return {@code true} if {@code patterns} is {@code null} or any pattern is
+	 *         found in {@link #getFullName()}
+	 */
+	boolean isEnabled(Pattern[] patterns) {
+		if (patterns == null) {
+			return true;
+		}
+		for (Pattern pattern : patterns) {
+			if (pattern.matcher(fullName).find()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Builds parameter descriptors for provider tool schemas.
+	 *
+	 * @param skipProjectDir {@code true} to omit the {@code project_dir}
+	 *                       parameter, which is then supplied by the provider
+	 * @return new descriptor array
+	 */
+	ParamDescriptor[] getParamDescriptors(boolean skipProjectDir) {
+		List<ParamDescriptor> result = new ArrayList<>(params.length);
+		for (ParamSpec param : params) {
+			if (param.annotated && !(skipProjectDir && param.projectDir)) {
+				result.add(new ParamDescriptor(param.name, param.typeName, param.required, param.description,
+						param.converter.apply(param.declaredDefault)));
+			}
+		}
+		return result.toArray(new ParamDescriptor[0]);
+	}
+
+	/**
+	 * Invokes the method with fully converted arguments.
+	 *
+	 * @param target instance the method is invoked on
+	 * @param args   arguments in declaration order
+	 * @return method result
+	 * @throws IllegalArgumentException  if an argument does not match its
+	 *                                   parameter type
+	 * @throws InvocationTargetException if the method itself throws
+	 * @throws IllegalAccessException    if the method is not accessible
+	 */
+	Object invoke(Object target, Object[] args) throws InvocationTargetException, IllegalAccessException {
+		if (invoker == null) {
+			return method.invoke(target, args);
+		}
+
+		for (int i = 0; i < params.length; i++) {
+			params[i].check(args[i]);
+		}
+		try {
+			return (Object) invoker.invokeExact(target, args);
+		} catch (Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	/**
+	 * Returns the tool name.
+	 *
+	 * @return tool name
+	 */
+	String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the tool name qualified by its class, in the format
+	 * {@code <ClassName>:<toolName>}.
+	 *
+	 * @return qualified tool name
+	 */
+	String getFullName() {
+		return fullName;
+	}
+
+	/**
+	 * Returns the interpolated tool description.
+	 *
+	 * @return description, or {@code null} for non-tool methods
+	 */
+	String getDescription() {
+		return description;
+	}
+
+	/**
+	 * Indicates whether the tool may run concurrently with other tool calls.
+	 *
+	 * @return value of {@link Tool#concurrent()}
+	 */
+	boolean isConcurrent() {
+		return concurrent;
+	}
+
+	/**
+	 * Returns argument metadata in declaration order.
+	 *
+	 * @return parameter specs; must not be modified
+	 */
+	ParamSpec[] getParams() {
+		return params;
+	}
+
+	/**
+	 * Interpolates system metadata variables (e.g., OS Name) inside an annotation
+	 * description.
+	 *
+	 * @param description raw description
+	 * @return interpolated description
+	 */
+	private static String interpolate(String description) {
+		HashMap<String, String> valueMap = new HashMap<String, String>();
+		valueMap.put("OS_NAME", SystemUtils.OS_NAME);
+		return StringSubstitutor.replace(description, valueMap);
+	}
+
+	/**
+	 * Creates a {@code (Object, Object[]) -> Object} handle for the method.
+	 *
+	 * @param method target method
+	 * @return spread invoker, or {@code null} if the method cannot be unreflected
+	 */
+	private static MethodHandle spreadInvoker(Method method) {
+		try {
+			MethodHandle handle = MethodHandles.publicLookup().unreflect(method);
+			if (Modifier.isStatic(method.getModifiers())) {
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			int count = method.getParameterCount();
+			return handle.asType(handle.type().generic()).asSpreader(Object[].class, count).asType(SPREAD_TYPE);
+		} catch (IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Pre-resolved metadata of one method parameter.
+	 */
+	static final class ParamSpec {
+
+		/** Parameter type. */
+		final Class<?> type;
+
+		/** Whether the parameter carries {@link Param}; other parameters are resolved by type. */
+		final boolean annotated;
+
+		/** Parameter name exposed to the model. */
+		final String name;
+
+		/** Whether this is the {@code project_dir} parameter. */
+		final boolean projectDir;
+
+		/** Default value, or {@code null} if none is declared. */
+		final String defaultValue;
+
+		/** Whether the parameter has no declared default. */
+		final boolean required;
+
+		/** Simplified schema type name. */
+		final String typeName;
+
+		/** Parameter description. */
+		final String description;
+
+		/** Raw {@link Param#defaultValue()}. */
+		final String declaredDefault;
+
+		/** Converter from the string argument value to the parameter type. */
+		final Function<String, Object> converter;
+
+		/**
+		 * Resolves the metadata of one parameter.
+		 *
+		 * @param param reflective parameter
+		 */
+		private ParamSpec(Parameter param) {
+			this.type = param.getType();
+			Param annotation = param.getAnnotation(Param.class);
+			this.annotated = annotation != null;
+			if (annotated) {
+				String paramName = annotation.name();
+				this.name = Param.NOT_DEFINED.equals(paramName) ? param.getName() : paramName;
+				this.projectDir = AbstractAIProvider.PROJECT_DIR_PARAM_NAME.equals(name);
+				String declaredDefault = annotation.defaultValue();
+				this.required = declaredDefault.equals(Param.NOT_DEFINED);
+				this.defaultValue = Strings.CS.containsAny(declaredDefault, Param.NULL, Param.NOT_DEFINED) ? null
+						: declaredDefault;
+				this.typeName = TypeConverter.get(type);
+				this.description = annotation.description();
+				this.declaredDefault = declaredDefault;
+				this.converter = TypeConverter.converterFor(param);
+			} else {
+				this.name = null;
+				this.projectDir = false;
+				this.defaultValue = null;
+				this.required = false;
+				this.typeName = null;
+				this.description = null;
+				this.declaredDefault = null;
+				this.converter = null;
+			}
+		}
+
+		/**
+		 * Returns the default value for the current call: the declared default, or
+		 * the absolute project directory for {@code project_dir}.
+		 *
+		 * @param dir project directory of the call, may be {@code null}
+		 * @return default value, may be {@code null}
+		 */
+		String defaultValue(File dir) {
+			if (projectDir && dir != null) {
+				return dir.getAbsolutePath();
+			}
+			return defaultValue;
+		}
+
+		/**
+		 * Rejects arguments that reflective invocation would reject, so that method
+		 * handle invocation fails with the same {@link IllegalArgumentException}.
+		 *
+		 * @param value argument value
+		 * @throws IllegalArgumentException if the value does not fit the parameter
+		 */
+		private void check(Object value) {
+			if (value == null ? type.isPrimitive() : !ClassUtils.isAssignable(value.getClass(), type, true)) {
+				throw new IllegalArgumentException("argument type mismatch");
+			}
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package org.machanism.machai.ai.provider;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Parameter;
@@ -10,16 +11,17 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.machanism.machai.ai.tools.Param;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 /**
  * Utility class for converting between Java types and their string
@@ -54,6 +56,9 @@ public class TypeConverter {
 	public TypeConverter() {
 	}
 
+	/** Shared mapper used to create type-bound readers. */
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
 	/**
 	 * Immutable mapping from Java classes to simplified type names.
 	 */
@@ -113,67 +118,98 @@ public class TypeConverter {
 	 *         original input string if the target type is {@link String}
 	 */
 	public static Object convertToType(Parameter param, String input) {
+		return converterFor(param).apply(input);
+	}
+
+	/**
+	 * Resolves the conversion strategy for the given {@link Parameter} once, so
+	 * that repeated conversions skip type inspection, constructor lookup and
+	 * Jackson type resolution.
+	 * <p>
+	 * The returned function behaves exactly like
+	 * {@link #convertToType(Parameter, String)} for the same parameter: it returns
+	 * {@code null} for {@code null}, {@link Param#NULL} and
+	 * {@link Param#NOT_DEFINED} inputs and throws {@link IllegalArgumentException}
+	 * if JSON input cannot be parsed.
+	 * </p>
+	 *
+	 * @param param the {@link Parameter} describing the target type
+	 * @return a thread-safe converter from string input to the parameter type
+	 */
+	public static Function<String, Object> converterFor(Parameter param) {
+		Function<String, Object> converter;
+		Class<?> type = param.getType();
+		if (List.class.isAssignableFrom(type)) {
+			ObjectReader reader = MAPPER.readerFor(new TypeReference<List<String>>() {
+			});
+			converter = input -> read(reader, input);
 
-		Object output = null;
+		} else if (Map.class.isAssignableFrom(type)) {
+			String valueType = null;
+			Type parameterizedType = param.getParameterizedType();
+			if (parameterizedType instanceof ParameterizedType) {
+				valueType = ((ParameterizedType) parameterizedType).getActualTypeArguments()[1].getTypeName();
+			}
 
-		try {
-			if (input instanceof String ? !Strings.CS.equalsAny((String) input, Param.NULL, Param.NOT_DEFINED) : input != null) {
-				Class<?> type = param.getType();
-				if (List.class.isAssignableFrom(type)) {
-					output = new ObjectMapper().readValue(input,
-							new TypeReference<List<String>>() {
-							});
-				} else if (Map.class.isAssignableFrom(type)) {
-					Type parameterizedType = param.getParameterizedType();
-					if (parameterizedType instanceof ParameterizedType) {
-						ParameterizedType typeName = (ParameterizedType) parameterizedType;
-						String valueType = typeName.getActualTypeArguments()[1].getTypeName();
-						if ("java.lang.Integer".equals(valueType)) {
-							output = new ObjectMapper().readValue(input,
-									new TypeReference<Map<String, Integer>>() {
-									});
-						} else if ("java.lang.Double".equals(valueType)) {
-							output = new ObjectMapper().readValue(input,
-									new TypeReference<Map<String, Double>>() {
-									});
-						} else {
-							if (StringUtils.isNoneBlank(input)) {
-								output = new ObjectMapper().readValue(input,
-										new TypeReference<Map<String, String>>() {
-										});
-							} else {
-								output = new HashMap<>();
-							}
-						}
-					} else {
-						if (StringUtils.isNoneBlank(input)) {
-							output = new ObjectMapper().readValue(input,
-									new TypeReference<Map<String, String>>() {
-									});
-						} else {
-							output = new HashMap<>();
-						}
-					}
-				} else if (!String.class.isAssignableFrom(type)) {
+			if ("java.lang.Integer".equals(valueType)) {
+				ObjectReader reader = MAPPER.readerFor(new TypeReference<Map<String, Integer>>() {
+				});
+				converter = input -> read(reader, input);
+			} else if ("java.lang.Double".equals(valueType)) {
+				ObjectReader reader = MAPPER.readerFor(new TypeReference<Map<String, Double>>() {
+				});
+				converter = input -> read(reader, input);
+			} else {
+				ObjectReader reader = MAPPER.readerFor(new TypeReference<Map<String, String>>() {
+				});
+				converter = input -> StringUtils.isNoneBlank(input) ? read(reader, input) : new HashMap<>();
+			}
+
+		} else if (!String.class.isAssignableFrom(type)) {
+			Class<?> targetType = type.isPrimitive() ? primitiveTypeMapping(type) : type;
+			Constructor<?> constructor;
+			try {
+				constructor = targetType.getConstructor(String.class);
+			} catch (NoSuchMethodException | SecurityException e) {
+				constructor = null;
+			}
+			Constructor<?> stringConstructor = constructor;
+			ObjectReader reader = MAPPER.readerFor(targetType);
+			converter = input -> {
+				if (stringConstructor != null) {
 					try {
-						if (type.isPrimitive()) {
-							type = primitiveTypeMapping(type);
-						}
-						Constructor<?> constructor = type.getConstructor(String.class);
-						output = constructor.newInstance(input);
-
-					} catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException
-							| IllegalArgumentException | InvocationTargetException e) {
-						output = new ObjectMapper().readValue(input, type);
+						return stringConstructor.newInstance(input);
+					} catch (InstantiationException | IllegalAccessException | IllegalArgumentException
+							| InvocationTargetException e) {
+						// Fall back to JSON deserialization below.
 					}
-				} else {
-					output = input;
 				}
-			}
-		} catch (JsonProcessingException e) {
+				return read(reader, input);
+			};
+
+		} else {
+			converter = input -> input;
+		}
+
+		return input -> input == null || Strings.CS.equalsAny(input, Param.NULL, Param.NOT_DEFINED) ? null
+				: converter.apply(input);
+	}
+
+	/**
+	 * Parses JSON input with the given reader.
+	 *
+	 * @param reader reader bound to the target type
+	 * @param input  JSON input
+	 * @return parsed value
+	 * @throws IllegalArgumentException if the input is not valid JSON for the
+	 *                                  target type
+	 */
+	private static Object read(ObjectReader reader, String input) {
+		try {
+			return reader.readValue(input);
+		} catch (IOException e) {
 			throw new IllegalArgumentException(e);
 		}
-		return output;
 	}
 
 	/**
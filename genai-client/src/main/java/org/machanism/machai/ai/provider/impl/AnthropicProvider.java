@@ -1,21 +1,32 @@
 package org.machanism.machai.ai.provider.impl;
 
-import java.io.File;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.machanism.machai.ai.manager.Usage;
 import org.machanism.machai.ai.manager.UsageStatistics;
 import org.machanism.machai.ai.provider.AbstractAIProvider;
+import org.machanism.machai.ai.provider.ClientCache;
+import org.machanism.machai.ai.provider.CompactionPolicy;
+import org.machanism.machai.ai.provider.ConversationItem;
+import org.machanism.machai.ai.provider.ConversationItem.Kind;
 import org.machanism.machai.ai.provider.Genai;
+import org.machanism.machai.ai.provider.GenaiEvent;
+import org.machanism.machai.ai.provider.RateGovernor;
+import org.machanism.machai.ai.provider.ResponseCache;
+import org.machanism.machai.ai.trace.Span;
+import org.machanism.machai.ai.trace.Tracer;
 import org.machanism.machai.ai.tools.ParamDescriptor;
 import org.machanism.machai.ai.tools.ToolFunction;
 import org.slf4j.Logger;
@@ -26,14 +37,22 @@ import com.anthropic.client.okhttp.AnthropicOkHttpClient;
 import com.anthropic.client.okhttp.AnthropicOkHttpClient.Builder;
 import com.anthropic.core.JsonField;
 import com.anthropic.core.JsonValue;
+import com.anthropic.core.ObjectMappers;
 import com.anthropic.core.Timeout;
+import com.anthropic.core.http.StreamResponse;
+import com.anthropic.errors.AnthropicIoException;
+import com.anthropic.errors.AnthropicServiceException;
+import com.anthropic.helpers.BetaMessageAccumulator;
 import com.anthropic.models.beta.messages.BetaCacheControlEphemeral;
 import com.anthropic.models.beta.messages.BetaContentBlock;
 import com.anthropic.models.beta.messages.BetaContentBlockParam;
 import com.anthropic.models.beta.messages.BetaMessage;
 import com.anthropic.models.beta.messages.BetaMessageParam;
 import com.anthropic.models.beta.messages.BetaMessageParam.Role;
+import com.anthropic.models.beta.messages.BetaRawContentBlockDelta;
+import com.anthropic.models.beta.messages.BetaRawMessageStreamEvent;
 import com.anthropic.models.beta.messages.BetaRequestMcpServerUrlDefinition;
+import com.anthropic.models.beta.messages.BetaTextBlockParam;
 import com.anthropic.models.beta.messages.BetaTool;
 import com.anthropic.models.beta.messages.BetaToolResultBlockParam;
 import com.anthropic.models.beta.messages.BetaToolUnion;
@@ -44,6 +63,7 @@ import com.anthropic.models.beta.messages.BetaUserLocation;
 import com.anthropic.models.beta.messages.BetaWebSearchTool20250305;
 import com.anthropic.models.beta.messages.BetaWebSearchTool20260209;
 import com.anthropic.models.beta.messages.MessageCreateParams;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -55,6 +75,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * Messages API, custom tool execution, optional web search integration,
  * optional MCP server forwarding, and usage tracking.</p>
  *
+ * <p>Prompt caching uses up to four cache breakpoints per request: the last tool
+ * definition, the system instructions, the latest message and the message that
+ * carried the sliding breakpoint in the previous request. Each tool round
+ * therefore reads the previous prefix from the cache and writes the extended
+ * one. {@link Usage#getInputCachedTokens()} reports the tokens read from the
+ * cache.</p>
+ *
  * @author Viktor Tovstyi
  * @since 1.1.13
  */
@@ -70,6 +97,10 @@ public class AnthropicProvider extends AbstractAIProvider {
 	public static final String ANTHROPIC_API_KEY = "ANTHROPIC_API_KEY";
 	/** Configuration property that overrides the Anthropic API base URL. */
 	public static final String ANTHROPIC_BASE_URL = "ANTHROPIC_BASE_URL";
+	/** Retries performed by the SDK client; requests are retried under the shared {@link RateGovernor} instead. */
+	private static final int MAX_RETRIES = 0;
+	/** SDK clients shared by all provider instances, keyed by endpoint and credentials. */
+	private static final ClientCache<AnthropicClient> clients = new ClientCache<>("Anthropic", AnthropicClient::close);
 	/** Accumulated Anthropic message inputs for the current conversation. */
 	private final List<BetaMessageParam> inputs = new ArrayList<>();
 	/** Mapping between Anthropic tool definitions and local functions. */
@@ -78,6 +109,8 @@ public class AnthropicProvider extends AbstractAIProvider {
 	private Object webSearchTool;
 	/** MCP server definitions forwarded to Anthropic with each request. */
 	private List<BetaRequestMcpServerUrlDefinition> mcpServers = new ArrayList<>();
+	/** Index of the message that carried the sliding cache breakpoint in the previous request, or {@code -1}. */
+	private int previousBreakpoint = -1;
 
 	/**
 	 * Registers an MCP server definition for future requests.
@@ -138,55 +171,221 @@ public class AnthropicProvider extends AbstractAIProvider {
 	/** Sends the accumulated conversation and returns the final text response. @return response text */
 	@Override
 	public String perform() {
-		return parseResponse(call(createResponseBuilder(inputs)));
+		return perform(null);
+	}
+
+	/** Sends the accumulated conversation, streaming events to {@code listener} when it is not {@code null}. @param listener event receiver @return response text */
+	@Override
+	public String perform(Consumer<GenaiEvent> listener) {
+		try (Span span = Tracer.start("perform", Tracer.CATEGORY_GENAI)) {
+			span.attribute("model", getMetricsId());
+			return parseResponse(call(createResponseBuilder(inputs), listener), listener);
+		}
 	}
 
-	private BetaMessage call(MessageCreateParams params) {
+	/** Sends one request, or replays its recorded response from the {@link ResponseCache}. @return model response */
+	private BetaMessage call(MessageCreateParams params, Consumer<GenaiEvent> listener) {
 		if (logger.isDebugEnabled()) logger.debug("GenAI service request params: {}", params);
-		BetaMessage response = getClient().beta().messages().create(params);
+		ResponseCache cache = getResponseCache();
+		String key = cache.key(getClass().getSimpleName(), params._body(), ObjectMappers.jsonMapper());
+		BetaMessage replayed = cache.lookup(key, BetaMessage.class, ObjectMappers.jsonMapper());
+		if (replayed != null) {
+			if (listener != null) replayed.content().forEach(block -> block.text().ifPresent(t -> listener.accept(GenaiEvent.textDelta(t.text()))));
+			return replayed;
+		}
+		BetaMessage response = listener == null ? sendRequest(() -> getClient().beta().messages().create(params), true)
+				: sendStreamingRequest(listener, streamListener -> stream(params, streamListener));
 		if (logger.isDebugEnabled()) logger.debug("GenAI service response: {}", params);
-		captureUsage(response);
+		cache.store(key, response, ObjectMappers.jsonMapper());
+		Usage usage = captureUsage(response);
+		if (listener != null && usage != null) listener.accept(GenaiEvent.usage(usage));
 		return response;
 	}
 
-	private String parseResponse(BetaMessage response) {
-		List<BetaContentBlock> content = response.content();
+	/** Streams a request, forwarding text and thinking deltas, and accumulates the complete message. @return accumulated message */
+	private BetaMessage stream(MessageCreateParams params, Consumer<GenaiEvent> listener) {
+		BetaMessageAccumulator accumulator = BetaMessageAccumulator.create();
+		try (StreamResponse<BetaRawMessageStreamEvent> streamResponse = getClient().beta().messages().createStreaming(params)) {
+			streamResponse.stream().forEach(event -> {
+				accumulator.accumulate(event);
+				if (event.isContentBlockDelta()) {
+					BetaRawContentBlockDelta delta = event.asContentBlockDelta().delta();
+					if (delta.isText()) listener.accept(GenaiEvent.textDelta(delta.asText().text()));
+					else if (delta.isThinking()) listener.accept(GenaiEvent.reasoningDelta(delta.asThinking().thinking()));
+				}
+			});
+		}
+		return accumulator.message();
+	}
+
+	private String parseResponse(BetaMessage response, Consumer<GenaiEvent> listener) {
 		String result = null;
-		boolean anyToolCalls = false;
+		List<BetaToolUseBlock> toolUses = new ArrayList<>();
+		String text = readContent(response, toolUses);
+		if (toolUses.isEmpty()) result = text;
+		else {
+			handleFunctionCalls(toolUses, listener);
+			result = parseResponse(call(createResponseBuilder(inputs), listener), listener);
+		}
+		return result;
+	}
+
+	/** Records text blocks in the conversation and collects tool-use blocks. @return last text block, or {@code null} */
+	private String readContent(BetaMessage response, List<BetaToolUseBlock> toolUses) {
 		String text = null;
-		for (BetaContentBlock contentBlock : content) {
+		for (BetaContentBlock contentBlock : response.content()) {
 			if (contentBlock.isText()) {
 				text = contentBlock.text().map(t -> t.text()).orElse(null);
 				inputs.add(BetaMessageParam.builder().content(text).role(Role.ASSISTANT).build());
 			}
-			if (contentBlock.isToolUse()) {
-				handleFunctionCall(contentBlock.asToolUse());
-				anyToolCalls = true;
-			}
+			if (contentBlock.isToolUse()) toolUses.add(contentBlock.asToolUse());
 		}
-		if (!anyToolCalls) result = text;
-		else result = parseResponse(call(createResponseBuilder(inputs)));
-		return result;
+		return text;
 	}
 
-	/** Captures token usage and updates global usage statistics. @param response response message */
-	private void captureUsage(BetaMessage response) {
+	/** Sends the accumulated conversation through the asynchronous client; tool rounds run on the shared async executor. @return future response text */
+	@Override
+	public CompletableFuture<String> performAsync() {
+		Span span = Tracer.startAsync("perform", Tracer.CATEGORY_GENAI).attribute("model", getMetricsId());
+		return startAsync(() -> callAsync(createResponseBuilder(inputs))).thenComposeAsync(this::parseResponseAsync, getAsyncExecutor())
+				.whenComplete((result, error) -> span.close());
+	}
+
+	private CompletableFuture<BetaMessage> callAsync(MessageCreateParams params) {
+		if (logger.isDebugEnabled()) logger.debug("GenAI service async request params: {}", params);
+		ResponseCache cache = getResponseCache();
+		String key = cache.key(getClass().getSimpleName(), params._body(), ObjectMappers.jsonMapper());
+		BetaMessage replayed = cache.lookup(key, BetaMessage.class, ObjectMappers.jsonMapper());
+		if (replayed != null) return CompletableFuture.completedFuture(replayed);
+		return sendRequestAsync(() -> getClient().async().beta().messages().create(params)).thenApply(response -> {
+			cache.store(key, response, ObjectMappers.jsonMapper());
+			captureUsage(response);
+			return response;
+		});
+	}
+
+	private CompletableFuture<String> parseResponseAsync(BetaMessage response) {
+		List<BetaToolUseBlock> toolUses = new ArrayList<>();
+		String text = readContent(response, toolUses);
+		if (toolUses.isEmpty()) return CompletableFuture.completedFuture(text);
+		handleFunctionCalls(toolUses, null);
+		return callAsync(createResponseBuilder(inputs)).thenComposeAsync(this::parseResponseAsync, getAsyncExecutor());
+	}
+
+	/** Captures token usage and updates global usage statistics. @param response response message @return recorded usage or {@code null} */
+	private Usage captureUsage(BetaMessage response) {
+		Usage usage = null;
 		if (response.isValid()) {
 			BetaUsage responseUsage = response.usage();
-			long inputTokens = responseUsage.inputTokens();
-			long inputCachedTokens = responseUsage.cacheCreationInputTokens().orElseGet(() -> 0L) + responseUsage.cacheReadInputTokens().orElseGet(() -> 0L);
+			long cacheWriteTokens = responseUsage.cacheCreationInputTokens().orElseGet(() -> 0L);
+			long inputCachedTokens = responseUsage.cacheReadInputTokens().orElseGet(() -> 0L);
+			// Anthropic reports uncached, cache-write and cache-read input separately; Usage counts all input like OpenAI.
+			long inputTokens = responseUsage.inputTokens() + cacheWriteTokens + inputCachedTokens;
 			long outputTokens = responseUsage.outputTokens();
-			Usage usage = new Usage(inputTokens, inputCachedTokens, outputTokens);
-			UsageStatistics.addUsage(chatModel, usage);
+			usage = new Usage(inputTokens, inputCachedTokens, outputTokens);
+			UsageStatistics.addUsage(getMetricsId(), usage);
+		}
+		return usage;
+	}
+
+	/** Executes same-turn tool calls (possibly concurrently) and records each call and result in request order. */
+	private void handleFunctionCalls(List<BetaToolUseBlock> toolUses, Consumer<GenaiEvent> listener) {
+		Consumer<GenaiEvent> events = synchronizedListener(listener);
+		List<String> names = new ArrayList<>();
+		List<Supplier<Object>> calls = new ArrayList<>();
+		for (BetaToolUseBlock toolUse : toolUses) {
+			names.add(toolUse.name());
+			calls.add(() -> callFunction(toolUse, events));
+		}
+		List<Object> results = invokeToolCalls(names, calls);
+		for (int i = 0; i < toolUses.size(); i++) addToolResult(toolUses.get(i), results.get(i));
+		compactInputs();
+	}
+
+	/** Compacts {@link #inputs} with the configured {@link CompactionPolicy} when they exceed the threshold. */
+	private void compactInputs() {
+		if (isCompactionEnabled()) replaceInputs(compact(describeInputs()));
+	}
+
+	/** Measures the next request and trims {@link #inputs} when it exceeds {@link #MAX_INPUT_TOKENS_PROP_NAME}. */
+	private void preflightInputs() {
+		if (!isPreflightEnabled()) return;
+		List<BetaTool> tools = new ArrayList<>(toolMap.size());
+		for (BetaTool.Builder builder : toolMap.keySet()) tools.add(builder.build());
+		String toolsJson;
+		try {
+			toolsJson = ObjectMappers.jsonMapper().writeValueAsString(tools);
+		} catch (JsonProcessingException e) {
+			toolsJson = tools.toString();
+		}
+		replaceInputs(preflight(toolsJson, describeInputs()));
+	}
+
+	/** Describes {@link #inputs} for compaction and sizing; a tool-use message and its result message form one group. @return provider-neutral conversation */
+	private List<ConversationItem> describeInputs() {
+		List<ConversationItem> items = new ArrayList<>(inputs.size());
+		Map<String, Integer> useGroups = new HashMap<>();
+		Map<String, String> useNames = new HashMap<>();
+		int group = 0;
+		for (BetaMessageParam message : inputs) {
+			String text = toJson(message);
+			List<BetaContentBlockParam> blocks = message.content().isBetaContentBlockParams() ? message.content().asBetaContentBlockParams() : new ArrayList<>();
+			BetaContentBlockParam first = blocks.isEmpty() ? null : blocks.get(0);
+			if (first != null && first.isToolUse()) {
+				group++;
+				for (BetaContentBlockParam block : blocks) {
+					if (block.isToolUse()) {
+						useGroups.put(block.asToolUse().id(), group);
+						useNames.put(block.asToolUse().id(), block.asToolUse().name());
+					}
+				}
+				items.add(ConversationItem.of(Kind.TOOL_CALL, first.asToolUse().name(), text, group, message));
+			} else if (first != null && first.isToolResult()) {
+				String id = first.asToolResult().toolUseId();
+				Integer useGroup = useGroups.get(id);
+				items.add(ConversationItem.of(Kind.TOOL_RESULT, useNames.get(id), text, useGroup != null ? useGroup : ++group, message));
+			} else {
+				items.add(ConversationItem.of(Kind.MESSAGE, message.role().toString(), text, ++group, message));
+			}
+		}
+		return items;
+	}
+
+	/** Rebuilds {@link #inputs} from a compacted conversation; {@code null} keeps the inputs. */
+	private void replaceInputs(List<ConversationItem> compacted) {
+		if (compacted == null) return;
+		inputs.clear();
+		previousBreakpoint = -1;
+		for (ConversationItem item : compacted) {
+			BetaMessageParam source = (BetaMessageParam) item.getSource();
+			if (!item.isModified()) inputs.add(source);
+			else if (item.getKind() == Kind.TOOL_RESULT) {
+				List<BetaContentBlockParam> blocks = new ArrayList<>();
+				for (BetaContentBlockParam block : source.content().asBetaContentBlockParams()) {
+					blocks.add(block.isToolResult() ? BetaContentBlockParam.ofToolResult(block.asToolResult().toBuilder().content(item.getText()).build()) : block);
+				}
+				inputs.add(source.toBuilder().contentOfBetaContentBlockParams(blocks).build());
+			} else {
+				String text = item.getKind() == Kind.SUMMARY ? COMPACTION_SUMMARY_PREFIX + item.getText() : item.getText();
+				inputs.add(BetaMessageParam.builder().content(text).role(Role.USER).build());
+			}
+		}
+	}
+
+	/** Serializes a message for size estimates and summaries. @return JSON text, or the string form if serialization fails */
+	private static String toJson(BetaMessageParam message) {
+		try {
+			return ObjectMappers.jsonMapper().writeValueAsString(message);
+		} catch (JsonProcessingException e) {
+			return message.toString();
 		}
 	}
 
-	private void handleFunctionCall(BetaToolUseBlock toolUse) {
+	private void addToolResult(BetaToolUseBlock toolUse, Object result) {
 		BetaContentBlock toolUseBlock = BetaContentBlock.ofToolUse(toolUse);
 		List<BetaContentBlockParam> toolUseList = new ArrayList<>();
 		toolUseList.add(toolUseBlock.toParam());
 		inputs.add(BetaMessageParam.builder().role(Role.ASSISTANT).contentOfBetaContentBlockParams(toolUseList).build());
-		Object result = callFunction(toolUse);
 		BetaToolResultBlockParam.Builder toolResult = BetaToolResultBlockParam.builder().toolUseId(toolUse.id()).contentAsJson(result);
 		if (result instanceof String) toolResult.isError(Strings.CS.startsWith((String) result, AbstractAIProvider.ERROR_TOOL_RESULT_PREFIX));
 		ArrayList<BetaContentBlockParam> arrayList = new ArrayList<>();
@@ -194,27 +393,27 @@ public class AnthropicProvider extends AbstractAIProvider {
 		inputs.add(BetaMessageParam.builder().role(Role.USER).contentOfBetaContentBlockParams(arrayList).build());
 	}
 
+	private Object callFunction(BetaToolUseBlock toolUse, Consumer<GenaiEvent> listener) {
+		if (listener != null) listener.accept(GenaiEvent.toolCallStarted(toolUse.name(), new ObjectMapper().valueToTree(toolUse._input()).toString()));
+		Object result = callFunction(toolUse);
+		if (listener != null) listener.accept(GenaiEvent.toolCallFinished(toolUse.name(), Objects.toString(result, null)));
+		return result;
+	}
+
 	private Object callFunction(BetaToolUseBlock toolUse) {
 		String name = toolUse.name();
 		JsonField<BetaToolUseBlockParam.Input> params = toolUse.toParam()._input();
 		JsonNode node = new ObjectMapper().valueToTree(params);
-		Object result = null;
-		File file = projectDir;
-		Set<Entry<BetaTool.Builder, ToolFunction>> entrySet = toolMap.entrySet();
-		for (Entry<BetaTool.Builder, ToolFunction> entry : entrySet) {
-			BetaTool tool = entry.getKey().build();
-			if (entry.getValue() != null && normalize(name).equals(normalize(tool.name()))) {
-				result = safelyInvokeTool(name, entry.getValue(), node, file);
-				break;
-			}
-		}
-		return result;
+		ToolFunction function = findTool(name);
+		return function != null ? safelyInvokeTool(name, function, node, projectDir) : null;
 	}
 
 	private MessageCreateParams createResponseBuilder(List<BetaMessageParam> inputs) {
+		preflightInputs();
 		com.anthropic.models.beta.messages.MessageCreateParams.Builder paramsBuilder = MessageCreateParams.builder().model(chatModel).maxTokens(maxOutputTokens);
-		paramsBuilder.messages(inputs);
-		if (StringUtils.isNotBlank(instructions)) paramsBuilder.system(instructions);
+		paramsBuilder.messages(withCacheBreakpoints(inputs));
+		if (StringUtils.isNotBlank(instructions)) paramsBuilder.systemOfBetaTextBlockParams(Collections.singletonList(
+				BetaTextBlockParam.builder().text(instructions).cacheControl(BetaCacheControlEphemeral.builder().build()).build()));
 		List<BetaTool.Builder> collect = new ArrayList<>(toolMap.keySet());
 		List<BetaToolUnion> tools = new ArrayList<>(collect.size());
 		for (int i = 0; i < collect.size(); i++) {
@@ -229,9 +428,50 @@ public class AnthropicProvider extends AbstractAIProvider {
 		return paramsBuilder.build();
 	}
 
-	/** Clears accumulated conversation inputs. */
+	/**
+	 * Copies the conversation with cache breakpoints on the latest message and on
+	 * the message that carried the breakpoint in the previous request, so the
+	 * previous prefix is read from the cache while the extended one is written.
+	 * @param inputs accumulated conversation
+	 * @return request messages
+	 */
+	private List<BetaMessageParam> withCacheBreakpoints(List<BetaMessageParam> inputs) {
+		List<BetaMessageParam> messages = new ArrayList<>(inputs);
+		int last = messages.size() - 1;
+		if (last < 0) return messages;
+		if (previousBreakpoint >= 0 && previousBreakpoint < last) messages.set(previousBreakpoint, withCacheControl(messages.get(previousBreakpoint)));
+		messages.set(last, withCacheControl(messages.get(last)));
+		previousBreakpoint = last;
+		return messages;
+	}
+
+	/** Returns a copy of {@code message} whose last content block carries an ephemeral cache breakpoint; unsupported blocks are left unchanged. @return message with breakpoint */
+	private static BetaMessageParam withCacheControl(BetaMessageParam message) {
+		BetaCacheControlEphemeral cacheControl = BetaCacheControlEphemeral.builder().build();
+		if (message.content().isString()) {
+			String text = message.content().asString();
+			if (StringUtils.isBlank(text)) return message;
+			BetaContentBlockParam block = BetaContentBlockParam.ofText(BetaTextBlockParam.builder().text(text).cacheControl(cacheControl).build());
+			return message.toBuilder().contentOfBetaContentBlockParams(Collections.singletonList(block)).build();
+		}
+		List<BetaContentBlockParam> blocks = new ArrayList<>(message.content().asBetaContentBlockParams());
+		if (blocks.isEmpty()) return message;
+		BetaContentBlockParam block = blocks.get(blocks.size() - 1);
+		if (block.isText() && StringUtils.isNotBlank(block.asText().text())) block = BetaContentBlockParam.ofText(block.asText().toBuilder().cacheControl(cacheControl).build());
+		else if (block.isToolUse()) block = BetaContentBlockParam.ofToolUse(block.asToolUse().toBuilder().cacheControl(cacheControl).build());
+		else if (block.isToolResult()) block = BetaContentBlockParam.ofToolResult(block.asToolResult().toBuilder().cacheControl(cacheControl).build());
+		else return message;
+		blocks.set(blocks.size() - 1, block);
+		return message.toBuilder().contentOfBetaContentBlockParams(blocks).build();
+	}
+
+	/** Clears accumulated conversation inputs and spilled tool results. */
 	@Override
-	public void clear() { inputs.clear(); }
+	public void clear() {
+		super.clear();
+		inputs.clear();
+		previousBreakpoint = -1;
+	}
 
 	/**
 	 * Registers a local function tool.
@@ -241,7 +481,7 @@ public class AnthropicProvider extends AbstractAIProvider {
 	 * @param paramsDesc tool input descriptors
 	 */
 	protected void addTool(String name, String description, ToolFunction function, ParamDescriptor... paramsDesc) {
-		if (!toolMap.keySet().stream().anyMatch(key -> Strings.CS.equals(name, key.build().name()))) {
+		if (registerTool(name, function)) {
 			Map<String, JsonValue> fromValue = new HashMap<>();
 			List<String> requiredProps = new ArrayList<>();
 			if (paramsDesc != null) for (ParamDescriptor pDesc : paramsDesc) {
@@ -260,19 +500,51 @@ public class AnthropicProvider extends AbstractAIProvider {
 		}
 	}
 
-	/** Creates and configures an Anthropic client. @return configured client */
+	/** Returns the Anthropic client cached for the configured endpoint and credentials. @return shared client */
 	protected AnthropicClient getClient() {
 		String baseUrl = getConfigurator().get(ANTHROPIC_BASE_URL, null);
 		String privateKey = getConfigurator().get(ANTHROPIC_API_KEY);
 		Long timeout = timeoutSec != null ? timeoutSec : getConfigurator().getLong("GENAI_TIMEOUT", 0L);
+		long timeoutValue = timeout != null ? timeout : 0L;
+		return clients.get(baseUrl, getCredentialIdentity(privateKey), privateKey, timeoutValue, MAX_RETRIES,
+				() -> createClient(baseUrl, privateKey, timeoutValue));
+	}
+
+	/** Returns the stable identity of the credential; by default the API key itself. @param privateKey current API key or access token @return credential identity */
+	protected String getCredentialIdentity(String privateKey) {
+		return privateKey;
+	}
+
+	/** Creates and configures a new Anthropic client. @return configured client */
+	private static AnthropicClient createClient(String baseUrl, String privateKey, long timeout) {
 		Builder clientBuilder = AnthropicOkHttpClient.builder();
 		if (privateKey.startsWith("sk-")) clientBuilder.apiKey(privateKey); else clientBuilder.authToken(privateKey);
 		if (baseUrl != null) clientBuilder.baseUrl(baseUrl);
-		if (timeout != null && timeout > 0) {
+		if (timeout > 0) {
 			Duration ofSeconds = Duration.ofSeconds(timeout);
 			clientBuilder.timeout(Timeout.builder().request(ofSeconds).read(ofSeconds).write(ofSeconds).connect(ofSeconds).build());
 		}
-		clientBuilder.maxRetries(3);
+		clientBuilder.maxRetries(MAX_RETRIES);
 		return clientBuilder.build();
 	}
+
+	/**
+	 * Classifies Anthropic errors for the shared {@link RateGovernor}: HTTP 429 is a rate limit, HTTP 408, 409 and
+	 * 5xx responses (including 529 overloaded) and I/O failures are transient.
+	 *
+	 * @param error failure thrown by the request
+	 * @return signal, or {@code null} if the failure is final
+	 */
+	@Override
+	protected RateGovernor.Signal rateSignal(RuntimeException error) {
+		if (error instanceof AnthropicServiceException) {
+			AnthropicServiceException serviceError = (AnthropicServiceException) error;
+			int status = serviceError.statusCode();
+			long retryAfter = RateGovernor.retryAfterMillis(serviceError.headers()::values);
+			if (status == 429) return RateGovernor.Signal.rateLimited(retryAfter);
+			if (status == 408 || status == 409 || status >= 500) return RateGovernor.Signal.transientError(retryAfter);
+			return null;
+		}
+		return error instanceof AnthropicIoException ? RateGovernor.Signal.transientError(0) : null;
+	}
 }
@@ -1,9 +1,8 @@
 package org.machanism.machai.ai.provider.impl;
 
-import java.io.BufferedReader;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
@@ -11,6 +10,7 @@ import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
@@ -25,6 +25,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.anthropic.client.AnthropicClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.openai.client.OpenAIClient;
 
 /**
@@ -89,11 +91,11 @@ public class CodeMieProvider extends GenaiAdapter implements EmbeddingProvider {
 			this.password = password;
 		}
 
-		/** Refreshes the access token and creates the configured Anthropic client. */
+		/** Applies the cached (or refreshed) access token and returns the Anthropic client. */
 		@Override
 		protected AnthropicClient getClient() {
 			try {
-				String token = getToken(resolvedAuthUrl, username, password);
+				String token = CodeMieTokenManager.getInstance().getToken(resolvedAuthUrl, username, password);
 				((MutableConfigurator) getConfigurator()).set(AnthropicProvider.ANTHROPIC_API_KEY, token);
 			} catch (IOException e) {
 				throw new IllegalArgumentException("Authorization failed for user '" + username + "'", e);
@@ -101,6 +103,18 @@ public class CodeMieProvider extends GenaiAdapter implements EmbeddingProvider {
 
 			return super.getClient();
 		}
+
+		/** Identifies the access token by the user it was issued to, so a refreshed token replaces the previous client. */
+		@Override
+		protected String getCredentialIdentity(String privateKey) {
+			return resolvedAuthUrl + '\n' + username;
+		}
+
+		/** Records metrics and shares the rate governor under the CodeMie provider name. */
+		@Override
+		protected String getMetricsId() {
+			return "CodeMie:" + chatModel;
+		}
 	}
 
 	/** OpenAI provider extension that refreshes the CodeMie access token. */
@@ -119,11 +133,11 @@ public class CodeMieProvider extends GenaiAdapter implements EmbeddingProvider {
 			this.password = password;
 		}
 
-		/** Refreshes the access token and creates the configured OpenAI client. */
+		/** Applies the cached (or refreshed) access token and returns the OpenAI client. */
 		@Override
 		public OpenAIClient getClient() {
 			try {
-				String token = getToken(resolvedAuthUrl, username, password);
+				String token = CodeMieTokenManager.getInstance().getToken(resolvedAuthUrl, username, password);
 				((MutableConfigurator) getConfigurator()).set(OPENAI_API_KEY, token);
 			} catch (IOException e) {
 				throw new IllegalArgumentException("Authorization failed for user '" + username + "'", e);
@@ -131,6 +145,18 @@ public class CodeMieProvider extends GenaiAdapter implements EmbeddingProvider {
 
 			return super.getClient();
 		}
+
+		/** Identifies the access token by the user it was issued to, so a refreshed token replaces the previous client. */
+		@Override
+		protected String getCredentialIdentity(String privateKey) {
+			return resolvedAuthUrl + '\n' + username;
+		}
+
+		/** Records metrics and shares the rate governor under the CodeMie provider name. */
+		@Override
+		protected String getMetricsId() {
+			return "CodeMie:" + chatModel;
+		}
 	}
 
 	/**
@@ -234,6 +260,12 @@ public class CodeMieProvider extends GenaiAdapter implements EmbeddingProvider {
 	 * <li>{@code client_credentials} otherwise.</li>
 	 * </ul>
 	 *
+	 * <p>
+	 * Every call performs a new HTTP request. Providers created by
+	 * {@link #init(String, Configurator)} obtain tokens through a shared cache that
+	 * reuses them until shortly before they expire.
+	 * </p>
+	 *
 	 * @param url      token endpoint URL
 	 * @param username user e-mail (password grant) or client id (client
 	 *                 credentials)
@@ -244,6 +276,23 @@ public class CodeMieProvider extends GenaiAdapter implements EmbeddingProvider {
 	 *                     the token cannot be read
 	 */
 	public static String getToken(String url, String username, String password) throws IOException {
+		return requestToken(url, username, password).getValue();
+	}
+
+	/**
+	 * Requests an OAuth 2.0 access token together with its lifetime.
+	 *
+	 * @param url      token endpoint URL
+	 * @param username user e-mail or client id
+	 * @param password password or client secret
+	 * @return access token and its {@code expires_in} lifetime; the lifetime
+	 *         defaults to {@link CodeMieTokenManager#DEFAULT_EXPIRES_IN_SEC} when
+	 *         the endpoint does not report it
+	 * @throws IOException if the HTTP request fails, returns a non-200 response, or
+	 *                     the token cannot be read
+	 */
+	static CodeMieTokenManager.AccessToken requestToken(String url, String username, String password)
+			throws IOException {
 		String queryTemplate;
 		if (username.contains("@")) {
 			queryTemplate = "grant_type=password&client_id=codemie-sdk&username=%s&password=%s";
@@ -265,16 +314,14 @@ public class CodeMieProvider extends GenaiAdapter implements EmbeddingProvider {
 
 		int responseCode = conn.getResponseCode();
 		if (responseCode == 200) {
-			try (BufferedReader in = new BufferedReader(
-					new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
-				String inputLine;
-				StringBuilder response = new StringBuilder();
-
-				while ((inputLine = in.readLine()) != null) {
-					response.append(inputLine);
+			try (InputStream in = conn.getInputStream()) {
+				JsonNode response = new ObjectMapper().readTree(in);
+				String token = response.path("access_token").asText(null);
+				if (token == null) {
+					throw new IOException("Failed to obtain token: response does not contain 'access_token'.");
 				}
-
-				return StringUtils.substringBetween(response.toString(), "\"access_token\":\"", "\",");
+				long expiresIn = response.path("expires_in").asLong(CodeMieTokenManager.DEFAULT_EXPIRES_IN_SEC);
+				return new CodeMieTokenManager.AccessToken(token, expiresIn);
 			}
 		}
 
@@ -312,4 +359,36 @@ public class CodeMieProvider extends GenaiAdapter implements EmbeddingProvider {
 		throw new IllegalArgumentException("embedding not support for `" + provider.getClass() + "`");
 	}
 
+	/**
+	 * Requests embedding vectors for several texts from the delegate provider.
+	 *
+	 * @param texts      inputs to embed
+	 * @param dimensions number of dimensions requested from the embedding model
+	 * @return one vector per input text, in input order
+	 * @throws IllegalArgumentException if the delegate does not support embeddings
+	 */
+	@Override
+	public float[][] embeddings(List<String> texts, long dimensions) {
+		if (provider instanceof EmbeddingProvider) {
+			return ((EmbeddingProvider) provider).embeddings(texts, dimensions);
+		}
+		throw new IllegalArgumentException("embedding not support for `" + provider.getClass() + "`");
+	}
+
+	/**
+	 * Requests an embedding vector asynchronously from the delegate provider.
+	 *
+	 * @param text       input to embed
+	 * @param dimensions number of dimensions requested from the embedding model
+	 * @return future completed with the embedding
+	 * @throws IllegalArgumentException if the delegate does not support embeddings
+	 */
+	@Override
+	public CompletableFuture<List<Double>> embeddingAsync(String text, long dimensions) {
+		if (provider instanceof EmbeddingProvider) {
+			return ((EmbeddingProvider) provider).embeddingAsync(text, dimensions);
+		}
+		throw new IllegalArgumentException("embedding not support for `" + provider.getClass() + "`");
+	}
+
 }
@@ -0,0 +1,323 @@
+package org.machanism.machai.ai.provider.impl;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches CodeMie OAuth 2.0 access tokens per token endpoint and user.
+ *
+ * <p>
+ * Tokens are requested once and reused until shortly before they expire (as
+ * reported by {@code expires_in}). A background task refreshes each token ahead
+ * of its expiry so that LLM requests do not wait for the token endpoint. A
+ * token that was not handed out since its last refresh is left to expire
+ * instead, so idle users do not keep calling the token endpoint; the next
+ * {@link #getToken(String, String, String)} requests a new token and resumes
+ * the background refreshes.
+ * </p>
+ *
+ * <p>
+ * Concurrent callers asking for the same (auth URL, user) pair are
+ * single-flighted: only one thread performs the HTTP request while the others
+ * wait for and reuse its result.
+ * </p>
+ */
+final class CodeMieTokenManager {
+
+	/** Logger used for token refresh diagnostics. */
+	private static final Logger logger = LoggerFactory.getLogger(CodeMieTokenManager.class);
+
+	/** Token lifetime assumed when the endpoint does not return {@code expires_in}. */
+	static final long DEFAULT_EXPIRES_IN_SEC = 300;
+
+	/** Minimum time before expiry at which a background refresh is started. */
+	static final long MIN_REFRESH_MARGIN_MS = 30_000;
+
+	/** Time before expiry after which a cached token is no longer handed out. */
+	static final long EXPIRY_SKEW_MS = 5_000;
+
+	/** Shared instance used by {@link CodeMieProvider}. */
+	private static final CodeMieTokenManager INSTANCE = new CodeMieTokenManager(CodeMieProvider::requestToken,
+			System::currentTimeMillis);
+
+	/**
+	 * Fetches a new access token from the token endpoint.
+	 */
+	@FunctionalInterface
+	interface TokenSource {
+
+		/**
+		 * Requests a new access token.
+		 *
+		 * @param url      token endpoint URL
+		 * @param username user e-mail or client id
+		 * @param password password or client secret
+		 * @return the issued token
+		 * @throws IOException if the request fails
+		 */
+		AccessToken fetch(String url, String username, String password) throws IOException;
+	}
+
+	/**
+	 * Access token value with its lifetime as reported by the token endpoint.
+	 */
+	static final class AccessToken {
+
+		/** Access token value. */
+		private final String value;
+
+		/** Token lifetime in seconds. */
+		private final long expiresInSec;
+
+		/**
+		 * Creates an access token.
+		 *
+		 * @param value        access token value
+		 * @param expiresInSec lifetime in seconds
+		 */
+		AccessToken(String value, long expiresInSec) {
+			this.value = value;
+			this.expiresInSec = expiresInSec;
+		}
+
+		/**
+		 * Returns the access token value.
+		 *
+		 * @return token value
+		 */
+		String getValue() {
+			return value;
+		}
+
+		/**
+		 * Returns the token lifetime in seconds.
+		 *
+		 * @return lifetime in seconds
+		 */
+		long getExpiresInSec() {
+			return expiresInSec;
+		}
+	}
+
+	/** Cached token state by (auth URL, user). */
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/** Source used to request tokens. */
+	private final TokenSource source;
+
+	/** Clock returning the current time in milliseconds. */
+	private final LongSupplier clock;
+
+	/** Lazily created scheduler that runs proactive refreshes. */
+	private volatile ScheduledExecutorService scheduler;
+
+	/**
+	 * Creates a token manager.
+	 *
+	 * @param source source used to request tokens
+	 * @param clock  clock returning the current time in milliseconds
+	 */
+	CodeMieTokenManager(TokenSource source, LongSupplier clock) {
+		this.source = source;
+		this.clock = clock;
+	}
+
+	/**
+	 * Returns the shared token manager.
+	 *
+	 * @return shared instance
+	 */
+	static CodeMieTokenManager getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns a valid access token for the given endpoint and user, requesting a
+	 * new one only when no cached token is usable.
+	 *
+	 * @param url      token endpoint URL
+	 * @param username user e-mail or client id
+	 * @param password password or client secret
+	 * @return access token value
+	 * @throws IOException if a new token is required and cannot be obtained
+	 */
+	String getToken(String url, String username, String password) throws IOException {
+		Entry entry = entries.computeIfAbsent(url + '\n' + username, k -> new Entry(url, username));
+		String token = entry.validToken(password);
+		if (token == null) {
+			synchronized (entry) {
+				token = entry.validToken(password);
+				if (token == null) {
+					entry.password = password;
+					token = entry.refresh();
+				}
+			}
+		}
+		entry.used = true;
+		return token;
+	}
+
+	/**
+	 * Cancels scheduled refreshes and drops all cached tokens.
+	 */
+	void clear() {
+		entries.values().forEach(Entry::cancelRefresh);
+		entries.clear();
+	}
+
+	/**
+	 * Schedules a background refresh for the given entry.
+	 *
+	 * @param entry   entry to refresh
+	 * @param delayMs delay before the refresh in milliseconds
+	 * @return scheduled task
+	 */
+	private ScheduledFuture<?> schedule(Entry entry, long delayMs) {
+		return getScheduler().schedule(() -> {
+			synchronized (entry) {
+				if (!entry.used) {
+					entry.refreshTask = null;
+					logger.debug("CodeMie token for user '{}' was not used since the last refresh; letting it expire.",
+							entry.username);
+					return;
+				}
+				try {
+					entry.refresh();
+				} catch (IOException | RuntimeException e) {
+					logger.warn("Background token refresh failed for user '{}': {}", entry.username, e.getMessage());
+				}
+			}
+		}, delayMs, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns the refresh scheduler, creating it on first use.
+	 *
+	 * @return scheduler backed by a single daemon thread
+	 */
+	private ScheduledExecutorService getScheduler() {
+		ScheduledExecutorService result = scheduler;
+		if (result == null) {
+			synchronized (this) {
+				result = scheduler;
+				if (result == null) {
+					result = Executors.newSingleThreadScheduledExecutor(r -> {
+						Thread thread = new Thread(r, "codemie-token-refresh");
+						thread.setDaemon(true);
+						return thread;
+					});
+					scheduler = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes how long before expiry a token should be refreshed.
+	 *
+	 * @param lifetimeMs token lifetime in milliseconds
+	 * @return refresh margin in milliseconds
+	 */
+	static long refreshMargin(long lifetimeMs) {
+		long margin = Math.max(MIN_REFRESH_MARGIN_MS, lifetimeMs / 10);
+		return Math.min(margin, lifetimeMs / 2);
+	}
+
+	/**
+	 * Token state for one (auth URL, user) pair. Refreshes are serialized on the
+	 * entry monitor.
+	 */
+	private final class Entry {
+
+		/** Token endpoint URL. */
+		private final String url;
+
+		/** User e-mail or client id. */
+		private final String username;
+
+		/** Password or client secret used for the last refresh. */
+		private volatile String password;
+
+		/** Current access token, or {@code null} before the first refresh. */
+		private volatile String token;
+
+		/** Expiry time of {@link #token} in milliseconds. */
+		private volatile long expiresAt;
+
+		/** Whether {@link #token} was handed out since the last refresh. */
+		private volatile boolean used;
+
+		/** Pending proactive refresh. */
+		private ScheduledFuture<?> refreshTask;
+
+		/**
+		 * Creates an entry.
+		 *
+		 * @param url      token endpoint URL
+		 * @param username user e-mail or client id
+		 */
+		private Entry(String url, String username) {
+			this.url = url;
+			this.username = username;
+		}
+
+		/**
+		 * Returns the cached token when it was issued for {@code password} and is
+		 * not about to expire.
+		 *
+		 * @param password password or client secret of the caller
+		 * @return cached token, or {@code null} if a refresh is required
+		 */
+		private String validToken(String password) {
+			String current = token;
+			if (current != null && Objects.equals(this.password, password)
+					&& clock.getAsLong() < expiresAt - EXPIRY_SKEW_MS) {
+				return current;
+			}
+			return null;
+		}
+
+		/**
+		 * Requests a new token and schedules the next proactive refresh, which only
+		 * runs if the token is used in the meantime. Must be called while holding
+		 * the entry monitor.
+		 *
+		 * @return new token value
+		 * @throws IOException if the token cannot be obtained
+		 */
+		private String refresh() throws IOException {
+			AccessToken accessToken = source.fetch(url, username, password);
+			long lifetimeMs = TimeUnit.SECONDS.toMillis(accessToken.getExpiresInSec());
+			expiresAt = clock.getAsLong() + lifetimeMs;
+			token = accessToken.getValue();
+			used = false;
+
+			cancelRefresh();
+			refreshTask = schedule(this, lifetimeMs - refreshMargin(lifetimeMs));
+			logger.debug("CodeMie token refreshed for user '{}', expires in {} s.", username,
+					accessToken.getExpiresInSec());
+			return token;
+		}
+
+		/**
+		 * Cancels the pending proactive refresh, if any.
+		 */
+		private synchronized void cancelRefresh() {
+			if (refreshTask != null) {
+				refreshTask.cancel(false);
+				refreshTask = null;
+			}
+		}
+	}
+}
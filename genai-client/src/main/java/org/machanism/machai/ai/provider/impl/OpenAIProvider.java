@@ -3,12 +3,15 @@ package org.machanism.machai.ai.provider.impl;
 import java.io.File;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -17,8 +20,17 @@ import org.machanism.macha.core.commons.configurator.Configurator;
 import org.machanism.machai.ai.manager.Usage;
 import org.machanism.machai.ai.manager.UsageStatistics;
 import org.machanism.machai.ai.provider.AbstractAIProvider;
+import org.machanism.machai.ai.provider.ClientCache;
+import org.machanism.machai.ai.provider.CompactionPolicy;
+import org.machanism.machai.ai.provider.ConversationItem;
+import org.machanism.machai.ai.provider.ConversationItem.Kind;
 import org.machanism.machai.ai.provider.EmbeddingProvider;
 import org.machanism.machai.ai.provider.Genai;
+import org.machanism.machai.ai.provider.GenaiEvent;
+import org.machanism.machai.ai.provider.RateGovernor;
+import org.machanism.machai.ai.provider.ResponseCache;
+import org.machanism.machai.ai.trace.Span;
+import org.machanism.machai.ai.trace.Tracer;
 import org.machanism.machai.ai.tools.ParamDescriptor;
 import org.machanism.machai.ai.tools.ToolFunction;
 import org.slf4j.Logger;
@@ -32,10 +44,16 @@ import com.openai.client.OpenAIClient;
 import com.openai.client.okhttp.OpenAIOkHttpClient;
 import com.openai.core.JsonString;
 import com.openai.core.JsonValue;
+import com.openai.core.ObjectMappers;
 import com.openai.core.Timeout;
+import com.openai.core.http.StreamResponse;
+import com.openai.errors.OpenAIIoException;
+import com.openai.errors.OpenAIServiceException;
+import com.openai.helpers.ResponseAccumulator;
 import com.openai.models.Reasoning;
 import com.openai.models.ReasoningEffort;
 import com.openai.models.embeddings.CreateEmbeddingResponse;
+import com.openai.models.embeddings.Embedding;
 import com.openai.models.embeddings.EmbeddingCreateParams;
 import com.openai.models.models.Model;
 import com.openai.models.responses.FunctionTool;
@@ -52,6 +70,7 @@ import com.openai.models.responses.ResponseOutputMessage;
 import com.openai.models.responses.ResponseOutputMessage.Content;
 import com.openai.models.responses.ResponseOutputText;
 import com.openai.models.responses.ResponseReasoningItem;
+import com.openai.models.responses.ResponseStreamEvent;
 import com.openai.models.responses.ResponseUsage;
 import com.openai.models.responses.Tool;
 import com.openai.models.responses.WebSearchTool;
@@ -94,6 +113,13 @@ import com.openai.services.blocking.ModelService;
  * search user location.</li>
  * <li>{@code WebSearchTool.region} (optional): region value for the web search
  * user location.</li>
+ * <li>{@code EMBEDDING_BATCH_SIZE} (optional): maximum number of texts sent in
+ * one embeddings request. Defaults to {@value #MAX_EMBEDDING_BATCH_SIZE}.</li>
+ * <li>{@code OPENAI_CHAIN_RESPONSES} (optional): when {@code true}, responses
+ * are stored by the service and tool follow-up requests reference the previous
+ * response with {@code previous_response_id}, sending only the new function
+ * call outputs instead of the complete transcript. Defaults to
+ * {@code false}.</li>
  * <li>{@code MCP.url}, {@code MCP.label}, {@code MCP.description},
  * {@code MCP.authorization} (optional): registers an MCP server tool.</li>
  * <li>{@code MCP_1.url}, {@code MCP_1.label}, {@code MCP_1.description},
@@ -128,12 +154,74 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 	 */
 	public static final String OPENAI_BASE_URL_NAME = "OPENAI_BASE_URL";
 
+	/**
+	 * Configuration key limiting how many texts are sent in one embeddings
+	 * request by {@link #embeddings(List, long)}.
+	 */
+	public static final String EMBEDDING_BATCH_SIZE_PROP_NAME = "EMBEDDING_BATCH_SIZE";
+
+	/**
+	 * Configuration key enabling server-side conversation state: responses are
+	 * stored and follow-up requests are chained with
+	 * {@code previous_response_id}.
+	 */
+	public static final String CHAIN_RESPONSES_PROP_NAME = "OPENAI_CHAIN_RESPONSES";
+
+	/** Maximum number of inputs accepted by one OpenAI embeddings request. */
+	public static final int MAX_EMBEDDING_BATCH_SIZE = 2048;
+
+	/**
+	 * Retries performed by the SDK client. Requests are retried by
+	 * {@link AbstractAIProvider#sendRequest(java.util.function.Supplier, boolean)}
+	 * under the shared {@link RateGovernor} instead.
+	 */
+	private static final int MAX_RETRIES = 0;
+
+	/**
+	 * SDK clients shared by all provider instances, keyed by endpoint and
+	 * credentials so that connection pools and TLS sessions are reused.
+	 */
+	private static final ClientCache<OpenAIClient> clients = new ClientCache<>("OpenAI", OpenAIClient::close);
+
 	/** Maps tools to handler functions. */
 	final Map<Tool, ToolFunction> toolMap = new HashMap<>();
 
-	/** Accumulated request input items for the current conversation. */
+	/**
+	 * Accumulated request input items for the current conversation. The complete
+	 * transcript is kept even when responses are chained on the server.
+	 */
 	final List<ResponseInputItem> inputs = new ArrayList<>();
 
+	/** Whether follow-up requests are chained with {@code previous_response_id}. */
+	private boolean chainResponses;
+
+	/** Identifier of the last stored response, or {@code null} to send the full transcript. */
+	private String previousResponseId;
+
+	/**
+	 * Whether {@link #previousResponseId} comes from a replayed response, which
+	 * was stored by another session and may be unknown to the service.
+	 */
+	private boolean replayedChain;
+
+	/** Number of {@link #inputs} already known to the service through {@link #previousResponseId}. */
+	private int sentInputs;
+
+	/** Size of {@link #inputs} when the pending request was built. */
+	private int requestedInputs;
+
+	/**
+	 * Initializes the provider and reads {@value #CHAIN_RESPONSES_PROP_NAME}.
+	 *
+	 * @param model  the model identifier to use
+	 * @param config provider configuration source
+	 */
+	@Override
+	public void init(String model, Configurator config) {
+		super.init(model, config);
+		chainResponses = config.getBoolean(CHAIN_RESPONSES_PROP_NAME, false);
+	}
+
 	/**
 	 * Adds the built-in OpenAI web search tool when configured.
 	 */
@@ -229,7 +317,9 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 		FunctionTool.Builder toolBuilder = FunctionTool.builder().name(name).description(description);
 		toolBuilder.parameters(params);
 		Tool tool = Tool.ofFunction(toolBuilder.strict(false).build());
-		toolMap.put(tool, function);
+		if (registerTool(name, function)) {
+			toolMap.put(tool, function);
+		}
 	}
 
 	/**
@@ -258,27 +348,102 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 	 */
 	@Override
 	public String perform() {
-		ResponseCreateParams params = createResponseBuilder(inputs);
+		return perform(null);
+	}
+
+	/**
+	 * Executes a request like {@link #perform()}, using the streaming Responses API
+	 * when a listener is supplied.
+	 *
+	 * <p>
+	 * Output text and reasoning deltas are forwarded to {@code listener} as they
+	 * arrive. Tool-call and usage events are emitted for every tool round.
+	 * </p>
+	 *
+	 * @param listener receiver of streamed events, or {@code null} for a blocking
+	 *                 request
+	 * @return the final model response text, or {@code null} if no text was
+	 *         produced
+	 */
+	@Override
+	public String perform(Consumer<GenaiEvent> listener) {
+		try (Span span = Tracer.start("perform", Tracer.CATEGORY_GENAI)) {
+			span.attribute("model", getMetricsId());
+			ResponseCreateParams params = createResponseBuilder(inputs);
 
-		Response response = call(params);
+			Response response = call(params, listener);
 
-		String result = parseResponse(response);
-		return result;
+			String result = parseResponse(response, listener);
+			return result;
+		}
 	}
 
-	private Response call(ResponseCreateParams params) {
+	/**
+	 * Sends one model request, or replays its recorded response when the
+	 * {@link ResponseCache} holds one.
+	 *
+	 * @param params   request parameters
+	 * @param listener receiver of streamed events, or {@code null}
+	 * @return the model response
+	 */
+	private Response call(ResponseCreateParams params, Consumer<GenaiEvent> listener) {
 		if (logger.isDebugEnabled()) {
 			logger.debug("GenAI service request params: {}", params);
 		}
-		Response response = getClient().responses().create(params);
+		ResponseCache cache = getResponseCache();
+		String key = cache.key(getClass().getSimpleName(), params._body(), ObjectMappers.jsonMapper());
+		Response replayed = cache.lookup(key, Response.class, ObjectMappers.jsonMapper());
+		if (replayed != null) {
+			String text = readOutput(replayed, new ArrayList<>());
+			if (listener != null && text != null) {
+				listener.accept(GenaiEvent.textDelta(text));
+			}
+			chain(replayed, true);
+			return replayed;
+		}
+
+		ResponseCreateParams live = liveParams(params);
+		Response response = listener == null ? sendRequest(() -> getClient().responses().create(live), true)
+				: sendStreamingRequest(listener, streamListener -> stream(live, streamListener));
 		if (logger.isDebugEnabled()) {
 			logger.debug("GenAI service response: {}", params);
 		}
+		cache.store(key, response, ObjectMappers.jsonMapper());
+		chain(response, false);
 
-		captureUsage(response.usage());
+		Usage usage = captureUsage(response.usage());
+		if (listener != null && usage != null) {
+			listener.accept(GenaiEvent.usage(usage));
+		}
 		return response;
 	}
 
+	/**
+	 * Sends a request through the streaming Responses API, forwarding text and
+	 * reasoning deltas to the listener, and accumulates the streamed events into
+	 * the complete response.
+	 *
+	 * @param params   request parameters
+	 * @param listener receiver of streamed events
+	 * @return the accumulated response
+	 */
+	private Response stream(ResponseCreateParams params, Consumer<GenaiEvent> listener) {
+		ResponseAccumulator accumulator = ResponseAccumulator.create();
+		try (StreamResponse<ResponseStreamEvent> streamResponse = getClient().responses().createStreaming(params)) {
+			streamResponse.stream().forEach(event -> {
+				accumulator.accumulate(event);
+				if (event.isOutputTextDelta()) {
+					listener.accept(GenaiEvent.textDelta(event.asOutputTextDelta().delta()));
+				} else if (event.isReasoningTextDelta()) {
+					listener.accept(GenaiEvent.reasoningDelta(event.asReasoningTextDelta().delta()));
+				} else if (event.isReasoningSummaryTextDelta()) {
+					listener.accept(GenaiEvent.reasoningDelta(event.asReasoningSummaryTextDelta().delta()));
+				}
+			});
+		}
+		return accumulator.response();
+	}
+
 	/**
 	 * Parses the given response and handles function tool calls.
 	 *
@@ -290,38 +455,26 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 	 * </p>
 	 *
 	 * @param response response object
+	 * @param listener receiver of streamed events, or {@code null}
 	 * @return response string, potentially after one or more tool call iterations
 	 */
-	private String parseResponse(Response response) {
+	private String parseResponse(Response response, Consumer<GenaiEvent> listener) {
 		String result = null;
 		Response current = response;
 		while (current != null) {
-			boolean anyToolCalls = false;
-			String text = null;
-			for (ResponseOutputItem item : current.output()) {
-				if (item.isFunctionCall()) {
-					anyToolCalls = true;
-					handleFunctionCall(item.asFunctionCall());
-				}
-				String reasoning = extractReasoningText(item);
-				if (StringUtils.isNotBlank(reasoning)) {
-					text = reasoning;
-				}
-				String messageText = extractMessageText(item);
-				if (StringUtils.isNotBlank(messageText)) {
-					text = messageText;
-				}
-			}
+			List<ResponseFunctionToolCall> functionCalls = new ArrayList<>();
+			String text = readOutput(current, functionCalls);
 
-			if (!anyToolCalls) {
+			if (functionCalls.isEmpty()) {
 				result = text;
 				break;
 
 			} else {
+				handleFunctionCalls(functionCalls, listener);
 				ResponseCreateParams params = createResponseBuilder(this.inputs);
 
 				logger.debug("Sending follow-up request to LLM service for tool call resolution.");
-				current = call(params);
+				current = call(params, listener);
 			}
 		}
 
@@ -329,18 +482,249 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 	}
 
 	/**
-	 * Records a function call in the conversation, executes it, and appends the
-	 * resulting function output item.
+	 * Reads the output items of a response, collecting function calls and
+	 * returning the last non-blank message or reasoning text.
 	 *
-	 * @param functionCall the function call returned by the model
+	 * @param response      response object
+	 * @param functionCalls receives the function calls found in the response
+	 * @return response text, or {@code null} if none was produced
+	 */
+	private String readOutput(Response response, List<ResponseFunctionToolCall> functionCalls) {
+		String text = null;
+		for (ResponseOutputItem item : response.output()) {
+			if (item.isFunctionCall()) {
+				functionCalls.add(item.asFunctionCall());
+			}
+			String reasoning = extractReasoningText(item);
+			if (StringUtils.isNotBlank(reasoning)) {
+				text = reasoning;
+			}
+			String messageText = extractMessageText(item);
+			if (StringUtils.isNotBlank(messageText)) {
+				text = messageText;
+			}
+		}
+		return text;
+	}
+
+	/**
+	 * Executes a request without blocking the calling thread, using the
+	 * asynchronous OpenAI client.
+	 *
+	 * <p>
+	 * Tool rounds are handled on {@link #getAsyncExecutor()}, so no thread is held
+	 * while waiting for the model.
+	 * </p>
+	 *
+	 * @return future completed with the final model response text
 	 */
-	private void handleFunctionCall(ResponseFunctionToolCall functionCall) {
-		inputs.add(ResponseInputItem.ofFunctionCall(functionCall));
+	@Override
+	public CompletableFuture<String> performAsync() {
+		Span span = Tracer.startAsync("perform", Tracer.CATEGORY_GENAI).attribute("model", getMetricsId());
+		return startAsync(() -> callAsync(createResponseBuilder(inputs)))
+				.thenComposeAsync(this::parseResponseAsync, getAsyncExecutor())
+				.whenComplete((result, error) -> span.close());
+	}
 
-		Object value = callFunction(functionCall);
+	/**
+	 * Sends a request through the asynchronous client and records its usage. A
+	 * response recorded in the {@link ResponseCache} is returned without a model
+	 * call.
+	 *
+	 * @param params request parameters
+	 * @return future completed with the response
+	 */
+	private CompletableFuture<Response> callAsync(ResponseCreateParams params) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("GenAI service async request params: {}", params);
+		}
+		ResponseCache cache = getResponseCache();
+		String key = cache.key(getClass().getSimpleName(), params._body(), ObjectMappers.jsonMapper());
+		Response replayed = cache.lookup(key, Response.class, ObjectMappers.jsonMapper());
+		if (replayed != null) {
+			chain(replayed, true);
+			return CompletableFuture.completedFuture(replayed);
+		}
+		ResponseCreateParams live = liveParams(params);
+		return sendRequestAsync(() -> getClient().async().responses().create(live)).thenApply(response -> {
+			cache.store(key, response, ObjectMappers.jsonMapper());
+			chain(response, false);
+			captureUsage(response.usage());
+			return response;
+		});
+	}
+
+	/**
+	 * Asynchronous counterpart of {@link #parseResponse(Response, Consumer)}: runs
+	 * requested tools and chains follow-up requests until the model returns a
+	 * final message.
+	 *
+	 * @param response response object
+	 * @return future completed with the final response text
+	 */
+	private CompletableFuture<String> parseResponseAsync(Response response) {
+		List<ResponseFunctionToolCall> functionCalls = new ArrayList<>();
+		String text = readOutput(response, functionCalls);
+		if (functionCalls.isEmpty()) {
+			return CompletableFuture.completedFuture(text);
+		}
+
+		handleFunctionCalls(functionCalls, null);
+		logger.debug("Sending follow-up request to LLM service for tool call resolution.");
+		return callAsync(createResponseBuilder(this.inputs)).thenComposeAsync(this::parseResponseAsync,
+				getAsyncExecutor());
+	}
+
+	/**
+	 * Executes the function calls returned by the model in one turn and records
+	 * each call followed by its output in the conversation.
+	 *
+	 * <p>
+	 * Calls may run concurrently (see
+	 * {@link #invokeToolCalls(List, List)}); their outputs are always appended in
+	 * the order the model requested them.
+	 * </p>
+	 *
+	 * @param functionCalls the function calls returned by the model
+	 * @param listener      receiver of tool-call events, or {@code null}
+	 */
+	private void handleFunctionCalls(List<ResponseFunctionToolCall> functionCalls, Consumer<GenaiEvent> listener) {
+		Consumer<GenaiEvent> events = synchronizedListener(listener);
+		List<String> names = new ArrayList<>();
+		List<Supplier<Object>> calls = new ArrayList<>();
+		for (ResponseFunctionToolCall functionCall : functionCalls) {
+			names.add(functionCall.name());
+			calls.add(() -> callFunction(functionCall, events));
+		}
+
+		List<Object> values = invokeToolCalls(names, calls);
+
+		for (int i = 0; i < functionCalls.size(); i++) {
+			ResponseFunctionToolCall functionCall = functionCalls.get(i);
+			inputs.add(ResponseInputItem.ofFunctionCall(functionCall));
+			inputs.add(ResponseInputItem.ofFunctionCallOutput(ResponseInputItem.FunctionCallOutput.builder()
+					.callId(functionCall.callId()).outputAsJson(values.get(i)).build()));
+		}
+		compactInputs();
+	}
+
+	/**
+	 * Compacts {@link #inputs} with the configured {@link CompactionPolicy} when
+	 * their estimated size exceeds the threshold. A compacted transcript starts a
+	 * new response chain, because the stored server-side conversation cannot be
+	 * compacted.
+	 */
+	private void compactInputs() {
+		if (isCompactionEnabled()) {
+			replaceInputs(compact(describeInputs()));
+		}
+	}
+
+	/**
+	 * Measures the next request and trims {@link #inputs} when it exceeds
+	 * {@link #MAX_INPUT_TOKENS_PROP_NAME}.
+	 */
+	private void preflightInputs() {
+		if (isPreflightEnabled()) {
+			String tools;
+			try {
+				tools = ObjectMappers.jsonMapper().writeValueAsString(toolMap.keySet());
+			} catch (JsonProcessingException e) {
+				tools = toolMap.keySet().toString();
+			}
+			replaceInputs(preflight(tools, describeInputs()));
+		}
+	}
+
+	/**
+	 * Describes {@link #inputs} for compaction and sizing. A function call and its
+	 * output form one group, so they are always kept or dropped together.
+	 *
+	 * @return provider-neutral conversation
+	 */
+	private List<ConversationItem> describeInputs() {
+		List<ConversationItem> items = new ArrayList<>(inputs.size());
+		Map<String, Integer> callGroups = new HashMap<>();
+		Map<String, String> callNames = new HashMap<>();
+		int group = 0;
+		for (ResponseInputItem item : inputs) {
+			String text = toJson(item);
+			if (item.isFunctionCall()) {
+				ResponseFunctionToolCall call = item.asFunctionCall();
+				callGroups.put(call.callId(), ++group);
+				callNames.put(call.callId(), call.name());
+				items.add(ConversationItem.of(Kind.TOOL_CALL, call.name(), text, group, item));
+			} else if (item.isFunctionCallOutput()) {
+				String callId = item.asFunctionCallOutput().callId();
+				Integer callGroup = callGroups.get(callId);
+				items.add(ConversationItem.of(Kind.TOOL_RESULT, callNames.get(callId), text,
+						callGroup != null ? callGroup : ++group, item));
+			} else {
+				items.add(ConversationItem.of(Kind.MESSAGE, null, text, ++group, item));
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * Rebuilds {@link #inputs} from a compacted conversation and restarts the
+	 * response chain.
+	 *
+	 * @param compacted compacted conversation, or {@code null} to keep the inputs
+	 */
+	private void replaceInputs(List<ConversationItem> compacted) {
+		if (compacted == null) {
+			return;
+		}
+		inputs.clear();
+		previousResponseId = null;
+		replayedChain = false;
+		sentInputs = 0;
+		for (ConversationItem item : compacted) {
+			ResponseInputItem source = (ResponseInputItem) item.getSource();
+			if (!item.isModified()) {
+				inputs.add(source);
+			} else if (item.getKind() == Kind.TOOL_RESULT) {
+				inputs.add(ResponseInputItem
+						.ofFunctionCallOutput(source.asFunctionCallOutput().toBuilder().output(item.getText()).build()));
+			} else {
+				String text = item.getKind() == Kind.SUMMARY ? COMPACTION_SUMMARY_PREFIX + item.getText()
+						: item.getText();
+				inputs.add(ResponseInputItem.ofMessage(Message.builder().role(Role.USER).addInputTextContent(text).build()));
+			}
+		}
+	}
 
-		inputs.add(ResponseInputItem.ofFunctionCallOutput(ResponseInputItem.FunctionCallOutput.builder()
-				.callId(functionCall.callId()).outputAsJson(value).build()));
+	/**
+	 * Serializes an input item for size estimates and summaries.
+	 *
+	 * @param item input item
+	 * @return JSON text, or the item string form if serialization fails
+	 */
+	private static String toJson(ResponseInputItem item) {
+		try {
+			return ObjectMappers.jsonMapper().writeValueAsString(item);
+		} catch (JsonProcessingException e) {
+			return item.toString();
+		}
+	}
+
+	/**
+	 * Executes a function call, emitting tool-call start and finish events.
+	 *
+	 * @param functionCall the function call returned by the model
+	 * @param listener     receiver of tool-call events, or {@code null}
+	 * @return result from the function handler
+	 */
+	private Object callFunction(ResponseFunctionToolCall functionCall, Consumer<GenaiEvent> listener) {
+		if (listener != null) {
+			listener.accept(GenaiEvent.toolCallStarted(functionCall.name(), functionCall.arguments()));
+		}
+		Object value = callFunction(functionCall);
+		if (listener != null) {
+			listener.accept(GenaiEvent.toolCallFinished(functionCall.name(), Objects.toString(value, null)));
+		}
+		return value;
 	}
 
 	/**
@@ -415,15 +799,22 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 	 * @return immutable request parameters
 	 */
 	private ResponseCreateParams createResponseBuilder(List<ResponseInputItem> inputs) {
+		preflightInputs();
 		Builder builder = ResponseCreateParams.builder().model(chatModel);
-		builder.store(false);
+		builder.store(chainResponses);
 
 		if (maxToolCalls > 0) {
 			builder.maxToolCalls(maxToolCalls);
 		}
 		builder.maxOutputTokens(maxOutputTokens);
 		builder.instructions(instructions);
-		builder.inputOfResponse(inputs);
+		requestedInputs = inputs.size();
+		if (chainResponses && previousResponseId != null) {
+			builder.previousResponseId(previousResponseId);
+			builder.inputOfResponse(newInputs(inputs));
+		} else {
+			builder.inputOfResponse(inputs);
+		}
 
 		if (Strings.CS.startsWithAny(chatModel, "gpt-5.5")) {
 			builder.reasoning(Reasoning.builder().effort(ReasoningEffort.NONE).build());
@@ -458,14 +849,9 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 			String arguments = functionCall.arguments();
 			JsonNode params = new ObjectMapper().readTree(arguments);
 
-			File file = projectDir;
-			Set<Entry<Tool, ToolFunction>> entrySet = toolMap.entrySet();
-			for (Entry<Tool, ToolFunction> entry : entrySet) {
-				if (entry.getValue() != null
-						&& normalize(name).equals(normalize(normalize(entry.getKey().asFunction().name())))) {
-					result = safelyInvokeTool(name, entry.getValue(), params, file);
-					break;
-				}
+			ToolFunction function = findTool(name);
+			if (function != null) {
+				result = safelyInvokeTool(name, function, params, projectDir);
 			}
 
 		} catch (JsonProcessingException e) {
@@ -477,15 +863,81 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 	}
 
 	/**
-	 * Clears all accumulated inputs for the next request.
+	 * Clears all accumulated inputs and spilled tool results for the next
+	 * request.
 	 */
 	@Override
 	public void clear() {
+		super.clear();
 		inputs.clear();
+		previousResponseId = null;
+		replayedChain = false;
+		sentInputs = 0;
+	}
+
+	/**
+	 * Records a response as the head of the server-side conversation when
+	 * {@value #CHAIN_RESPONSES_PROP_NAME} is enabled.
+	 *
+	 * @param response response of the last request
+	 * @param replayed whether the response was replayed from the
+	 *                 {@link ResponseCache} instead of returned by the service
+	 */
+	private void chain(Response response, boolean replayed) {
+		if (chainResponses) {
+			previousResponseId = response.id();
+			replayedChain = replayed;
+			sentInputs = requestedInputs;
+		}
+	}
+
+	/**
+	 * Returns the parameters to send to the service for a request that was not
+	 * replayed.
+	 * <p>
+	 * Requests chained to a replayed response keep the replayed identifier in
+	 * their cache key, so consecutive replays still match the recording. The
+	 * service, however, may not know that response, so the first live request
+	 * after a replay drops the chain and sends the full transcript.
+	 * </p>
+	 *
+	 * @param params request parameters as built for the cache key
+	 * @return parameters to send
+	 */
+	private ResponseCreateParams liveParams(ResponseCreateParams params) {
+		if (!replayedChain || !params.previousResponseId().isPresent()) {
+			return params;
+		}
+		return params.toBuilder().previousResponseId(Optional.empty()).inputOfResponse(new ArrayList<>(inputs))
+				.build();
+	}
+
+	/**
+	 * Returns the inputs the service does not know yet: items added after the
+	 * last chained request, except items echoed from model output (function
+	 * calls and assistant messages), which are already part of the stored
+	 * response.
+	 *
+	 * @param inputs complete transcript
+	 * @return inputs to send with {@code previous_response_id}
+	 */
+	private List<ResponseInputItem> newInputs(List<ResponseInputItem> inputs) {
+		List<ResponseInputItem> result = new ArrayList<>();
+		for (ResponseInputItem item : inputs.subList(Math.min(sentInputs, inputs.size()), inputs.size())) {
+			if (!item.isFunctionCall() && !item.isResponseOutputMessage()) {
+				result.add(item);
+			}
+		}
+		return result;
 	}
 
 	/**
 	 * Returns the underlying OpenAI client.
+	 * <p>
+	 * Clients are cached per base URL, API key and timeout, so repeated calls and
+	 * other provider instances using the same settings share one client and its
+	 * connection pool.
+	 * </p>
 	 *
 	 * @return OpenAI client
 	 */
@@ -495,6 +947,40 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 		String privateKey = config.get("OPENAI_API_KEY");
 		timeoutSec = config.getLong("GENAI_TIMEOUT", 0L);
 
+		OpenAIClient client = clients.get(baseUrl, getCredentialIdentity(privateKey), privateKey, timeoutSec,
+				MAX_RETRIES, () -> createClient(baseUrl, privateKey, timeoutSec));
+		if (StringUtils.isBlank(chatModel)) {
+			ModelService models = client.models();
+			List<String> items = models.list().items().stream().map(Model::id).collect(Collectors.toList());
+			throw new IllegalArgumentException(
+					"LLM Model name is required. Model list: " + StringUtils.join(items, ", "));
+		}
+		return client;
+	}
+
+	/**
+	 * Returns the stable identity of the credential used by {@link #getClient()}.
+	 * <p>
+	 * Clients are cached per identity; when the identity presents a new API key
+	 * the previous client is closed. By default the API key is its own identity.
+	 * </p>
+	 *
+	 * @param privateKey current API key or access token
+	 * @return credential identity
+	 */
+	protected String getCredentialIdentity(String privateKey) {
+		return privateKey;
+	}
+
+	/**
+	 * Builds a new OpenAI client for the given connection settings.
+	 *
+	 * @param baseUrl    base URL, or {@code null} for the SDK default
+	 * @param privateKey API key
+	 * @param timeoutSec request timeout in seconds; {@code 0} for SDK defaults
+	 * @return new OpenAI client
+	 */
+	private static OpenAIClient createClient(String baseUrl, String privateKey, long timeoutSec) {
 		OpenAIOkHttpClient.Builder clientBuilder = OpenAIOkHttpClient.builder();
 		clientBuilder.apiKey(privateKey);
 		if (baseUrl != null) {
@@ -507,16 +993,32 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 			clientBuilder.timeout(timeout);
 		}
 
-		clientBuilder.maxRetries(3);
+		clientBuilder.maxRetries(MAX_RETRIES);
+		return clientBuilder.build();
+	}
 
-		OpenAIClient client = clientBuilder.build();
-		if (StringUtils.isBlank(chatModel)) {
-			ModelService models = client.models();
-			List<String> items = models.list().items().stream().map(Model::id).collect(Collectors.toList());
-			throw new IllegalArgumentException(
-					"LLM Model name is required. Model list: " + StringUtils.join(items, ", "));
+	/**
+	 * Classifies OpenAI errors for the shared {@link RateGovernor}: HTTP 429 is a
+	 * rate limit, HTTP 408, 409 and 5xx responses and I/O failures are transient.
+	 *
+	 * @param error failure thrown by the request
+	 * @return signal, or {@code null} if the failure is final
+	 */
+	@Override
+	protected RateGovernor.Signal rateSignal(RuntimeException error) {
+		if (error instanceof OpenAIServiceException) {
+			OpenAIServiceException serviceError = (OpenAIServiceException) error;
+			int status = serviceError.statusCode();
+			long retryAfter = RateGovernor.retryAfterMillis(serviceError.headers()::values);
+			if (status == 429) {
+				return RateGovernor.Signal.rateLimited(retryAfter);
+			}
+			if (status == 408 || status == 409 || status >= 500) {
+				return RateGovernor.Signal.transientError(retryAfter);
+			}
+			return null;
 		}
-		return client;
+		return error instanceof OpenAIIoException ? RateGovernor.Signal.transientError(0) : null;
 	}
 
 	/**
@@ -531,17 +1033,20 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 	 *
 	 * @param usage an {@link Optional} containing the {@link ResponseUsage} details
 	 *              to record; if not present, no action is taken
+	 * @return the recorded usage, or {@code null} if {@code usage} is empty
 	 */
-	protected void captureUsage(Optional<ResponseUsage> usage) {
+	protected Usage captureUsage(Optional<ResponseUsage> usage) {
+		Usage lastUsage = null;
 		if (usage.isPresent()) {
 			ResponseUsage responseUsage = usage.get();
 			long inputTokens = responseUsage.inputTokens();
 			long inputCachedTokens = responseUsage.inputTokensDetails().cachedTokens();
 			long outputTokens = responseUsage.outputTokens();
 
-			Usage lastUsage = new Usage(inputTokens, inputCachedTokens, outputTokens);
-			UsageStatistics.addUsage(chatModel, lastUsage);
+			lastUsage = new Usage(inputTokens, inputCachedTokens, outputTokens);
+			UsageStatistics.addUsage(getMetricsId(), lastUsage);
 		}
+		return lastUsage;
 	}
 
 	/**
@@ -556,14 +1061,101 @@ public class OpenAIProvider extends AbstractAIProvider implements EmbeddingProvi
 	public List<Double> embedding(String text, long dimensions) {
 		List<Double> embedding = null;
 		if (text != null) {
-			EmbeddingCreateParams params = EmbeddingCreateParams.builder().input(text).model(chatModel)
-					.dimensions(dimensions).build();
-			CreateEmbeddingResponse response = getClient().embeddings().create(params);
-
-			embedding = response.data().get(0).embedding().stream().map(Double::valueOf).collect(Collectors.toList());
+			float[] vector = embeddings(Collections.singletonList(text), dimensions)[0];
+			embedding = new ArrayList<>(vector.length);
+			for (float value : vector) {
+				embedding.add((double) value);
+			}
 		}
 
 		return embedding;
 	}
 
+	/**
+	 * Requests embedding vectors for several texts using the batch input of the
+	 * embeddings API.
+	 * <p>
+	 * Texts are sent in chunks whose size is read from
+	 * {@value #EMBEDDING_BATCH_SIZE_PROP_NAME} (default and upper bound
+	 * {@value #MAX_EMBEDDING_BATCH_SIZE}), so embedding {@code n} texts takes
+	 * {@code ceil(n / batchSize)} requests instead of {@code n}. {@code null}
+	 * texts are not sent.
+	 * </p>
+	 *
+	 * @param texts      inputs to embed
+	 * @param dimensions number of dimensions requested from the embedding model
+	 * @return one vector per input text, in input order; the row for a
+	 *         {@code null} text is {@code null}
+	 */
+	@Override
+	public float[][] embeddings(List<String> texts, long dimensions) {
+		float[][] result = new float[texts.size()][];
+		int batchSize = Math.max(1, Math.min(MAX_EMBEDDING_BATCH_SIZE,
+				getConfigurator().getInt(EMBEDDING_BATCH_SIZE_PROP_NAME, MAX_EMBEDDING_BATCH_SIZE)));
+
+		List<String> batch = new ArrayList<>(Math.min(batchSize, texts.size()));
+		int[] positions = new int[Math.min(batchSize, texts.size())];
+		for (int i = 0; i < texts.size(); i++) {
+			String text = texts.get(i);
+			if (text != null) {
+				positions[batch.size()] = i;
+				batch.add(text);
+				if (batch.size() == batchSize) {
+					embedBatch(batch, positions, dimensions, result);
+					batch.clear();
+				}
+			}
+		}
+		if (!batch.isEmpty()) {
+			embedBatch(batch, positions, dimensions, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Sends one embeddings request and stores the returned vectors.
+	 *
+	 * @param batch      texts to embed
+	 * @param positions  result row of each text in {@code batch}
+	 * @param dimensions number of dimensions requested from the embedding model
+	 * @param result     rows to fill
+	 */
+	private void embedBatch(List<String> batch, int[] positions, long dimensions, float[][] result) {
+		EmbeddingCreateParams params = EmbeddingCreateParams.builder().inputOfArrayOfStrings(batch).model(chatModel)
+				.dimensions(dimensions).build();
+		CreateEmbeddingResponse response = sendRequest(() -> getClient().embeddings().create(params), true);
+
+		for (Embedding embedding : response.data()) {
+			List<Float> values = embedding.embedding();
+			float[] vector = new float[values.size()];
+			for (int j = 0; j < vector.length; j++) {
+				vector[j] = values.get(j);
+			}
+			result[positions[(int) embedding.index()]] = vector;
+		}
+	}
+
+	/**
+	 * Requests an embedding vector using the asynchronous OpenAI client. The
+	 * request goes through the shared rate governor and is retried like chat
+	 * requests.
+	 *
+	 * @param text       input to embed
+	 * @param dimensions number of dimensions requested from the embedding model
+	 * @return future completed with the embedding, or with {@code null} when
+	 *         {@code text} is {@code null}
+	 */
+	@Override
+	public CompletableFuture<List<Double>> embeddingAsync(String text, long dimensions) {
+		if (text == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return sendRequestAsync(() -> {
+			EmbeddingCreateParams params = EmbeddingCreateParams.builder().input(text).model(chatModel)
+					.dimensions(dimensions).build();
+			return getClient().async().embeddings().create(params);
+		}).thenApply(response -> response.data().get(0).embedding().stream().map(Double::valueOf)
+				.collect(Collectors.toList()));
+	}
+
 }
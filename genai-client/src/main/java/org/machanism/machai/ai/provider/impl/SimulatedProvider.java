@@ -0,0 +1,436 @@
+package org.machanism.machai.ai.provider.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.text.StringSubstitutor;
+import org.machanism.macha.core.commons.configurator.Configurator;
+import org.machanism.machai.ai.manager.Usage;
+import org.machanism.machai.ai.manager.UsageStatistics;
+import org.machanism.machai.ai.provider.AbstractAIProvider;
+import org.machanism.machai.ai.provider.RateGovernor;
+import org.machanism.machai.ai.tools.ParamDescriptor;
+import org.machanism.machai.ai.tools.ToolFunction;
+import org.machanism.machai.ai.trace.Span;
+import org.machanism.machai.ai.trace.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.Yaml;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+/**
+ * In-process model simulator that replays scripted tool-call sequences, for
+ * load-testing the processing pipeline without a model vendor.
+ *
+ * <p>
+ * The provider reads a YAML or JSON script from the file named by
+ * {@value #SCRIPT_PROP_NAME}, or from the model name if it names an existing
+ * file. For each {@code perform()} call the first scenario whose {@code match}
+ * regular expression is found in the prompts is played: every step is one
+ * simulated model round trip followed by its tool calls, which run through the
+ * registered tools exactly as calls requested by a real model would, and a last
+ * round trip returns the answer. Round trips sleep for a latency drawn from the
+ * configured distribution, record token usage in {@link UsageStatistics}, and
+ * may fail with injected HTTP 429 or 5xx errors that are retried under the
+ * shared {@link RateGovernor}. The groups of the {@code match} expression are
+ * available as {@code ${0}}, {@code ${1}}, ... in tool parameters and answers.
+ * </p>
+ *
+ * <h2>Script Example</h2>
+ *
+ * <pre>
+ * seed: 42
+ * latency: {distribution: lognormal, mean: 800, stddev: 400, min: 50, max: 10000}
+ * tokens: {output: 300}
+ * errors: {rateLimit: 0.01, serverError: 0.002, retryAfterMs: 500}
+ * scenarios:
+ *   - match: '(\S+\.java)'
+ *     steps:
+ *       - tool: read_file_from_file_system
+ *         params: {file_path: '${1}'}
+ *       - calls:
+ *           - {tool: write_file, params: {file_path: '${1}', text: '// reviewed'}}
+ *     answer: 'Updated ${1}'
+ *   - answer: 'Nothing to do.'
+ * </pre>
+ *
+ * <p>
+ * Without a script every call returns a fixed answer immediately. Scenario
+ * tokens default to estimates of the conversation ({@code input}) and of the
+ * simulated response ({@code output}).
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public class SimulatedProvider extends AbstractAIProvider {
+
+	/** Configuration property holding the path of the simulation script. */
+	public static final String SCRIPT_PROP_NAME = "SIMULATED_SCRIPT";
+
+	/** Answer returned when no scenario matches. */
+	public static final String DEFAULT_ANSWER = "Simulated response.";
+
+	/** Logger instance for this provider. */
+	private static final Logger logger = LoggerFactory.getLogger(SimulatedProvider.class);
+
+	/** JSON mapper for scripts and tool parameters. */
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	/** Prompts of the current conversation. */
+	private final List<String> prompts = new ArrayList<>();
+
+	/** Parsed script. */
+	private JsonNode script = MissingNode.getInstance();
+
+	/** Random source of latencies and injected errors. */
+	private Random random = new Random();
+
+	/**
+	 * Failure injected into a simulated round trip.
+	 */
+	public static class SimulatedException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		/** Simulated HTTP status. */
+		private final int statusCode;
+
+		/** Simulated {@code Retry-After} in milliseconds. */
+		private final long retryAfterMillis;
+
+		/**
+		 * Creates an injected failure.
+		 *
+		 * @param statusCode       simulated HTTP status
+		 * @param retryAfterMillis simulated {@code Retry-After}, {@code 0} if none
+		 */
+		public SimulatedException(int statusCode, long retryAfterMillis) {
+			super("Simulated HTTP " + statusCode);
+			this.statusCode = statusCode;
+			this.retryAfterMillis = retryAfterMillis;
+		}
+
+		/**
+		 * Returns the simulated HTTP status.
+		 *
+		 * @return status code
+		 */
+		public int getStatusCode() {
+			return statusCode;
+		}
+
+		/**
+		 * Returns the simulated {@code Retry-After}.
+		 *
+		 * @return milliseconds, {@code 0} if none
+		 */
+		public long getRetryAfterMillis() {
+			return retryAfterMillis;
+		}
+	}
+
+	/**
+	 * Creates a simulated provider.
+	 */
+	public SimulatedProvider() {
+		super();
+	}
+
+	/**
+	 * Initializes the provider and loads the simulation script.
+	 *
+	 * @param model  model label, or path of the script
+	 * @param config provider configuration source
+	 * @throws IllegalArgumentException if the script cannot be read
+	 */
+	@Override
+	public void init(String model, Configurator config) {
+		super.init(model, config);
+		String path = config.get(SCRIPT_PROP_NAME, null);
+		if (path == null && StringUtils.isNotBlank(model) && new File(model).isFile()) {
+			path = model;
+		}
+		if (path != null) {
+			script = load(new File(path));
+		}
+		JsonNode seed = script.path("seed");
+		random = seed.isNumber() ? new Random(seed.asLong()) : new Random();
+	}
+
+	/**
+	 * Parses a YAML or JSON script.
+	 *
+	 * @param file script file
+	 * @return script tree
+	 * @throws IllegalArgumentException if the script cannot be read
+	 */
+	static JsonNode load(File file) {
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			Object document = new Yaml().load(in);
+			return document != null ? MAPPER.valueToTree(document) : MissingNode.getInstance();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Failed to read simulation script: " + file, e);
+		}
+	}
+
+	/**
+	 * Adds a prompt to the conversation.
+	 *
+	 * @param text prompt text
+	 */
+	@Override
+	public void prompt(String text) {
+		prompts.add(text);
+	}
+
+	/**
+	 * Clears the conversation.
+	 */
+	@Override
+	public void clear() {
+		super.clear();
+		prompts.clear();
+	}
+
+	/**
+	 * Plays the scenario matching the prompts.
+	 *
+	 * @return the scenario answer
+	 */
+	@Override
+	public String perform() {
+		try (Span span = Tracer.start("perform", Tracer.CATEGORY_GENAI)) {
+			span.attribute("model", getMetricsId());
+			String text = StringUtils.join(prompts, "\n");
+			Map<String, String> groups = new HashMap<>();
+			JsonNode scenario = selectScenario(text, groups);
+			StringSubstitutor substitutor = new StringSubstitutor(groups);
+
+			long context = getTokenEstimator().count(instructions) + getTokenEstimator().count(text);
+			for (JsonNode step : scenario.path("steps")) {
+				JsonNode calls = step.has("calls") ? step.get("calls") : MAPPER.createArrayNode().add(step);
+				context += roundTrip(context, calls.toString());
+
+				List<String> names = new ArrayList<>();
+				List<Supplier<Object>> invocations = new ArrayList<>();
+				for (JsonNode call : calls) {
+					String name = call.path("tool").asText();
+					JsonNode params = substitute(call.path("params"), substitutor);
+					names.add(name);
+					invocations.add(() -> callTool(name, params));
+				}
+				for (Object result : invokeToolCalls(names, invocations)) {
+					context += getTokenEstimator().count(String.valueOf(result));
+				}
+			}
+
+			String answer = substitutor.replace(scenario.path("answer").asText(DEFAULT_ANSWER));
+			roundTrip(context, answer);
+			return answer;
+		}
+	}
+
+	/**
+	 * Finds the first scenario whose {@code match} expression occurs in the
+	 * prompts.
+	 *
+	 * @param text   prompt text
+	 * @param groups receives the match groups by index
+	 * @return scenario, or a missing node if none matches
+	 */
+	private JsonNode selectScenario(String text, Map<String, String> groups) {
+		for (JsonNode scenario : script.path("scenarios")) {
+			String regex = scenario.path("match").asText(null);
+			if (regex == null) {
+				return scenario;
+			}
+			Matcher matcher = Pattern.compile(regex).matcher(text);
+			if (matcher.find()) {
+				for (int i = 0; i <= matcher.groupCount(); i++) {
+					groups.put(Integer.toString(i), StringUtils.defaultString(matcher.group(i)));
+				}
+				return scenario;
+			}
+		}
+		return MissingNode.getInstance();
+	}
+
+	/**
+	 * Simulates one model round trip through the shared rate governor.
+	 *
+	 * @param inputTokens estimated conversation size
+	 * @param response    text of the simulated response
+	 * @return output tokens of the round trip
+	 */
+	private long roundTrip(long inputTokens, String response) {
+		JsonNode tokens = script.path("tokens");
+		long input = tokens.path("input").asLong(inputTokens);
+		long output = tokens.path("output").asLong(getTokenEstimator().count(response));
+		sendRequest(() -> {
+			sleep(sampleLatency());
+			injectError();
+			return null;
+		}, true);
+		UsageStatistics.addUsage(getMetricsId(), new Usage(input, 0, output));
+		return output;
+	}
+
+	/**
+	 * Invokes a scripted tool call.
+	 *
+	 * @param name   tool name
+	 * @param params tool parameters
+	 * @return tool result, or an error message if the tool is not registered
+	 */
+	private Object callTool(String name, JsonNode params) {
+		ToolFunction function = findTool(name);
+		if (function == null) {
+			logger.debug("Simulated call of unknown tool: {}", name);
+			return ERROR_TOOL_RESULT_PREFIX + ": tool `" + name + "` is not registered.";
+		}
+		return safelyInvokeTool(name, function, params, getProjectDir());
+	}
+
+	/**
+	 * Replaces match-group references in all string values.
+	 *
+	 * @param node        parameters
+	 * @param substitutor group substitutor
+	 * @return substituted copy
+	 */
+	private static JsonNode substitute(JsonNode node, StringSubstitutor substitutor) {
+		if (node.isTextual()) {
+			return TextNode.valueOf(substitutor.replace(node.asText()));
+		}
+		if (node.isObject()) {
+			ObjectNode copy = MAPPER.createObjectNode();
+			Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				copy.set(field.getKey(), substitute(field.getValue(), substitutor));
+			}
+			return copy;
+		}
+		if (node.isMissingNode()) {
+			return MAPPER.createObjectNode();
+		}
+		return node;
+	}
+
+	/**
+	 * Draws a round-trip latency from the script's {@code latency} section.
+	 * Supported distributions are {@code fixed} (the default),
+	 * {@code uniform}, {@code exponential} and {@code lognormal}.
+	 *
+	 * @return latency in milliseconds
+	 */
+	long sampleLatency() {
+		JsonNode latency = script.path("latency");
+		double mean = latency.path("mean").asDouble(0);
+		double min = latency.path("min").asDouble(0);
+		double max = latency.path("max").asDouble(Double.MAX_VALUE);
+		double value;
+		switch (latency.path("distribution").asText("fixed")) {
+		case "uniform":
+			value = min + random.nextDouble() * ((max < Double.MAX_VALUE ? max : 2 * mean) - min);
+			break;
+		case "exponential":
+			value = -mean * Math.log(1 - random.nextDouble());
+			break;
+		case "lognormal":
+			double stddev = latency.path("stddev").asDouble(0);
+			double sigma2 = mean > 0 ? Math.log(1 + stddev * stddev / (mean * mean)) : 0;
+			double mu = Math.log(Math.max(mean, 1e-9)) - sigma2 / 2;
+			value = Math.exp(mu + Math.sqrt(sigma2) * random.nextGaussian());
+			break;
+		case "fixed":
+			value = mean;
+			break;
+		default:
+			throw new IllegalArgumentException(
+					"Unsupported latency distribution: " + latency.path("distribution").asText());
+		}
+		return Math.round(Math.min(max, Math.max(min, value)));
+	}
+
+	/**
+	 * Throws the injected failure of this round trip, if any.
+	 */
+	private void injectError() {
+		JsonNode errors = script.path("errors");
+		double draw = random.nextDouble();
+		double rateLimit = errors.path("rateLimit").asDouble(0);
+		if (draw < rateLimit) {
+			throw new SimulatedException(429, errors.path("retryAfterMs").asLong(0));
+		}
+		if (draw < rateLimit + errors.path("serverError").asDouble(0)) {
+			throw new SimulatedException(503, 0);
+		}
+	}
+
+	/**
+	 * Sleeps for a simulated latency.
+	 *
+	 * @param millis latency in milliseconds
+	 */
+	private static void sleep(long millis) {
+		if (millis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted during a simulated request.", e);
+		}
+	}
+
+	/**
+	 * Classifies injected failures: HTTP 429 is a rate limit, HTTP 5xx is
+	 * transient.
+	 *
+	 * @param error failure thrown by the round trip
+	 * @return signal, or {@code null} if the failure is final
+	 */
+	@Override
+	protected RateGovernor.Signal rateSignal(RuntimeException error) {
+		if (!(error instanceof SimulatedException)) {
+			return null;
+		}
+		SimulatedException simulated = (SimulatedException) error;
+		if (simulated.getStatusCode() == 429) {
+			return RateGovernor.Signal.rateLimited(simulated.getRetryAfterMillis());
+		}
+		return simulated.getStatusCode() >= 500 ? RateGovernor.Signal.transientError(0) : null;
+	}
+
+	/**
+	 * Registers a tool function by name. Parameter descriptors are not used.
+	 *
+	 * @param name        the tool name
+	 * @param description the tool description
+	 * @param function    the tool function implementation
+	 * @param paramsDesc  parameter descriptors for the tool (optional)
+	 */
+	@Override
+	protected void addTool(String name, String description, ToolFunction function, ParamDescriptor... paramsDesc) {
+		registerTool(name, function);
+	}
+}
@@ -1,7 +1,6 @@
 package org.machanism.machai.ai.provider.impl;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -55,9 +54,6 @@ public class ToolsProvider extends AbstractAIProvider {
 	/** List of collected prompt texts. */
 	private List<String> prompts = new ArrayList<>();
 
-	/** Map of registered tool functions by tool name. */
-	private Map<String, ToolFunction> toolMap = new LinkedHashMap<>();
-
 	/**
 	 * Constructs a new {@code ToolsProvider} with a default configuration.
 	 * <p>
@@ -109,7 +105,7 @@ public class ToolsProvider extends AbstractAIProvider {
 			Map callDescription = yaml.load(yamlPrompt);
 
 			String toolName = (String) callDescription.get("tool");
-			ToolFunction toolFunction = toolMap.get(toolName);
+			ToolFunction toolFunction = findTool(toolName);
 
 			if (toolFunction == null) {
 				throw new IllegalArgumentException("Functional tool: `" + toolName + "` not found.");
@@ -134,7 +130,7 @@ public class ToolsProvider extends AbstractAIProvider {
 	 * Registers a tool function with the provider.
 	 *
 	 * <p>
-	 * The tool is added to the internal map by name. Parameter descriptors are
+	 * The tool is added to the shared tool index by name. Parameter descriptors are
 	 * accepted but not used in this implementation.
 	 * </p>
 	 *
@@ -145,7 +141,7 @@ public class ToolsProvider extends AbstractAIProvider {
 	 */
 	@Override
 	protected void addTool(String name, String description, ToolFunction function, ParamDescriptor... paramsDesc) {
-		toolMap.put(name, function);
+		registerTool(name, function);
 	}
 
 }
\ No newline at end of file
@@ -67,6 +67,10 @@
  * which is useful for tool-only workflows and deterministic host-side
  * execution. It operates in a fail-fast mode: exceptions from tool execution
  * are propagated immediately rather than being returned as model text.</li>
+ * <li>{@link org.machanism.machai.ai.provider.impl.SimulatedProvider} replays
+ * scripted tool-call sequences and answers with configurable latency, token
+ * counts and injected rate-limit or server errors, so the processing pipeline
+ * can be load-tested offline.</li>
  * <li>{@link org.machanism.machai.ai.provider.impl.NoneProvider} is a disabled
  * provider implementation for configurations that intentionally perform no AI
  * work. It discards submitted input and returns {@code null}. Initializing it
@@ -62,6 +62,19 @@
  * {@code "object"}), and performs runtime conversion of string inputs to typed
  * Java objects—including collections, maps, primitives, and arbitrary types
  * with single-argument string constructors.</li>
+ * <li>{@link org.machanism.machai.ai.provider.RequestSize} reports the
+ * estimated size of a request by component (instructions, tool schemas,
+ * history and tool results) before it is sent, and
+ * {@link org.machanism.machai.ai.provider.CompactionPolicy} trims long
+ * conversations, described as
+ * {@link org.machanism.machai.ai.provider.ConversationItem} lists, when they
+ * exceed a token budget.</li>
+ * <li>{@link org.machanism.machai.ai.provider.SpillStore} keeps tool results
+ * that exceed the configured size on disk, so the model receives a preview and
+ * pages through the rest with the {@code read_spilled_result} tool.</li>
+ * <li>{@link org.machanism.machai.ai.provider.RateGovernor} paces the
+ * requests of each {@code Provider:Model} pair across the process and backs
+ * off when the provider reports rate limits.</li>
  * </ul>
  *
  * <h2>Concrete provider implementations</h2>
@@ -84,6 +97,8 @@
  * <li>{@link org.machanism.machai.ai.provider.impl.ToolsProvider} executes
  * locally registered function tools directly from structured YAML prompts,
  * useful for tool-only workflows and deterministic host-side execution.</li>
+ * <li>{@link org.machanism.machai.ai.provider.impl.SimulatedProvider} simulates
+ * a model from a YAML or JSON script for offline load tests.</li>
  * <li>{@link org.machanism.machai.ai.provider.impl.NoneProvider} provides a
  * disabled implementation for configurations that intentionally perform no AI
  * work. It discards submitted input and returns {@code null}; initializing it
@@ -0,0 +1,136 @@
+package org.machanism.machai.ai.tokenizer;
+
+import java.util.Locale;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Token encodings known to the local estimator, with the calibration used to
+ * approximate their vocabularies.
+ *
+ * <p>
+ * Each encoding defines how many characters of an ASCII word fit in a single
+ * token, how many characters each further sub-word token covers, the tokens
+ * per non-ASCII letter and the characters per punctuation token. The values
+ * approximate the vocabularies for English prose, source code and JSON tool
+ * payloads. Estimates are meant for budgeting and sizing; they are not exact
+ * token counts.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public enum Encoding {
+
+	/** OpenAI {@code o200k_base}: GPT-4o, GPT-4.1, GPT-5 and o-series models. */
+	O200K_BASE(12, 4.5, 0.75, 2.5),
+
+	/** OpenAI {@code cl100k_base}: GPT-4 and GPT-3.5 models. */
+	CL100K_BASE(10, 4.0, 1.0, 2.0),
+
+	/** Calibrated estimate for Anthropic Claude models. */
+	CLAUDE(8, 3.5, 1.1, 1.8);
+
+	/** Longest ASCII word that is counted as a single token. */
+	private final int wordChars;
+
+	/** Characters covered by each additional sub-word token. */
+	private final double subwordChars;
+
+	/** Tokens per non-ASCII letter. */
+	private final double nonAsciiTokens;
+
+	/** Characters per punctuation token. */
+	private final double punctuationChars;
+
+	/** Estimator instance, created on first use. */
+	private volatile TokenEstimator estimator;
+
+	/**
+	 * Creates an encoding calibration.
+	 *
+	 * @param wordChars        longest single-token ASCII word
+	 * @param subwordChars     characters per additional sub-word token
+	 * @param nonAsciiTokens   tokens per non-ASCII letter
+	 * @param punctuationChars characters per punctuation token
+	 */
+	Encoding(int wordChars, double subwordChars, double nonAsciiTokens, double punctuationChars) {
+		this.wordChars = wordChars;
+		this.subwordChars = subwordChars;
+		this.nonAsciiTokens = nonAsciiTokens;
+		this.punctuationChars = punctuationChars;
+	}
+
+	/**
+	 * Returns the estimator of this encoding.
+	 *
+	 * @return shared, thread-safe estimator
+	 */
+	public TokenEstimator estimator() {
+		TokenEstimator result = estimator;
+		if (result == null) {
+			result = new PieceTokenEstimator(this);
+			estimator = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Selects the encoding of a model.
+	 *
+	 * @param model model name, optionally prefixed with {@code Provider:}
+	 * @return matching encoding; {@link #O200K_BASE} for unknown models
+	 */
+	public static Encoding forModel(String model) {
+		String name = StringUtils.defaultString(model).toLowerCase(Locale.ROOT);
+		if (name.contains("claude") || name.startsWith("anthropic:")) {
+			return CLAUDE;
+		}
+		String bare = StringUtils.substringAfterLast(name, ":");
+		if (bare.isEmpty()) {
+			bare = name;
+		}
+		if (bare.startsWith("gpt-4o") || bare.startsWith("gpt-4.1") || bare.matches("^(gpt-[5-9]|o[1-9]).*")) {
+			return O200K_BASE;
+		}
+		if (bare.startsWith("gpt-4") || bare.startsWith("gpt-3.5") || bare.startsWith("text-embedding")) {
+			return CL100K_BASE;
+		}
+		return O200K_BASE;
+	}
+
+	/**
+	 * Returns the longest ASCII word counted as a single token.
+	 *
+	 * @return characters
+	 */
+	int getWordChars() {
+		return wordChars;
+	}
+
+	/**
+	 * Returns the characters covered by each additional sub-word token.
+	 *
+	 * @return characters
+	 */
+	double getSubwordChars() {
+		return subwordChars;
+	}
+
+	/**
+	 * Returns the tokens per non-ASCII letter.
+	 *
+	 * @return tokens
+	 */
+	double getNonAsciiTokens() {
+		return nonAsciiTokens;
+	}
+
+	/**
+	 * Returns the characters per punctuation token.
+	 *
+	 * @return characters
+	 */
+	double getPunctuationChars() {
+		return punctuationChars;
+	}
+}
@@ -0,0 +1,105 @@
+package org.machanism.machai.ai.tokenizer;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link TokenEstimator} that splits text with the pre-tokenization pattern of
+ * the OpenAI BPE encodings and estimates the tokens of each piece from the
+ * {@link Encoding} calibration.
+ *
+ * <p>
+ * The pre-tokenizer already determines most token boundaries: contractions,
+ * words with their leading space, digit groups of up to three, punctuation
+ * runs and whitespace. Only words longer than the encoding vocabulary
+ * typically covers, non-ASCII text and punctuation runs are split further by
+ * the calibrated ratios, which avoids shipping the BPE merge tables.
+ * </p>
+ */
+final class PieceTokenEstimator implements TokenEstimator {
+
+	/** Pre-tokenization pattern of {@code cl100k_base}, also used for the other encodings. */
+	private static final Pattern PIECES = Pattern.compile("'(?i:[sdmt]|ll|ve|re)|[^\\r\\n\\p{L}\\p{N}]?+\\p{L}+"
+			+ "|\\p{N}{1,3}| ?[^\\s\\p{L}\\p{N}]++[\\r\\n]*|\\s*[\\r\\n]|\\s+(?!\\S)|\\s+");
+
+	/** Whitespace characters merged into one token. */
+	private static final int WHITESPACE_CHARS = 16;
+
+	/** Calibration. */
+	private final Encoding encoding;
+
+	/**
+	 * Creates an estimator.
+	 *
+	 * @param encoding calibration
+	 */
+	PieceTokenEstimator(Encoding encoding) {
+		this.encoding = encoding;
+	}
+
+	/**
+	 * Estimates the number of tokens of a text by summing the estimates of its
+	 * pre-tokenized pieces.
+	 *
+	 * @param text text to measure, may be {@code null}
+	 * @return estimated token count
+	 */
+	@Override
+	public long count(CharSequence text) {
+		if (text == null || text.length() == 0) {
+			return 0;
+		}
+		long tokens = 0;
+		Matcher matcher = PIECES.matcher(text);
+		while (matcher.find()) {
+			tokens += piece(text, matcher.start(), matcher.end());
+		}
+		return tokens;
+	}
+
+	/**
+	 * Estimates the tokens of one pre-tokenized piece.
+	 *
+	 * @param text  source text
+	 * @param start piece start
+	 * @param end   piece end
+	 * @return estimated tokens, at least {@code 1}
+	 */
+	private long piece(CharSequence text, int start, int end) {
+		int ascii = 0;
+		int nonAscii = 0;
+		int letters = 0;
+		int spaces = 0;
+		for (int i = start; i < end; i++) {
+			char c = text.charAt(i);
+			if (Character.isLetter(c)) {
+				letters++;
+				if (c < 0x80) {
+					ascii++;
+				} else if (!Character.isLowSurrogate(c)) {
+					nonAscii++;
+				}
+			} else if (Character.isWhitespace(c)) {
+				spaces++;
+			}
+		}
+
+		int length = end - start;
+		long tokens;
+		if (letters > 0) {
+			tokens = (long) Math.ceil(nonAscii * encoding.getNonAsciiTokens());
+			if (ascii > encoding.getWordChars()) {
+				tokens += 1 + (long) Math.ceil((ascii - encoding.getWordChars()) / encoding.getSubwordChars());
+			} else if (ascii > 0) {
+				tokens++;
+			}
+		} else if (spaces == length) {
+			tokens = (length + WHITESPACE_CHARS - 1) / WHITESPACE_CHARS;
+		} else if (Character.isDigit(text.charAt(start))) {
+			tokens = 1;
+		} else {
+			tokens = (long) Math.ceil((length - spaces) / encoding.getPunctuationChars());
+		}
+		return Math.max(1, tokens);
+	}
+}
@@ -0,0 +1,37 @@
+package org.machanism.machai.ai.tokenizer;
+
+/**
+ * Estimates how many tokens a model needs to represent a text, without calling
+ * the provider.
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * TokenEstimator estimator = TokenEstimator.forModel("gpt-4.1");
+ * long tokens = estimator.count(prompt);
+ * </pre>
+ *
+ * @since 1.3.3
+ */
+@FunctionalInterface
+public interface TokenEstimator {
+
+	/**
+	 * Estimates the number of tokens of a text.
+	 *
+	 * @param text text to measure, may be {@code null}
+	 * @return estimated token count, {@code 0} for {@code null} or empty text
+	 */
+	long count(CharSequence text);
+
+	/**
+	 * Returns the estimator for a model.
+	 *
+	 * @param model model name, optionally prefixed with {@code Provider:}
+	 * @return shared estimator of the model {@link Encoding}
+	 */
+	static TokenEstimator forModel(String model) {
+		return Encoding.forModel(model).estimator();
+	}
+}
@@ -0,0 +1,51 @@
+/*-
+ * @guidance:
+ *
+ * **IMPORTANT: ADD OR UPDATE JAVADOC TO ALL CLASSES IN THE FOLDER AND THIS `package-info.java`!**	
+ * 
+ * - Use Clear and Concise Descriptions:
+ * 		- Write meaningful summaries that explain the purpose, behavior, and usage of each element.
+ * 		- Avoid vague statements; be specific about functionality and intent.
+ * - Update `package-info.java`:
+ *      - Analyze the source code within this package.
+ *      - Generate comprehensive package-level Javadoc that clearly describes the package's overall purpose and usage.
+ *      - Do not include a "Guidance and Best Practices" section in the `package-info.java` file.
+ *      - Ensure that the package-level Javadoc is placed immediately before the `package` declaration.
+ * -  Include Usage Examples Where Helpful:
+ * 		- Provide code snippets or examples in Javadoc comments for complex classes or methods.
+ * -  Maintain Consistency and Formatting:
+ * 		- Follow a consistent style and structure for all Javadoc comments.
+ *      - Use proper Markdown or HTML formatting for readability.
+ * - Add Javadoc:
+ *     - Review the Java class source code and include comprehensive Javadoc comments for all classes, 
+ *          methods, and fields, adhering to established best practices.
+ *     - Ensure that each Javadoc comment provides clear explanations of the purpose, parameters, return values,
+ *          and any exceptions thrown.
+ *     - When generating Javadoc, if you encounter code blocks inside `<pre>` tags, escape `<` and `>` as `&lt;` 
+ *          and `&gt;` in `<pre>` content for Javadoc. Ensure that the code is properly escaped and formatted for Javadoc. 
+ *      - Do not use escaping in `{@code ...}` tags.    
+ */
+
+/**
+ * Local token estimation used to size model requests before they are sent.
+ *
+ * <p>The package contains the following components:</p>
+ * <ul>
+ * <li>{@link TokenEstimator} estimates the number of tokens of a text.</li>
+ * <li>{@link Encoding} lists the supported encodings ({@code o200k_base},
+ *     {@code cl100k_base} and a Claude calibration), selects one for a model
+ *     name and provides its estimator.</li>
+ * </ul>
+ *
+ * <p>Estimators split text with the pre-tokenization pattern of the OpenAI BPE
+ * encodings and apply per-encoding calibration to each piece, so no vocabulary
+ * files are needed. Providers use them to report per-component request sizes
+ * and to enforce {@code GENAI_MAX_INPUT_TOKENS}.</p>
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * TokenEstimator estimator = TokenEstimator.forModel("claude-sonnet-4");
+ * long tokens = estimator.count(instructions);
+ * </pre>
+ */
+package org.machanism.machai.ai.tokenizer;
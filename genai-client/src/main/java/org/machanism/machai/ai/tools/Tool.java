@@ -17,6 +17,8 @@ import java.lang.annotation.Target;
  * <ul>
  *   <li><b>name</b>: Optional tool name. If not specified, {@link #NOT_DEFINED} is used as a placeholder.</li>
  *   <li><b>description</b>: Required description of the tool's purpose and functionality.</li>
+ *   <li><b>concurrent</b>: Whether the tool may run concurrently with other tool calls requested in
+ *       the same model turn. Tools with side effects should set it to {@code false}.</li>
  * </ul>
  *
  * <p>
@@ -46,4 +48,18 @@ public @interface Tool {
      * @return the tool description
      */
     String description();
-}
\ No newline at end of file
+
+    /**
+     * Indicates whether the tool may be executed concurrently with other tool calls
+     * requested by the model in the same turn.
+     * <p>
+     * When parallel tool calls are enabled for a provider, consecutive concurrent
+     * tools are dispatched together, while a tool declaring {@code false} runs on
+     * its own after all preceding calls have completed. Tools that modify files,
+     * run processes or change shared state should declare {@code false}.
+     * </p>
+     *
+     * @return {@code true} if the tool is safe for concurrent execution
+     */
+    boolean concurrent() default true;
+}
@@ -0,0 +1,144 @@
+package org.machanism.machai.ai.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Writes spans as a Chrome trace-event JSON file, which can be opened offline
+ * in {@code chrome://tracing}, Perfetto UI or Speedscope.
+ *
+ * <p>
+ * Spans that start and end on one thread become complete ({@code "X"}) events
+ * on that thread's track, so nested spans are drawn inside their parents.
+ * Asynchronous spans become begin/end ({@code "b"}/{@code "e"}) events. Span
+ * attributes, the span identifier and the parent identifier are written to the
+ * event arguments. The file is replaced atomically on every export.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public class ChromeTraceExporter implements TraceExporter {
+
+	/** Process identifier written to all events. */
+	private static final int PID = 1;
+
+	/** JSON writer. */
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	/** Trace file. */
+	private final File file;
+
+	/**
+	 * Creates an exporter.
+	 *
+	 * @param file trace file; parent directories are created on export
+	 */
+	public ChromeTraceExporter(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Writes the spans to the trace file.
+	 *
+	 * @param spans finished spans
+	 * @throws IOException if the file cannot be written
+	 */
+	@Override
+	public void export(List<Span> spans) throws IOException {
+		ObjectNode root = toJson(spans);
+		Path target = file.getAbsoluteFile().toPath();
+		Files.createDirectories(target.getParent());
+		Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+		try {
+			MAPPER.writeValue(temp.toFile(), root);
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Converts spans to a trace-event document.
+	 *
+	 * @param spans finished spans
+	 * @return JSON object with a {@code traceEvents} array
+	 */
+	static ObjectNode toJson(List<Span> spans) {
+		ObjectNode root = MAPPER.createObjectNode();
+		ArrayNode events = root.putArray("traceEvents");
+		Set<Long> threads = new HashSet<>();
+		for (Span span : spans) {
+			if (threads.add(span.getThreadId())) {
+				ObjectNode metadata = events.addObject();
+				metadata.put("name", "thread_name");
+				metadata.put("ph", "M");
+				metadata.put("pid", PID);
+				metadata.put("tid", span.getThreadId());
+				metadata.putObject("args").put("name", span.getThreadName());
+			}
+
+			long start = Tracer.toEpochMicros(span.getStartNanos());
+			long end = Tracer.toEpochMicros(span.getEndNanos());
+			if (span.isAsync()) {
+				ObjectNode begin = event(events, span, "b", start);
+				begin.put("id", Long.toHexString(span.getId()));
+				args(begin, span);
+				event(events, span, "e", end).put("id", Long.toHexString(span.getId()));
+			} else {
+				ObjectNode complete = event(events, span, "X", start);
+				complete.put("dur", Math.max(1, end - start));
+				args(complete, span);
+			}
+		}
+		root.put("displayTimeUnit", "ms");
+		return root;
+	}
+
+	/**
+	 * Adds an event with the common fields.
+	 *
+	 * @param events event array
+	 * @param span   span
+	 * @param phase  event phase
+	 * @param ts     timestamp in microseconds
+	 * @return event
+	 */
+	private static ObjectNode event(ArrayNode events, Span span, String phase, long ts) {
+		ObjectNode event = events.addObject();
+		event.put("name", span.getName());
+		event.put("cat", span.getCategory());
+		event.put("ph", phase);
+		event.put("ts", ts);
+		event.put("pid", PID);
+		event.put("tid", span.getThreadId());
+		return event;
+	}
+
+	/**
+	 * Writes the span attributes and identifiers as event arguments.
+	 *
+	 * @param event event
+	 * @param span  span
+	 */
+	private static void args(ObjectNode event, Span span) {
+		ObjectNode args = event.putObject("args");
+		args.put("span.id", span.getId());
+		if (span.getParentId() != 0) {
+			args.put("parent.id", span.getParentId());
+		}
+		for (Map.Entry<String, Object> attribute : span.getAttributes().entrySet()) {
+			args.set(attribute.getKey(), MAPPER.valueToTree(attribute.getValue()));
+		}
+	}
+}
@@ -0,0 +1,222 @@
+package org.machanism.machai.ai.trace;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed operation of a trace, such as a {@code perform()} call, a model
+ * round trip or a tool invocation.
+ *
+ * <p>
+ * Spans are created by {@link Tracer#start(String, String)} and ended by
+ * {@link #close()}, typically with try-with-resources. When tracing is disabled
+ * {@link Tracer} returns {@link #NOOP}, whose methods do nothing, so
+ * instrumented code needs no checks of its own.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public class Span implements AutoCloseable {
+
+	/** Span returned while tracing is disabled. */
+	public static final Span NOOP = new Span();
+
+	/** Span identifier, unique within the process. */
+	private final long id;
+
+	/** Identifier of the enclosing span, {@code 0} for root spans. */
+	private final long parentId;
+
+	/** Operation name. */
+	private final String name;
+
+	/** Operation category, for example {@value Tracer#CATEGORY_LLM}. */
+	private final String category;
+
+	/** Whether the span may end on another thread than the one that started it. */
+	private final boolean async;
+
+	/** Identifier of the starting thread. */
+	private final long threadId;
+
+	/** Name of the starting thread. */
+	private final String threadName;
+
+	/** Start time from {@link System#nanoTime()}. */
+	private final long startNanos;
+
+	/** End time from {@link System#nanoTime()}, {@code 0} while running. */
+	private volatile long endNanos;
+
+	/** Span attributes in insertion order. */
+	private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+	/** Tracer that collects the span when it ends, {@code null} for {@link #NOOP}. */
+	private final Tracer.Collector collector;
+
+	/** Span that was current on this thread before this one started. */
+	private final Span previous;
+
+	/**
+	 * Creates the no-op span.
+	 */
+	private Span() {
+		this(null, 0, 0, null, null, false, null);
+	}
+
+	/**
+	 * Creates a running span.
+	 *
+	 * @param collector collector of the ended span
+	 * @param id        span identifier
+	 * @param parentId  parent identifier, {@code 0} for root spans
+	 * @param name      operation name
+	 * @param category  operation category
+	 * @param async     whether the span may end on another thread
+	 * @param previous  span that was current before this one
+	 */
+	Span(Tracer.Collector collector, long id, long parentId, String name, String category, boolean async,
+			Span previous) {
+		this.collector = collector;
+		this.id = id;
+		this.parentId = parentId;
+		this.name = name;
+		this.category = category;
+		this.async = async;
+		this.previous = previous;
+		Thread thread = Thread.currentThread();
+		this.threadId = thread.getId();
+		this.threadName = thread.getName();
+		this.startNanos = System.nanoTime();
+	}
+
+	/**
+	 * Adds an attribute shown in the trace viewer.
+	 *
+	 * @param key   attribute name
+	 * @param value attribute value; converted with {@link String#valueOf(Object)}
+	 *              unless it is a number or boolean
+	 * @return this span
+	 */
+	public Span attribute(String key, Object value) {
+		if (collector != null) {
+			synchronized (attributes) {
+				attributes.put(key, value instanceof Number || value instanceof Boolean ? value : String.valueOf(value));
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Ends the span. Calling it again has no effect.
+	 */
+	@Override
+	public void close() {
+		if (collector != null && endNanos == 0) {
+			endNanos = Math.max(System.nanoTime(), startNanos + 1);
+			collector.finish(this);
+		}
+	}
+
+	/**
+	 * Returns the span identifier.
+	 *
+	 * @return identifier, {@code 0} for {@link #NOOP}
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the identifier of the enclosing span.
+	 *
+	 * @return parent identifier, {@code 0} for root spans
+	 */
+	public long getParentId() {
+		return parentId;
+	}
+
+	/**
+	 * Returns the operation name.
+	 *
+	 * @return name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the operation category.
+	 *
+	 * @return category
+	 */
+	public String getCategory() {
+		return category;
+	}
+
+	/**
+	 * Indicates whether the span may end on another thread.
+	 *
+	 * @return {@code true} for asynchronous spans
+	 */
+	public boolean isAsync() {
+		return async;
+	}
+
+	/**
+	 * Returns the identifier of the thread that started the span.
+	 *
+	 * @return thread identifier
+	 */
+	public long getThreadId() {
+		return threadId;
+	}
+
+	/**
+	 * Returns the name of the thread that started the span.
+	 *
+	 * @return thread name
+	 */
+	public String getThreadName() {
+		return threadName;
+	}
+
+	/**
+	 * Returns the start time.
+	 *
+	 * @return start from {@link System#nanoTime()}
+	 */
+	public long getStartNanos() {
+		return startNanos;
+	}
+
+	/**
+	 * Returns the end time.
+	 *
+	 * @return end from {@link System#nanoTime()}, {@code 0} while running
+	 */
+	public long getEndNanos() {
+		return endNanos;
+	}
+
+	/**
+	 * Returns a copy of the attributes.
+	 *
+	 * @return attributes in insertion order
+	 */
+	public Map<String, Object> getAttributes() {
+		synchronized (attributes) {
+			return Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+		}
+	}
+
+	/**
+	 * Returns the span that was current before this one started.
+	 *
+	 * @return previous span, may be {@code null}
+	 */
+	Span getPrevious() {
+		return previous;
+	}
+}
@@ -0,0 +1,21 @@
+package org.machanism.machai.ai.trace;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Target that receives the finished spans of a trace.
+ *
+ * @since 1.3.3
+ */
+@FunctionalInterface
+public interface TraceExporter {
+
+	/**
+	 * Exports the spans recorded since tracing was enabled.
+	 *
+	 * @param spans finished spans in the order they ended
+	 * @throws IOException if the spans cannot be written
+	 */
+	void export(List<Span> spans) throws IOException;
+}
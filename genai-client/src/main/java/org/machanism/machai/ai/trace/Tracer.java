@@ -0,0 +1,282 @@
+package org.machanism.machai.ai.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lightweight in-process tracer that records {@link Span}s and writes them to a
+ * {@link TraceExporter}.
+ *
+ * <p>
+ * Tracing is disabled until {@link #enable(TraceExporter)} is called, for
+ * example by a provider whose configuration sets
+ * {@code GENAI_TRACE_FILE}. While disabled, {@link #start(String, String)}
+ * returns {@link Span#NOOP} and costs one volatile read. Spans started with
+ * {@link #start(String, String)} become the current span of the thread and
+ * the parent of spans started inside them; spans started with
+ * {@link #startAsync(String, String)} may end on another thread and do not
+ * change the current span. Finished spans are kept in memory, up to
+ * {@value #MAX_SPANS}, until {@link #flush()} exports them; a shutdown hook
+ * flushes once more when the JVM exits.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>
+ * Tracer.enable(new File("trace.json"));
+ * try (Span span = Tracer.start("processFile", Tracer.CATEGORY_FILE)) {
+ *     span.attribute("file", file.getPath());
+ *     ...
+ * }
+ * Tracer.flush();
+ * </pre>
+ *
+ * @since 1.3.3
+ */
+public final class Tracer {
+
+	/** Category of {@code perform()} calls. */
+	public static final String CATEGORY_GENAI = "genai";
+
+	/** Category of model round trips. */
+	public static final String CATEGORY_LLM = "llm";
+
+	/** Category of tool invocations. */
+	public static final String CATEGORY_TOOL = "tool";
+
+	/** Category of file processing. */
+	public static final String CATEGORY_FILE = "file";
+
+	/** Category of act episodes. */
+	public static final String CATEGORY_ACT = "act";
+
+	/** Maximum number of finished spans kept in memory. */
+	public static final int MAX_SPANS = 100_000;
+
+	/** Logger for export failures. */
+	private static final Logger logger = LoggerFactory.getLogger(Tracer.class);
+
+	/** Wall-clock time, in microseconds, matching {@link #BASE_NANOS}. */
+	private static final long BASE_EPOCH_MICROS = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+
+	/** {@link System#nanoTime()} at class initialization. */
+	private static final long BASE_NANOS = System.nanoTime();
+
+	/** Span identifiers. */
+	private static final AtomicLong ids = new AtomicLong();
+
+	/** Current span of each thread. */
+	private static final ThreadLocal<Span> current = new ThreadLocal<>();
+
+	/** Whether the shutdown hook is registered. */
+	private static final AtomicBoolean shutdownHook = new AtomicBoolean();
+
+	/** Active collector, {@code null} while tracing is disabled. */
+	private static volatile Collector collector;
+
+	/**
+	 * Private constructor to prevent instantiation of this utility class.
+	 */
+	private Tracer() {
+		// Utility class.
+	}
+
+	/**
+	 * Enables tracing and exports spans to a Chrome trace-event file.
+	 *
+	 * @param file trace file
+	 */
+	public static void enable(File file) {
+		enable(new ChromeTraceExporter(file));
+	}
+
+	/**
+	 * Enables tracing. Spans finished under a previous exporter are discarded.
+	 *
+	 * @param exporter target of {@link #flush()}
+	 */
+	public static void enable(TraceExporter exporter) {
+		collector = new Collector(exporter);
+		if (shutdownHook.compareAndSet(false, true)) {
+			Runtime.getRuntime().addShutdownHook(new Thread(Tracer::flush, "machai-trace-flush"));
+		}
+	}
+
+	/**
+	 * Disables tracing and discards spans that were not flushed.
+	 */
+	public static void disable() {
+		collector = null;
+		current.remove();
+	}
+
+	/**
+	 * Indicates whether tracing is enabled.
+	 *
+	 * @return {@code true} if spans are recorded
+	 */
+	public static boolean isEnabled() {
+		return collector != null;
+	}
+
+	/**
+	 * Starts a span that becomes the current span of this thread until it is
+	 * closed.
+	 *
+	 * @param name     operation name
+	 * @param category operation category, for example {@link #CATEGORY_TOOL}
+	 * @return running span, or {@link Span#NOOP} if tracing is disabled
+	 */
+	public static Span start(String name, String category) {
+		Collector active = collector;
+		if (active == null) {
+			return Span.NOOP;
+		}
+		Span parent = current.get();
+		Span span = new Span(active, ids.incrementAndGet(), parent != null ? parent.getId() : 0, name, category,
+				false, parent);
+		current.set(span);
+		return span;
+	}
+
+	/**
+	 * Starts a span that may be closed on another thread, for example when an
+	 * asynchronous request completes. The current span of this thread becomes its
+	 * parent but stays current.
+	 *
+	 * @param name     operation name
+	 * @param category operation category, for example {@link #CATEGORY_LLM}
+	 * @return running span, or {@link Span#NOOP} if tracing is disabled
+	 */
+	public static Span startAsync(String name, String category) {
+		Collector active = collector;
+		if (active == null) {
+			return Span.NOOP;
+		}
+		Span parent = current.get();
+		return new Span(active, ids.incrementAndGet(), parent != null ? parent.getId() : 0, name, category, true,
+				null);
+	}
+
+	/**
+	 * Wraps a task so that it runs with the current span of this thread as its
+	 * current span, for example when it is submitted to a thread pool.
+	 *
+	 * @param <T>  task result type
+	 * @param task task to wrap
+	 * @return wrapped task, or {@code task} itself if tracing is disabled
+	 */
+	public static <T> Callable<T> withCurrentSpan(Callable<T> task) {
+		Span parent = current.get();
+		if (collector == null || parent == null) {
+			return task;
+		}
+		return () -> {
+			Span saved = current.get();
+			current.set(parent);
+			try {
+				return task.call();
+			} finally {
+				if (saved != null) {
+					current.set(saved);
+				} else {
+					current.remove();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Returns the finished spans that were not yet discarded.
+	 *
+	 * @return spans in the order they finished; empty if tracing is disabled
+	 */
+	public static List<Span> getFinishedSpans() {
+		Collector active = collector;
+		return active != null ? new ArrayList<>(active.finished) : new ArrayList<>();
+	}
+
+	/**
+	 * Exports all finished spans. The exporter receives every span recorded since
+	 * tracing was enabled, so repeated flushes rewrite a complete trace. Failures
+	 * are logged.
+	 */
+	public static void flush() {
+		Collector active = collector;
+		if (active == null) {
+			return;
+		}
+		try {
+			active.exporter.export(new ArrayList<>(active.finished));
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Failed to export trace: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Converts a {@link System#nanoTime()} value to wall-clock microseconds.
+	 *
+	 * @param nanos monotonic time
+	 * @return microseconds since the epoch
+	 */
+	public static long toEpochMicros(long nanos) {
+		return BASE_EPOCH_MICROS + TimeUnit.NANOSECONDS.toMicros(nanos - BASE_NANOS);
+	}
+
+	/**
+	 * Receives finished spans of one tracing session.
+	 */
+	static final class Collector {
+
+		/** Export target. */
+		private final TraceExporter exporter;
+
+		/** Finished spans. */
+		private final ConcurrentLinkedQueue<Span> finished = new ConcurrentLinkedQueue<>();
+
+		/** Number of finished spans. */
+		private final AtomicInteger size = new AtomicInteger();
+
+		/**
+		 * Creates a collector.
+		 *
+		 * @param exporter export target
+		 */
+		private Collector(TraceExporter exporter) {
+			this.exporter = exporter;
+		}
+
+		/**
+		 * Stores a finished span and restores the current span of the thread.
+		 *
+		 * @param span finished span
+		 */
+		void finish(Span span) {
+			if (!span.isAsync() && current.get() == span) {
+				if (span.getPrevious() != null) {
+					current.set(span.getPrevious());
+				} else {
+					current.remove();
+				}
+			}
+			int count = size.incrementAndGet();
+			if (count <= MAX_SPANS) {
+				finished.add(span);
+			} else if (count == MAX_SPANS + 1) {
+				logger.warn("Trace holds {} spans; further spans are dropped.", MAX_SPANS);
+			}
+		}
+	}
+}
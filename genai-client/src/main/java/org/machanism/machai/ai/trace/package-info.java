@@ -0,0 +1,59 @@
+/*-
+ * @guidance:
+ *
+ * **IMPORTANT: ADD OR UPDATE JAVADOC TO ALL CLASSES IN THE FOLDER AND THIS `package-info.java`!**	
+ * 
+ * - Use Clear and Concise Descriptions:
+ * 		- Write meaningful summaries that explain the purpose, behavior, and usage of each element.
+ * 		- Avoid vague statements; be specific about functionality and intent.
+ * - Update `package-info.java`:
+ *      - Analyze the source code within this package.
+ *      - Generate comprehensive package-level Javadoc that clearly describes the package's overall purpose and usage.
+ *      - Do not include a "Guidance and Best Practices" section in the `package-info.java` file.
+ *      - Ensure that the package-level Javadoc is placed immediately before the `package` declaration.
+ * -  Include Usage Examples Where Helpful:
+ * 		- Provide code snippets or examples in Javadoc comments for complex classes or methods.
+ * -  Maintain Consistency and Formatting:
+ * 		- Follow a consistent style and structure for all Javadoc comments.
+ *      - Use proper Markdown or HTML formatting for readability.
+ * - Add Javadoc:
+ *     - Review the Java class source code and include comprehensive Javadoc comments for all classes, 
+ *          methods, and fields, adhering to established best practices.
+ *     - Ensure that each Javadoc comment provides clear explanations of the purpose, parameters, return values,
+ *          and any exceptions thrown.
+ *     - When generating Javadoc, if you encounter code blocks inside `<pre>` tags, escape `<` and `>` as `&lt;` 
+ *          and `&gt;` in `<pre>` content for Javadoc. Ensure that the code is properly escaped and formatted for Javadoc. 
+ *      - Do not use escaping in `{@code ...}` tags.    
+ */
+
+/**
+ * Lightweight tracing of GenAI work: model calls, tool invocations and the
+ * file and act processing around them.
+ *
+ * <p>The package contains the following components:</p>
+ * <ul>
+ * <li>{@link Tracer} starts spans, tracks the current span of each thread and
+ *     keeps finished spans until they are exported.</li>
+ * <li>{@link Span} is one timed operation with a name, a category, a parent and
+ *     attributes.</li>
+ * <li>{@link TraceExporter} receives finished spans;
+ *     {@link ChromeTraceExporter} writes them as Chrome trace-event JSON.</li>
+ * </ul>
+ *
+ * <p>Providers enable tracing when {@code GENAI_TRACE_FILE} is configured and
+ * record a span per {@code perform()} call, per model round trip and per tool
+ * invocation. The resulting file can be opened offline in
+ * {@code chrome://tracing} or Perfetto UI to see where the time of a run
+ * went.</p>
+ *
+ * <h2>Example</h2>
+ * <pre>
+ * Tracer.enable(new File("target/machai-trace.json"));
+ * try (Span span = Tracer.start("review", Tracer.CATEGORY_FILE)) {
+ *     span.attribute("file", "Main.java");
+ *     provider.perform();
+ * }
+ * Tracer.flush();
+ * </pre>
+ */
+package org.machanism.machai.ai.trace;
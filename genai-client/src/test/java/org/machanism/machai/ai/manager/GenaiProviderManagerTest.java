@@ -1,9 +1,12 @@
 package org.machanism.machai.ai.manager;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.lang.reflect.Method;
@@ -92,6 +95,32 @@ class GenaiProviderManagerTest {
         assertNull(result.perform());
     }
 
+    @Test
+    void borrowedProvidersAreReusedPerModelAndConfigurationKey() {
+        // Arrange
+        GenaiProviderManager.clearProviderPool();
+        Genai first;
+        Genai concurrent;
+
+        // Act
+        try (GenaiProviderManager.Lease lease = GenaiProviderManager.borrowProvider("None:log", null, "a");
+                GenaiProviderManager.Lease other = GenaiProviderManager.borrowProvider("None:log", null, "a")) {
+            first = lease.getProvider();
+            concurrent = other.getProvider();
+            assertFalse(lease.isReused());
+        }
+        GenaiProviderManager.Lease reused = GenaiProviderManager.borrowProvider("None:log", null, "a");
+        GenaiProviderManager.Lease otherKey = GenaiProviderManager.borrowProvider("None:log", null, "b");
+        GenaiProviderManager.clearProviderPool();
+
+        // Assert
+        assertNotSame(first, concurrent);
+        assertTrue(reused.isReused());
+        assertTrue(reused.getProvider() == first || reused.getProvider() == concurrent);
+        assertFalse(otherKey.isReused());
+        assertNull(GenaiProviderManager.borrowProvider(":log", null, "a"));
+    }
+
     @Test
     void getProviderRejectsProviderNamesThatAreNotJavaIdentifiers() {
         // Arrange
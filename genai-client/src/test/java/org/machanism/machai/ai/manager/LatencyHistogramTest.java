@@ -0,0 +1,51 @@
+package org.machanism.machai.ai.manager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsCoverEveryValueWithBoundedRelativeError() {
+        // Arrange
+        long[] values = { 0, 1, 63, 64, 65, 127, 128, 1_000, 123_456, 9_999_999, 1L << 36 };
+
+        for (long value : values) {
+            // Act
+            int index = LatencyHistogram.index(value);
+            long upper = LatencyHistogram.upperBound(index);
+
+            // Assert
+            assertTrue(upper >= value, "upper bound below " + value);
+            assertTrue(upper - value <= Math.max(0, value / 32), "bucket too wide for " + value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.upperBound(index - 1) < value, "previous bucket holds " + value);
+            }
+        }
+    }
+
+    @Test
+    void percentilesFollowTheRecordedDistribution() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        // Assert
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMean(TimeUnit.MILLISECONDS), 0.01);
+        assertEquals(50, histogram.getPercentile(50, TimeUnit.MILLISECONDS), 2);
+        assertEquals(95, histogram.getPercentile(95, TimeUnit.MILLISECONDS), 3);
+        assertEquals(100, histogram.getPercentile(100, TimeUnit.MILLISECONDS));
+        assertEquals(100, histogram.getMax(TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(101, TimeUnit.MILLISECONDS));
+    }
+}
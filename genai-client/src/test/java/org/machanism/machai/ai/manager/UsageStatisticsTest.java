@@ -1,32 +1,28 @@
 package org.machanism.machai.ai.manager;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.management.ManagementFactory;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 class UsageStatisticsTest {
 
     @BeforeEach
-    void clearStoredUsages() throws Exception {
-        // Arrange
-        Field usagesField = UsageStatistics.class.getDeclaredField("modelUsages");
-        usagesField.setAccessible(true);
-        @SuppressWarnings("unchecked")
-        Map<String, List<Usage>> usages = (Map<String, List<Usage>>) usagesField.get(null);
-
-        // Act
-        usages.clear();
-
-        // Assert
-        assertTrue(usages.isEmpty());
+    @AfterEach
+    void clearStoredMetrics() {
+        UsageStatistics.reset();
     }
 
     @Test
@@ -38,120 +34,93 @@ class UsageStatisticsTest {
         UsageStatistics.init();
 
         // Assert
-        assertEquals(1, UsageStatistics.getUsageForModel("model-init").size());
-    }
-
-    @Test
-    void addUsageCreatesANewModelEntryAndReturnsDefensiveCopiesForModelLookup() {
-        // Arrange
-        Usage usage = new Usage(10, 3, 5);
-
-        // Act
-        UsageStatistics.addUsage("model-a", usage);
-        List<Usage> retrievedUsages = UsageStatistics.getUsageForModel("model-a");
-
-        // Assert
-        assertEquals(1, retrievedUsages.size());
-        assertEquals(usage, retrievedUsages.get(0));
-
-        retrievedUsages.clear();
-        assertEquals(1, UsageStatistics.getUsageForModel("model-a").size());
-    }
-
-    @Test
-    void addUsageAppendsMultipleEntriesForTheSameModel() {
-        // Arrange
-        Usage firstUsage = new Usage(1, 2, 3);
-        Usage secondUsage = new Usage(4, 5, 6);
-
-        // Act
-        UsageStatistics.addUsage("model-b", firstUsage);
-        UsageStatistics.addUsage("model-b", secondUsage);
-        List<Usage> retrievedUsages = UsageStatistics.getUsageForModel("model-b");
-
-        // Assert
-        assertEquals(2, retrievedUsages.size());
-        assertEquals(firstUsage, retrievedUsages.get(0));
-        assertEquals(secondUsage, retrievedUsages.get(1));
+        assertEquals(1, UsageStatistics.getUsageForModel("model-init").getInputTokens());
     }
 
     @Test
-    void getUsageForModelReturnsEmptyListWhenModelHasNoEntries() {
+    void addUsageSumsTokensPerModel() {
         // Arrange
+        UsageStatistics.addUsage("model-b", new Usage(1, 2, 3));
+        UsageStatistics.addUsage("model-b", new Usage(4, 5, 6));
+        UsageStatistics.addUsage("model-c", new Usage(7, 8, 9));
 
         // Act
-        List<Usage> usages = UsageStatistics.getUsageForModel("missing-model");
+        Usage usage = UsageStatistics.getUsageForModel("model-b");
+        Map<String, UsageMetrics> all = UsageStatistics.getAllModelMetrics();
 
         // Assert
-        assertTrue(usages.isEmpty());
+        assertEquals(5, usage.getInputTokens());
+        assertEquals(7, usage.getInputCachedTokens());
+        assertEquals(9, usage.getOutputTokens());
+        assertEquals(2, all.size());
+        assertThrows(UnsupportedOperationException.class, () -> all.clear());
     }
 
     @Test
-    void getAllModelUsagesReturnsShallowCopyOfRegistryMap() {
+    void getUsageForModelReturnsZeroTotalsWhenModelHasNoEntries() {
         // Arrange
-        Usage usage = new Usage(7, 8, 9);
-        UsageStatistics.addUsage("model-c", usage);
 
         // Act
-        Map<String, List<Usage>> allUsages = UsageStatistics.getAllModelUsages();
+        Usage usage = UsageStatistics.getUsageForModel("missing-model");
 
         // Assert
-        assertEquals(1, allUsages.size());
-        assertNotSame(allUsages, UsageStatistics.getAllModelUsages());
-        assertEquals(usage, allUsages.get("model-c").get(0));
-
-        allUsages.put("other-model", new ArrayList<>());
-        assertTrue(UsageStatistics.getAllModelUsages().get("other-model") == null);
+        assertEquals(0, usage.getInputTokens());
+        assertEquals(0, usage.getOutputTokens());
+        assertNull(UsageStatistics.getModelMetrics("missing-model"));
     }
 
     @Test
-    void getAllModelUsagesSharesNestedUsageListsAsDocumented() {
+    void recordedRequestsAndToolCallsAreExposedThroughJmx() throws Exception {
         // Arrange
-        UsageStatistics.addUsage("model-d", new Usage(2, 4, 6));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName model = UsageStatistics.objectName("Model", "OpenAI:gpt-test");
+        ObjectName tool = UsageStatistics.objectName("Tool", "read_file");
 
         // Act
-        Map<String, List<Usage>> allUsages = UsageStatistics.getAllModelUsages();
-        allUsages.get("model-d").add(new Usage(8, 10, 12));
+        UsageStatistics.recordRequest("OpenAI:gpt-test", TimeUnit.MILLISECONDS.toNanos(120), true);
+        UsageStatistics.recordRequest("OpenAI:gpt-test", TimeUnit.MILLISECONDS.toNanos(80), false);
+        UsageStatistics.recordToolCall("read_file", TimeUnit.MILLISECONDS.toNanos(5), true);
 
         // Assert
-        assertEquals(2, UsageStatistics.getUsageForModel("model-d").size());
+        assertEquals(2L, server.getAttribute(model, "Calls"));
+        assertEquals(1L, server.getAttribute(model, "Errors"));
+        assertTrue((Long) server.getAttribute(model, "LatencyMaxMillis") >= 119);
+        assertEquals(1L, server.getAttribute(tool, "Calls"));
+        UsageStatistics.reset();
+        assertFalse(server.isRegistered(model));
     }
 
     @Test
-    void logUsageForModelDoesNotThrowWhenModelHasEntries() {
+    void prometheusOutputContainsCountersAndLatencySummaries() {
         // Arrange
-        UsageStatistics.addUsage("model-e", new Usage(3, 1, 4));
-        UsageStatistics.addUsage("model-e", new Usage(5, 9, 2));
+        UsageStatistics.addUsage("OpenAI:gpt-test", new Usage(100, 40, 20));
+        UsageStatistics.recordRequest("OpenAI:gpt-test", TimeUnit.MILLISECONDS.toNanos(250), true);
+        UsageStatistics.recordToolCall("run \"cmd\"", TimeUnit.MILLISECONDS.toNanos(10), false);
 
         // Act
-        UsageStatistics.logUsageForModel("model-e");
+        String text = PrometheusExporter.scrape();
 
         // Assert
-        assertEquals(2, UsageStatistics.getUsageForModel("model-e").size());
+        assertTrue(text.contains("# TYPE machai_model_requests_total counter\n"));
+        assertTrue(text.contains("machai_model_input_tokens_total{provider=\"OpenAI\",model=\"gpt-test\"} 100\n"));
+        assertTrue(text.contains("machai_model_request_duration_seconds_count{provider=\"OpenAI\",model=\"gpt-test\"} 1\n"));
+        assertTrue(text.contains("machai_model_request_duration_seconds{provider=\"OpenAI\",model=\"gpt-test\","
+                + "quantile=\"0.5\"} 0.25\n"));
+        assertTrue(text.contains("machai_tool_call_errors_total{tool=\"run \\\"cmd\\\"\"} 1\n"));
     }
 
     @Test
-    void logUsageForModelDoesNotThrowWhenModelIsMissing() {
-        // Arrange
-
-        // Act
-        UsageStatistics.logUsageForModel("unknown-model");
-
-        // Assert
-        assertTrue(UsageStatistics.getUsageForModel("unknown-model").isEmpty());
-    }
-
-    @Test
-    void logUsageInvokesLoggingForAllRegisteredModelsWithoutChangingStoredValues() {
+    void logUsageDoesNotChangeStoredValues() {
         // Arrange
         UsageStatistics.addUsage("model-f", new Usage(1, 1, 1));
-        UsageStatistics.addUsage("model-g", new Usage(2, 3, 5));
+        UsageStatistics.recordRequest("model-g", 1_000_000L, true);
 
         // Act
         UsageStatistics.logUsage();
+        UsageStatistics.logUsageForModel("unknown-model");
 
         // Assert
-        assertEquals(1, UsageStatistics.getUsageForModel("model-f").size());
-        assertEquals(1, UsageStatistics.getUsageForModel("model-g").size());
+        assertEquals(1, UsageStatistics.getUsageForModel("model-f").getOutputTokens());
+        assertEquals(1, UsageStatistics.getModelMetrics("model-g").getCalls());
     }
 }
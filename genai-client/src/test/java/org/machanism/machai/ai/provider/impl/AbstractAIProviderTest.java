@@ -1,11 +1,36 @@
 package org.machanism.machai.ai.provider.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 import org.junit.jupiter.api.Test;
 import org.machanism.machai.ai.provider.AbstractAIProvider;
+import org.machanism.machai.ai.provider.ConversationItem;
+import org.machanism.machai.ai.provider.GenaiEvent;
+import org.machanism.machai.ai.provider.RateGovernor;
+import org.machanism.machai.ai.tokenizer.TokenEstimator;
+import org.machanism.machai.ai.tools.FunctionTools;
+import org.machanism.machai.ai.tools.Param;
 import org.machanism.machai.ai.tools.SpecialException;
+import org.machanism.machai.ai.tools.Tool;
 import org.machanism.machai.ai.tools.ToolFunction;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,10 +39,38 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 /** Tests common provider state and protected tool error semantics. */
 class AbstractAIProviderTest {
     private static final class ExposedProvider extends AbstractAIProvider {
-        @Override protected void addTool(String n, String d, ToolFunction f, org.machanism.machai.ai.tools.ParamDescriptor... p) { }
+        @Override protected void addTool(String n, String d, ToolFunction f, org.machanism.machai.ai.tools.ParamDescriptor... p) { registerTool(n, f); }
         void initialize() { init("model", TestConfigurators.mapBacked()); }
         @Override public String perform() { return null; }
         Object invoke(String name, ToolFunction tool, com.fasterxml.jackson.databind.JsonNode node) { return safelyInvokeTool(name, tool, node, null); }
+        List<Object> invokeAll(List<String> names, List<Supplier<Object>> calls) { return invokeToolCalls(names, calls); }
+        boolean concurrent(String name) { return isConcurrent(name); }
+        boolean register(String name, ToolFunction tool) { return registerTool(name, tool); }
+        ToolFunction find(String name) { return findTool(name); }
+        List<ConversationItem> check(String tools, List<ConversationItem> items) { return preflight(tools, items); }
+        <T> T stream(Consumer<GenaiEvent> listener, Function<Consumer<GenaiEvent>, T> request) { return sendStreamingRequest(listener, request); }
+        @Override protected RateGovernor.Signal rateSignal(RuntimeException error) {
+            return error instanceof IllegalStateException ? RateGovernor.Signal.transientError(1) : null;
+        }
+    }
+
+    /** Tool fixture declaring one side-effecting tool. */
+    public static final class Tools implements FunctionTools {
+        @Tool(name = "read_it", description = "reads")
+        public String read() { return "r"; }
+
+        @Tool(name = "write_it", concurrent = false, description = "writes")
+        public String write() { return "w"; }
+    }
+
+    /** Tool fixture with typed and defaulted parameters. */
+    public static final class TypedTools implements FunctionTools {
+        @Tool(name = "sum", description = "sums on ${OS_NAME}")
+        public String sum(@Param(name = "a", description = "a") int a,
+                @Param(name = "b", description = "b", defaultValue = "2") Integer b,
+                @Param(name = "items", description = "items", defaultValue = "[]") List<String> items) {
+            return a + "+" + b + "+" + items.size() + " ${a}";
+        }
     }
 
     @Test
@@ -47,4 +100,200 @@ class AbstractAIProviderTest {
             throw new Exception("boom");
         }, new ObjectMapper().createObjectNode()));
     }
+
+    @Test
+    void toolsDeclaredNonConcurrentAreTracked() {
+        // Arrange
+        ExposedProvider provider = new ExposedProvider();
+        provider.initialize();
+
+        // Act
+        provider.addTools(new Tools(), null);
+
+        // Assert
+        assertTrue(provider.concurrent("read_it"));
+        assertFalse(provider.concurrent("WRITE_IT"));
+    }
+
+    @Test
+    void toolIndexResolvesNormalizedNamesAndRejectsDuplicates() {
+        // Arrange
+        ExposedProvider provider = new ExposedProvider();
+        provider.initialize();
+        provider.addTools(new Tools(), null);
+        ToolFunction other = (p, context) -> "other";
+
+        // Act
+        boolean duplicateAccepted = provider.register("Read_It", other);
+        boolean newAccepted = provider.register("extra", other);
+
+        // Assert
+        assertFalse(duplicateAccepted);
+        assertTrue(newAccepted);
+        assertNotNull(provider.find("READ_IT"));
+        assertNotSame(other, provider.find("read_it"));
+        assertSame(other, provider.find("Extra"));
+        assertNull(provider.find("missing"));
+    }
+
+    @Test
+    void cachedToolMetadataConvertsArgumentsForEveryProvider() throws Exception {
+        // Arrange
+        ExposedProvider first = new ExposedProvider();
+        first.initialize();
+        ExposedProvider second = new ExposedProvider();
+        second.initialize();
+        ObjectNode params = new ObjectMapper().createObjectNode();
+        params.put("a", 1);
+        params.put("items", "[\"x\",\"y\"]");
+
+        // Act
+        first.addTools(new TypedTools(), new String[] { "TypedTools:sum" });
+        second.addTools(new TypedTools(), null);
+        Object result = second.find("sum").apply(params);
+
+        // Assert
+        assertEquals("1+2+2 1", result);
+        assertNotNull(first.find("sum"));
+        assertThrows(IllegalArgumentException.class,
+                () -> first.find("sum").apply(new ObjectMapper().createObjectNode()));
+    }
+
+    @Test
+    void parallelToolCallsOverlapAndKeepRequestOrder() {
+        // Arrange
+        ExposedProvider provider = new ExposedProvider();
+        TestConfigurators.MapBackedConfigurator config = TestConfigurators.mapBacked();
+        config.put(AbstractAIProvider.PARALLEL_TOOL_CALLS_PROP_NAME, "4");
+        provider.init("model", config);
+        provider.addTools(new Tools(), null);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AtomicBoolean overlapped = new AtomicBoolean(true);
+        Supplier<Object> slow = () -> {
+            bothStarted.countDown();
+            try {
+                overlapped.compareAndSet(true, bothStarted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Thread.currentThread().getName();
+        };
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        // Act
+        List<Object> results = provider.invokeAll(Arrays.asList("read_it", "read_it", "write_it", "read_it"),
+                Arrays.asList(slow, slow, () -> { order.add("write"); return "w"; }, () -> { order.add("read"); return "r"; }));
+
+        // Assert
+        assertTrue(overlapped.get());
+        assertEquals(4, results.size());
+        assertEquals("w", results.get(2));
+        assertEquals("r", results.get(3));
+        assertEquals(Arrays.asList("write", "read"), order);
+    }
+
+    @Test
+    void closeStopsParallelToolCallThreads() throws InterruptedException {
+        // Arrange
+        ExposedProvider provider = new ExposedProvider();
+        TestConfigurators.MapBackedConfigurator config = TestConfigurators.mapBacked();
+        config.put(AbstractAIProvider.PARALLEL_TOOL_CALLS_PROP_NAME, "2");
+        provider.init("model", config);
+        List<Thread> workers = Collections.synchronizedList(new ArrayList<>());
+        Supplier<Object> call = () -> workers.add(Thread.currentThread());
+        provider.invokeAll(Arrays.asList("a", "b"), Arrays.asList(call, call));
+
+        // Act
+        provider.close();
+
+        // Assert
+        assertEquals(2, workers.size());
+        for (Thread worker : workers) {
+            worker.join(5_000);
+            assertFalse(worker.isAlive());
+        }
+        assertEquals(Arrays.asList(true, true), provider.invokeAll(Arrays.asList("a", "b"), Arrays.asList(call, call)));
+        provider.close();
+    }
+
+    @Test
+    void preflightCompactsConversationToBudgetLeftByInstructionsAndTools() {
+        // Arrange
+        ExposedProvider provider = new ExposedProvider();
+        TestConfigurators.MapBackedConfigurator config = TestConfigurators.mapBacked();
+        config.put(AbstractAIProvider.MAX_INPUT_TOKENS_PROP_NAME, "100");
+        provider.init("model", config);
+        String instructions = String.join(" ", Collections.nCopies(50, "rule"));
+        String tools = String.join(" ", Collections.nCopies(40, "schema"));
+        provider.instructions(instructions);
+        List<ConversationItem> items = Arrays.asList(
+                ConversationItem.of(ConversationItem.Kind.MESSAGE, "user", String.join(" ", Collections.nCopies(30, "old")), 0, null),
+                ConversationItem.of(ConversationItem.Kind.MESSAGE, "user", "new", 1, null));
+        List<Long> budgets = new ArrayList<>();
+        provider.setCompactionPolicy((conversation, budget) -> {
+            budgets.add(budget);
+            return conversation.subList(1, conversation.size());
+        }, 0);
+
+        // Act
+        List<ConversationItem> trimmed = provider.check(tools, items);
+
+        // Assert
+        TokenEstimator estimator = TokenEstimator.forModel("model");
+        long expected = 100 - estimator.count(instructions) - estimator.count(tools);
+        assertEquals(Collections.singletonList(expected), budgets);
+        assertTrue(expected > 0 && expected < 50);
+        assertEquals(1, trimmed.size());
+        assertEquals(provider.getLastRequestSize().getTotal(),
+                estimator.count(instructions) + estimator.count(tools) + trimmed.get(0).estimateTokens(estimator));
+    }
+
+    @Test
+    void streamingRequestIsRetriedOnlyBeforeTheFirstEvent() {
+        // Arrange
+        ExposedProvider provider = new ExposedProvider();
+        provider.initialize();
+        List<GenaiEvent> events = new ArrayList<>();
+        AtomicInteger earlyAttempts = new AtomicInteger();
+        AtomicInteger lateAttempts = new AtomicInteger();
+
+        // Act
+        String early = provider.stream(events::add, listener -> {
+            if (earlyAttempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("connection reset before the first event");
+            }
+            listener.accept(GenaiEvent.textDelta("ok"));
+            return "ok";
+        });
+        IllegalStateException late = assertThrows(IllegalStateException.class, () -> provider.stream(events::add,
+                listener -> {
+                    lateAttempts.incrementAndGet();
+                    listener.accept(GenaiEvent.textDelta("partial"));
+                    throw new IllegalStateException("connection reset mid-stream");
+                }));
+
+        // Assert
+        assertEquals("ok", early);
+        assertEquals(2, earlyAttempts.get());
+        assertEquals(1, lateAttempts.get());
+        assertEquals("connection reset mid-stream", late.getMessage());
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    void sequentialModeRunsOnCallingThreadAndPropagatesFailures() {
+        // Arrange
+        ExposedProvider provider = new ExposedProvider();
+        provider.initialize();
+        String caller = Thread.currentThread().getName();
+
+        // Act
+        List<Object> results = provider.invokeAll(Arrays.asList("a", "b"),
+                Arrays.asList(() -> Thread.currentThread().getName(), () -> "b"));
+
+        // Assert
+        assertEquals(Arrays.asList(caller, "b"), results);
+        assertThrows(IllegalStateException.class, () -> provider.invokeAll(Arrays.asList("a"),
+                Arrays.asList(() -> { throw new IllegalStateException("fail"); })));
+    }
 }
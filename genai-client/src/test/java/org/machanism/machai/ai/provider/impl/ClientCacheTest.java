@@ -0,0 +1,109 @@
+package org.machanism.machai.ai.provider.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.machanism.machai.ai.provider.ClientCache;
+
+/** Unit tests for the shared SDK client cache. */
+class ClientCacheTest {
+
+    @Test
+    void sameSettingsReuseOneClient() {
+        // Arrange
+        AtomicInteger created = new AtomicInteger();
+        ClientCache<Object> cache = new ClientCache<>("test", c -> { });
+
+        // Act
+        Object first = cache.get("http://host", "key", 10, 3, () -> "client-" + created.incrementAndGet());
+        Object second = cache.get("http://host", "key", 10, 3, () -> "client-" + created.incrementAndGet());
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, created.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void differentEndpointsGetSeparateClients() {
+        // Arrange
+        ClientCache<Object> cache = new ClientCache<>("test", c -> { });
+
+        // Act
+        Object first = cache.get("http://a", "key", 0, 3, Object::new);
+        Object second = cache.get("http://b", "key", 0, 3, Object::new);
+        Object third = cache.get(null, "key", 0, 3, Object::new);
+
+        // Assert
+        assertNotSame(first, second);
+        assertNotSame(second, third);
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void rotatedCredentialClosesPreviousClient() {
+        // Arrange
+        List<Object> closed = new ArrayList<>();
+        ClientCache<Object> cache = new ClientCache<>("test", closed::add);
+        Object old = cache.get("http://host", "user", "old-token", 0, 3, Object::new);
+
+        // Act
+        Object fresh = cache.get("http://host", "user", "new-token", 0, 3, Object::new);
+
+        // Assert
+        assertNotSame(old, fresh);
+        assertEquals(1, closed.size());
+        assertSame(old, closed.get(0));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void separateCredentialsOnOneEndpointKeepTheirClients() {
+        // Arrange
+        List<Object> closed = new ArrayList<>();
+        ClientCache<Object> cache = new ClientCache<>("test", closed::add);
+        Object alice = cache.get("http://host", "alice", "token-a", 0, 3, Object::new);
+        Object bob = cache.get("http://host", "bob", "token-b", 0, 3, Object::new);
+
+        // Act
+        Object aliceAgain = cache.get("http://host", "alice", "token-a", 0, 3, Object::new);
+        Object bobAgain = cache.get("http://host", "key-b", 0, 3, Object::new);
+        Object keyA = cache.get("http://host", "key-a", 0, 3, Object::new);
+        Object keyAAgain = cache.get("http://host", "key-a", 0, 3, Object::new);
+
+        // Assert
+        assertSame(alice, aliceAgain);
+        assertNotSame(alice, bob);
+        assertNotSame(bob, bobAgain);
+        assertSame(keyA, keyAAgain);
+        assertTrue(closed.isEmpty());
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void closeAllReleasesEveryClientAndToleratesCloseFailures() {
+        // Arrange
+        List<Object> closed = new ArrayList<>();
+        ClientCache<Object> cache = new ClientCache<>("test", closed::add);
+        ClientCache<Object> failing = new ClientCache<>("failing", c -> {
+            throw new IllegalStateException("boom");
+        });
+        cache.get("http://a", "key", 0, 3, Object::new);
+        failing.get("http://a", "key", 0, 3, Object::new);
+
+        // Act
+        ClientCache.closeAll();
+
+        // Assert
+        assertTrue(closed.size() >= 1);
+        assertEquals(0, cache.size());
+        assertEquals(0, failing.size());
+    }
+}
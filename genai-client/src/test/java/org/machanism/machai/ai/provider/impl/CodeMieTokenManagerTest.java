@@ -0,0 +1,160 @@
+package org.machanism.machai.ai.provider.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class CodeMieTokenManagerTest {
+
+	@Test
+	void cachedTokenIsReusedUntilItNearsExpiry() throws Exception {
+		// Arrange
+		AtomicLong now = new AtomicLong(0);
+		AtomicInteger requests = new AtomicInteger();
+		CodeMieTokenManager manager = new CodeMieTokenManager(
+				(url, user, password) -> new CodeMieTokenManager.AccessToken("t" + requests.incrementAndGet(), 3600),
+				now::get);
+
+		// Act
+		String first = manager.getToken("http://auth", "user", "secret");
+		now.set(TimeUnit.MINUTES.toMillis(30));
+		String second = manager.getToken("http://auth", "user", "secret");
+		now.set(TimeUnit.SECONDS.toMillis(3600));
+		String third = manager.getToken("http://auth", "user", "secret");
+		manager.clear();
+
+		// Assert
+		assertEquals("t1", first);
+		assertEquals("t1", second);
+		assertEquals("t2", third);
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	void tokensAreCachedPerAuthUrlAndUserAndPasswordChangeForcesRefresh() throws Exception {
+		// Arrange
+		List<String> calls = new ArrayList<>();
+		CodeMieTokenManager manager = new CodeMieTokenManager((url, user, password) -> {
+			calls.add(url + "|" + user + "|" + password);
+			return new CodeMieTokenManager.AccessToken(user + "-" + calls.size(), 3600);
+		}, () -> 0L);
+
+		// Act
+		manager.getToken("http://a", "u1", "p");
+		manager.getToken("http://a", "u1", "p");
+		manager.getToken("http://a", "u2", "p");
+		manager.getToken("http://b", "u1", "p");
+		String rotated = manager.getToken("http://a", "u1", "p2");
+		manager.clear();
+
+		// Assert
+		assertEquals(4, calls.size());
+		assertEquals("http://a|u1|p2", calls.get(3));
+		assertEquals("u1-4", rotated);
+	}
+
+	@Test
+	void concurrentCallersShareOneRequest() throws Exception {
+		// Arrange
+		AtomicInteger requests = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		CodeMieTokenManager manager = new CodeMieTokenManager((url, user, password) -> {
+			requests.incrementAndGet();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new CodeMieTokenManager.AccessToken("shared", 3600);
+		}, System::currentTimeMillis);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		// Act
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			results.add(executor.submit(() -> manager.getToken("http://auth", "user", "secret")));
+		}
+		Thread.sleep(100);
+		release.countDown();
+
+		// Assert
+		for (Future<String> result : results) {
+			assertEquals("shared", result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, requests.get());
+		executor.shutdownNow();
+		manager.clear();
+	}
+
+	@Test
+	void tokenIsRefreshedInBackgroundBeforeExpiry() throws Exception {
+		// Arrange
+		AtomicInteger requests = new AtomicInteger();
+		CountDownLatch refreshed = new CountDownLatch(2);
+		CodeMieTokenManager manager = new CodeMieTokenManager((url, user, password) -> {
+			refreshed.countDown();
+			return new CodeMieTokenManager.AccessToken("t" + requests.incrementAndGet(), 1);
+		}, System::currentTimeMillis);
+
+		// Act
+		manager.getToken("http://auth", "user", "secret");
+
+		// Assert
+		assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+		manager.clear();
+	}
+
+	@Test
+	void idleTokenIsNotRefreshedAgainUntilItIsRequested() throws Exception {
+		// Arrange
+		AtomicInteger requests = new AtomicInteger();
+		CountDownLatch refreshed = new CountDownLatch(2);
+		CodeMieTokenManager manager = new CodeMieTokenManager((url, user, password) -> {
+			refreshed.countDown();
+			return new CodeMieTokenManager.AccessToken("t" + requests.incrementAndGet(), 1);
+		}, System::currentTimeMillis);
+
+		// Act
+		manager.getToken("http://auth", "user", "secret");
+		assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+		Thread.sleep(1_600);
+		int idleRequests = requests.get();
+		String token = manager.getToken("http://auth", "user", "secret");
+		manager.clear();
+
+		// Assert
+		assertEquals(2, idleRequests);
+		assertEquals("t3", token);
+	}
+
+	@Test
+	void failedRequestIsPropagated() {
+		// Arrange
+		CodeMieTokenManager manager = new CodeMieTokenManager((url, user, password) -> {
+			throw new IOException("denied");
+		}, () -> 0L);
+
+		// Act and assert
+		assertThrows(IOException.class, () -> manager.getToken("http://auth", "user", "secret"));
+	}
+
+	@Test
+	void refreshMarginStaysWithinTokenLifetime() {
+		assertEquals(CodeMieTokenManager.MIN_REFRESH_MARGIN_MS, CodeMieTokenManager.refreshMargin(3_600_000 / 12));
+		assertEquals(360_000, CodeMieTokenManager.refreshMargin(3_600_000));
+		assertEquals(5_000, CodeMieTokenManager.refreshMargin(10_000));
+	}
+}
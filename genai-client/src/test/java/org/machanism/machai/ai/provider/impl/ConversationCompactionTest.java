@@ -0,0 +1,123 @@
+package org.machanism.machai.ai.provider.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.machanism.machai.ai.provider.AbstractAIProvider;
+import org.machanism.machai.ai.provider.CompactionPolicy;
+import org.machanism.machai.ai.provider.ConversationItem;
+import org.machanism.machai.ai.provider.ConversationItem.Kind;
+
+import com.openai.client.OpenAIClient;
+import com.openai.models.responses.ResponseCreateParams;
+import com.openai.models.responses.ResponseInputItem;
+
+/** Unit tests for token-budgeted conversation compaction. */
+class ConversationCompactionTest {
+
+    private static final String LARGE = new String(new char[2000]).replace('\0', 'x');
+
+    @Test
+    void stubPolicyKeepsPromptAndRecentTurns() {
+        // Arrange
+        List<ConversationItem> items = conversation();
+
+        // Act
+        List<ConversationItem> result = CompactionPolicy.stubToolResults(1).compact(items, 100);
+
+        // Assert
+        assertEquals(items.size(), result.size());
+        assertSame(items.get(0), result.get(0));
+        assertTrue(result.get(2).isModified());
+        assertTrue(result.get(2).getText().contains("read omitted to save context: 2000 characters"));
+        assertSame(items.get(3), result.get(3));
+        assertTrue(result.get(4).isModified());
+        assertSame(items.get(6), result.get(6));
+        assertFalse(result.get(6).isModified());
+    }
+
+    @Test
+    void dropAndSummarizePoliciesReplaceOlderGroups() {
+        // Arrange
+        List<ConversationItem> items = conversation();
+        List<String> transcripts = new ArrayList<>();
+
+        // Act
+        List<ConversationItem> dropped = CompactionPolicy.dropOldTurns(1).compact(items, 100);
+        List<ConversationItem> summarized = CompactionPolicy.summarize(1, transcript -> {
+            transcripts.add(transcript);
+            return "earlier reads";
+        }).compact(items, 100);
+        List<ConversationItem> fallback = CompactionPolicy.summarize(1, transcript -> {
+            throw new IllegalStateException("unavailable");
+        }).compact(items, 100);
+
+        // Assert
+        assertEquals(Arrays.asList(items.get(0), items.get(5), items.get(6)), dropped);
+        assertEquals(4, summarized.size());
+        assertEquals(Kind.SUMMARY, summarized.get(1).getKind());
+        assertEquals("earlier reads", summarized.get(1).getText());
+        assertTrue(transcripts.get(0).startsWith("TOOL_CALL read: "));
+        assertEquals(items.size(), fallback.size());
+        assertTrue(fallback.get(2).isModified());
+    }
+
+    @Test
+    void openAiStubsOldToolOutputsOnceThresholdIsExceeded() {
+        // Arrange
+        AtomicInteger round = new AtomicInteger();
+        OpenAIClient client = mock(OpenAIClient.class, RETURNS_DEEP_STUBS);
+        when(client.responses().create(any(ResponseCreateParams.class))).thenAnswer(invocation -> {
+            int n = round.incrementAndGet();
+            return OpenAIResponseFakes.fakeResponse("r" + n, n <= 3 ? OpenAIResponseFakes.functionCallJson("read", "c" + n)
+                    : OpenAIResponseFakes.messageJson("done"));
+        });
+        TestConfigurators.MapBackedConfigurator conf = TestConfigurators.mapBacked();
+        conf.put(AbstractAIProvider.COMPACTION_TOKENS_PROP_NAME, "600");
+        conf.put(AbstractAIProvider.COMPACTION_KEEP_TURNS_PROP_NAME, "1");
+        OpenAIProvider provider = new OpenAIProvider() {
+            @Override
+            public OpenAIClient getClient() {
+                return client;
+            }
+        };
+        provider.init("gpt-test", conf);
+        provider.addTool("read", "Reads a file", (params, byType) -> LARGE);
+        provider.prompt("task");
+
+        // Act
+        String result = provider.perform();
+
+        // Assert
+        assertEquals("done", result);
+        List<ResponseInputItem> inputs = provider.inputs;
+        assertEquals(7, inputs.size());
+        assertTrue(inputs.get(0).isMessage());
+        assertTrue(inputs.get(2).asFunctionCallOutput().output().string().get().contains("omitted to save context"));
+        assertTrue(inputs.get(4).asFunctionCallOutput().output().string().get().contains("omitted to save context"));
+        assertTrue(inputs.get(6).asFunctionCallOutput().output().string().get().contains(LARGE));
+    }
+
+    private static List<ConversationItem> conversation() {
+        List<ConversationItem> items = new ArrayList<>();
+        items.add(ConversationItem.of(Kind.MESSAGE, "user", "task", 1, "prompt"));
+        for (int i = 0; i < 3; i++) {
+            int group = i + 2;
+            items.add(ConversationItem.of(Kind.TOOL_CALL, "read", "{}", group, "call" + i));
+            items.add(ConversationItem.of(Kind.TOOL_RESULT, "read", LARGE, group, "result" + i));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,137 @@
+package org.machanism.machai.ai.provider.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.machanism.macha.core.commons.configurator.Configurator;
+import org.machanism.machai.ai.provider.CachingEmbeddingProvider;
+import org.machanism.machai.ai.provider.EmbeddingCache;
+import org.machanism.machai.ai.provider.EmbeddingProvider;
+
+/** Unit tests for the persistent embedding cache and its provider decorator. */
+class EmbeddingCacheTest {
+
+    /** Size of one cached 4-dimensional vector record. */
+    private static final int RECORD = 32 + 4 + 4 * 4;
+
+    @TempDir
+    File dir;
+
+    @Test
+    void vectorsSurviveReopen() throws Exception {
+        // Arrange
+        EmbeddingCache cache = EmbeddingCache.open(dir);
+        cache.put("m", 4, "text", new float[] { 1f, 2f, 3f, 4f });
+
+        // Act
+        cache.close();
+        EmbeddingCache reopened = EmbeddingCache.open(dir);
+
+        // Assert
+        assertArrayEquals(new float[] { 1f, 2f, 3f, 4f }, reopened.get("m", 4, "text"));
+        assertNull(reopened.get("m", 8, "text"));
+        assertNull(reopened.get("other", 4, "text"));
+        assertSame(reopened, EmbeddingCache.open(dir));
+        reopened.close();
+    }
+
+    @Test
+    void leastRecentlyUsedEntriesAreEvictedAndFileIsCompacted() throws Exception {
+        // Arrange
+        EmbeddingCache cache = EmbeddingCache.open(dir, 16 + 4 * RECORD);
+        for (String text : Arrays.asList("a", "b", "c", "d")) {
+            cache.put("m", 4, text, new float[] { text.charAt(0), 0f, 0f, 0f });
+        }
+        assertNotNull(cache.get("m", 4, "a"));
+
+        // Act
+        cache.put("m", 4, "e", new float[] { 'e', 0f, 0f, 0f });
+        cache.close();
+        EmbeddingCache reopened = EmbeddingCache.open(dir, 16 + 4 * RECORD);
+
+        // Assert
+        assertEquals(4, reopened.size());
+        assertNull(reopened.get("m", 4, "b"));
+        for (String text : Arrays.asList("a", "c", "d", "e")) {
+            assertEquals(text.charAt(0), reopened.get("m", 4, text)[0]);
+        }
+        reopened.close();
+    }
+
+    @Test
+    void evictionsStayEvictedAfterReopen() throws Exception {
+        // Arrange
+        EmbeddingCache cache = EmbeddingCache.open(dir, 16 + 8 * RECORD);
+        for (String text : Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h")) {
+            cache.put("m", 4, text, new float[] { text.charAt(0), 0f, 0f, 0f });
+        }
+        cache.close();
+
+        // Act
+        EmbeddingCache shrunk = EmbeddingCache.open(dir, 16 + 4 * RECORD);
+        int shrunkSize = shrunk.size();
+        shrunk.put("m", 4, "i", new float[] { 'i', 0f, 0f, 0f });
+        int afterPut = shrunk.size();
+        shrunk.close();
+        EmbeddingCache reopened = EmbeddingCache.open(dir, 16 + 8 * RECORD);
+
+        // Assert
+        assertEquals(3, shrunkSize);
+        assertEquals(afterPut, reopened.size());
+        assertNull(reopened.get("m", 4, "a"));
+        assertNull(reopened.get("m", 4, "b"));
+        assertEquals('i', reopened.get("m", 4, "i")[0]);
+        reopened.close();
+    }
+
+    @Test
+    void decoratorRequestsOnlyMissingTexts() throws Exception {
+        // Arrange
+        List<List<String>> requests = new ArrayList<>();
+        EmbeddingProvider delegate = new EmbeddingProvider() {
+            @Override
+            public void init(String model, Configurator conf) {
+            }
+
+            @Override
+            public List<Double> embedding(String text, long dimensions) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public float[][] embeddings(List<String> texts, long dimensions) {
+                requests.add(new ArrayList<>(texts));
+                float[][] result = new float[texts.size()][];
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = new float[] { texts.get(i).length() };
+                }
+                return result;
+            }
+        };
+        EmbeddingCache cache = EmbeddingCache.open(dir);
+        CachingEmbeddingProvider provider = new CachingEmbeddingProvider(delegate, "OpenAI:embed", cache);
+
+        // Act
+        provider.embeddings(Arrays.asList("a", "bb"), 1);
+        float[][] vectors = provider.embeddings(Arrays.asList("bb", null, "ccc"), 1);
+        List<Double> single = provider.embedding("a", 1);
+
+        // Assert
+        assertEquals(Arrays.asList(Arrays.asList("a", "bb"), Arrays.asList("ccc")), requests);
+        assertArrayEquals(new float[] { 2f }, vectors[0]);
+        assertNull(vectors[1]);
+        assertArrayEquals(new float[] { 3f }, vectors[2]);
+        assertEquals(Arrays.asList(1.0), single);
+        cache.close();
+    }
+}
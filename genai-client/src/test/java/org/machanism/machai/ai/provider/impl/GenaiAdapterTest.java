@@ -2,6 +2,7 @@ package org.machanism.machai.ai.provider.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -10,10 +11,17 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 import org.machanism.machai.ai.provider.Genai;
 import org.machanism.machai.ai.provider.GenaiAdapter;
+import org.machanism.machai.ai.provider.GenaiEvent;
 
 /** Verifies every adapter operation is delegated to its provider. */
 class GenaiAdapterTest {
@@ -50,4 +58,75 @@ class GenaiAdapterTest {
         verify(delegate).setErrorHandling(true);
         assertThrows(IllegalArgumentException.class, () -> adapter.setProvider(null));
     }
+
+    @Test
+    void streamingPerformDelegatesToProvider() {
+        // Arrange
+        Genai delegate = mock(Genai.class);
+        Consumer<GenaiEvent> listener = event -> { };
+        when(delegate.perform(listener)).thenReturn("streamed");
+        GenaiAdapter adapter = new GenaiAdapter();
+        adapter.setProvider(delegate);
+
+        // Act
+        String result = adapter.perform(listener);
+
+        // Assert
+        assertEquals("streamed", result);
+        verify(delegate).perform(listener);
+    }
+
+    @Test
+    void defaultStreamingPerformEmitsWholeResponseAsSingleDelta() {
+        // Arrange
+        NoneProvider provider = new NoneProvider() {
+            @Override
+            public String perform() {
+                return "full answer";
+            }
+        };
+        List<GenaiEvent> events = new ArrayList<>();
+
+        // Act
+        String result = provider.perform(events::add);
+
+        // Assert
+        assertEquals("full answer", result);
+        assertEquals(1, events.size());
+        assertEquals(GenaiEvent.Type.TEXT_DELTA, events.get(0).getType());
+        assertEquals("full answer", events.get(0).getText());
+        assertEquals("full answer", provider.perform((Consumer<GenaiEvent>) null));
+    }
+
+    @Test
+    void asyncPerformDelegatesAndDefaultsToBlockingPerform() throws Exception {
+        // Arrange
+        Genai delegate = mock(Genai.class);
+        when(delegate.performAsync()).thenReturn(CompletableFuture.completedFuture("async"));
+        GenaiAdapter adapter = new GenaiAdapter();
+        adapter.setProvider(delegate);
+        NoneProvider blocking = new NoneProvider() {
+            @Override
+            public String perform() {
+                return "blocking";
+            }
+        };
+
+        // Act and assert
+        assertEquals("async", adapter.performAsync().get(5, TimeUnit.SECONDS));
+        assertEquals("blocking", blocking.performAsync().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void asyncStartupFailureCompletesFutureExceptionally() {
+        // Arrange
+        OpenAIProvider provider = new OpenAIProvider();
+
+        // Act
+        CompletableFuture<String> future = provider.performAsync();
+
+        // Assert
+        assertTrue(future.isCompletedExceptionally());
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    }
 }
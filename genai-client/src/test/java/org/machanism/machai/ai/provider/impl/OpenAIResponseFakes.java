@@ -1,6 +1,8 @@
 package org.machanism.machai.ai.provider.impl;
 
 import com.openai.core.JsonValue;
+import com.openai.core.ObjectMappers;
+import com.openai.models.responses.Response;
 import com.openai.models.responses.ResponseFunctionToolCall;
 
 final class OpenAIResponseFakes {
@@ -12,4 +14,20 @@ final class OpenAIResponseFakes {
 		return ResponseFunctionToolCall.builder().name(name).arguments(arguments).callId(callId)
 				.type(JsonValue.from("function_call")).id("id-" + callId).build();
 	}
+
+	static Response fakeResponse(String id, String outputItemJson) throws Exception {
+		return ObjectMappers.jsonMapper().readValue("{\"id\":\"" + id + "\",\"object\":\"response\",\"created_at\":1,"
+				+ "\"model\":\"gpt-test\",\"output\":[" + outputItemJson + "],\"parallel_tool_calls\":false,"
+				+ "\"tool_choice\":\"auto\",\"tools\":[]}", Response.class);
+	}
+
+	static String functionCallJson(String name, String callId) {
+		return "{\"type\":\"function_call\",\"id\":\"fc_" + callId + "\",\"call_id\":\"" + callId
+				+ "\",\"name\":\"" + name + "\",\"arguments\":\"{}\",\"status\":\"completed\"}";
+	}
+
+	static String messageJson(String text) {
+		return "{\"type\":\"message\",\"id\":\"msg\",\"role\":\"assistant\",\"status\":\"completed\","
+				+ "\"content\":[{\"type\":\"output_text\",\"text\":\"" + text + "\",\"annotations\":[]}]}";
+	}
 }
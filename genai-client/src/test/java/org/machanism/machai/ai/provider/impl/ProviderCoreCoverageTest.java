@@ -1,18 +1,32 @@
 package org.machanism.machai.ai.provider.impl;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
+import org.machanism.machai.ai.provider.AbstractAIProvider;
+import org.machanism.machai.ai.provider.RequestSize;
 import org.machanism.machai.ai.tools.ParamDescriptor;
 
 import com.anthropic.models.beta.messages.BetaMessageParam;
 import com.anthropic.models.beta.messages.MessageCreateParams;
+import com.openai.client.OpenAIClient;
+import com.openai.models.embeddings.CreateEmbeddingResponse;
+import com.openai.models.embeddings.Embedding;
+import com.openai.models.embeddings.EmbeddingCreateParams;
 import com.openai.models.responses.ResponseCreateParams;
 import com.openai.models.responses.ResponseUsage;
 
@@ -31,6 +45,130 @@ class ProviderCoreCoverageTest {
 		assertNull(result);
 	}
 
+	@Test
+	void openAiEmbeddingsAreRequestedInBatchesAndKeepInputOrder() {
+		// Arrange
+		OpenAIClient client = mock(OpenAIClient.class, RETURNS_DEEP_STUBS);
+		List<Integer> batchSizes = new ArrayList<>();
+		when(client.embeddings().create(any(EmbeddingCreateParams.class))).thenAnswer(invocation -> {
+			List<String> texts = invocation.<EmbeddingCreateParams>getArgument(0).input().asArrayOfStrings();
+			batchSizes.add(texts.size());
+			List<Embedding> data = new ArrayList<>();
+			for (int i = texts.size() - 1; i >= 0; i--) {
+				data.add(Embedding.builder().index(i).embedding(Arrays.asList((float) texts.get(i).length(), 0.5f))
+						.build());
+			}
+			return CreateEmbeddingResponse.builder().data(data).model("embed")
+					.usage(CreateEmbeddingResponse.Usage.builder().promptTokens(0).totalTokens(0).build()).build();
+		});
+		TestConfigurators.MapBackedConfigurator conf = TestConfigurators.mapBacked();
+		conf.put(OpenAIProvider.EMBEDDING_BATCH_SIZE_PROP_NAME, "2");
+		OpenAIProvider provider = new OpenAIProvider() {
+			@Override
+			public OpenAIClient getClient() {
+				return client;
+			}
+		};
+		provider.init("embed", conf);
+
+		// Act
+		float[][] vectors = provider.embeddings(Arrays.asList("a", null, "bbb", "cc", "dddd"), 2);
+		List<Double> single = provider.embedding("xyz", 2);
+
+		// Assert
+		assertEquals(Arrays.asList(2, 2, 1), batchSizes);
+		assertArrayEquals(new float[] { 1f, 0.5f }, vectors[0]);
+		assertNull(vectors[1]);
+		assertArrayEquals(new float[] { 3f, 0.5f }, vectors[2]);
+		assertArrayEquals(new float[] { 2f, 0.5f }, vectors[3]);
+		assertArrayEquals(new float[] { 4f, 0.5f }, vectors[4]);
+		assertEquals(Arrays.asList(3.0, 0.5), single);
+	}
+
+	@Test
+	void openAiChainedResponsesSendOnlyNewInputs() throws Exception {
+		// Arrange
+		OpenAIClient client = mock(OpenAIClient.class, RETURNS_DEEP_STUBS);
+		List<ResponseCreateParams> requests = new ArrayList<>();
+		when(client.responses().create(any(ResponseCreateParams.class))).thenAnswer(invocation -> {
+			requests.add(invocation.getArgument(0));
+			int n = requests.size();
+			return OpenAIResponseFakes.fakeResponse("resp_" + n,
+					n < 3 ? OpenAIResponseFakes.functionCallJson("read", "c" + n) : OpenAIResponseFakes.messageJson("done"));
+		});
+		TestConfigurators.MapBackedConfigurator conf = TestConfigurators.mapBacked();
+		conf.put(OpenAIProvider.CHAIN_RESPONSES_PROP_NAME, "true");
+		OpenAIProvider provider = new OpenAIProvider() {
+			@Override
+			public OpenAIClient getClient() {
+				return client;
+			}
+		};
+		provider.init("gpt-test", conf);
+		provider.addTool("read", "Reads a file", (params, byType) -> "content");
+		provider.prompt("task");
+
+		// Act
+		String result = provider.perform();
+		provider.prompt("next");
+		provider.perform();
+		provider.clear();
+		provider.prompt("fresh");
+		provider.perform();
+
+		// Assert
+		assertEquals("done", result);
+		assertEquals(5, requests.size());
+		assertEquals(Optional.of(true), requests.get(0).store());
+		assertEquals(Optional.empty(), requests.get(0).previousResponseId());
+		assertEquals(1, requests.get(0).input().get().asResponse().size());
+		for (int i = 1; i < 3; i++) {
+			ResponseCreateParams followUp = requests.get(i);
+			assertEquals(Optional.of("resp_" + i), followUp.previousResponseId());
+			assertEquals(1, followUp.input().get().asResponse().size());
+			assertTrue(followUp.input().get().asResponse().get(0).isFunctionCallOutput());
+		}
+		assertEquals(Optional.of("resp_3"), requests.get(3).previousResponseId());
+		assertTrue(requests.get(3).input().get().asResponse().get(0).isMessage());
+		assertEquals(Optional.empty(), requests.get(4).previousResponseId());
+		assertEquals(1, provider.inputs.size());
+	}
+
+	@Test
+	void openAiPreflightReportsSizesAndRejectsOversizedRequests() {
+		// Arrange
+		OpenAIClient client = mock(OpenAIClient.class, RETURNS_DEEP_STUBS);
+		when(client.responses().create(any(ResponseCreateParams.class)))
+				.thenAnswer(invocation -> OpenAIResponseFakes.fakeResponse("resp", OpenAIResponseFakes.messageJson("ok")));
+		TestConfigurators.MapBackedConfigurator conf = TestConfigurators.mapBacked();
+		conf.put(AbstractAIProvider.MAX_INPUT_TOKENS_PROP_NAME, "200");
+		OpenAIProvider provider = new OpenAIProvider() {
+			@Override
+			public OpenAIClient getClient() {
+				return client;
+			}
+		};
+		provider.init("gpt-4.1", conf);
+		provider.instructions("Answer briefly.");
+		provider.addTool("read", "Reads a file", (params, byType) -> "content");
+		provider.prompt("What is in the file?");
+
+		// Act
+		String result = provider.perform();
+		RequestSize size = provider.getLastRequestSize();
+		provider.prompt(String.join(" ", java.util.Collections.nCopies(300, "word")));
+
+		// Assert
+		assertEquals("ok", result);
+		assertEquals(3, size.getInstructions());
+		assertTrue(size.getTools() > 0);
+		assertTrue(size.getHistory() > 0);
+		assertEquals(0, size.getToolResults());
+		assertEquals(size.getInstructions() + size.getTools() + size.getHistory(), size.getTotal());
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class, provider::perform);
+		assertTrue(error.getMessage().contains(AbstractAIProvider.MAX_INPUT_TOKENS_PROP_NAME));
+	}
+
 	@Test
 	void anthropicBuildsRequestAndIgnoresBlankPrompts() throws Exception {
 		ExposedAnthropic p = new ExposedAnthropic();
@@ -48,6 +186,35 @@ class ProviderCoreCoverageTest {
 		assertTrue(p.inputs().isEmpty());
 	}
 
+	@Test
+	void anthropicPlacesToolSystemAndSlidingCacheBreakpoints() throws Exception {
+		// Arrange
+		ExposedAnthropic p = new ExposedAnthropic();
+		p.init("claude-test", TestConfigurators.mapBacked());
+		p.instructions("system");
+		p.register("lookup", new ParamDescriptor("q", "string", true, "query", null));
+		p.prompt("question");
+
+		// Act
+		MessageCreateParams first = p.request();
+		p.prompt("follow-up");
+		p.prompt("another");
+		MessageCreateParams second = p.request();
+
+		// Assert
+		assertEquals(3, countCacheBreakpoints(first));
+		assertEquals(4, countCacheBreakpoints(second));
+		assertTrue(p.inputs().get(0).content().isString());
+		assertTrue(second.messages().get(0).content().isBetaContentBlockParams());
+		assertTrue(second.messages().get(1).content().isString());
+		assertTrue(second.messages().get(2).content().isBetaContentBlockParams());
+	}
+
+	private static int countCacheBreakpoints(MessageCreateParams request) throws Exception {
+		String json = com.anthropic.core.ObjectMappers.jsonMapper().writeValueAsString(request._body());
+		return json.split("\"cache_control\"", -1).length - 1;
+	}
+
 	@Test
 	void codeMieRejectsUnsupportedModelAndUninitializedEmbedding() {
 		CodeMieProvider p = new CodeMieProvider();
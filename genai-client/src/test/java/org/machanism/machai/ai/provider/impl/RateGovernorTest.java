@@ -0,0 +1,227 @@
+package org.machanism.machai.ai.provider.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.machanism.machai.ai.provider.AbstractAIProvider;
+import org.machanism.machai.ai.provider.RateGovernor;
+
+import com.openai.client.OpenAIClient;
+import com.openai.core.ObjectMappers;
+import com.openai.core.http.Headers;
+import com.openai.errors.BadRequestException;
+import com.openai.errors.RateLimitException;
+import com.openai.models.embeddings.CreateEmbeddingResponse;
+import com.openai.models.embeddings.EmbeddingCreateParams;
+import com.openai.models.responses.Response;
+import com.openai.models.responses.ResponseCreateParams;
+
+/** Unit tests for the shared rate governor and provider retries. */
+class RateGovernorTest {
+
+	/** Minimal Responses API payload with one assistant message. */
+	private static final String RESPONSE_JSON = "{\"id\":\"resp_1\",\"object\":\"response\",\"created_at\":1,"
+			+ "\"model\":\"gpt-test\",\"output\":[{\"type\":\"message\",\"id\":\"msg_1\",\"role\":\"assistant\","
+			+ "\"status\":\"completed\",\"content\":[{\"type\":\"output_text\",\"text\":\"answer\","
+			+ "\"annotations\":[]}]}],\"parallel_tool_calls\":false,\"tool_choice\":\"auto\",\"tools\":[]}";
+
+	/** Minimal embeddings payload with one two-dimensional vector. */
+	private static final String EMBEDDING_JSON = "{\"object\":\"list\",\"model\":\"text-embedding-test\","
+			+ "\"data\":[{\"object\":\"embedding\",\"index\":0,\"embedding\":[0.5,1.0]}],"
+			+ "\"usage\":{\"prompt_tokens\":1,\"total_tokens\":1}}";
+
+	@AfterEach
+	void resetGovernors() {
+		RateGovernor.reset();
+	}
+
+	@Test
+	void bucketAllowsBurstThenPacesRequests() {
+		// Arrange
+		RateGovernor governor = RateGovernor.get("Test:pacing", 60, 0);
+
+		// Act
+		long first = governor.reserve(0);
+		long[] waits = new long[10];
+		for (int i = 0; i < waits.length; i++) {
+			waits[i] = governor.reserve(0);
+		}
+
+		// Assert
+		assertEquals(0, first);
+		assertEquals(0, waits[8], "ten seconds of 60 rpm fit in the bucket");
+		assertTrue(waits[9] > 500 && waits[9] <= 1000, "the eleventh request waits for one refill: " + waits[9]);
+		assertSame(governor, RateGovernor.get("Test:pacing", 1, 1));
+		assertNotSame(governor, RateGovernor.get("Test:other", 60, 0));
+	}
+
+	@Test
+	void tokensPerMinuteLimitsLargeRequests() {
+		// Arrange
+		RateGovernor governor = RateGovernor.get("Test:tokens", 0, 6000);
+
+		// Act
+		long fits = governor.reserve(1000);
+		long exceeds = governor.reserve(1000);
+
+		// Assert
+		assertEquals(0, fits);
+		assertTrue(exceeds > 9000 && exceeds <= 10000, "1000 tokens at 100 tokens/s: " + exceeds);
+	}
+
+	@Test
+	void rateLimitsHalveTheRateAndSuccessesRestoreIt() {
+		// Arrange
+		RateGovernor governor = RateGovernor.get("Test:aimd", 600, 0);
+
+		// Act
+		long pause = governor.onRateLimited(200);
+		double afterFirst = governor.getFactor();
+		governor.onRateLimited(0);
+		double afterSecond = governor.getFactor();
+		long wait = governor.reserve(0);
+		for (int i = 0; i < 20; i++) {
+			governor.onSuccess();
+		}
+
+		// Assert
+		assertTrue(pause >= 200 && pause <= 221, "Retry-After plus jitter: " + pause);
+		assertEquals(0.5, afterFirst, 1e-9);
+		assertEquals(0.25, afterSecond, 1e-9);
+		assertTrue(wait > 0, "requests wait for the pause");
+		assertEquals(1.0, governor.getFactor(), 1e-9);
+	}
+
+	@Test
+	void retryAfterIsReadFromProviderHeaders() {
+		// Arrange
+		Map<String, List<String>> retryAfter = new HashMap<>();
+		retryAfter.put("retry-after", Collections.singletonList("2"));
+		Map<String, List<String>> retryAfterMs = new HashMap<>();
+		retryAfterMs.put("retry-after-ms", Collections.singletonList("150"));
+		retryAfterMs.put("retry-after", Collections.singletonList("2"));
+		Map<String, List<String>> openAi = new HashMap<>();
+		openAi.put("x-ratelimit-remaining-requests", Collections.singletonList("10"));
+		openAi.put("x-ratelimit-reset-requests", Collections.singletonList("1s"));
+		openAi.put("x-ratelimit-remaining-tokens", Collections.singletonList("0"));
+		openAi.put("x-ratelimit-reset-tokens", Collections.singletonList("1m2.5s"));
+		Map<String, List<String>> anthropic = new HashMap<>();
+		anthropic.put("anthropic-ratelimit-input-tokens-remaining", Collections.singletonList("0"));
+		anthropic.put("anthropic-ratelimit-input-tokens-reset",
+				Collections.singletonList(Instant.now().plusSeconds(30).toString()));
+
+		// Act
+		long seconds = RateGovernor.retryAfterMillis(retryAfter::get);
+		long millis = RateGovernor.retryAfterMillis(retryAfterMs::get);
+		long reset = RateGovernor.retryAfterMillis(openAi::get);
+		long instant = RateGovernor.retryAfterMillis(anthropic::get);
+		long none = RateGovernor.retryAfterMillis(name -> null);
+
+		// Assert
+		assertEquals(2000, seconds);
+		assertEquals(150, millis);
+		assertEquals(62500, reset);
+		assertTrue(instant > 28000 && instant <= 30000, "until the reset instant: " + instant);
+		assertEquals(0, none);
+	}
+
+	@Test
+	void providerRetriesRateLimitedRequests() throws Exception {
+		// Arrange
+		AtomicInteger calls = new AtomicInteger();
+		OpenAIClient client = mock(OpenAIClient.class, RETURNS_DEEP_STUBS);
+		when(client.responses().create(any(ResponseCreateParams.class))).thenAnswer(invocation -> {
+			if (calls.incrementAndGet() == 1) {
+				throw RateLimitException.builder()
+						.headers(Headers.builder().put("retry-after-ms", "20").build()).build();
+			}
+			return ObjectMappers.jsonMapper().readValue(RESPONSE_JSON, Response.class);
+		});
+		OpenAIProvider provider = provider(client);
+		provider.prompt("question");
+
+		// Act
+		String answer = provider.perform();
+
+		// Assert
+		assertEquals("answer", answer);
+		assertEquals(2, calls.get());
+		assertEquals(0.55, RateGovernor.get("OpenAI:gpt-test", 0, 0).getFactor(), 1e-9);
+	}
+
+	@Test
+	void providerDoesNotRetryFinalErrors() {
+		// Arrange
+		AtomicInteger calls = new AtomicInteger();
+		OpenAIClient client = mock(OpenAIClient.class, RETURNS_DEEP_STUBS);
+		when(client.responses().create(any(ResponseCreateParams.class))).thenAnswer(invocation -> {
+			calls.incrementAndGet();
+			throw BadRequestException.builder().headers(Headers.builder().build()).build();
+		});
+		OpenAIProvider provider = provider(client);
+		provider.prompt("question");
+
+		// Act and assert
+		assertThrows(RuntimeException.class, provider::perform);
+		assertEquals(1, calls.get());
+		assertEquals(1.0, RateGovernor.get("OpenAI:gpt-test", 0, 0).getFactor(), 1e-9);
+	}
+
+	@Test
+	void asyncEmbeddingsAreRetriedThroughTheGovernor() throws Exception {
+		// Arrange
+		AtomicInteger calls = new AtomicInteger();
+		OpenAIClient client = mock(OpenAIClient.class, RETURNS_DEEP_STUBS);
+		when(client.async().embeddings().create(any(EmbeddingCreateParams.class))).thenAnswer(invocation -> {
+			CompletableFuture<CreateEmbeddingResponse> result = new CompletableFuture<>();
+			if (calls.incrementAndGet() == 1) {
+				result.completeExceptionally(RateLimitException.builder()
+						.headers(Headers.builder().put("retry-after-ms", "20").build()).build());
+			} else {
+				result.complete(ObjectMappers.jsonMapper().readValue(EMBEDDING_JSON, CreateEmbeddingResponse.class));
+			}
+			return result;
+		});
+		OpenAIProvider provider = provider(client);
+
+		// Act
+		List<Double> vector = provider.embeddingAsync("text", 2).get(5, TimeUnit.SECONDS);
+
+		// Assert
+		assertEquals(Arrays.asList(0.5, 1.0), vector);
+		assertEquals(2, calls.get());
+		assertEquals(0.55, RateGovernor.get("OpenAI:gpt-test", 0, 0).getFactor(), 1e-9);
+	}
+
+	private OpenAIProvider provider(OpenAIClient client) {
+		TestConfigurators.MapBackedConfigurator conf = TestConfigurators.mapBacked();
+		conf.put(AbstractAIProvider.MAX_RETRIES_PROP_NAME, "2");
+		OpenAIProvider provider = new OpenAIProvider() {
+			@Override
+			public OpenAIClient getClient() {
+				return client;
+			}
+		};
+		provider.init("gpt-test", conf);
+		return provider;
+	}
+}
@@ -0,0 +1,171 @@
+package org.machanism.machai.ai.provider.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.machanism.machai.ai.provider.AbstractAIProvider;
+import org.machanism.machai.ai.provider.ResponseCache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openai.client.OpenAIClient;
+import com.openai.core.ObjectMappers;
+import com.openai.models.responses.Response;
+import com.openai.models.responses.ResponseCreateParams;
+
+/** Unit tests for record/replay of model responses. */
+class ResponseCacheTest {
+
+    /** Minimal Responses API payload with one assistant message. */
+    private static final String RESPONSE_JSON = "{\"id\":\"resp_1\",\"object\":\"response\",\"created_at\":1,"
+            + "\"model\":\"gpt-test\",\"output\":[{\"type\":\"message\",\"id\":\"msg_1\",\"role\":\"assistant\","
+            + "\"status\":\"completed\",\"content\":[{\"type\":\"output_text\",\"text\":\"recorded answer\","
+            + "\"annotations\":[]}]}],\"parallel_tool_calls\":false,\"tool_choice\":\"auto\",\"tools\":[]}";
+
+    @TempDir
+    File dir;
+
+    @Test
+    void keyIgnoresPropertyOrderAndSeparatesProviders() {
+        // Arrange
+        ResponseCache cache = ResponseCache.create("read-through", dir.getAbsolutePath());
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("model", "m");
+        first.put("input", "hello");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("input", "hello");
+        second.put("model", "m");
+
+        // Act
+        String key = cache.key("OpenAIProvider", first, mapper);
+
+        // Assert
+        assertEquals(key, cache.key("OpenAIProvider", second, mapper));
+        assertNotEquals(key, cache.key("AnthropicProvider", first, mapper));
+        assertNull(ResponseCache.DISABLED.key("OpenAIProvider", first, mapper));
+        assertSame(ResponseCache.DISABLED, ResponseCache.create("off", null));
+        assertThrows(IllegalArgumentException.class, () -> ResponseCache.create("sometimes", null));
+    }
+
+    @Test
+    void recordedResponsesAreReplayedWithoutCallingTheModel() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        OpenAIClient client = mock(OpenAIClient.class, RETURNS_DEEP_STUBS);
+        when(client.responses().create(any(ResponseCreateParams.class))).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            return ObjectMappers.jsonMapper().readValue(RESPONSE_JSON, Response.class);
+        });
+        OpenAIProvider recorder = provider(client, "record");
+
+        // Act
+        recorder.prompt("question");
+        String recorded = recorder.perform();
+        OpenAIProvider replayer = provider(client, "replay-only");
+        replayer.prompt("question");
+        String replayed = replayer.perform();
+
+        // Assert
+        assertEquals("recorded answer", recorded);
+        assertEquals("recorded answer", replayed);
+        assertEquals(1, calls.get());
+        try (Stream<java.nio.file.Path> files = Files.walk(dir.toPath())) {
+            assertEquals(1, files.filter(path -> path.toString().endsWith(".json.gz")).count());
+        }
+    }
+
+    @Test
+    void replayOnlyMissFailsAndReadThroughRecordsMisses() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        OpenAIClient client = mock(OpenAIClient.class, RETURNS_DEEP_STUBS);
+        when(client.responses().create(any(ResponseCreateParams.class))).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            return ObjectMappers.jsonMapper().readValue(RESPONSE_JSON, Response.class);
+        });
+        OpenAIProvider replayOnly = provider(client, "replay-only");
+        replayOnly.prompt("unseen");
+
+        // Act
+        assertThrows(IllegalStateException.class, replayOnly::perform);
+        for (int i = 0; i < 2; i++) {
+            OpenAIProvider readThrough = provider(client, "read-through");
+            readThrough.prompt("unseen");
+            assertEquals("recorded answer", readThrough.perform());
+        }
+
+        // Assert
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void liveRequestAfterReplayDoesNotChainToReplayedResponse() throws Exception {
+        // Arrange
+        List<ResponseCreateParams> requests = new ArrayList<>();
+        OpenAIClient client = mock(OpenAIClient.class, RETURNS_DEEP_STUBS);
+        when(client.responses().create(any(ResponseCreateParams.class))).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            return ObjectMappers.jsonMapper().readValue(RESPONSE_JSON, Response.class);
+        });
+        OpenAIProvider recorder = provider(client, "record", true);
+        recorder.prompt("question");
+        recorder.perform();
+        requests.clear();
+        OpenAIProvider replayer = provider(client, "read-through", true);
+
+        // Act
+        replayer.prompt("question");
+        String replayed = replayer.perform();
+        replayer.prompt("follow-up");
+        replayer.perform();
+        replayer.prompt("another");
+        replayer.perform();
+
+        // Assert
+        assertEquals("recorded answer", replayed);
+        assertEquals(2, requests.size());
+        assertEquals(Optional.empty(), requests.get(0).previousResponseId());
+        assertTrue(requests.get(0).input().get().asResponse().size() > 1);
+        assertEquals(Optional.of("resp_1"), requests.get(1).previousResponseId());
+        assertEquals(1, requests.get(1).input().get().asResponse().size());
+    }
+
+    private OpenAIProvider provider(OpenAIClient client, String mode) {
+        return provider(client, mode, false);
+    }
+
+    private OpenAIProvider provider(OpenAIClient client, String mode, boolean chain) {
+        TestConfigurators.MapBackedConfigurator conf = TestConfigurators.mapBacked();
+        conf.put(OpenAIProvider.CHAIN_RESPONSES_PROP_NAME, String.valueOf(chain));
+        conf.put(AbstractAIProvider.REPLAY_MODE_PROP_NAME, mode);
+        conf.put(AbstractAIProvider.REPLAY_DIR_PROP_NAME, dir.getAbsolutePath());
+        OpenAIProvider provider = new OpenAIProvider() {
+            @Override
+            public OpenAIClient getClient() {
+                return client;
+            }
+        };
+        provider.init("gpt-test", conf);
+        return provider;
+    }
+}
@@ -0,0 +1,133 @@
+package org.machanism.machai.ai.provider.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.machanism.machai.ai.manager.GenaiProviderManager;
+import org.machanism.machai.ai.manager.UsageStatistics;
+import org.machanism.machai.ai.provider.AbstractAIProvider;
+import org.machanism.machai.ai.provider.Genai;
+import org.machanism.machai.ai.provider.RateGovernor;
+
+/** Unit tests for the scripted model simulator. */
+class SimulatedProviderTest {
+
+	@TempDir
+	File dir;
+
+	@AfterEach
+	void reset() {
+		UsageStatistics.reset();
+		RateGovernor.reset();
+	}
+
+	@Test
+	void matchingScenarioCallsToolsAndReturnsAnswer() throws Exception {
+		// Arrange
+		File script = script("tokens: {output: 7}\n"
+				+ "scenarios:\n"
+				+ "  - match: 'file: (\\S+\\.java)'\n"
+				+ "    steps:\n"
+				+ "      - tool: read_it\n"
+				+ "        params: {path: '${1}'}\n"
+				+ "      - calls:\n"
+				+ "          - {tool: read_it, params: {path: 'a'}}\n"
+				+ "          - {tool: missing}\n"
+				+ "    answer: 'Reviewed ${1}'\n"
+				+ "  - answer: 'Nothing to do.'\n");
+		SimulatedProvider provider = provider(script, 0);
+		List<String> paths = new ArrayList<>();
+		provider.addTool("read_it", "reads", (params, context) -> {
+			paths.add(params.get("path").asText());
+			return "content";
+		});
+
+		// Act
+		provider.prompt("file: src/Main.java");
+		String answer = provider.perform();
+		provider.clear();
+		provider.prompt("file: README.md");
+		String fallback = provider.perform();
+
+		// Assert
+		assertEquals("Reviewed src/Main.java", answer);
+		assertEquals("Nothing to do.", fallback);
+		assertEquals(2, paths.size());
+		assertEquals("src/Main.java", paths.get(0));
+		assertEquals("a", paths.get(1));
+		assertEquals(4, UsageStatistics.getModelMetrics("Simulated:sim").getCalls());
+		assertEquals(28, UsageStatistics.getUsageForModel("Simulated:sim").getOutputTokens());
+	}
+
+	@Test
+	void injectedRateLimitsAreRetriedAndReported() throws Exception {
+		// Arrange
+		File script = script("errors: {rateLimit: 1.0, retryAfterMs: 1}\n");
+		SimulatedProvider provider = provider(script, 1);
+		provider.prompt("question");
+
+		// Act
+		SimulatedProvider.SimulatedException error = assertThrows(SimulatedProvider.SimulatedException.class,
+				provider::perform);
+
+		// Assert
+		assertEquals(429, error.getStatusCode());
+		assertEquals(2, UsageStatistics.getModelMetrics("Simulated:sim").getErrors());
+		assertEquals(0.25, RateGovernor.get("Simulated:sim", 0, 0).getFactor(), 1e-9);
+	}
+
+	@Test
+	void latencyFollowsTheConfiguredDistribution() throws Exception {
+		// Arrange
+		File script = script("seed: 7\nlatency: {distribution: lognormal, mean: 800, stddev: 400, max: 5000}\n");
+		SimulatedProvider provider = provider(script, 0);
+
+		// Act
+		double sum = 0;
+		long max = 0;
+		for (int i = 0; i < 5000; i++) {
+			long latency = provider.sampleLatency();
+			sum += latency;
+			max = Math.max(max, latency);
+		}
+
+		// Assert
+		assertEquals(800, sum / 5000, 40);
+		assertTrue(max <= 5000);
+	}
+
+	@Test
+	void providerIsRegisteredWithTheManager() {
+		// Act
+		Genai provider = GenaiProviderManager.getProvider("Simulated:none", TestConfigurators.mapBacked());
+		provider.prompt("question");
+
+		// Assert
+		assertEquals(SimulatedProvider.DEFAULT_ANSWER, provider.perform());
+	}
+
+	private File script(String text) throws Exception {
+		File file = new File(dir, "sim.yaml");
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private SimulatedProvider provider(File script, int maxRetries) {
+		TestConfigurators.MapBackedConfigurator conf = TestConfigurators.mapBacked();
+		conf.put(SimulatedProvider.SCRIPT_PROP_NAME, script.getAbsolutePath());
+		conf.put(AbstractAIProvider.MAX_RETRIES_PROP_NAME, Integer.toString(maxRetries));
+		SimulatedProvider provider = new SimulatedProvider();
+		provider.init("sim", conf);
+		return provider;
+	}
+}
@@ -1,12 +1,20 @@
 package org.machanism.machai.ai.provider.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
+import org.machanism.machai.ai.provider.AbstractAIProvider;
 import org.machanism.machai.ai.tools.ToolFunction;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -77,4 +85,69 @@ class ToolsProviderTest {
         // Act and assert
         assertThrows(IllegalArgumentException.class, provider::perform);
     }
+
+    @Test
+    void oversizedResultIsSpilledAndReadBackInPages() {
+        // Arrange
+        TestConfigurators.MapBackedConfigurator conf = TestConfigurators.mapBacked();
+        conf.put(AbstractAIProvider.TOOL_RESULT_MAX_CHARS_PROP_NAME, "100");
+        conf.put(AbstractAIProvider.TOOL_RESULT_MAX_CHARS_PROP_NAME + ".small", "1000");
+        ExposedToolsProvider provider = new ExposedToolsProvider();
+        provider.init("yaml", conf);
+        String output = StringUtils.repeat('a', 200) + StringUtils.repeat('b', 200) + StringUtils.repeat('c', 100);
+        provider.register("dump", (params, context) -> output);
+        provider.register("small", (params, context) -> output);
+
+        // Act
+        provider.prompt("tool: dump\nparams: {}");
+        String preview = provider.perform();
+        provider.prompt("tool: read_spilled_result\nparams:\n  handle: spill-1\n  offset: 150\n  length: 500");
+        String page = provider.perform();
+        provider.prompt("tool: small\nparams: {}");
+        String small = provider.perform();
+
+        // Assert
+        assertTrue(preview.contains("500 characters"));
+        assertTrue(preview.contains("\"spill-1\""));
+        assertTrue(preview.contains(StringUtils.repeat('a', 75) + "\n"));
+        assertTrue(preview.endsWith("\n" + StringUtils.repeat('c', 25)));
+        assertTrue(page.startsWith("[spill-1 characters 150-250 of 500; continue with offset 250]\n"));
+        assertTrue(page.endsWith(StringUtils.repeat('a', 50) + StringUtils.repeat('b', 50)));
+        assertEquals(output, small);
+    }
+
+    @Test
+    void clearDeletesSpilledResultsAndTheirDirectory() throws Exception {
+        // Arrange
+        TestConfigurators.MapBackedConfigurator conf = TestConfigurators.mapBacked();
+        conf.put(AbstractAIProvider.TOOL_RESULT_MAX_CHARS_PROP_NAME, "100");
+        ExposedToolsProvider provider = new ExposedToolsProvider();
+        provider.init("yaml", conf);
+        provider.register("dump", (params, context) -> StringUtils.repeat('x', 500));
+        File spillRoot = new File(System.getProperty("java.io.tmpdir"), ".machai/spill");
+        Set<File> before = sessions(spillRoot);
+        provider.prompt("tool: dump\nparams: {}");
+        provider.perform();
+        Set<File> created = sessions(spillRoot);
+        created.removeAll(before);
+
+        // Act
+        provider.clear();
+
+        // Assert
+        assertEquals(1, created.size());
+        File session = created.iterator().next();
+        assertFalse(session.exists());
+        provider.prompt("tool: dump\nparams: {}");
+        provider.perform();
+        provider.close();
+        Set<File> remaining = sessions(spillRoot);
+        remaining.removeAll(before);
+        assertTrue(remaining.isEmpty());
+    }
+
+    private static Set<File> sessions(File spillRoot) {
+        File[] dirs = spillRoot.listFiles((dir, name) -> name.startsWith("session-"));
+        return dirs == null ? new HashSet<>() : new HashSet<>(Arrays.asList(dirs));
+    }
 }
@@ -0,0 +1,51 @@
+package org.machanism.machai.ai.tokenizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TokenEstimatorTest {
+
+	@Test
+	void forModel_selectsEncodingByModelFamily() {
+		// Act & Assert
+		assertSame(Encoding.O200K_BASE, Encoding.forModel("OpenAI:gpt-4.1"));
+		assertSame(Encoding.O200K_BASE, Encoding.forModel("gpt-5-mini"));
+		assertSame(Encoding.O200K_BASE, Encoding.forModel("o3"));
+		assertSame(Encoding.CL100K_BASE, Encoding.forModel("gpt-4-turbo"));
+		assertSame(Encoding.CLAUDE, Encoding.forModel("claude-sonnet-4-5"));
+		assertSame(Encoding.O200K_BASE, Encoding.forModel(null));
+		assertSame(TokenEstimator.forModel("gpt-4o"), Encoding.O200K_BASE.estimator());
+	}
+
+	@Test
+	void count_followsPreTokenizerPieces() {
+		// Arrange
+		TokenEstimator estimator = Encoding.O200K_BASE.estimator();
+
+		// Act & Assert
+		assertEquals(0, estimator.count(null));
+		assertEquals(0, estimator.count(""));
+		assertEquals(2, estimator.count("Hello world"));
+		assertEquals(3, estimator.count("I'm here"));
+		assertEquals(2, estimator.count("123456"));
+		assertTrue(estimator.count("AbstractAIProviderConfigurationException") > 3);
+	}
+
+	@Test
+	void count_isHigherForSmallerVocabularies() {
+		// Arrange
+		String text = "Die Konfiguration wird gelesen. 設定ファイルを読み込みます。 {\"name\": \"read_file\"}";
+
+		// Act
+		long o200k = Encoding.O200K_BASE.estimator().count(text);
+		long cl100k = Encoding.CL100K_BASE.estimator().count(text);
+		long claude = Encoding.CLAUDE.estimator().count(text);
+
+		// Assert
+		assertTrue(o200k < cl100k);
+		assertTrue(cl100k < claude);
+	}
+}
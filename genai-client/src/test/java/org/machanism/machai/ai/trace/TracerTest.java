@@ -0,0 +1,99 @@
+package org.machanism.machai.ai.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TracerTest {
+
+	@TempDir
+	Path tempDir;
+
+	@AfterEach
+	void disableTracing() {
+		Tracer.disable();
+	}
+
+	@Test
+	void disabledTracerReturnsNoopSpans() {
+		// Act
+		Span span = Tracer.start("perform", Tracer.CATEGORY_GENAI);
+		span.attribute("model", "OpenAI:gpt-test").close();
+
+		// Assert
+		assertSame(Span.NOOP, span);
+		assertTrue(Tracer.getFinishedSpans().isEmpty());
+	}
+
+	@Test
+	void nestedSpansRecordParentsAcrossThreadPools() throws Exception {
+		// Arrange
+		Tracer.enable(spans -> {
+		});
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		// Act
+		try (Span perform = Tracer.start("perform", Tracer.CATEGORY_GENAI)) {
+			try (Span request = Tracer.start("request", Tracer.CATEGORY_LLM)) {
+				request.attribute("model", "OpenAI:gpt-test");
+			}
+			executor.submit(Tracer.withCurrentSpan(() -> {
+				Tracer.start("read_file", Tracer.CATEGORY_TOOL).close();
+				return null;
+			})).get();
+		}
+		executor.shutdown();
+		List<Span> spans = Tracer.getFinishedSpans();
+
+		// Assert
+		assertEquals(3, spans.size());
+		Span request = spans.get(0);
+		Span tool = spans.get(1);
+		Span perform = spans.get(2);
+		assertEquals(perform.getId(), request.getParentId());
+		assertEquals(perform.getId(), tool.getParentId());
+		assertTrue(tool.getThreadId() != perform.getThreadId());
+		assertEquals(0, perform.getParentId());
+		assertEquals("OpenAI:gpt-test", request.getAttributes().get("model"));
+	}
+
+	@Test
+	void chromeExporterWritesCompleteAndAsyncEvents() throws Exception {
+		// Arrange
+		File file = tempDir.resolve("trace/run.json").toFile();
+		Tracer.enable(file);
+
+		// Act
+		try (Span span = Tracer.start("processFile", Tracer.CATEGORY_FILE)) {
+			span.attribute("file", "src/Main.java");
+			Tracer.startAsync("request", Tracer.CATEGORY_LLM).close();
+		}
+		Tracer.flush();
+		JsonNode events = new ObjectMapper().readTree(file).get("traceEvents");
+
+		// Assert
+		assertEquals("thread_name", events.get(0).get("name").asText());
+		assertEquals("b", events.get(1).get("ph").asText());
+		assertEquals("e", events.get(2).get("ph").asText());
+		assertEquals(events.get(1).get("id"), events.get(2).get("id"));
+		JsonNode complete = events.get(3);
+		assertEquals("X", complete.get("ph").asText());
+		assertEquals("file", complete.get("cat").asText());
+		assertEquals("src/Main.java", complete.get("args").get("file").asText());
+		assertTrue(complete.get("dur").asLong() >= 1);
+		assertEquals(complete.get("args").get("span.id"), events.get(1).get("args").get("parent.id"));
+	}
+}
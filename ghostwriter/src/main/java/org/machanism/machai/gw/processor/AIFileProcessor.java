@@ -13,12 +13,14 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.PathMatcher;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.IOUtils;
@@ -31,6 +33,7 @@ import org.machanism.macha.core.commons.configurator.Substitutor;
 import org.machanism.machai.ai.manager.GenaiProviderManager;
 import org.machanism.machai.ai.provider.AbstractAIProvider;
 import org.machanism.machai.ai.provider.Genai;
+import org.machanism.machai.ai.provider.GenaiEvent;
 import org.machanism.machai.ai.tools.FunctionTools;
 import org.machanism.machai.ai.tools.FunctionToolsLoader;
 import org.machanism.machai.gw.tools.ProcessTerminationException;
@@ -320,8 +323,11 @@ public class AIFileProcessor extends AbstractFileProcessor {
 	 * <li>Resolves the GenAI model configuration (falling back to the default
 	 * configured model if not explicitly overridden in prompt metadata via
 	 * {@code gw.model}).</li>
-	 * <li>Instantiates the target {@code Genai} provider and registers enabled
-	 * toolkits and custom function tools.</li>
+	 * <li>Borrows the target {@code Genai} provider from the
+	 * {@link GenaiProviderManager} pool, keyed by model, processor class,
+	 * registered function tools, prompt properties and enabled tools, and registers enabled toolkits and custom function tools when
+	 * the provider is new. The provider's conversation is cleared when it is
+	 * returned.</li>
 	 * <li>Constructs system instructions by combining default bundle instructions
 	 * with any custom parameters passed to {@code instructions}.</li>
 	 * <li>Feeds file-specific contextual metadata and substituted prompts to the AI
@@ -377,42 +383,53 @@ public class AIFileProcessor extends AbstractFileProcessor {
 				}
 
 				LayeredConfigurator conf = new LayeredConfigurator(getConfigurator());
+				Map<String, String> stringProps = new HashMap<>();
 				inputProps.entrySet().stream().forEach(e -> {
-					if (e.getValue() instanceof String)
+					if (e.getValue() instanceof String) {
 						conf.set(e.getKey(), (String) e.getValue());
+						stringProps.put(e.getKey(), (String) e.getValue());
+					}
 				});
 
 				conf.set(GWConstants.MODEL_PROP_NAME, this.model);
 
 				logger.info("Processing path: `{}`, Model: `{}`", file, model);
-				Genai provider = GenaiProviderManager.getProvider(model, conf);
-
-				if (provider == null) {
-					throw new IllegalArgumentException("`" + GWConstants.MODEL_PROP_NAME + "` is required.");
-				}
-
-				File projectDir = projectLayout.getProjectDir();
-				instructions = parseLines(instructions, projectDir, conf);
 				String[] tools = getEnabledTools(inputProps, conf);
-				applyTools(instructions, prompts, provider, tools);
+				// Keyed by configuration, so processors that register the same tools share
+				// idle providers instead of each pinning its own.
+				List<Object> providerKey = Arrays.asList(getClass(), new ArrayList<>(toolFunctions), stringProps,
+						tools != null ? Arrays.asList(tools) : null);
+				try (GenaiProviderManager.Lease lease = GenaiProviderManager.borrowProvider(model, conf,
+						providerKey)) {
+					if (lease == null) {
+						throw new IllegalArgumentException("`" + GWConstants.MODEL_PROP_NAME + "` is required.");
+					}
+					Genai provider = lease.getProvider();
 
-				provider.setProjectDir(projectDir);
+					File projectDir = projectLayout.getProjectDir();
+					instructions = parseLines(instructions, projectDir, conf);
+					if (!lease.isReused()) {
+						applyTools(instructions, prompts, provider, tools);
+					}
 
-				provider.instructions(instructions);
-				if (logger.isDebugEnabled()) {
-					logger.debug("Instructions: {}", instructions);
-				}
+					provider.setProjectDir(projectDir);
 
-				for (String prompt : prompts) {
-					String promptLines = Substitutor.replace(prompt, conf, PUBLIC_PROP_GROUP_NAME);
-					promptLines = parseLines(promptLines, projectDir, conf);
-					provider.prompt(promptLines);
+					provider.instructions(instructions);
 					if (logger.isDebugEnabled()) {
-						logger.debug("Input: {}", promptLines);
+						logger.debug("Instructions: {}", instructions);
+					}
+
+					for (String prompt : prompts) {
+						String promptLines = Substitutor.replace(prompt, conf, PUBLIC_PROP_GROUP_NAME);
+						promptLines = parseLines(promptLines, projectDir, conf);
+						provider.prompt(promptLines);
+						if (logger.isDebugEnabled()) {
+							logger.debug("Input: {}", promptLines);
+						}
 					}
-				}
 
-				perform = perform(file, provider);
+					perform = perform(file, provider);
+				}
 
 			} finally {
 				logger.info("Finished processing path: {}", file.getAbsolutePath());
@@ -575,9 +592,10 @@ public class AIFileProcessor extends AbstractFileProcessor {
 	}
 
 	private String perform(File file, Genai provider) {
-		String perform = provider.perform();
+		Consumer<GenaiEvent> listener = interactive ? getEventListener() : null;
+		String perform = listener != null ? provider.perform(listener) : provider.perform();
 		if (interactive) {
-			if (StringUtils.isNoneBlank(perform)) {
+			if (listener == null && StringUtils.isNoneBlank(perform)) {
 				logger.info(LOG_OUTPUT_PREFIX, perform);
 			}
 			String input = input();
@@ -605,6 +623,23 @@ public class AIFileProcessor extends AbstractFileProcessor {
 		return perform;
 	}
 
+	/**
+	 * Returns the listener that receives streamed response events in interactive
+	 * mode.
+	 * <p>
+	 * When a listener is provided, interactive requests use the provider's
+	 * streaming API so that output can be shown as it arrives, and the complete
+	 * response is not logged again afterwards. The default implementation returns
+	 * {@code null}, which performs blocking requests and logs each complete
+	 * response.
+	 * </p>
+	 *
+	 * @return event listener, or {@code null} to disable streaming
+	 */
+	protected Consumer<GenaiEvent> getEventListener() {
+		return null;
+	}
+
 	protected String input() {
 		logger.warn(
 				"Interactive mode is not supported in this environment. Please use a supported mode or refer to the documentation for available options.");
@@ -844,7 +879,9 @@ public class AIFileProcessor extends AbstractFileProcessor {
 	 * files under {@code projectDir}.</li>
 	 * </ul>
 	 * If {@code path} equals the absolute path of {@code projectDir}, the entire
-	 * project directory is scanned without applying any pattern matching.
+	 * project directory is scanned without applying any pattern matching. When the
+	 * scan ends, also after a failure, the processing manifest is saved and the
+	 * idle providers of the {@link GenaiProviderManager} pool are released.
 	 *
 	 * @param projectDir the project root directory; must not be {@code null}
 	 * @param path       the directory, relative path, glob pattern, or regex
@@ -871,7 +908,12 @@ public class AIFileProcessor extends AbstractFileProcessor {
 			setPath(projectDir);
 		}
 
-		scanFolder(projectDir);
+		try {
+			scanFolder(projectDir);
+		} finally {
+			saveManifest();
+			GenaiProviderManager.clearProviderPool();
+		}
 	}
 
 	/**
@@ -980,6 +1022,29 @@ public class AIFileProcessor extends AbstractFileProcessor {
 		return interactive;
 	}
 
+	/**
+	 * Returns whether files may be processed concurrently. Interactive runs
+	 * always process files one by one because they read from the console.
+	 *
+	 * @return {@code true} when more than one thread is configured and
+	 *         interactive mode is disabled
+	 */
+	@Override
+	protected boolean isConcurrentFileProcessing() {
+		return super.isConcurrentFileProcessing() && !isInteractive();
+	}
+
+	/**
+	 * Returns the configured model, whose rate governor throttles concurrent file
+	 * processing.
+	 *
+	 * @return {@code Provider:Model} identifier
+	 */
+	@Override
+	protected String getRateLimitKey() {
+		return getModel();
+	}
+
 	/**
 	 * Adds a tool definition that will be exposed to the AI provider.
 	 * 
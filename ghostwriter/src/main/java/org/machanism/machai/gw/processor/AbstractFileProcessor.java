@@ -7,22 +7,19 @@ import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.filefilter.DirectoryFileFilter;
-import org.apache.commons.io.filefilter.TrueFileFilter;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.machanism.macha.core.commons.configurator.Configurator;
 import org.machanism.macha.core.commons.configurator.LayeredConfigurator;
 import org.machanism.macha.core.commons.configurator.MutableConfigurator;
+import org.machanism.machai.ai.trace.Span;
+import org.machanism.machai.ai.trace.Tracer;
 import org.machanism.machai.project.ProjectProcessor;
 import org.machanism.machai.project.layout.ProjectLayout;
 
@@ -44,6 +41,21 @@ import org.machanism.machai.project.layout.ProjectLayout;
  * </ul>
  *
  * <p>
+ * With more than one thread, modules are processed concurrently in dependency
+ * order on a {@link ModuleExecutor} shared by all aggregator levels, and the
+ * files of each module are handed to a {@link FileScheduler} shared by all
+ * modules, so a single-module project also uses every configured worker.
+ * </p>
+ *
+ * <p>
+ * Subclasses can make runs incremental through {@link #isUnchanged(File, String)}
+ * and {@link #recordOutcome(File, String, boolean)}, which consult a
+ * {@link ProcessingManifest} kept under the {@value ProjectProcessor#MACHAI_TEMP_DIR} directory
+ * of the root project. Skipping is opt-in through {@link #setIncremental(boolean)},
+ * because a file key only covers the inputs of that file's own request.
+ * </p>
+ *
+ * <p>
  * This class does not perform dependency resolution or builds; it operates on
  * the filesystem only.
  * </p>
@@ -72,12 +84,33 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 	/** Optional list of path patterns or exact paths to exclude. */
 	private String[] excludes;
 
+	/** Compiled form of {@link #excludes}, built on first use. */
+	private volatile PathFilter excludeFilter;
+
+	/** Root-relative paths of the project directories seen by {@link #match(File, File)}. */
+	private final Map<File, Optional<String>> relativeProjectDirs = new ConcurrentHashMap<>();
+
 	/** Configuration source used to initialize providers. */
 	private final MutableConfigurator configurator;
 
 	/** Timeout for module processing worker pool shutdown, in minutes. */
 	private long moduleThreadTimeoutMinutes = 60;
 
+	/** Lazily created scheduler for concurrent file processing. */
+	private FileScheduler fileScheduler;
+
+	/** Executor shared by all module levels of a concurrent scan. */
+	private ModuleExecutor moduleExecutor;
+
+	/** Number of module batches in progress, across nesting levels. */
+	private int moduleRuns;
+
+	/** Whether files unchanged since the last successful run are skipped. */
+	private boolean incremental;
+
+	/** Lazily loaded record of files processed by previous runs. */
+	private ProcessingManifest manifest;
+
 	/**
 	 * Creates a new file processor.
 	 *
@@ -105,7 +138,7 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 
 			if (modules != null && !modules.isEmpty()) {
 				if (threads > 1) {
-					processModulesMultiThreaded(projectDir, modules);
+					processModulesMultiThreaded(projectLayout, modules);
 				} else {
 					for (String module : modules) {
 						processModule(projectDir, module);
@@ -118,41 +151,61 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 	}
 
 	/**
-	 * Processes all discovered modules concurrently.
+	 * Processes the modules of a project concurrently, in dependency order.
+	 *
+	 * <p>
+	 * The modules are submitted to the {@link ModuleExecutor} shared by all
+	 * aggregator levels of the scan, so nested multi-module builds use the same
+	 * thread budget. A module starts once the modules it depends on, as reported
+	 * by {@link ProjectLayout#getModuleDependencies()}, have finished. The
+	 * executor is shut down when the outermost call returns.
+	 * </p>
 	 *
-	 * @param projectDir the parent project directory
-	 * @param modules    list of module relative paths
+	 * @param projectLayout layout of the parent project
+	 * @param modules       list of module relative paths
 	 */
-	void processModulesMultiThreaded(File projectDir, List<String> modules) {
-		ExecutorService executor = Executors.newFixedThreadPool(threads);
+	void processModulesMultiThreaded(ProjectLayout projectLayout, List<String> modules) {
+		File projectDir = projectLayout.getProjectDir();
+		ModuleExecutor executor = enterModuleRun();
 		try {
-			List<Future<Void>> futures = new ArrayList<>();
-			for (String module : modules) {
-				futures.add(executor.submit(() -> {
-					processModule(projectDir, module);
-					return null;
-				}));
-			}
+			executor.run(modules, projectLayout.getModuleDependencies(), module -> processModule(projectDir, module));
+		} catch (IOException e) {
+			throw new IllegalStateException("Module processing failed.", e);
+		} finally {
+			leaveModuleRun(executor);
+		}
+	}
 
-			for (Future<Void> future : futures) {
-				try {
-					future.get();
-				} catch (InterruptedException e) {
-					Thread.currentThread().interrupt();
-					throw new IllegalStateException("Thread interrupted while processing modules", e);
-				} catch (ExecutionException e) {
-					Throwable cause = e.getCause();
-					if (cause instanceof IOException) {
-						throw new IllegalStateException("Module processing failed.", cause);
-					}
-					if (cause instanceof RuntimeException) {
-						throw (RuntimeException) cause;
-					}
-					throw new IllegalStateException("Module processing failed.", cause);
-				}
+	/**
+	 * Registers a module batch and returns the shared executor, creating it for
+	 * the outermost batch.
+	 *
+	 * @return module executor
+	 */
+	private synchronized ModuleExecutor enterModuleRun() {
+		if (moduleExecutor == null) {
+			moduleExecutor = new ModuleExecutor(threads);
+		}
+		moduleRuns++;
+		return moduleExecutor;
+	}
+
+	/**
+	 * Unregisters a module batch and shuts the executor down after the outermost
+	 * batch.
+	 *
+	 * @param executor executor returned by {@link #enterModuleRun()}
+	 */
+	private void leaveModuleRun(ModuleExecutor executor) {
+		boolean outermost;
+		synchronized (this) {
+			outermost = --moduleRuns == 0;
+			if (outermost) {
+				moduleExecutor = null;
 			}
-		} finally {
-			shutdownExecutor(executor);
+		}
+		if (outermost) {
+			shutdownExecutor(executor.getExecutor());
 		}
 	}
 
@@ -237,11 +290,14 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 			return this.path != null && this.path.equals(file);
 		}
 		
-		if(this.path != null && ProjectLayout.getRelativePath(this.path, file) == null) {
+		String scanRelativePath = this.path != null ? ProjectLayout.getRelativePath(this.path, file) : null;
+		if (this.path != null && scanRelativePath == null) {
 			return false;
 		}
 
-		String relativeProjectDir = ProjectLayout.getRelativePath(getRootDir(), projectDir);
+		String relativeProjectDir = relativeProjectDirs
+				.computeIfAbsent(projectDir, dir -> Optional.ofNullable(ProjectLayout.getRelativePath(getRootDir(), dir)))
+				.orElse(null);
 		String relativePath = ProjectLayout.getRelativePath(projectDir, file);
 
 		if (relativeProjectDir == null || relativePath == null) {
@@ -257,12 +313,7 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 			return result;
 		}
 
-		relativePath = ProjectLayout.getRelativePath(this.path, file);
-		if (relativePath == null) {
-			return false;
-		}
-
-		Path scanFilePath = this.path.toPath().resolve(relativePath);
+		Path scanFilePath = this.path.toPath().resolve(scanRelativePath);
 		String relatedToRoot = ProjectLayout.getRelativePath(rootDir, scanFilePath.toFile());
 		return relatedToRoot != null && pathMatcher.matches(new File(relatedToRoot).toPath());
 	}
@@ -288,12 +339,28 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 		// To be implemented by subclasses
 	}
 
+	/**
+	 * Runs {@link #processFile(ProjectLayout, File)} inside a
+	 * {@link Tracer#CATEGORY_FILE} trace span.
+	 *
+	 * @param projectLayout project layout
+	 * @param file          file to process
+	 * @throws IOException if reading the file or provider execution fails
+	 */
+	void processTracedFile(ProjectLayout projectLayout, File file) throws IOException {
+		try (Span span = Tracer.start("processFile", Tracer.CATEGORY_FILE)) {
+			span.attribute("file", file.getPath());
+			processFile(projectLayout, file);
+		}
+	}
+
 	/**
 	 * Recursively lists all files under a directory, excluding known build/tooling
-	 * directories.
+	 * directories and entries whose name matches {@link #excludes}. Excluded
+	 * directories are not entered.
 	 *
 	 * @param projectDir directory to traverse
-	 * @return list of files found
+	 * @return list of files found, deepest entries first
 	 * @throws IOException if directory listing fails
 	 */
 	List<File> listFiles(File projectDir) throws IOException {
@@ -301,52 +368,71 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 			return Collections.emptyList();
 		}
 
-		File[] files = projectDir.listFiles();
+		List<List<File>> levels = new ArrayList<>();
+		collectFiles(projectDir, 0, getExcludeFilter(), levels);
+		return deepestFirst(levels);
+	}
+
+	/**
+	 * Walks a directory for {@link #listFiles(File)}. Entries are checked by name
+	 * and excluded directories are not entered.
+	 *
+	 * @param dir    directory to walk
+	 * @param depth  depth of the entries of {@code dir} below the walk root
+	 * @param filter compiled exclude patterns
+	 * @param levels entries collected so far, by depth, in walk order
+	 * @throws IOException if a directory cannot be listed
+	 */
+	private void collectFiles(File dir, int depth, PathFilter filter, List<List<File>> levels) throws IOException {
+		File[] files = dir.listFiles();
 		if (files == null) {
-			throw new IOException("Unable to list files for directory: " + projectDir.getAbsolutePath());
+			throw new IOException("Unable to list files for directory: " + dir.getAbsolutePath());
 		}
 
-		List<File> result = new ArrayList<>();
 		for (File file : files) {
-			if (shouldIncludeInListFiles(projectDir, file)) {
-				result.add(file);
+			String name = file.getName();
+			if (!ProjectLayout.isExcludedPath(name) && !filter.matches(new File(name).toPath())) {
+				level(levels, depth).add(file);
 				if (file.isDirectory()) {
-					result.addAll(listFiles(file));
+					collectFiles(file, depth + 1, filter, levels);
 				}
 			}
 		}
-
-		result.sort(Comparator.comparingInt((File f) -> pathDepth(f.getPath())).reversed());
-		return result;
 	}
 
 	/**
-	 * Determines whether an entry found in {@link #listFiles(File)} should be
-	 * included.
+	 * Returns the bucket of a depth, creating missing buckets.
 	 *
-	 * <p>
-	 * Sonar java:S135 - reduce break/continue statements by isolating filtering.
-	 * </p>
-	 *
-	 * @param projectDir project directory being traversed
-	 * @param file       candidate entry
-	 * @return {@code true} when the entry should be included
+	 * @param levels buckets by depth
+	 * @param depth  depth
+	 * @return bucket
 	 */
-	boolean shouldIncludeInListFiles(File projectDir, File file) {
-		String name = file.getName();
-		String relativePathString = ProjectLayout.getRelativePath(projectDir, file);
-		if (relativePathString == null) {
-			return false;
+	private static List<File> level(List<List<File>> levels, int depth) {
+		while (levels.size() <= depth) {
+			levels.add(new ArrayList<>());
 		}
-		Path relativePath = new File(relativePathString).toPath();
+		return levels.get(depth);
+	}
 
-		return !ProjectLayout.isExcludedPath(name) && !shouldExcludePath(relativePath);
+	/**
+	 * Concatenates depth buckets, deepest first. Within a depth the walk order is
+	 * kept, which is the order a stable sort by path depth gives.
+	 *
+	 * @param levels buckets by depth
+	 * @return entries, deepest first
+	 */
+	private static List<File> deepestFirst(List<List<File>> levels) {
+		List<File> result = new ArrayList<>();
+		for (int i = levels.size() - 1; i >= 0; i--) {
+			result.addAll(levels.get(i));
+		}
+		return result;
 	}
 
 	/**
 	 * Determines whether a relative path should be excluded according to
-	 *
-	 * {@link #excludes}.
+	 * {@link #excludes}. The patterns are compiled into a {@link PathFilter} on
+	 * first use and reused until the excludes change.
 	 *
 	 * @param path project-relative path
 	 * @return {@code true} when excluded
@@ -355,22 +441,21 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 		if (path == null || excludes == null) {
 			return false;
 		}
-		for (String exclude : excludes) {
-			if (exclude == null) {
-				continue;
-			}
-			PathMatcher matcher = getPatternPath(exclude);
-			if (matcher == null) {
-				String relative = path.toString();
-				if (Strings.CS.equals(relative, exclude) || Strings.CS.equals(path.getFileName().toString(), exclude)) {
-					return true;
-				}
-			} else if (matcher.matches(path)) {
-				return true;
-			}
-		}
+		return getExcludeFilter().matches(path);
+	}
 
-		return false;
+	/**
+	 * Returns the compiled exclude patterns, compiling them on first use.
+	 *
+	 * @return exclude filter; {@link PathFilter#EMPTY} when no excludes are set
+	 */
+	PathFilter getExcludeFilter() {
+		PathFilter filter = excludeFilter;
+		if (filter == null) {
+			filter = PathFilter.compile(excludes);
+			excludeFilter = filter;
+		}
+		return filter;
 	}
 
 	/**
@@ -383,12 +468,22 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 	 */
 	void addMatchingFile(List<File> result, PathMatcher matcher, File projectDir, File file) {
 		String path = ProjectLayout.getRelativePath(projectDir, file);
-		if (path != null && !ProjectLayout.isExcludedPath(path)
-				&& !shouldExcludePath(new File(path).toPath()) && (matcher == null || matcher.matches(file.toPath()))) {
+		if (path != null && !isExcludedRelativePath(path) && (matcher == null || matcher.matches(file.toPath()))) {
 			result.add(file);
 		}
 	}
 
+	/**
+	 * Tests a project-relative path against the built-in excluded directories and
+	 * {@link #excludes}.
+	 *
+	 * @param path project-relative path
+	 * @return {@code true} when excluded
+	 */
+	private boolean isExcludedRelativePath(String path) {
+		return ProjectLayout.isExcludedPath(path) || shouldExcludePath(new File(path).toPath());
+	}
+
 	/**
 	 * Tests whether a scan pattern string is a {@code glob:} or {@code regex:}
 	 * matcher.
@@ -400,20 +495,6 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 		return Strings.CI.startsWithAny(pattern, "glob:", "regex:");
 	}
 
-	/**
-	 * Returns a {@link PathMatcher} when the provided string is a path pattern.
-	 *
-	 * @param path pattern candidate
-	 * @return matcher or {@code null} when {@code path} is not a pattern
-	 */
-	static PathMatcher getPatternPath(String path) {
-		if (StringUtils.isNotBlank(path) && isPathPattern(path)) {
-			return FileSystems.getDefault().getPathMatcher(path);
-		}
-
-		return null;
-	}
-
 	/**
 	 * Processes a project layout for documentation gathering.
 	 *
@@ -423,17 +504,136 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 	public void processFolder(ProjectLayout projectLayout) {
 		try {
 			List<File> files = listFiles(projectLayout.getProjectDir());
-			for (File file : files) {
-				processFile(projectLayout, file);
-			}
+			processFiles(projectLayout, files);
 		} catch (IOException e) {
 			throw new IllegalArgumentException(e);
 		}
 	}
 
+	/**
+	 * Processes files and directories of a project, one by one in list order or,
+	 * when {@link #isConcurrentFileProcessing()} allows it, on the shared
+	 * {@link FileScheduler}. A directory is always processed after the listed
+	 * entries below it.
+	 *
+	 * @param projectLayout project layout
+	 * @param files         files and directories to process
+	 * @throws IOException if processing of an entry fails
+	 */
+	protected void processFiles(ProjectLayout projectLayout, List<File> files) throws IOException {
+		if (files.size() > 1 && isConcurrentFileProcessing()) {
+			getFileScheduler().run(files, file -> processTracedFile(projectLayout, file));
+		} else {
+			for (File file : files) {
+				processTracedFile(projectLayout, file);
+			}
+		}
+	}
+
+	/**
+	 * Returns whether files may be processed concurrently.
+	 *
+	 * @return {@code true} when more than one thread is configured
+	 */
+	protected boolean isConcurrentFileProcessing() {
+		return threads > 1;
+	}
+
+	/**
+	 * Returns the {@code Provider:Model} key of the rate governor whose state
+	 * throttles concurrent file processing.
+	 *
+	 * @return governor key, or {@code null} for no back-pressure
+	 */
+	protected String getRateLimitKey() {
+		return null;
+	}
+
+	/**
+	 * Returns the file scheduler of this processor, creating it on first use.
+	 *
+	 * @return scheduler bounded by the configured thread count
+	 */
+	synchronized FileScheduler getFileScheduler() {
+		if (fileScheduler == null) {
+			fileScheduler = new FileScheduler(threads, getRateLimitKey());
+		}
+		return fileScheduler;
+	}
+
+	/**
+	 * Returns whether a file was processed successfully by a previous run with
+	 * the same key, so it can be skipped.
+	 *
+	 * @param file file to check
+	 * @param key  current key of the file, see
+	 *             {@link ProcessingManifest#key(File, String...)}; {@code null}
+	 *             disables the check
+	 * @return {@code true} when incremental mode is on and the file is unchanged
+	 */
+	protected boolean isUnchanged(File file, String key) {
+		if (!incremental || key == null) {
+			return false;
+		}
+		ProcessingManifest processingManifest = getManifest();
+		String relativePath = ProjectLayout.getRelativePath(rootDir, file);
+		return processingManifest != null && relativePath != null
+				&& processingManifest.isUpToDate(relativePath, key);
+	}
+
+	/**
+	 * Records the outcome of processing a file in the manifest. The manifest is
+	 * written by {@link #saveManifest()} and, for long scans, by periodic
+	 * checkpoints, so an interrupted run keeps most finished files. Outcomes are also recorded when incremental mode is off, so a later
+	 * incremental run can skip the files processed now.
+	 *
+	 * @param file      processed file
+	 * @param key       key of the file after processing; {@code null} records
+	 *                  nothing
+	 * @param processed {@code true} if processing succeeded
+	 */
+	protected void recordOutcome(File file, String key, boolean processed) {
+		ProcessingManifest processingManifest = key != null ? getManifest() : null;
+		String relativePath = ProjectLayout.getRelativePath(rootDir, file);
+		if (processingManifest != null && relativePath != null) {
+			processingManifest.record(relativePath, key,
+					processed ? ProcessingManifest.Outcome.PROCESSED : ProcessingManifest.Outcome.FAILED);
+			processingManifest.checkpoint();
+		}
+	}
+
+	/**
+	 * Drops manifest entries of deleted files and writes the processing manifest
+	 * if it changed since it was last saved. Called once at the end of a scan.
+	 */
+	public void saveManifest() {
+		ProcessingManifest processingManifest;
+		synchronized (this) {
+			processingManifest = manifest;
+		}
+		if (processingManifest != null) {
+			processingManifest.prune();
+			processingManifest.save();
+		}
+	}
+
+	/**
+	 * Returns the processing manifest of the root directory, reading it on first
+	 * use.
+	 *
+	 * @return manifest, or {@code null} when no root directory is set
+	 */
+	synchronized ProcessingManifest getManifest() {
+		if (manifest == null && rootDir != null) {
+			manifest = ProcessingManifest.load(rootDir);
+		}
+		return manifest;
+	}
+
 	/**
 	 * Finds all files/directories in the provided project folder that match a
-	 * pattern.
+	 * pattern. Entries excluded by {@link #excludes} or the known build/tooling
+	 * directories are skipped together with everything below them.
 	 *
 	 * @param projectDir project root
 	 * @param pattern    directory path, {@code glob:} matcher, or {@code regex:}
@@ -455,30 +655,54 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 			}
 		}
 
-		List<File> files = new ArrayList<>(
-				FileUtils.listFilesAndDirs(dir, TrueFileFilter.INSTANCE, DirectoryFileFilter.DIRECTORY));
-
-		files.sort(Comparator.comparingInt((File f) -> pathDepth(f.getPath())).reversed());
-
-		for (File file : files) {
-			addMatchingFile(result, matcher, projectDir, file);
+		String relativeDir = ProjectLayout.getRelativePath(projectDir, dir);
+		if (!dir.isDirectory() || relativeDir == null) {
+			if (dir.isFile()) {
+				addMatchingFile(result, matcher, projectDir, dir);
+			}
+			return result;
 		}
 
+		List<List<File>> levels = new ArrayList<>();
+		if (!isExcludedRelativePath(relativeDir) && (matcher == null || matcher.matches(dir.toPath()))) {
+			level(levels, 0).add(dir);
+		}
+		collectMatchingFiles(dir, relativeDir, 1, matcher, levels);
+		result.addAll(deepestFirst(levels));
 		return result;
 	}
 
 	/**
-	 * Computes the depth of a path for sorting.
+	 * Walks a directory for {@link #listFiles(File, String)}. Relative paths are
+	 * built from the parent's path instead of being computed for every entry, and
+	 * excluded directories are not entered.
 	 *
-	 * @param path input path
-	 * @return number of path segments
+	 * @param dir         directory to walk
+	 * @param relativeDir project-relative path of {@code dir}
+	 * @param depth       depth of the entries of {@code dir} below the walk root
+	 * @param matcher     optional path matcher
+	 * @param levels      matching entries collected so far, by depth, in walk
+	 *                    order
+	 * @throws IOException if a directory cannot be listed
 	 */
-	static int pathDepth(String path) {
-		if (StringUtils.isBlank(path)) {
-			return 0;
+	private void collectMatchingFiles(File dir, String relativeDir, int depth, PathMatcher matcher,
+			List<List<File>> levels) throws IOException {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			throw new IOException("Unable to list files for directory: " + dir.getAbsolutePath());
+		}
+
+		for (File file : files) {
+			String relativePath = ".".equals(relativeDir) ? file.getName() : relativeDir + "/" + file.getName();
+			if (!isExcludedRelativePath(relativePath)) {
+				if (file.isDirectory()) {
+					collectMatchingFiles(file, relativePath, depth + 1, matcher, levels);
+				}
+				if (matcher == null || matcher.matches(file.toPath())) {
+					level(levels, depth).add(file);
+				}
+			}
 		}
-		String normalized = path.replace("\\", "/");
-		return normalized.split("/").length;
 	}
 
 	/**
@@ -491,17 +715,15 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 	public void processProjectDir(ProjectLayout layout, String filePattern) {
 		try {
 			List<File> files = listFiles(layout.getProjectDir(), filePattern);
-			for (File file : files) {
-				processFile(layout, file);
-			}
+			processFiles(layout, files);
 		} catch (IOException e) {
 			throw new IllegalArgumentException(e);
 		}
 	}
 
 	/**
-	 * Configures the number of threads to be used for multi-threaded module
-	 * processing.
+	 * Configures the number of threads to be used for multi-threaded module and
+	 * file processing.
 	 *
 	 * @param threads the number of concurrent threads to use; must be a positive
 	 *                integer
@@ -513,6 +735,30 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 			throw new IllegalArgumentException("The number of threads must be greater than zero.");
 		}
 		this.threads = threads;
+		synchronized (this) {
+			fileScheduler = null;
+		}
+	}
+
+	/**
+	 * Sets whether files are skipped when the manifest shows they did not change
+	 * since the last successful run. Off by default: guidance that applies to a
+	 * whole folder, such as a {@code package-info.java} block, can make a file
+	 * outdated when only other files changed.
+	 *
+	 * @param incremental {@code true} to skip unchanged files
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	/**
+	 * Returns whether files unchanged since the last successful run are skipped.
+	 *
+	 * @return {@code true} when incremental mode is enabled
+	 */
+	public boolean isIncremental() {
+		return incremental;
 	}
 
 	/**
@@ -548,6 +794,7 @@ public abstract class AbstractFileProcessor extends ProjectProcessor {
 	 */
 	public void setExcludes(String[] excludes) {
 		this.excludes = excludes;
+		this.excludeFilter = null;
 	}
 
 	/**
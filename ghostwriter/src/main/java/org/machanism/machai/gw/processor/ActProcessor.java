@@ -25,6 +25,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.machanism.macha.core.commons.configurator.Configurator;
 import org.machanism.machai.ai.provider.Genai;
+import org.machanism.machai.ai.trace.Span;
+import org.machanism.machai.ai.trace.Tracer;
 import org.machanism.machai.gw.tools.EndTaskException;
 import org.machanism.machai.gw.tools.MoveToEpisodeException;
 import org.machanism.machai.project.layout.ProjectLayout;
@@ -209,7 +211,7 @@ public class ActProcessor extends AIFileProcessor {
 	private boolean disableNormalOrder;
 
 	/** List of collected outputs generated during processing. */
-	private List<String> results = new ArrayList<>();
+	private List<String> results = Collections.synchronizedList(new ArrayList<>());
 
 	/**
 	 * Map holding the accumulated act configuration properties loaded for
@@ -907,15 +909,12 @@ public class ActProcessor extends AIFileProcessor {
 
 		children.removeIf(child -> isModuleDir(projectLayout, child) || !match(child, projectDir));
 
-		for (File child : children) {
-			try {
-				processFile(projectLayout, child);
-
-			} catch (EndTaskException e) {
-				String perform = e.getMessage();
-				addResults(perform);
-				return;
-			}
+		try {
+			processFiles(projectLayout, children);
+		} catch (EndTaskException e) {
+			String perform = e.getMessage();
+			addResults(perform);
+			return;
 		}
 
 		try {
@@ -971,9 +970,12 @@ public class ActProcessor extends AIFileProcessor {
 			throw new IllegalArgumentException(e);
 		}
 
-		String process = super.process(projectLayout, projectDir, getInstructions(),
-				getProcessInfo(projectLayout, projectDir), actInformationJson, prompt);
-		return process;
+		try (Span span = Tracer.start("episode", Tracer.CATEGORY_ACT)) {
+			span.attribute("act", episodes.getName()).attribute("episode", episodeId);
+			String process = super.process(projectLayout, projectDir, getInstructions(),
+					getProcessInfo(projectLayout, projectDir), actInformationJson, prompt);
+			return process;
+		}
 	}
 
 	@Override
@@ -0,0 +1,366 @@
+package org.machanism.machai.gw.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.machanism.machai.ai.provider.RateGovernor;
+
+/**
+ * Runs the per-file work of a processor on a bounded pool of workers shared by
+ * all modules of a run.
+ *
+ * <p>
+ * One scheduler belongs to one processor, so the number of files processed at
+ * the same time never exceeds the configured thread count, however many
+ * modules submit work concurrently. Ready work is ordered as follows:
+ * </p>
+ * <ul>
+ * <li>A directory becomes ready only when every listed entry below it has been
+ * processed, which keeps the child-before-parent order of
+ * {@link AbstractFileProcessor#listFiles(File)} for folder-level prompts.</li>
+ * <li>Ready directories run first because they gate their ancestors; files run
+ * largest first, so long requests start early and do not form the tail of the
+ * run.</li>
+ * </ul>
+ * <p>
+ * Before a worker starts a file it applies back-pressure from the
+ * {@link RateGovernor} of the processor model: while the provider is paused
+ * after a rate-limit response only one file runs, otherwise the concurrency is
+ * scaled by the governor's rate factor.
+ * </p>
+ * <p>
+ * The first failure of a batch stops it: queued entries of the batch are
+ * skipped, running ones finish, and the failure is rethrown to the caller.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+final class FileScheduler {
+
+	/**
+	 * Work applied to one file or directory.
+	 */
+	interface FileTask {
+
+		/**
+		 * Processes one entry.
+		 *
+		 * @param file file or directory
+		 * @throws IOException if processing fails
+		 */
+		void process(File file) throws IOException;
+	}
+
+	/** Interval at which throttled workers re-read the rate governor. */
+	private static final long THROTTLE_POLL_MILLIS = 100;
+
+	/** Time after which idle workers exit. */
+	private static final long IDLE_SECONDS = 30;
+
+	/** Numbering of worker threads across schedulers. */
+	private static final AtomicInteger WORKER_IDS = new AtomicInteger();
+
+	/** Maximum number of files processed at the same time. */
+	private final int threads;
+
+	/** Key of the {@link RateGovernor} used for back-pressure, may be {@code null}. */
+	private final String rateLimitKey;
+
+	/** Worker pool ordered by entry priority. */
+	private final ThreadPoolExecutor executor;
+
+	/** Submission counter used to keep equal priorities in order. */
+	private final AtomicLong sequence = new AtomicLong();
+
+	/** Lock guarding {@link #active}. */
+	private final Object gate = new Object();
+
+	/** Number of workers currently processing an entry. */
+	private int active;
+
+	/**
+	 * Creates a scheduler.
+	 *
+	 * @param threads      maximum number of concurrently processed files
+	 * @param rateLimitKey {@code Provider:Model} key of the governor that throttles
+	 *                     the workers, or {@code null} for no back-pressure
+	 * @throws IllegalArgumentException if {@code threads} is not positive
+	 */
+	FileScheduler(int threads, String rateLimitKey) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be greater than zero.");
+		}
+		this.threads = threads;
+		this.rateLimitKey = rateLimitKey;
+		ThreadFactory factory = runnable -> {
+			Thread thread = new Thread(runnable, "gw-file-" + WORKER_IDS.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		this.executor = new ThreadPoolExecutor(threads, threads, IDLE_SECONDS, TimeUnit.SECONDS,
+				new PriorityBlockingQueue<>(), factory);
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Processes the given entries and blocks until all of them are done or the
+	 * batch failed.
+	 *
+	 * @param files entries to process
+	 * @param task  work applied to each entry
+	 * @throws IOException           the first {@link IOException} thrown by
+	 *                               {@code task}
+	 * @throws IllegalStateException if the calling thread is interrupted while
+	 *                               waiting
+	 */
+	void run(List<File> files, FileTask task) throws IOException {
+		Batch batch = new Batch(task, files);
+		batch.start();
+		batch.await();
+	}
+
+	/**
+	 * Returns the number of entries that may run now.
+	 *
+	 * @return concurrency limit between {@code 1} and the thread count
+	 */
+	int limit() {
+		RateGovernor governor = RateGovernor.find(rateLimitKey);
+		if (governor == null) {
+			return threads;
+		}
+		if (governor.getPauseMillis() > 0) {
+			return 1;
+		}
+		return Math.max(1, (int) Math.round(threads * governor.getFactor()));
+	}
+
+	/**
+	 * Returns the scheduling priority of an entry: directories first, then files
+	 * by size.
+	 *
+	 * @param node entry
+	 * @return priority, higher runs first
+	 */
+	private static long priority(Node node) {
+		return node.file.isDirectory() ? Long.MAX_VALUE : node.file.length();
+	}
+
+	/**
+	 * Waits until the concurrency limit allows one more running entry and takes
+	 * it.
+	 *
+	 * @throws InterruptedException if the worker is interrupted while waiting
+	 */
+	private void enter() throws InterruptedException {
+		synchronized (gate) {
+			while (active >= limit()) {
+				gate.wait(THROTTLE_POLL_MILLIS);
+			}
+			active++;
+		}
+	}
+
+	/**
+	 * Releases a running entry.
+	 */
+	private void leave() {
+		synchronized (gate) {
+			active--;
+			gate.notifyAll();
+		}
+	}
+
+	/**
+	 * One file or directory of a batch.
+	 */
+	private static final class Node {
+
+		/** The entry. */
+		private final File file;
+
+		/** Nearest listed ancestor directory, or {@code null}. */
+		private Node parent;
+
+		/** Number of listed entries directly below this one not yet processed. */
+		private int pending;
+
+		private Node(File file) {
+			this.file = file;
+		}
+	}
+
+	/**
+	 * Entries submitted by one {@link #run(List, FileTask)} call.
+	 */
+	private final class Batch {
+
+		/** Work applied to each entry. */
+		private final FileTask task;
+
+		/** Nodes of the batch, in listing order. */
+		private final List<Node> nodes = new ArrayList<>();
+
+		/** Entries not yet processed. */
+		private int outstanding;
+
+		/** Entries queued or running. */
+		private int submitted;
+
+		/** First failure, or {@code null}. */
+		private Throwable failure;
+
+		private Batch(FileTask task, List<File> files) {
+			this.task = task;
+			Map<File, Node> byFile = new LinkedHashMap<>();
+			for (File file : files) {
+				byFile.putIfAbsent(file, new Node(file));
+			}
+			for (Node node : byFile.values()) {
+				File parent = node.file.getParentFile();
+				while (parent != null && !byFile.containsKey(parent)) {
+					parent = parent.getParentFile();
+				}
+				if (parent != null) {
+					node.parent = byFile.get(parent);
+					node.parent.pending++;
+				}
+			}
+			nodes.addAll(byFile.values());
+			outstanding = nodes.size();
+		}
+
+		private synchronized void start() {
+			List<Node> ready = new ArrayList<>();
+			for (Node node : nodes) {
+				if (node.pending == 0) {
+					ready.add(node);
+				}
+			}
+			// Idle workers take tasks directly instead of from the queue.
+			ready.sort(Comparator.comparingLong(FileScheduler::priority).reversed());
+			for (Node node : ready) {
+				submit(node);
+			}
+		}
+
+		private synchronized void await() throws IOException {
+			try {
+				while (failure == null ? outstanding > 0 : submitted > 0) {
+					wait();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				if (failure == null) {
+					failure = e;
+				}
+				throw new IllegalStateException("Thread interrupted while processing files", e);
+			}
+			if (failure instanceof IOException) {
+				throw (IOException) failure;
+			}
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+		}
+
+		/**
+		 * Queues a ready entry. Must be called while holding the batch lock.
+		 *
+		 * @param node ready entry
+		 */
+		private void submit(Node node) {
+			submitted++;
+			executor.execute(new Entry(this, node, priority(node), sequence.getAndIncrement()));
+		}
+
+		private synchronized boolean isFailed() {
+			return failure != null;
+		}
+
+		/**
+		 * Records the end of an entry and queues its parent once all of the
+		 * parent's children are done.
+		 *
+		 * @param node  finished or skipped entry
+		 * @param error failure of the entry, or {@code null}
+		 * @param ran   {@code false} if the entry was skipped after a failure
+		 */
+		private synchronized void done(Node node, Throwable error, boolean ran) {
+			submitted--;
+			if (error != null) {
+				if (failure == null) {
+					failure = error;
+				}
+			} else if (ran) {
+				outstanding--;
+				Node parent = node.parent;
+				if (parent != null && --parent.pending == 0 && failure == null) {
+					submit(parent);
+				}
+			}
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Queued execution of one entry, ordered by priority and then by submission.
+	 */
+	private final class Entry implements Runnable, Comparable<Entry> {
+
+		private final Batch batch;
+		private final Node node;
+		private final long priority;
+		private final long order;
+
+		private Entry(Batch batch, Node node, long priority, long order) {
+			this.batch = batch;
+			this.node = node;
+			this.priority = priority;
+			this.order = order;
+		}
+
+		@Override
+		public void run() {
+			if (batch.isFailed()) {
+				batch.done(node, null, false);
+				return;
+			}
+			try {
+				enter();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				batch.done(node, new IllegalStateException("Thread interrupted while processing files", e), false);
+				return;
+			}
+			try {
+				batch.task.process(node.file);
+				batch.done(node, null, true);
+			} catch (IOException | RuntimeException | Error e) {
+				batch.done(node, e, true);
+			} finally {
+				leave();
+			}
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			int result = Long.compare(other.priority, priority);
+			return result != 0 ? result : Long.compare(order, other.order);
+		}
+	}
+}
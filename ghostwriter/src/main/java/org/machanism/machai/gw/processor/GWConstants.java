@@ -78,7 +78,7 @@ public final class GWConstants {
 
 	/**
 	 * Configuration property specifying the number of threads to use for
-	 * multi-threaded module processing.
+	 * multi-threaded module and file processing.
 	 * <p>
 	 * The value must be a positive integer; non-positive values are rejected.
 	 *
@@ -99,6 +99,18 @@ public final class GWConstants {
 	 */
 	public static final String PATH_PROP_NAME = "gw.path";
 
+	/**
+	 * Configuration property that enables incremental processing.
+	 * <p>
+	 * When {@code true}, a file is skipped if the processing manifest shows that
+	 * neither the file nor its guidance, instructions or model changed since the
+	 * last successful run. Changes to other files of the same folder are not
+	 * detected, so the default is {@code false}.
+	 *
+	 * @see AbstractFileProcessor#setIncremental(boolean)
+	 */
+	public static final String INCREMENTAL_PROP_NAME = "gw.incremental";
+
 	/** Configuration property controlling recursive module traversal. */
 	public static final String NONRECURSIVE_PROP_NAME = "gw.nonRecursive";
 
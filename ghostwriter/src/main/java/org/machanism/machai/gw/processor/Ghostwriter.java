@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.function.Consumer;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -17,8 +18,12 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.commons.lang3.SystemUtils;
 import org.machanism.macha.core.commons.configurator.PropertiesConfigurator;
+import org.machanism.machai.ai.manager.GenaiProviderManager;
 import org.machanism.machai.ai.manager.UsageStatistics;
+import org.machanism.machai.ai.trace.Tracer;
 import org.machanism.machai.ai.provider.AbstractAIProvider;
+import org.machanism.machai.ai.provider.ClientCache;
+import org.machanism.machai.ai.provider.GenaiEvent;
 import org.machanism.machai.gw.tools.ProcessTerminationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,6 +72,7 @@ public final class Ghostwriter {
 	private static final String ACT_OPTION = "act";
 	private static final String ACTS_OPTION = "acts";
 	private static final String CONFIG_OPTION = "config";
+	private static final String INCREMENTAL_OPTION = "incremental";
 	private static final int EXIT_CODE_ERROR = 1;
 
 	public static final String DEFAULT_MODEL_MSG = "Using default model: {}";
@@ -136,6 +142,8 @@ public final class Ghostwriter {
 		options.addOption(Option.builder("a").longOpt(ACT_OPTION)
 				.desc("Run Ghostwriter in Act mode: an interactive mode for executing predefined prompts.")
 				.hasArg(true).optionalArg(true).get());
+		options.addOption(Option.builder().longOpt(INCREMENTAL_OPTION)
+				.desc("Skip files unchanged since the last successful run.").get());
 		return options;
 	}
 
@@ -244,6 +252,7 @@ public final class Ghostwriter {
 		settings.instructions = resolveInstructions(cmd, config, scanner);
 		settings.excludes = resolveExcludes(cmd, config);
 		settings.multiThread = resolveMultiThread(cmd, config);
+		settings.incremental = resolveIncremental(cmd, config);
 		settings.projectDir = resolveProjectDir(cmd, config);
 		settings.paths = resolvePaths(cmd, config);
 		return settings;
@@ -316,6 +325,18 @@ public final class Ghostwriter {
 				: config.get(GWConstants.THREADS_PROP_NAME, null);
 	}
 
+	/**
+	 * Resolves whether incremental processing is enabled, from the
+	 * {@code --incremental} command-line option or configuration.
+	 *
+	 * @param cmd    parsed command line
+	 * @param config configuration source
+	 * @return {@code true} when unchanged files are skipped
+	 */
+	private static boolean resolveIncremental(CommandLine cmd, PropertiesConfigurator config) {
+		return cmd.hasOption(INCREMENTAL_OPTION) || config.getBoolean(GWConstants.INCREMENTAL_PROP_NAME, false);
+	}
+
 	/**
 	 * Resolves the project directory from the {@code -d} command-line option or
 	 * configuration.
@@ -505,9 +526,57 @@ public final class Ghostwriter {
 			protected String input() {
 				return readActInput(scanner);
 			}
+
+			@Override
+			protected Consumer<GenaiEvent> getEventListener() {
+				return new ConsoleStreamPrinter();
+			}
 		};
 	}
 
+	/**
+	 * Prints streamed response text to standard output as it arrives, ending the
+	 * line once each model request completes and logging tool invocations.
+	 */
+	private static final class ConsoleStreamPrinter implements Consumer<GenaiEvent> {
+
+		/** Whether response text has been printed since the last line break. */
+		private boolean lineOpen;
+
+		@Override
+		public void accept(GenaiEvent event) {
+			switch (event.getType()) {
+			case TEXT_DELTA:
+				if (!lineOpen) {
+					System.out.print(USER_INPUT_PREFIX + " ");
+					lineOpen = true;
+				}
+				System.out.print(event.getText());
+				System.out.flush();
+				break;
+			case TOOL_CALL_STARTED:
+				endLine();
+				LOGGER.info("Tool call: {}", event.getToolName());
+				break;
+			case USAGE:
+				endLine();
+				break;
+			default:
+				break;
+			}
+		}
+
+		/**
+		 * Terminates the current output line if response text was printed.
+		 */
+		private void endLine() {
+			if (lineOpen) {
+				System.out.println();
+				lineOpen = false;
+			}
+		}
+	}
+
 	/**
 	 * Reads possibly multi-line interactive act input from standard input, printing
 	 * the {@link #USER_INPUT_PREFIX} prompt before each line and supporting the
@@ -616,9 +685,9 @@ public final class Ghostwriter {
 	}
 
 	/**
-	 * Applies shared processor settings &mdash; instructions, excludes, and
-	 * concurrency &mdash; to the given processor, skipping any setting that was not
-	 * resolved.
+	 * Applies shared processor settings &mdash; instructions, excludes,
+	 * concurrency and incremental mode &mdash; to the given processor, skipping any
+	 * setting that was not resolved.
 	 *
 	 * @param processor processor to configure
 	 * @param settings  resolved runtime settings
@@ -627,6 +696,10 @@ public final class Ghostwriter {
 		applyInstructions(processor, settings.instructions);
 		applyExcludes(processor, settings.excludes);
 		applyConcurrency(processor, settings.multiThread);
+		if (settings.incremental) {
+			LOGGER.info("Incremental: skipping unchanged files");
+			processor.setIncremental(true);
+		}
 	}
 
 	/**
@@ -719,6 +792,9 @@ public final class Ghostwriter {
 			exitCode = handleProcessingFailure("Unexpected error", e);
 		} finally {
 			UsageStatistics.logUsage();
+			Tracer.flush();
+			GenaiProviderManager.clearProviderPool();
+			ClientCache.closeAll();
 			LOGGER.info("File processing finished.");
 		}
 		return exitCode;
@@ -781,6 +857,8 @@ public final class Ghostwriter {
 		private String[] excludes;
 		/** Configured thread count as text, or {@code null} if not configured. */
 		private String multiThread;
+		/** Whether unchanged files are skipped. */
+		private boolean incremental;
 		/** Resolved project directory. */
 		private File projectDir;
 		/** Scan directories or patterns to process. */
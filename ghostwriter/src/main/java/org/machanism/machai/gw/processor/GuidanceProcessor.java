@@ -3,12 +3,15 @@ package org.machanism.machai.gw.processor;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -43,6 +46,14 @@ import org.slf4j.LoggerFactory;
  * update surrounding content. Processing results are collected in
  * {@link #getReport()} as relative file paths and provider messages.
  * </p>
+ * <p>
+ * With {@link #setIncremental(boolean)} enabled, a file is skipped when its
+ * content, the extracted guidance, the process information, the instructions
+ * and default prompt (including the files they include) and the model are the
+ * same as in the last successful run, as recorded in the
+ * processing manifest under the project's {@code .machai} directory. Changes
+ * to other files of the folder are not part of that check.
+ * </p>
  * <h2>Examples</h2>
  * 
  * <pre>{@code
@@ -87,7 +98,13 @@ public class GuidanceProcessor extends AIFileProcessor {
 	/** Reviewer associations keyed by file extension. */
 	private final Map<String, Reviewer> reviewerMap = new HashMap<>();
 
-	private final List<Map<String, Object>> report = new ArrayList<>();
+	private final List<Map<String, Object>> report = Collections.synchronizedList(new ArrayList<>());
+
+	/**
+	 * Instructions and default prompt with their includes resolved, by project
+	 * directory and raw values, so included files are read once per run.
+	 */
+	private final Map<List<Object>, String> resolvedDefinitions = new ConcurrentHashMap<>();
 
 	/**
 	 * Constructs a new {@code GuidanceProcessor} for processing files with guidance
@@ -200,9 +217,7 @@ public class GuidanceProcessor extends AIFileProcessor {
 
 		children.removeIf(child -> isModuleDir(projectLayout, child) || !match(child, projectDir));
 
-		for (File child : children) {
-			processFile(projectLayout, child);
-		}
+		processFiles(projectLayout, children);
 
 		boolean match = match(projectDir, projectDir);
 
@@ -229,13 +244,27 @@ public class GuidanceProcessor extends AIFileProcessor {
 		if (match(file, projectDir)) {
 			String guidance = parseFile(projectDir, file);
 
-			String guidance_rules = promptBundle.getString("guidance_rules");
-			String processInfo = getProcessInfo(projectLayout, file);
-			if (guidance != null) {
-				perform = process(projectLayout, file, getInstructions(), processInfo, guidance_rules, guidance);
+			if (guidance != null || getDefaultPrompt() != null) {
+				String processInfo = getProcessInfo(projectLayout, file);
+				String key = getManifestKey(projectDir, file, processInfo, guidance);
+				if (isUnchanged(file, key)) {
+					logger.info("Skipping unchanged file: `{}`", file);
+					return;
+				}
 
-			} else if (getDefaultPrompt() != null) {
-				perform = process(projectLayout, file, getInstructions(), processInfo, getDefaultPrompt());
+				String guidance_rules = promptBundle.getString("guidance_rules");
+				try {
+					if (guidance != null) {
+						perform = process(projectLayout, file, getInstructions(), processInfo, guidance_rules, guidance);
+					} else {
+						perform = process(projectLayout, file, getInstructions(), processInfo, getDefaultPrompt());
+					}
+				} catch (RuntimeException e) {
+					recordOutcome(file, key, false);
+					throw e;
+				}
+				// The provider may have rewritten the file: record the key the next run will compute.
+				recordOutcome(file, getManifestKey(projectDir, file, processInfo, parseFile(projectDir, file)), true);
 			}
 		}
 
@@ -244,6 +273,45 @@ public class GuidanceProcessor extends AIFileProcessor {
 		}
 	}
 
+	/**
+	 * Computes the manifest key of a file from its content and every input of its
+	 * request: process information, guidance rules, extracted guidance, model,
+	 * and the instructions and default prompt with the content of the files and
+	 * URLs they include.
+	 *
+	 * @param projectDir  project directory that includes are resolved against
+	 * @param file        file being processed
+	 * @param processInfo process information sent with the request
+	 * @param guidance    guidance extracted from the current content, or
+	 *                    {@code null}
+	 * @return manifest key, or {@code null} for directories
+	 * @throws IOException if the file cannot be read
+	 */
+	String getManifestKey(File projectDir, File file, String processInfo, String guidance) throws IOException {
+		if (!file.isFile()) {
+			return null;
+		}
+		return ProcessingManifest.key(file, processInfo, resolveDefinition(projectDir, getInstructions()),
+				promptBundle.getString("guidance_rules"), guidance, resolveDefinition(projectDir, getDefaultPrompt()),
+				getModel());
+	}
+
+	/**
+	 * Resolves the includes of an instruction or prompt definition, reusing the
+	 * result for the rest of the run.
+	 *
+	 * @param projectDir project directory that includes are resolved against
+	 * @param definition raw definition, may be {@code null}
+	 * @return resolved definition, or {@code null} for a {@code null} definition
+	 */
+	private String resolveDefinition(File projectDir, String definition) {
+		if (definition == null) {
+			return null;
+		}
+		return resolvedDefinitions.computeIfAbsent(Arrays.asList(projectDir, definition),
+				k -> parseLines(definition, projectDir, getConfigurator()));
+	}
+
 	/**
 	 * Composes the final prompt and dispatches it to the configured provider.
 	 *
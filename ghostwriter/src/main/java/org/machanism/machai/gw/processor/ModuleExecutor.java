@@ -0,0 +1,439 @@
+package org.machanism.machai.gw.processor;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the modules of a project tree on one worker pool, in dependency order.
+ *
+ * <p>
+ * A processor owns one executor for the whole scan. Each aggregator level
+ * submits its modules as a batch together with the dependencies between them;
+ * a module is queued as soon as all modules it depends on have finished.
+ * Nested aggregators submit their batches to the same pool, so the total
+ * number of threads is bounded by the configured budget whatever the depth of
+ * the tree.
+ * </p>
+ * <p>
+ * The thread that submits a batch does not idle while it waits: it runs ready
+ * modules of its own batch itself and blocks only while all remaining modules
+ * of the batch are running elsewhere or wait for them. The pool therefore has
+ * one worker less than the budget, the submitting thread being the last one,
+ * and nested batches cannot starve the pool.
+ * </p>
+ * <p>
+ * The first failure of a batch stops it: modules not yet started are skipped,
+ * running modules finish, and the failure is rethrown to the submitter.
+ * Dependency cycles are broken by running the modules of each cycle one after
+ * the other in declaration order; modules that depend on a cycle still wait for
+ * all of its modules.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+final class ModuleExecutor {
+
+	/**
+	 * Work applied to one module.
+	 */
+	interface ModuleTask {
+
+		/**
+		 * Processes one module.
+		 *
+		 * @param module module relative path
+		 * @throws IOException if processing fails
+		 */
+		void process(String module) throws IOException;
+	}
+
+	/** Logger for module scheduling events. */
+	private static final Logger logger = LoggerFactory.getLogger(ModuleExecutor.class);
+
+	/** Time after which idle workers exit. */
+	private static final long IDLE_SECONDS = 30;
+
+	/** Numbering of worker threads across executors. */
+	private static final AtomicInteger WORKER_IDS = new AtomicInteger();
+
+	/** Worker pool shared by all batches. */
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Creates an executor.
+	 *
+	 * @param threads thread budget including the submitting thread; must be
+	 *                greater than one
+	 * @throws IllegalArgumentException if {@code threads} is less than two
+	 */
+	ModuleExecutor(int threads) {
+		if (threads < 2) {
+			throw new IllegalArgumentException("The number of threads must be greater than one.");
+		}
+		executor = new ThreadPoolExecutor(threads - 1, threads - 1, IDLE_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "gw-module-" + WORKER_IDS.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Processes a batch of modules and blocks until all of them are done or the
+	 * batch failed.
+	 *
+	 * @param modules      module relative paths, in declaration order
+	 * @param dependencies for each module, the modules of the batch it depends on
+	 * @param task         work applied to each module
+	 * @throws IOException           the first {@link IOException} thrown by
+	 *                               {@code task}
+	 * @throws IllegalStateException if the calling thread is interrupted
+	 */
+	void run(List<String> modules, Map<String, Set<String>> dependencies, ModuleTask task) throws IOException {
+		Batch batch = new Batch(modules, dependencies, task);
+		batch.start();
+		batch.await();
+	}
+
+	/**
+	 * Returns the worker pool, for shutdown.
+	 *
+	 * @return worker pool
+	 */
+	ThreadPoolExecutor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * One module of a batch.
+	 */
+	private static final class Node {
+
+		/** Module relative path. */
+		private final String module;
+
+		/** Modules of the batch waiting for this one. */
+		private final List<Node> dependents = new ArrayList<>();
+
+		/** Number of dependencies not yet finished. */
+		private int pending;
+
+		/** Whether a thread has taken this module. */
+		private boolean claimed;
+
+		private Node(String module) {
+			this.module = module;
+		}
+	}
+
+	/**
+	 * Modules submitted by one {@link #run(List, Map, ModuleTask)} call.
+	 */
+	private final class Batch {
+
+		/** Work applied to each module. */
+		private final ModuleTask task;
+
+		/** Nodes by module, in declaration order. */
+		private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+		/** Ready modules not yet taken by a thread. */
+		private final Deque<Node> ready = new ArrayDeque<>();
+
+		/** Modules not yet processed. */
+		private int outstanding;
+
+		/** Modules currently running. */
+		private int running;
+
+		/** First failure, or {@code null}. */
+		private Throwable failure;
+
+		private Batch(List<String> modules, Map<String, Set<String>> dependencies, ModuleTask task) {
+			this.task = task;
+			for (String module : modules) {
+				nodes.putIfAbsent(module, new Node(module));
+			}
+			for (Node node : nodes.values()) {
+				Collection<String> dependsOn = dependencies.getOrDefault(node.module, Collections.emptySet());
+				for (String dependency : dependsOn) {
+					Node target = nodes.get(dependency);
+					if (target != null && target != node) {
+						target.dependents.add(node);
+						node.pending++;
+					}
+				}
+			}
+			outstanding = nodes.size();
+			breakCycles();
+		}
+
+		/**
+		 * Replaces each dependency cycle by a chain: the edges between the modules
+		 * of a strongly connected component are removed and its modules wait for
+		 * each other in declaration order. Edges entering and leaving the
+		 * component are kept, and modules that depend on any module of the cycle
+		 * also wait for its last module, so they still wait for all of them.
+		 */
+		private void breakCycles() {
+			for (List<Node> component : new Components().find()) {
+				if (component.size() < 2) {
+					continue;
+				}
+				List<String> cyclic = new ArrayList<>();
+				for (Node node : component) {
+					cyclic.add(node.module);
+					for (Iterator<Node> it = node.dependents.iterator(); it.hasNext();) {
+						Node dependent = it.next();
+						if (component.contains(dependent)) {
+							it.remove();
+							dependent.pending--;
+						}
+					}
+				}
+				// Through the cycle, a module outside it depends on every member: it waits for the last one.
+				Node last = component.get(component.size() - 1);
+				Set<Node> downstream = new LinkedHashSet<>();
+				for (Node node : component) {
+					downstream.addAll(node.dependents);
+				}
+				downstream.removeAll(last.dependents);
+				for (Node dependent : downstream) {
+					last.dependents.add(dependent);
+					dependent.pending++;
+				}
+				for (int i = 1; i < component.size(); i++) {
+					component.get(i - 1).dependents.add(component.get(i));
+					component.get(i).pending++;
+				}
+				logger.warn("Dependency cycle between modules {}; processing them in declaration order.", cyclic);
+			}
+		}
+
+		/**
+		 * Strongly connected components of the batch graph (Tarjan's algorithm).
+		 */
+		private final class Components {
+
+			/** Discovery index by node. */
+			private final Map<Node, Integer> index = new HashMap<>();
+
+			/** Lowest discovery index reachable by node. */
+			private final Map<Node, Integer> low = new HashMap<>();
+
+			/** Nodes of the components being explored. */
+			private final Deque<Node> stack = new ArrayDeque<>();
+
+			/** Nodes currently on {@link #stack}. */
+			private final Set<Node> onStack = new HashSet<>();
+
+			/** Found components. */
+			private final List<List<Node>> components = new ArrayList<>();
+
+			/**
+			 * Finds the components.
+			 *
+			 * @return components, each with its modules in declaration order
+			 */
+			private List<List<Node>> find() {
+				for (Node node : nodes.values()) {
+					if (!index.containsKey(node)) {
+						visit(node);
+					}
+				}
+				return components;
+			}
+
+			private void visit(Node node) {
+				index.put(node, index.size());
+				low.put(node, index.get(node));
+				stack.push(node);
+				onStack.add(node);
+				for (Node dependent : node.dependents) {
+					if (!index.containsKey(dependent)) {
+						visit(dependent);
+						low.put(node, Math.min(low.get(node), low.get(dependent)));
+					} else if (onStack.contains(dependent)) {
+						low.put(node, Math.min(low.get(node), index.get(dependent)));
+					}
+				}
+				if (low.get(node).equals(index.get(node))) {
+					Set<Node> members = new HashSet<>();
+					Node member;
+					do {
+						member = stack.pop();
+						onStack.remove(member);
+						members.add(member);
+					} while (member != node);
+					List<Node> component = new ArrayList<>();
+					for (Node candidate : nodes.values()) {
+						if (members.contains(candidate)) {
+							component.add(candidate);
+						}
+					}
+					components.add(component);
+				}
+			}
+		}
+
+		private synchronized void start() {
+			for (Node node : nodes.values()) {
+				if (node.pending == 0) {
+					offer(node);
+				}
+			}
+		}
+
+		/**
+		 * Queues a ready module. Must be called while holding the batch lock.
+		 *
+		 * @param node ready module
+		 */
+		private void offer(Node node) {
+			ready.add(node);
+			executor.execute(() -> {
+				if (claim(node)) {
+					execute(node);
+				}
+			});
+		}
+
+		/**
+		 * Takes a ready module for the calling thread.
+		 *
+		 * @param node module
+		 * @return {@code true} if the caller must run the module
+		 */
+		private synchronized boolean claim(Node node) {
+			if (node.claimed || failure != null) {
+				return false;
+			}
+			node.claimed = true;
+			ready.remove(node);
+			running++;
+			return true;
+		}
+
+		/**
+		 * Takes the next ready module for the submitting thread.
+		 *
+		 * @return module, or {@code null} if none is ready
+		 */
+		private synchronized Node claimNext() {
+			Node node = ready.peek();
+			return node != null && claim(node) ? node : null;
+		}
+
+		private void execute(Node node) {
+			Throwable error = null;
+			try {
+				task.process(node.module);
+			} catch (IOException | RuntimeException | Error e) {
+				error = e;
+			}
+			done(node, error);
+		}
+
+		/**
+		 * Records the end of a module and queues the dependents it released.
+		 *
+		 * @param node  finished module
+		 * @param error failure of the module, or {@code null}
+		 */
+		private synchronized void done(Node node, Throwable error) {
+			running--;
+			if (error != null) {
+				if (failure == null) {
+					failure = error;
+				}
+			} else {
+				outstanding--;
+				for (Node dependent : node.dependents) {
+					if (--dependent.pending == 0 && failure == null) {
+						offer(dependent);
+					}
+				}
+			}
+			notifyAll();
+		}
+
+		/**
+		 * Runs ready modules on the calling thread and waits for the others.
+		 *
+		 * @throws IOException if a module failed with an {@link IOException}
+		 */
+		private void await() throws IOException {
+			while (true) {
+				Node node = claimNext();
+				if (node != null) {
+					execute(node);
+					continue;
+				}
+				synchronized (this) {
+					if (Thread.currentThread().isInterrupted()) {
+						interrupted(null);
+					}
+					if (failure == null ? outstanding == 0 : running == 0) {
+						break;
+					}
+					if (ready.isEmpty() || failure != null) {
+						try {
+							wait();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							interrupted(e);
+						}
+					}
+				}
+			}
+			rethrow();
+		}
+
+		/**
+		 * Stops the batch after the submitting thread was interrupted. Must be
+		 * called while holding the batch lock.
+		 *
+		 * @param cause interruption, or {@code null} if only the flag was set
+		 */
+		private void interrupted(InterruptedException cause) {
+			IllegalStateException error = new IllegalStateException("Thread interrupted while processing modules",
+					cause);
+			if (failure == null) {
+				failure = error;
+			}
+			throw error;
+		}
+
+		private synchronized void rethrow() throws IOException {
+			if (failure instanceof IOException) {
+				throw (IOException) failure;
+			}
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package org.machanism.machai.gw.processor;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Compiled form of a list of path patterns, built once per pattern list instead
+ * of once per checked path.
+ *
+ * <p>
+ * Each entry of the list is either a {@code glob:} or {@code regex:} matcher
+ * expression, or a plain path. A path matches the filter when:
+ * </p>
+ * <ul>
+ * <li>it is equal to a plain entry, or its file name is,</li>
+ * <li>or it matches one of the expressions.</li>
+ * </ul>
+ * <p>
+ * Plain entries are looked up in a hash set. Glob expressions are merged into a
+ * single {@code glob:{a,b,...}} matcher and regex expressions into a single
+ * alternation, so the number of matcher evaluations per path does not grow with
+ * the number of patterns. Expressions that cannot be merged without changing
+ * their meaning (globs containing groups or commas, regexes with
+ * back-references or named groups) keep their own matcher. Matchers come from the default file
+ * system, so platform rules such as case-insensitive matching on Windows are
+ * unchanged.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+final class PathFilter {
+
+	/** Filter that matches nothing. */
+	static final PathFilter EMPTY = new PathFilter(Collections.emptySet(), Collections.emptyList());
+
+	/** Matcher syntax prefix for glob expressions. */
+	private static final String GLOB = "glob:";
+
+	/** Matcher syntax prefix for regex expressions. */
+	private static final String REGEX = "regex:";
+
+	/**
+	 * Regex features that cannot be merged into an alternation: back-references
+	 * depend on the group position, and a group name may be defined only once.
+	 */
+	private static final Pattern UNMERGEABLE_REGEX = Pattern.compile("\\\\(?:[1-9]|k<)|\\(\\?<[a-zA-Z]");
+
+	/** Plain paths and file names. */
+	private final Set<String> paths;
+
+	/** Compiled expressions, merged where possible. */
+	private final List<PathMatcher> matchers;
+
+	/**
+	 * Creates a filter.
+	 *
+	 * @param paths    plain paths and file names
+	 * @param matchers compiled expressions
+	 */
+	private PathFilter(Set<String> paths, List<PathMatcher> matchers) {
+		this.paths = paths;
+		this.matchers = matchers;
+	}
+
+	/**
+	 * Compiles a list of patterns.
+	 *
+	 * @param patterns {@code glob:} or {@code regex:} expressions and plain paths;
+	 *                 may be {@code null} and may contain {@code null} entries
+	 * @return compiled filter, {@link #EMPTY} when there is nothing to match
+	 * @throws java.util.regex.PatternSyntaxException if an expression is invalid
+	 */
+	static PathFilter compile(String[] patterns) {
+		if (patterns == null) {
+			return EMPTY;
+		}
+
+		Set<String> paths = new HashSet<>();
+		List<String> globs = new ArrayList<>();
+		List<String> regexes = new ArrayList<>();
+		List<PathMatcher> matchers = new ArrayList<>();
+		for (String pattern : patterns) {
+			if (pattern == null) {
+				continue;
+			}
+			if (!AbstractFileProcessor.isPathPattern(pattern)) {
+				paths.add(pattern);
+				continue;
+			}
+			// Compiling each expression on its own keeps syntax errors attributable.
+			PathMatcher matcher = FileSystems.getDefault().getPathMatcher(pattern);
+			String syntax = pattern.substring(0, pattern.indexOf(':') + 1).toLowerCase(Locale.ROOT);
+			String expression = pattern.substring(syntax.length());
+			if (GLOB.equals(syntax) && StringUtils.containsNone(expression, '{', '}', ',')) {
+				globs.add(expression);
+			} else if (REGEX.equals(syntax) && !UNMERGEABLE_REGEX.matcher(expression).find()) {
+				regexes.add(expression);
+			} else {
+				matchers.add(matcher);
+			}
+		}
+
+		if (globs.size() == 1) {
+			matchers.add(FileSystems.getDefault().getPathMatcher(GLOB + globs.get(0)));
+		} else if (!globs.isEmpty()) {
+			matchers.add(FileSystems.getDefault().getPathMatcher(GLOB + "{" + String.join(",", globs) + "}"));
+		}
+		if (!regexes.isEmpty()) {
+			StringBuilder alternation = new StringBuilder(REGEX);
+			for (String regex : regexes) {
+				if (alternation.length() > REGEX.length()) {
+					alternation.append('|');
+				}
+				alternation.append("(?:").append(regex).append(')');
+			}
+			matchers.add(FileSystems.getDefault().getPathMatcher(alternation.toString()));
+		}
+
+		if (paths.isEmpty() && matchers.isEmpty()) {
+			return EMPTY;
+		}
+		return new PathFilter(paths, matchers);
+	}
+
+	/**
+	 * Tests a relative path against the filter.
+	 *
+	 * @param path relative path; {@code null} never matches
+	 * @return {@code true} when the path or its file name matches an entry
+	 */
+	boolean matches(Path path) {
+		if (path == null) {
+			return false;
+		}
+		if (!paths.isEmpty()) {
+			if (paths.contains(path.toString())) {
+				return true;
+			}
+			Path name = path.getFileName();
+			if (name != null && paths.contains(name.toString())) {
+				return true;
+			}
+		}
+		for (PathMatcher matcher : matchers) {
+			if (matcher.matches(path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
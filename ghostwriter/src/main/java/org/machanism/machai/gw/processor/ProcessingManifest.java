@@ -0,0 +1,292 @@
+package org.machanism.machai.gw.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.machanism.machai.project.ProjectProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Persistent record of the files processed by previous runs, used to skip
+ * files whose inputs did not change.
+ *
+ * <p>
+ * For every processed file the manifest stores a key and the outcome of the
+ * last run. The key is a SHA-256 hash of the file content and of every other
+ * input that shapes the request, such as instructions, guidance, default
+ * prompt and model (see {@link #key(File, String...)}). A file is up to date
+ * when its current key equals the stored one and the last run succeeded.
+ * </p>
+ * <p>
+ * The manifest is kept in {@code gw-manifest.json} under the
+ * {@value ProjectProcessor#MACHAI_TEMP_DIR} directory of the root project. It
+ * is read once, updated in memory while files are processed (possibly from
+ * several threads) and written back by {@link #save()} when a scan ends. While
+ * files are processed, {@link #checkpoint()} writes it at most once per
+ * {@value #SAVE_INTERVAL_MS} ms, so an interrupted run keeps most of what it
+ * finished. Entries of files that no longer exist are dropped by
+ * {@link #prune()}, once per scan. An unreadable manifest is ignored, so
+ * the next run simply processes every file again.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+final class ProcessingManifest {
+
+	/** Outcome of the last processing of a file. */
+	enum Outcome {
+		/** The provider request completed. */
+		PROCESSED,
+		/** The provider request failed; the file is processed again next time. */
+		FAILED
+	}
+
+	/** Manifest file name inside the {@value ProjectProcessor#MACHAI_TEMP_DIR} directory. */
+	static final String FILE_NAME = "gw-manifest.json";
+
+	/** Version of the manifest format; manifests of other versions are ignored. */
+	private static final int VERSION = 1;
+
+	/** Logger for manifest I/O events. */
+	private static final Logger logger = LoggerFactory.getLogger(ProcessingManifest.class);
+
+	/** Size of the buffer used to hash file contents. */
+	private static final int BUFFER_SIZE = 8192;
+
+	/** Minimum time between two checkpoint writes, in milliseconds. */
+	static final long SAVE_INTERVAL_MS = 30_000L;
+
+	/** Shared JSON mapper. */
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	/** Directory that manifest paths are relative to. */
+	private final File rootDir;
+
+	/** Manifest file. */
+	private final File file;
+
+	/** Entries by root-relative path. */
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/** Whether entries changed since the manifest was read or written. */
+	private volatile boolean dirty;
+
+	/** Time of the last write or checkpoint attempt, in epoch milliseconds. */
+	private final AtomicLong lastSaved = new AtomicLong(System.currentTimeMillis());
+
+	/**
+	 * Creates an empty manifest.
+	 *
+	 * @param rootDir directory that manifest paths are relative to
+	 * @param file    manifest file
+	 */
+	private ProcessingManifest(File rootDir, File file) {
+		this.rootDir = rootDir;
+		this.file = file;
+	}
+
+	/**
+	 * Reads the manifest of a root project, or returns an empty one when it does
+	 * not exist or cannot be read.
+	 *
+	 * @param rootDir root project directory
+	 * @return manifest
+	 */
+	static ProcessingManifest load(File rootDir) {
+		File file = new File(new File(rootDir, ProjectProcessor.MACHAI_TEMP_DIR), FILE_NAME);
+		ProcessingManifest manifest = new ProcessingManifest(rootDir, file);
+		if (!file.isFile()) {
+			return manifest;
+		}
+		try {
+			JsonNode root = MAPPER.readTree(file);
+			if (root.path("version").asInt() != VERSION) {
+				logger.info("Ignoring processing manifest with unsupported version: {}", file);
+				return manifest;
+			}
+			Iterator<Map.Entry<String, JsonNode>> fields = root.path("files").fields();
+			while (fields.hasNext()) {
+				Map.Entry<String, JsonNode> field = fields.next();
+				JsonNode value = field.getValue();
+				Outcome outcome = Outcome.valueOf(value.path("outcome").asText());
+				manifest.entries.put(field.getKey(),
+						new Entry(value.path("key").asText(), outcome, value.path("updated").asLong()));
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			logger.warn("Ignoring unreadable processing manifest {}: {}", file, e.getMessage());
+			manifest.entries.clear();
+		}
+		return manifest;
+	}
+
+	/**
+	 * Computes the key of a file and the inputs of its request.
+	 *
+	 * @param file   file whose content is hashed
+	 * @param inputs other request inputs, each may be {@code null}
+	 * @return SHA-256 hex key
+	 * @throws IOException if the file cannot be read
+	 */
+	static String key(File file, String... inputs) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available.", e);
+		}
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			int read;
+			while ((read = in.read(buffer)) > 0) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		for (String input : inputs) {
+			// Separators keep ("ab", "c") and ("a", "bc") apart; null differs from "".
+			digest.update((byte) 0);
+			if (input != null) {
+				digest.update((byte) 1);
+				digest.update(input.getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		byte[] hash = digest.digest();
+		StringBuilder hex = new StringBuilder(hash.length * 2);
+		for (byte b : hash) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+	/**
+	 * Returns whether a file was processed successfully with the given key.
+	 *
+	 * @param path root-relative file path
+	 * @param key  current key of the file
+	 * @return {@code true} when the file can be skipped
+	 */
+	boolean isUpToDate(String path, String key) {
+		Entry entry = entries.get(path);
+		return entry != null && entry.outcome == Outcome.PROCESSED && entry.key.equals(key);
+	}
+
+	/**
+	 * Records the outcome of processing a file.
+	 *
+	 * @param path    root-relative file path
+	 * @param key     key of the file after processing
+	 * @param outcome outcome of the request
+	 */
+	void record(String path, String key, Outcome outcome) {
+		entries.put(path, new Entry(key, outcome, System.currentTimeMillis()));
+		dirty = true;
+	}
+
+	/**
+	 * Writes the manifest if it changed and the last write is older than
+	 * {@value #SAVE_INTERVAL_MS} ms. Only one of the concurrent callers writes; the
+	 * others return at once.
+	 */
+	void checkpoint() {
+		long last = lastSaved.get();
+		if (dirty && System.currentTimeMillis() - last >= SAVE_INTERVAL_MS
+				&& lastSaved.compareAndSet(last, System.currentTimeMillis())) {
+			save();
+		}
+	}
+
+	/**
+	 * Drops the entries of files that no longer exist.
+	 */
+	void prune() {
+		for (String path : entries.keySet()) {
+			if (!new File(rootDir, path).isFile()) {
+				entries.remove(path);
+				dirty = true;
+			}
+		}
+	}
+
+	/**
+	 * Writes the manifest if it changed. Failures are logged and do not stop the
+	 * run; the affected files are processed again next time.
+	 */
+	synchronized void save() {
+		if (!dirty) {
+			return;
+		}
+		dirty = false;
+		lastSaved.set(System.currentTimeMillis());
+
+		ObjectNode root = MAPPER.createObjectNode();
+		root.put("version", VERSION);
+		ObjectNode files = root.putObject("files");
+		for (Map.Entry<String, Entry> item : new TreeMap<>(entries).entrySet()) {
+			Entry entry = item.getValue();
+			ObjectNode value = files.putObject(item.getKey());
+			value.put("key", entry.key);
+			value.put("outcome", entry.outcome.name());
+			value.put("updated", entry.updated);
+		}
+
+		try {
+			Files.createDirectories(file.getParentFile().toPath());
+			File temp = new File(file.getParentFile(), FILE_NAME + ".tmp");
+			MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp, root);
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			logger.warn("Unable to write processing manifest {}: {}", file, e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the manifest file.
+	 *
+	 * @return manifest file
+	 */
+	File getFile() {
+		return file;
+	}
+
+	/**
+	 * Stored state of one file.
+	 */
+	private static final class Entry {
+
+		/** Key of the file after the last run. */
+		private final String key;
+
+		/** Outcome of the last run. */
+		private final Outcome outcome;
+
+		/** Time of the last run, in epoch milliseconds. */
+		private final long updated;
+
+		private Entry(String key, Outcome outcome, long updated) {
+			this.key = key;
+			this.outcome = outcome;
+			this.updated = updated;
+		}
+	}
+}
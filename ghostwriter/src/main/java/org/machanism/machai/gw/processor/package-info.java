@@ -34,9 +34,10 @@
  * provider.
  *
  * <p>{@link AbstractFileProcessor} supplies the common filesystem behavior:
- * recursive module discovery, optional concurrent module processing, include
- * matching with {@code glob:} or {@code regex:} patterns, exclusion rules,
- * non-recursive scans, and delegation to subclasses for each matching file.</p>
+ * recursive module discovery, optional concurrent module and file processing,
+ * include matching with {@code glob:} or {@code regex:} patterns, exclusion
+ * rules, non-recursive scans, and delegation to subclasses for each matching
+ * file.</p>
  *
  * <h2>AI file processing</h2>
  * <p>{@link AIFileProcessor} adds provider execution and project context. It
@@ -131,7 +131,7 @@ public class ActFunctionTools implements FunctionTools {
 	 *         execution) or a process ID and status (for asynchronous execution).
 	 * @throws IOException If an error occurs during Act processing.
 	 */
-	@Tool(name = "perform_act", description = "Performs the specified Act by name. Use this tool to trigger a predefined action or workflow identified by the given Act name.")
+	@Tool(name = "perform_act", concurrent = false, description = "Performs the specified Act by name. Use this tool to trigger a predefined action or workflow identified by the given Act name.")
 	public Object performAct(
 			@Param(name = "act_name", description = "The name of the Act to perform.") String actName,
 			@Param(name = "project_dir", description = "The project directory.") File projectDir,
@@ -107,7 +107,7 @@ public class CommandFunctionTools implements FunctionTools {
 	 * @return command execution report, or an error message for an invalid directory
 	 * @throws IOException if the process cannot be started or its output cannot be collected
 	 */
-	@Tool(name = "run_sys_command", description = "Executes a system command for operation system: `${OS_NAME}` while ensuring safe execution.\n"
+	@Tool(name = "run_sys_command", concurrent = false, description = "Executes a system command for operation system: `${OS_NAME}` while ensuring safe execution.\n"
 			+ "Only explicitly allowed commands can be executed for security reasons.\n"
 			+ "Supports setting environment variables, working directory, output tail size, and character encoding.")
 	public Object executeCommand(
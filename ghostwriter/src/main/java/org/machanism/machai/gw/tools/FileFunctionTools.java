@@ -186,7 +186,7 @@ public class FileFunctionTools implements FunctionTools {
 	 * @param projectDir  project root used to resolve the file
 	 * @return a success message or an error message when writing fails
 	 */
-	@Tool(name = "write_file", description = "Write changes to a file on the file system, either by replacing content at specific positions or writing the full content.")
+	@Tool(name = "write_file", concurrent = false, description = "Write changes to a file on the file system, either by replacing content at specific positions or writing the full content.")
 	public String writeFile(
 			@Param(name = "file_path", description = "The path to the file you want to write to or create.") File filePath,
 			@Param(name = "text", description = "The content to be written into the file or used as replacement.") String text,
@@ -344,7 +344,7 @@ public class FileFunctionTools implements FunctionTools {
 	 * search-and-replace patch to a file within the project directory.
 	 * </p>
 	 */
-	@Tool(name = "apply_patch_to_file", description = "Use this tool to update a part of a file efficiently "
+	@Tool(name = "apply_patch_to_file", concurrent = false, description = "Use this tool to update a part of a file efficiently "
 			+ "by applying a targeted diff patch. Supports two formats:\n"
 			+ "1. Standard Unified Diff (as produced by `diff -u` or `git diff`) containing @@ coordinates (e.g., '@@ -12,4 +12,18 @@').\n"
 			+ "2. Simplified Search-and-Replace Diff containing a plain '@@' header with exact line-matching blocks "
@@ -167,7 +167,7 @@ public class GuidanceFunctionTools implements FunctionTools {
 	 * @throws IOException If there is an error initializing the processor or
 	 *                     creating the temp file.
 	 */
-	@Tool(name = "process_files_with_guidance_tag", description = "Scans files for embedded guidance-tag directives (marginalia such as `@guidance` comments) "
+	@Tool(name = "process_files_with_guidance_tag", concurrent = false, description = "Scans files for embedded guidance-tag directives (marginalia such as `@guidance` comments) "
 			+ "and processes each matching file using the configured AI model to apply the requested guidance. "
 			+ "Files are discovered by scanning the location described by `path`, resolved relative to `project_dir` "
 			+ "(or the project's root directory when `path` is omitted or absolute). "
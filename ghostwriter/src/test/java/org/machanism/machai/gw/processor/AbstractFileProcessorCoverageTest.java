@@ -2,7 +2,6 @@ package org.machanism.machai.gw.processor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -124,23 +123,6 @@ class AbstractFileProcessorCoverageTest {
 		assertFalse(processor.shouldExcludePath(new File("docs/readme.txt").toPath()));
 	}
 
-	@Test
-	void getPatternPath_whenBlankOrNotPattern_returnsNull() {
-		// Arrange + Act + Assert
-		assertNull(AbstractFileProcessor.getPatternPath(null));
-		assertNull(AbstractFileProcessor.getPatternPath(""));
-		assertNull(AbstractFileProcessor.getPatternPath("src"));
-	}
-
-	@Test
-	void pathDepth_whenBlank_returnsZero_andCountsSegments() {
-		// Arrange + Act + Assert
-		assertEquals(0, AbstractFileProcessor.pathDepth(null));
-		assertEquals(0, AbstractFileProcessor.pathDepth(" "));
-		assertEquals(3, AbstractFileProcessor.pathDepth("a/b/c"));
-		assertEquals(3, AbstractFileProcessor.pathDepth("a\\b\\c"), "Windows separators should be normalized");
-	}
-
 	@Test
 	void findFilesWithPattern_whenGlobPattern_includesMatchingFiles() throws Exception {
 		// Arrange
@@ -160,6 +142,25 @@ class AbstractFileProcessorCoverageTest {
 		assertFalse(files.stream().anyMatch(f -> f.getName().equals("y.txt")), "Excluded txt should not be present");
 	}
 
+	@Test
+	void findFilesWithPattern_whenDirectoryExcluded_skipsItsContent() throws Exception {
+		// Arrange
+		File projectDir = tempDir.toFile();
+		Files.createDirectories(tempDir.resolve("a/gen/deep"));
+		Files.write(tempDir.resolve("a/x.md"), Arrays.asList("x"));
+		Files.write(tempDir.resolve("a/gen/deep/y.md"), Arrays.asList("y"));
+
+		AbstractFileProcessor processor = newProcessor(projectDir);
+		processor.setExcludes(new String[] { "a/gen" });
+
+		// Act
+		java.util.List<File> files = processor.listFiles(projectDir, "glob:**/*.*");
+
+		// Assert
+		assertTrue(files.stream().anyMatch(f -> f.getName().equals("x.md")));
+		assertFalse(files.stream().anyMatch(f -> f.getName().equals("y.md")), "Excluded directory should be pruned");
+	}
+
 	@Test
 	void processModulesMultiThreaded_whenFutureInterrupted_throwsAndPreservesInterrupt() {
 		// Arrange
@@ -170,7 +171,8 @@ class AbstractFileProcessorCoverageTest {
 		// Act + Assert (Sonar java:S5778: isolate the single invocation which may throw)
 		java.util.concurrent.Callable<Void> call = () -> {
 			Thread.currentThread().interrupt();
-			processor.processModulesMultiThreaded(projectDir, Collections.singletonList("m"));
+			processor.processModulesMultiThreaded(processor.getProjectLayout(projectDir),
+					Collections.singletonList("m"));
 			return null;
 		};
 
@@ -3,8 +3,6 @@ package org.machanism.machai.gw.processor;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -13,7 +11,6 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.PathMatcher;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -50,34 +47,6 @@ class AbstractFileProcessorTest {
 		assertFalse(AbstractFileProcessor.isPathPattern("  glob:**/*.java"));
 	}
 
-	@Test
-	void getPatternPath_whenBlankOrNotPattern_thenNull() {
-		assertNull(AbstractFileProcessor.getPatternPath(null));
-		assertNull(AbstractFileProcessor.getPatternPath(""));
-		assertNull(AbstractFileProcessor.getPatternPath("src/main/java"));
-	}
-
-	@Test
-	void getPatternPath_whenPattern_thenReturnsMatcher() {
-		PathMatcher matcher = AbstractFileProcessor.getPatternPath("glob:**/*.java");
-		assertNotNull(matcher);
-		assertTrue(matcher.matches(new File("a/b/C.java").toPath()));
-		assertFalse(matcher.matches(new File("a/b/C.txt").toPath()));
-	}
-
-	@Test
-	void pathDepth_whenBlank_thenZero() {
-		assertEquals(0, AbstractFileProcessor.pathDepth(null));
-		assertEquals(0, AbstractFileProcessor.pathDepth(""));
-		assertEquals(0, AbstractFileProcessor.pathDepth("   "));
-	}
-
-	@Test
-	void pathDepth_whenWindowsSeparators_thenNormalizes() {
-		assertEquals(3, AbstractFileProcessor.pathDepth("a\\b\\c"));
-		assertEquals(1, AbstractFileProcessor.pathDepth("one"));
-	}
-
 	@Test
 	void shutdownExecutor_whenNull_thenNoop() {
 		assertDoesNotThrow(() -> processor.shutdownExecutor(null));
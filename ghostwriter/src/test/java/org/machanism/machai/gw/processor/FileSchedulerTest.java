@@ -0,0 +1,123 @@
+package org.machanism.machai.gw.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.machanism.machai.ai.provider.RateGovernor;
+
+class FileSchedulerTest {
+
+	@TempDir
+	Path tempDir;
+
+	@AfterEach
+	void resetGovernors() {
+		RateGovernor.reset();
+	}
+
+	@Test
+	void run_whenSingleWorker_thenLargestFilesFirstAndDirectoriesAfterChildren() throws IOException {
+		File small = file("a.txt", 10);
+		File large = file("b.txt", 1000);
+		File nested = file("d/c.txt", 100);
+		File dir = nested.getParentFile();
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+		new FileScheduler(1, null).run(Arrays.asList(nested, small, large, dir),
+				file -> order.add(file.getName()));
+
+		assertEquals(Arrays.asList("b.txt", "c.txt", "d", "a.txt"), order);
+	}
+
+	@Test
+	void run_whenSeveralWorkers_thenFilesRunConcurrently() throws IOException {
+		List<File> files = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			files.add(file("f" + i + ".txt", i));
+		}
+		CyclicBarrier barrier = new CyclicBarrier(4);
+		AtomicInteger processed = new AtomicInteger();
+
+		new FileScheduler(4, null).run(files, file -> {
+			try {
+				barrier.await(5, TimeUnit.SECONDS);
+			} catch (Exception e) {
+				throw new IOException("Files did not run concurrently", e);
+			}
+			processed.incrementAndGet();
+		});
+
+		assertEquals(8, processed.get());
+	}
+
+	@Test
+	void run_whenTaskFails_thenFailureIsRethrownAndParentSkipped() throws IOException {
+		File child = file("d/c.txt", 1);
+		File dir = child.getParentFile();
+		IOException failure = new IOException("boom");
+		List<File> processed = Collections.synchronizedList(new ArrayList<>());
+
+		IOException thrown = assertThrows(IOException.class,
+				() -> new FileScheduler(2, null).run(Arrays.asList(child, dir), file -> {
+					processed.add(file);
+					if (file.equals(child)) {
+						throw failure;
+					}
+				}));
+
+		assertSame(failure, thrown);
+		assertEquals(Collections.singletonList(child), processed);
+	}
+
+	@Test
+	void limit_whenProviderIsRateLimited_thenConcurrencyDrops() {
+		FileScheduler scheduler = new FileScheduler(8, "Test:scheduler");
+		assertEquals(8, scheduler.limit());
+
+		RateGovernor governor = RateGovernor.get("Test:scheduler", 0, 0);
+		governor.onRateLimited(60_000);
+		assertEquals(1, scheduler.limit());
+
+		RateGovernor.reset();
+		RateGovernor.get("Test:scheduler", 0, 0).onRateLimited(1);
+		assertTrue(waitForPause(RateGovernor.find("Test:scheduler")));
+		assertEquals(4, scheduler.limit());
+	}
+
+	private boolean waitForPause(RateGovernor governor) {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (governor.getPauseMillis() > 0) {
+			if (System.currentTimeMillis() > deadline) {
+				return false;
+			}
+			Thread.yield();
+		}
+		return true;
+	}
+
+	private File file(String name, int size) throws IOException {
+		File file = tempDir.resolve(name).toFile();
+		Files.createDirectories(file.getParentFile().toPath());
+		Files.write(file.toPath(), StringUtils.repeat('x', size).getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
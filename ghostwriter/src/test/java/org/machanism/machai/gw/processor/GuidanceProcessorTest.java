@@ -2,19 +2,25 @@ package org.machanism.machai.gw.processor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.machanism.macha.core.commons.configurator.PropertiesConfigurator;
 import org.machanism.machai.gw.reviewer.Reviewer;
+import org.machanism.machai.project.layout.DefaultProjectLayout;
+import org.machanism.machai.project.layout.ProjectLayout;
 
 class GuidanceProcessorTest {
 
@@ -134,4 +140,72 @@ class GuidanceProcessorTest {
 
 		assertEquals("GUIDANCE", p.parseFile(tempDir.toFile(), file));
 	}
+
+	@Test
+	void processFile_whenUnchangedSinceLastRun_thenSkippedOnlyInIncrementalMode() throws Exception {
+		File file = tempDir.resolve("App.java").toFile();
+		String guidance = "// " + GuidanceProcessor.GUIDANCE_TAG_NAME + " document the class\n";
+		writeText(file, guidance + "class App {}\n");
+		List<String> calls = new ArrayList<>();
+		GuidanceProcessor p = new GuidanceProcessor(tempDir.toFile(), "Any:Model", new PropertiesConfigurator()) {
+			@Override
+			protected String process(ProjectLayout projectLayout, File processed, String instructions,
+					String... prompts) {
+				calls.add(processed.getName());
+				// The provider rewrites the file it processes.
+				writeText(processed, guidance + "/** Application. */\nclass App {}\n");
+				return null;
+			}
+		};
+		ProjectLayout layout = new DefaultProjectLayout().projectDir(tempDir.toFile());
+
+		p.processFile(layout, file);
+		p.processFile(layout, file);
+		assertEquals(2, calls.size());
+
+		p.setIncremental(true);
+		p.processFile(layout, file);
+		assertEquals(2, calls.size());
+
+		p.saveManifest();
+		assertTrue(p.getManifest().getFile().isFile());
+
+		GuidanceProcessor next = new GuidanceProcessor(tempDir.toFile(), "Other:Model", new PropertiesConfigurator()) {
+			@Override
+			protected String process(ProjectLayout projectLayout, File processed, String instructions,
+					String... prompts) {
+				calls.add(processed.getName());
+				return null;
+			}
+		};
+		next.setIncremental(true);
+		next.processFile(layout, file);
+		assertEquals(3, calls.size());
+	}
+
+	@Test
+	void getManifestKey_whenProcessInfoOrIncludedPromptChanges_thenKeyChanges() throws Exception {
+		File file = tempDir.resolve("App.java").toFile();
+		File prompt = tempDir.resolve("prompt.md").toFile();
+		writeText(file, "class App {}\n");
+		writeText(prompt, "Document every class.");
+		GuidanceProcessor p = new GuidanceProcessor(tempDir.toFile(), "Any:Model", new PropertiesConfigurator());
+		p.setDefaultPrompt(AIFileProcessor.FILE_INCLUDED_MARKER + " file://prompt.md");
+		String key = p.getManifestKey(tempDir.toFile(), file, "{\"mode\":\"a\"}", null);
+
+		assertNotEquals(key, p.getManifestKey(tempDir.toFile(), file, "{\"mode\":\"b\"}", null));
+
+		writeText(prompt, "Document every method.");
+		GuidanceProcessor next = new GuidanceProcessor(tempDir.toFile(), "Any:Model", new PropertiesConfigurator());
+		next.setDefaultPrompt(AIFileProcessor.FILE_INCLUDED_MARKER + " file://prompt.md");
+		assertNotEquals(key, next.getManifestKey(tempDir.toFile(), file, "{\"mode\":\"a\"}", null));
+	}
+
+	private static void writeText(File file, String text) {
+		try {
+			Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
 }
@@ -0,0 +1,100 @@
+package org.machanism.machai.gw.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ModuleExecutorTest {
+
+	@Test
+	void run_whenModulesDependOnEachOther_thenDependenciesFinishFirst() throws IOException {
+		Map<String, Set<String>> dependencies = new HashMap<>();
+		dependencies.put("app", new HashSet<>(Arrays.asList("core", "api")));
+		dependencies.put("api", Collections.singleton("core"));
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+		new ModuleExecutor(3).run(Arrays.asList("app", "api", "core", "docs"), dependencies, order::add);
+
+		assertEquals(4, order.size());
+		assertTrue(order.indexOf("core") < order.indexOf("api"));
+		assertTrue(order.indexOf("api") < order.indexOf("app"));
+	}
+
+	@Test
+	void run_whenBatchesAreNested_thenThreadBudgetIsShared() throws IOException {
+		ModuleExecutor executor = new ModuleExecutor(2);
+		Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+		List<String> leaves = Collections.synchronizedList(new ArrayList<>());
+
+		executor.run(Arrays.asList("a", "b", "c"), Collections.emptyMap(),
+				parent -> executor.run(Arrays.asList("1", "2", "3"), Collections.emptyMap(), child -> {
+					threads.add(Thread.currentThread());
+					leaves.add(parent + child);
+				}));
+
+		assertEquals(9, leaves.size());
+		assertTrue(threads.size() <= 2, "threads: " + threads);
+	}
+
+	@Test
+	void run_whenModuleFails_thenDependentsAreSkippedAndFailureRethrown() {
+		IOException failure = new IOException("boom");
+		List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+		IOException thrown = assertThrows(IOException.class,
+				() -> new ModuleExecutor(2).run(Arrays.asList("core", "app"),
+						Collections.singletonMap("app", Collections.singleton("core")), module -> {
+							processed.add(module);
+							throw failure;
+						}));
+
+		assertSame(failure, thrown);
+		assertEquals(Collections.singletonList("core"), processed);
+	}
+
+	@Test
+	void run_whenDependenciesFormCycle_thenAllModulesRun() throws IOException {
+		Map<String, Set<String>> dependencies = new HashMap<>();
+		dependencies.put("a", Collections.singleton("b"));
+		dependencies.put("b", Collections.singleton("a"));
+		List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+		new ModuleExecutor(2).run(Arrays.asList("a", "b"), dependencies, processed::add);
+
+		assertEquals(new HashSet<>(Arrays.asList("a", "b")), new HashSet<>(processed));
+	}
+
+	@Test
+	void run_whenModuleDependsOnCycle_thenCycleRunsInDeclarationOrderAndDependentWaits() throws IOException {
+		Map<String, Set<String>> dependencies = new HashMap<>();
+		dependencies.put("app", Collections.singleton("a"));
+		dependencies.put("a", Collections.singleton("b"));
+		dependencies.put("b", Collections.singleton("a"));
+		List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+		new ModuleExecutor(3).run(Arrays.asList("app", "a", "b"), dependencies, module -> {
+			events.add("start:" + module);
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			events.add("end:" + module);
+		});
+
+		assertEquals(Arrays.asList("start:a", "end:a", "start:b", "end:b", "start:app", "end:app"), events);
+	}
+}
@@ -0,0 +1,81 @@
+package org.machanism.machai.gw.processor;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.jupiter.api.Test;
+
+class PathFilterTest {
+
+	@Test
+	void compile_whenNoPatterns_thenEmpty() {
+		assertSame(PathFilter.EMPTY, PathFilter.compile(null));
+		assertSame(PathFilter.EMPTY, PathFilter.compile(new String[] { null }));
+		assertFalse(PathFilter.EMPTY.matches(Paths.get("a")));
+	}
+
+	@Test
+	void matches_whenGlobsAreMerged_thenEachGlobKeepsItsMeaning() {
+		PathFilter filter = PathFilter.compile(new String[] { "glob:**/*.java", "GLOB:target/**", "glob:*.md" });
+
+		assertTrue(filter.matches(Paths.get("src/A.java")));
+		assertFalse(filter.matches(Paths.get("A.java")));
+		assertTrue(filter.matches(Paths.get("target/classes/A.class")));
+		assertFalse(filter.matches(Paths.get("target")));
+		assertTrue(filter.matches(Paths.get("README.md")));
+		assertFalse(filter.matches(Paths.get("docs/README.md")));
+	}
+
+	@Test
+	void matches_whenGlobHasGroup_thenMatchedOnItsOwn() {
+		PathFilter filter = PathFilter.compile(new String[] { "glob:*.{txt,log}", "glob:*.md" });
+
+		assertTrue(filter.matches(Paths.get("a.log")));
+		assertTrue(filter.matches(Paths.get("a.md")));
+		assertFalse(filter.matches(Paths.get("a.java")));
+	}
+
+	@Test
+	void matches_whenRegexesAreMerged_thenAlternativesStayIndependent() {
+		PathFilter filter = PathFilter.compile(new String[] { "regex:a|b", "regex:(?i)c\\.txt", "regex:(x)\\1" });
+
+		assertTrue(filter.matches(Paths.get("a")));
+		assertTrue(filter.matches(Paths.get("b")));
+		assertFalse(filter.matches(Paths.get("ab")));
+		assertTrue(filter.matches(Paths.get("C.TXT")));
+		assertTrue(filter.matches(Paths.get("xx")));
+		assertFalse(filter.matches(Paths.get("c.TXTb")));
+	}
+
+	@Test
+	void matches_whenRegexesDefineSameGroupName_thenEachIsMatchedOnItsOwn() {
+		PathFilter filter = PathFilter.compile(
+				new String[] { "regex:(?<ext>.*\\.java)", "regex:(?<ext>.*\\.md)", "regex:(?<=a)b|c" });
+
+		assertTrue(filter.matches(Paths.get("A.java")));
+		assertTrue(filter.matches(Paths.get("README.md")));
+		assertTrue(filter.matches(Paths.get("c")));
+		assertFalse(filter.matches(Paths.get("A.txt")));
+	}
+
+	@Test
+	void matches_whenPlainEntry_thenMatchesPathOrFileName() {
+		PathFilter filter = PathFilter.compile(new String[] { "src/gen", "node_modules" });
+
+		assertTrue(filter.matches(Paths.get("src/gen")));
+		assertTrue(filter.matches(Paths.get("web/node_modules")));
+		assertFalse(filter.matches(Paths.get("src/gen/A.java")));
+		assertFalse(filter.matches(null));
+	}
+
+	@Test
+	void compile_whenExpressionIsInvalid_thenThrows() {
+		String[] patterns = { "regex:(" };
+		assertThrows(PatternSyntaxException.class, () -> PathFilter.compile(patterns));
+	}
+}
@@ -0,0 +1,94 @@
+package org.machanism.machai.gw.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.machanism.machai.gw.processor.ProcessingManifest.Outcome;
+
+class ProcessingManifestTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void key_whenContentOrInputChanges_thenKeyChanges() throws IOException {
+		File file = write("a.txt", "content");
+		String key = ProcessingManifest.key(file, "instructions", null);
+
+		assertEquals(key, ProcessingManifest.key(file, "instructions", null));
+		assertNotEquals(key, ProcessingManifest.key(file, "instructions", ""));
+		assertNotEquals(key, ProcessingManifest.key(file, "instruction", "s"));
+
+		write("a.txt", "changed");
+		assertNotEquals(key, ProcessingManifest.key(file, "instructions", null));
+	}
+
+	@Test
+	void save_whenLoadedAgain_thenOnlySuccessfulEntriesAreUpToDate() throws IOException {
+		write("a.txt", "a");
+		write("b.txt", "b");
+		ProcessingManifest manifest = ProcessingManifest.load(tempDir.toFile());
+		manifest.record("a.txt", "k1", Outcome.PROCESSED);
+		manifest.record("b.txt", "k2", Outcome.FAILED);
+		manifest.save();
+
+		ProcessingManifest loaded = ProcessingManifest.load(tempDir.toFile());
+
+		assertTrue(loaded.isUpToDate("a.txt", "k1"));
+		assertFalse(loaded.isUpToDate("a.txt", "other"));
+		assertFalse(loaded.isUpToDate("b.txt", "k2"));
+	}
+
+	@Test
+	void prune_whenFileWasDeleted_thenEntryIsDropped() throws IOException {
+		File file = write("a.txt", "a");
+		ProcessingManifest manifest = ProcessingManifest.load(tempDir.toFile());
+		manifest.record("a.txt", "k1", Outcome.PROCESSED);
+		manifest.save();
+		Files.delete(file.toPath());
+		manifest.prune();
+		manifest.save();
+
+		write("a.txt", "a");
+		assertFalse(ProcessingManifest.load(tempDir.toFile()).isUpToDate("a.txt", "k1"));
+	}
+
+	@Test
+	void checkpoint_whenIntervalHasNotPassed_thenDoesNotWrite() throws IOException {
+		write("a.txt", "a");
+		ProcessingManifest manifest = ProcessingManifest.load(tempDir.toFile());
+		manifest.record("a.txt", "k1", Outcome.PROCESSED);
+
+		manifest.checkpoint();
+
+		assertFalse(manifest.getFile().exists());
+		manifest.save();
+		assertTrue(ProcessingManifest.load(tempDir.toFile()).isUpToDate("a.txt", "k1"));
+	}
+
+	@Test
+	void load_whenManifestIsCorrupt_thenStartsEmpty() throws IOException {
+		ProcessingManifest manifest = ProcessingManifest.load(tempDir.toFile());
+		File file = manifest.getFile();
+		Files.createDirectories(file.getParentFile().toPath());
+		Files.write(file.toPath(), "{not json".getBytes(StandardCharsets.UTF_8));
+
+		assertFalse(ProcessingManifest.load(tempDir.toFile()).isUpToDate("a.txt", "k1"));
+	}
+
+	private File write(String name, String content) throws IOException {
+		File file = tempDir.resolve(name).toFile();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
@@ -45,7 +46,7 @@ class ProcessorAdditionalCoverageTest {
         processor.setPath(scanPath.toFile());
 
         // Act
-        processor.setPathMatcher(AbstractFileProcessor.getPatternPath("glob:**/*.java"));
+        processor.setPathMatcher(FileSystems.getDefault().getPathMatcher("glob:**/*.java"));
 
         // Assert
         assertEquals(3, getThreads(processor));
@@ -108,7 +109,7 @@ class ProcessorAdditionalCoverageTest {
         assertFalse(processor.match(file, projectDir));
         processor.setPath(file);
         assertTrue(processor.match(file, projectDir));
-        processor.setPathMatcher(AbstractFileProcessor.getPatternPath("glob:**/*.txt"));
+        processor.setPathMatcher(FileSystems.getDefault().getPathMatcher("glob:**/*.txt"));
         processor.setPath(tempDir.resolve("other").toFile());
         assertFalse(processor.match(file, projectDir));
     }
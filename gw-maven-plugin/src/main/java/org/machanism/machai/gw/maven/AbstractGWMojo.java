@@ -140,6 +140,12 @@ public abstract class AbstractGWMojo extends AbstractMojo {
 	@Parameter(property = GWConstants.EXCLUDES_PROP_NAME, name = "excludes")
 	protected String[] excludes;
 
+	/**
+	 * Skips files unchanged since the last successful run.
+	 */
+	@Parameter(property = GWConstants.INCREMENTAL_PROP_NAME, defaultValue = "false")
+	protected boolean incremental;
+
 	/**
 	 * The current Maven project.
 	 */
@@ -267,8 +273,8 @@ public abstract class AbstractGWMojo extends AbstractMojo {
 	 * Configures and executes document scanning for the current project context.
 	 *
 	 * <p>
-	 * This method applies configured excludes, optional instructions, input
-	 * logging, and scan directory selection before invoking
+	 * This method applies configured excludes, incremental mode, optional instructions,
+	 * input logging, and scan directory selection before invoking
 	 * {@link GuidanceProcessor#scanDocuments(File, String)}. When a Maven project
 	 * is present in the request, class-related helper tools are also registered
 	 * with the processor.
@@ -285,6 +291,7 @@ public abstract class AbstractGWMojo extends AbstractMojo {
 		}
 
 		processor.setExcludes(excludes);
+		processor.setIncremental(incremental);
 
 		try {
 			if (instructions != null) {
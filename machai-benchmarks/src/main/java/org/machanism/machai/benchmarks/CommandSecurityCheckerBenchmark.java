@@ -0,0 +1,71 @@
+package org.machanism.machai.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.machanism.macha.core.commons.configurator.PropertiesConfigurator;
+import org.machanism.machai.gw.tools.CommandSecurityChecker;
+import org.machanism.machai.gw.tools.DenyException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures deny-list checks of {@link CommandSecurityChecker} over a long log of
+ * generated shell commands, a part of which is denied.
+ *
+ * @since 1.3.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandSecurityCheckerBenchmark {
+
+	/** Number of commands in the log. */
+	@Param({ "1000", "10000" })
+	public int commands;
+
+	private CommandSecurityChecker checker;
+	private List<String> log;
+
+	/**
+	 * Loads the default deny list and generates the command log.
+	 *
+	 * @throws IOException if the deny list cannot be read
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		checker = new CommandSecurityChecker(new PropertiesConfigurator());
+		log = Fixtures.commandLog(commands, Fixtures.SEED);
+	}
+
+	/**
+	 * Checks every command of the log.
+	 *
+	 * @return number of denied commands
+	 */
+	@Benchmark
+	public int checkLog() {
+		int denied = 0;
+		for (String command : log) {
+			try {
+				checker.denyCheck(command);
+			} catch (DenyException e) {
+				denied++;
+			}
+		}
+		return denied;
+	}
+}
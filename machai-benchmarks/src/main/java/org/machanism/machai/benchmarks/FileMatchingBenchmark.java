@@ -0,0 +1,152 @@
+package org.machanism.machai.benchmarks;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.machanism.macha.core.commons.configurator.PropertiesConfigurator;
+import org.machanism.machai.gw.processor.GuidanceProcessor;
+import org.machanism.machai.project.layout.DefaultProjectLayout;
+import org.machanism.machai.project.layout.ProjectLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the file scan and the path matching of the Ghostwriter file
+ * processors on a generated multi-module repository. The scan runs through the
+ * public {@code processFolder} entry point of a processor that collects the
+ * listed files instead of processing them. Every scan also checks a fixed set of
+ * exclude patterns.
+ *
+ * @since 1.3.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileMatchingBenchmark {
+
+	/** Number of modules of the generated repository. */
+	@Param({ "5", "50" })
+	public int modules;
+
+	/** Path matcher applied to every scanned file. */
+	@Param({ "glob:**/*.java", "regex:.*/m1/.*\\.java" })
+	public String pattern;
+
+	/** Exclude patterns checked for every scanned entry. */
+	private static final String[] EXCLUDES = { "glob:**/*.tmp", "glob:**/generated/**", "glob:*.log",
+			"regex:.*/build/.*", "regex:.*\\.bak", "node_modules", "dist", ".cache" };
+
+	private File root;
+	private List<File> files;
+	private List<Path> relativePaths;
+	private ProjectLayout layout;
+	private ListingProcessor processor;
+
+	/**
+	 * Generates the repository and the processor.
+	 */
+	@Setup
+	public void setUp() {
+		root = Fixtures.tempDir("scan");
+		files = Fixtures.repository(root, modules, 40, Fixtures.SEED);
+		layout = new DefaultProjectLayout().projectDir(root);
+		processor = new ListingProcessor(root);
+		processor.setPathMatcher(FileSystems.getDefault().getPathMatcher(pattern));
+		processor.setExcludes(EXCLUDES);
+		relativePaths = new ArrayList<>(files.size());
+		for (File file : files) {
+			relativePaths.add(new File(ProjectLayout.getRelativePath(root, file)).toPath());
+		}
+	}
+
+	/**
+	 * Removes the repository.
+	 */
+	@TearDown
+	public void tearDown() {
+		Fixtures.delete(root);
+	}
+
+	/**
+	 * Lists all files of the repository, skipping excluded directories.
+	 *
+	 * @return the listed files
+	 */
+	@Benchmark
+	public List<File> listFiles() {
+		processor.processFolder(layout);
+		return processor.listed;
+	}
+
+	/**
+	 * Checks every generated file against the exclude patterns.
+	 *
+	 * @return number of excluded files
+	 */
+	@Benchmark
+	public int exclude() {
+		int excluded = 0;
+		for (Path path : relativePaths) {
+			if (processor.shouldExcludePath(path)) {
+				excluded++;
+			}
+		}
+		return excluded;
+	}
+
+	/**
+	 * Matches every generated file against the path matcher.
+	 *
+	 * @return number of matching files
+	 */
+	@Benchmark
+	public int match() {
+		int matched = 0;
+		for (File file : files) {
+			if (processor.matches(file, root)) {
+				matched++;
+			}
+		}
+		return matched;
+	}
+
+	/**
+	 * Guidance processor that keeps the files listed by
+	 * {@code processFolder} instead of sending them to a provider.
+	 */
+	private static final class ListingProcessor extends GuidanceProcessor {
+
+		/** Files listed by the last scan. */
+		private List<File> listed;
+
+		private ListingProcessor(File root) {
+			super(root, null, new PropertiesConfigurator());
+		}
+
+		@Override
+		protected void processFiles(ProjectLayout projectLayout, List<File> files) {
+			listed = files;
+		}
+
+		private boolean matches(File file, File projectDir) {
+			return match(file, projectDir);
+		}
+	}
+}
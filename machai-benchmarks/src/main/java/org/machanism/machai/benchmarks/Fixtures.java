@@ -0,0 +1,396 @@
+package org.machanism.machai.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic generators for benchmark inputs.
+ *
+ * <p>All generators take a seed or produce a fixed layout, so the same call returns
+ * the same fixture on every commit. Files are written to temporary directories that
+ * the benchmarks remove with {@link #delete(File)} in their tear-down.</p>
+ *
+ * @since 1.3.3
+ */
+public final class Fixtures {
+
+	/** Seed used by benchmarks that do not vary it. */
+	public static final long SEED = 20240917L;
+
+	/** The guidance tag recognized by the reviewers. */
+	private static final String GUIDANCE_TAG = "@" + "guidance:";
+
+	/** Words used to build identifiers and prose. */
+	private static final String[] WORDS = { "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf",
+			"hotel", "india", "juliet", "kilo", "lima", "mike", "november", "oscar", "papa", "quebec", "romeo",
+			"sierra", "tango", "uniform", "victor", "whiskey", "xray", "yankee", "zulu" };
+
+	/** Command templates for generated command logs; {@code %s} is replaced by a word. */
+	private static final String[] COMMANDS = { "mvn -B -q -pl %s test -Dtest=%sTest",
+			"git status --porcelain", "git diff --stat HEAD~1 -- src/main/java/%s",
+			"ls -la src/main/java/org/example/%s", "grep -rn \"%s\" src/main/java | head -50",
+			"find . -name \"*.java\" -path \"*%s*\" -newer pom.xml",
+			"cat target/surefire-reports/%s.txt | tail -n 200", "java -jar target/%s.jar --help",
+			"npm run build -- --scope %s", "python3 scripts/%s.py --check",
+			"curl -s http://localhost:8080/api/%s | jq '.items[] | .id'",
+			"sed -n '1,120p' src/main/resources/%s.properties", "rm -rf /", "sudo systemctl restart %s",
+			"chmod -R 777 /etc/%s", "git push --force origin %s" };
+
+	private Fixtures() {
+		// Utility class.
+	}
+
+	/**
+	 * Creates a temporary directory for a benchmark fixture.
+	 *
+	 * @param prefix directory name prefix
+	 * @return the created directory
+	 */
+	public static File tempDir(String prefix) {
+		try {
+			return Files.createTempDirectory("machai-bench-" + prefix).toFile();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Recursively deletes a fixture directory.
+	 *
+	 * @param dir directory to delete; ignored when {@code null} or missing
+	 */
+	public static void delete(File dir) {
+		if (dir == null || !dir.exists()) {
+			return;
+		}
+		try {
+			Files.walkFileTree(dir.toPath(), new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+					Files.delete(file);
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult postVisitDirectory(Path directory, IOException exc) throws IOException {
+					Files.delete(directory);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Generates a synthetic multi-module repository.
+	 *
+	 * <p>Each module has a {@code pom.xml}, a {@code README.md}, Java sources spread
+	 * over a few packages and build output under {@code target} that scanners must
+	 * skip. Every fifth source file carries a guidance comment.</p>
+	 *
+	 * @param root           directory to populate
+	 * @param modules        number of modules
+	 * @param filesPerModule number of Java sources per module
+	 * @param seed           random seed
+	 * @return list of all generated source and documentation files
+	 */
+	public static List<File> repository(File root, int modules, int filesPerModule, long seed) {
+		Random random = new Random(seed);
+		List<File> files = new ArrayList<>();
+		write(new File(root, "pom.xml"), pom("root", 0, 0, random));
+		for (int m = 0; m < modules; m++) {
+			String module = "module-" + m;
+			File moduleDir = new File(root, module);
+			write(new File(moduleDir, "pom.xml"), pom(module, 5, 5, random));
+			File readme = new File(moduleDir, "README.md");
+			write(readme, markdown(40, m % 2 == 0, random));
+			files.add(readme);
+			for (int f = 0; f < filesPerModule; f++) {
+				String pkg = "org/example/m" + m + "/" + WORDS[f % 7];
+				String name = capitalize(word(random)) + f;
+				File source = new File(moduleDir, "src/main/java/" + pkg + "/" + name + ".java");
+				write(source, javaSource(pkg.replace('/', '.'), name, 60, f % 5 == 0, random));
+				files.add(source);
+				write(new File(moduleDir, "target/classes/" + pkg + "/" + name + ".class"), "cafebabe");
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * Generates the lines of a source file. All lines are distinct so patch hunks
+	 * have exactly one matching position.
+	 *
+	 * @param count number of lines
+	 * @param seed  random seed
+	 * @return generated lines
+	 */
+	public static List<String> sourceLines(int count, long seed) {
+		Random random = new Random(seed);
+		List<String> lines = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			lines.add("\t\tresult" + i + " = " + word(random) + "(" + i + ", \"" + word(random) + "\");");
+		}
+		return lines;
+	}
+
+	/**
+	 * Generates a unified diff that replaces one line in each of {@code hunks}
+	 * evenly spaced places of {@code lines}, with three lines of context on each
+	 * side.
+	 *
+	 * @param lines the file content the patch applies to
+	 * @param hunks number of hunks; at most {@code lines.size() / 8}
+	 * @param drift offset added to the line numbers in the hunk headers, which makes
+	 *              the applier search for the context instead of finding it at the
+	 *              stated position
+	 * @return patch lines
+	 * @throws IllegalArgumentException if the file is too short for the requested
+	 *                                  number of hunks
+	 */
+	public static List<String> patch(List<String> lines, int hunks, int drift) {
+		int step = hunks > 0 ? lines.size() / hunks : 0;
+		if (hunks <= 0 || step < 8) {
+			throw new IllegalArgumentException("Cannot place " + hunks + " hunks in " + lines.size() + " lines.");
+		}
+		List<String> patch = new ArrayList<>();
+		patch.add("--- a/Generated.java");
+		patch.add("+++ b/Generated.java");
+		for (int h = 0; h < hunks; h++) {
+			int start = h * step;
+			int changed = start + 3;
+			int header = start + 1 + drift;
+			patch.add("@@ -" + header + ",7 +" + header + ",7 @@");
+			for (int i = start; i < changed; i++) {
+				patch.add(" " + lines.get(i));
+			}
+			patch.add("-" + lines.get(changed));
+			patch.add("+" + lines.get(changed).replace("result", "patched"));
+			for (int i = changed + 1; i <= changed + 3; i++) {
+				patch.add(" " + lines.get(i));
+			}
+		}
+		return patch;
+	}
+
+	/**
+	 * Generates a log of shell commands of the kind agents run, including a small
+	 * share of commands on the deny list.
+	 *
+	 * @param count number of commands
+	 * @param seed  random seed
+	 * @return generated commands
+	 */
+	public static List<String> commandLog(int count, long seed) {
+		Random random = new Random(seed);
+		List<String> commands = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String template = COMMANDS[random.nextInt(COMMANDS.length)];
+			String word = word(random);
+			String command = template.replace("%s", word);
+			if (random.nextInt(4) == 0) {
+				command = command + " && " + COMMANDS[random.nextInt(5)].replace("%s", word(random));
+			}
+			commands.add(command);
+		}
+		return commands;
+	}
+
+	/**
+	 * Generates distinct tool names.
+	 *
+	 * @param count number of names
+	 * @return generated names
+	 */
+	public static List<String> toolNames(int count) {
+		List<String> names = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			names.add(WORDS[i % WORDS.length] + "_tool_" + i);
+		}
+		return Collections.unmodifiableList(names);
+	}
+
+	/**
+	 * Generates a Bindex document with {@code features} features, shaped like the
+	 * records returned by the {@code get_bindex} tool.
+	 *
+	 * @param features number of features
+	 * @param seed     random seed
+	 * @return generated document
+	 */
+	public static Map<String, Object> bindex(int features, long seed) {
+		Random random = new Random(seed);
+		Map<String, Object> coordinates = new LinkedHashMap<>();
+		coordinates.put("group", "org.example");
+		coordinates.put("artifactId", word(random));
+		coordinates.put("version", "1.0.0");
+		Map<String, Object> location = new LinkedHashMap<>();
+		location.put("repositoryType", "Maven");
+		location.put("coordinates", coordinates);
+		Map<String, Object> language = new LinkedHashMap<>();
+		language.put("name", "Java");
+		language.put("version", "8");
+		Map<String, Object> classification = new LinkedHashMap<>();
+		classification.put("type", "library");
+		classification.put("domains", Collections.singletonList(word(random)));
+		classification.put("languages", Collections.singletonList(language));
+		Map<String, Object> author = new LinkedHashMap<>();
+		author.put("name", capitalize(word(random)));
+
+		List<Map<String, Object>> featureList = new ArrayList<>(features);
+		for (int i = 0; i < features; i++) {
+			Map<String, Object> example = new LinkedHashMap<>();
+			example.put("snippet", word(random) + "." + word(random) + "();");
+			example.put("description", sentence(6, random));
+			Map<String, Object> feature = new LinkedHashMap<>();
+			feature.put("name", capitalize(word(random)) + i);
+			feature.put("package", "org.example." + word(random));
+			feature.put("signature", "public void " + word(random) + i + "()");
+			feature.put("description", sentence(12, random));
+			feature.put("examples", Collections.singletonList(example));
+			featureList.add(feature);
+		}
+
+		Map<String, Object> bindex = new LinkedHashMap<>();
+		bindex.put("id", "org.example:" + coordinates.get("artifactId") + ":1.0.0");
+		bindex.put("name", "org.example:" + coordinates.get("artifactId"));
+		bindex.put("version", "1.0.0");
+		bindex.put("location", location);
+		bindex.put("description", sentence(40, random));
+		bindex.put("authors", Collections.singletonList(author));
+		bindex.put("license", "Apache-2.0");
+		bindex.put("classification", classification);
+		bindex.put("constructors", Collections.emptyList());
+		bindex.put("features", featureList);
+		return bindex;
+	}
+
+	/**
+	 * Generates a Maven POM.
+	 *
+	 * @param artifactId   artifact id of the project
+	 * @param properties   number of properties
+	 * @param dependencies number of dependencies
+	 * @param random       random source
+	 * @return POM document
+	 */
+	public static String pom(String artifactId, int properties, int dependencies, Random random) {
+		StringBuilder pom = new StringBuilder();
+		pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+				.append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+				.append("\t<modelVersion>4.0.0</modelVersion>\n")
+				.append("\t<groupId>org.example</groupId>\n")
+				.append("\t<artifactId>").append(artifactId).append("</artifactId>\n")
+				.append("\t<version>1.0.0</version>\n")
+				.append("\t<properties>\n");
+		for (int i = 0; i < properties; i++) {
+			String key = word(random) + '.' + i;
+			pom.append("\t\t<").append(key).append('>').append(word(random)).append("</").append(key).append(">\n");
+		}
+		pom.append("\t</properties>\n\t<dependencies>\n");
+		for (int i = 0; i < dependencies; i++) {
+			pom.append("\t\t<dependency>\n")
+					.append("\t\t\t<groupId>org.example.").append(word(random)).append("</groupId>\n")
+					.append("\t\t\t<artifactId>").append(word(random)).append('-').append(i).append("</artifactId>\n")
+					.append("\t\t\t<version>").append(1 + random.nextInt(9)).append('.').append(random.nextInt(20))
+					.append("</version>\n")
+					.append("\t\t</dependency>\n");
+		}
+		pom.append("\t</dependencies>\n</project>\n");
+		return pom.toString();
+	}
+
+	/**
+	 * Generates a Java source file.
+	 *
+	 * @param pkg      package name
+	 * @param name     class name
+	 * @param methods  number of methods
+	 * @param guidance whether to add a guidance comment
+	 * @param random   random source
+	 * @return source text
+	 */
+	public static String javaSource(String pkg, String name, int methods, boolean guidance, Random random) {
+		StringBuilder source = new StringBuilder();
+		source.append("package ").append(pkg).append(";\n\n");
+		source.append("/**\n * ").append(sentence(12, random)).append("\n */\n");
+		source.append("public class ").append(name).append(" {\n");
+		for (int i = 0; i < methods; i++) {
+			source.append("\n\t/** ").append(sentence(8, random)).append(" */\n");
+			source.append("\tpublic int ").append(word(random)).append(i).append("(int value) {\n");
+			source.append("\t\treturn value * ").append(random.nextInt(100)).append(";\n\t}\n");
+		}
+		if (guidance) {
+			source.append("\n\t// ").append(GUIDANCE_TAG).append(' ').append(sentence(10, random)).append('\n');
+		}
+		source.append("}\n");
+		return source.toString();
+	}
+
+	/**
+	 * Generates a Markdown document.
+	 *
+	 * @param paragraphs number of paragraphs
+	 * @param guidance   whether to add a guidance comment
+	 * @param random     random source
+	 * @return document text
+	 */
+	public static String markdown(int paragraphs, boolean guidance, Random random) {
+		StringBuilder text = new StringBuilder("# ").append(capitalize(word(random))).append("\n\n");
+		for (int i = 0; i < paragraphs; i++) {
+			if (i % 10 == 0) {
+				text.append("## ").append(sentence(3, random)).append("\n\n");
+			}
+			text.append(sentence(40, random)).append("\n\n");
+		}
+		if (guidance) {
+			text.append("<!-- ").append(GUIDANCE_TAG).append(' ').append(sentence(10, random)).append(" -->\n");
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Writes a fixture file, creating its parent directories.
+	 *
+	 * @param file target file
+	 * @param text content
+	 */
+	public static void write(File file, String text) {
+		try {
+			Files.createDirectories(file.getParentFile().toPath());
+			Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static String sentence(int words, Random random) {
+		StringBuilder sentence = new StringBuilder(capitalize(word(random)));
+		for (int i = 1; i < words; i++) {
+			sentence.append(' ').append(word(random));
+		}
+		return sentence.append('.').toString();
+	}
+
+	private static String word(Random random) {
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+
+	private static String capitalize(String word) {
+		return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+	}
+}
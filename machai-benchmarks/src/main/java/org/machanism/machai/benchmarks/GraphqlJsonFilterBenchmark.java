@@ -0,0 +1,98 @@
+package org.machanism.machai.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.machanism.macha.core.commons.configurator.PropertiesConfigurator;
+import org.machanism.machai.bindex.ai.tools.BindexFunctionTools;
+import org.machanism.machai.schema.Bindex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures projection of Bindex records onto GraphQL selections through the
+ * public {@code get_bindex} tool. The record is read from a local
+ * {@code file://} descriptor; {@link #read()} measures the read alone, so the
+ * difference to {@link #filter()} is the cost of the projection.
+ *
+ * @since 1.3.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphqlJsonFilterBenchmark {
+
+	/** Selection of identity fields, languages and the name and signature of every feature. */
+	private static final String QUERY = "{ id name version classification { languages { name } } "
+			+ "features { name signature } }";
+
+	/** Number of features of the filtered record. */
+	@Param({ "20", "1000" })
+	public int features;
+
+	private File dir;
+	private String id;
+	private PropertiesConfigurator configurator;
+	private BindexFunctionTools tools;
+
+	/**
+	 * Writes the record to a temporary descriptor.
+	 *
+	 * @throws IOException if the descriptor cannot be written
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		dir = Fixtures.tempDir("bindex");
+		File file = new File(dir, "bindex.json");
+		new ObjectMapper().writeValue(file, Fixtures.bindex(features, Fixtures.SEED));
+		id = "file://" + file.getAbsolutePath();
+		configurator = new PropertiesConfigurator();
+		tools = new BindexFunctionTools();
+	}
+
+	/**
+	 * Removes the descriptor.
+	 */
+	@TearDown
+	public void tearDown() {
+		Fixtures.delete(dir);
+	}
+
+	/**
+	 * Reads the record without a selection.
+	 *
+	 * @return the complete record
+	 * @throws IOException if the descriptor cannot be read
+	 */
+	@Benchmark
+	public Bindex read() throws IOException {
+		return tools.getBindex(id, null, dir, configurator);
+	}
+
+	/**
+	 * Reads the record and projects it onto the selection.
+	 *
+	 * @return the projected record
+	 * @throws IOException if the descriptor cannot be read
+	 */
+	@Benchmark
+	public Bindex filter() throws IOException {
+		return tools.getBindex(id, QUERY, dir, configurator);
+	}
+}
@@ -0,0 +1,101 @@
+package org.machanism.machai.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.machanism.machai.gw.tools.PatchApplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link PatchApplier#applyPatch(File, List, java.nio.charset.Charset)}
+ * on large files with many hunks.
+ *
+ * <p>A {@code drift} other than zero shifts the hunk headers away from the real
+ * context, which exercises the context search instead of the direct hit. The file is
+ * restored before every invocation because the applier rewrites it.</p>
+ *
+ * @since 1.3.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatchApplierBenchmark {
+
+	/** Number of lines of the patched file. */
+	@Param({ "2000", "20000" })
+	public int lines;
+
+	/** Number of hunks in the patch. */
+	@Param({ "10", "200" })
+	public int hunks;
+
+	/** Offset between the hunk headers and the real position of the context. */
+	@Param({ "0", "40" })
+	public int drift;
+
+	private File dir;
+	private File file;
+	private byte[] original;
+	private List<String> patch;
+
+	/**
+	 * Generates the file and the patch.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		List<String> content = Fixtures.sourceLines(lines, Fixtures.SEED);
+		patch = Fixtures.patch(content, hunks, drift);
+		original = (String.join("\n", content) + "\n").getBytes(StandardCharsets.UTF_8);
+		dir = Fixtures.tempDir("patch");
+		file = new File(dir, "Generated.java");
+	}
+
+	/**
+	 * Restores the unpatched file.
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	@Setup(Level.Invocation)
+	public void restore() throws IOException {
+		Files.write(file.toPath(), original);
+	}
+
+	/**
+	 * Removes the fixture directory.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		Fixtures.delete(dir);
+	}
+
+	/**
+	 * Applies the patch.
+	 *
+	 * @return the patched file
+	 * @throws IOException if the patch does not apply
+	 */
+	@Benchmark
+	public File applyPatch() throws IOException {
+		PatchApplier.applyPatch(file, patch, StandardCharsets.UTF_8);
+		return file;
+	}
+}
@@ -0,0 +1,72 @@
+package org.machanism.machai.benchmarks;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Model;
+import org.machanism.machai.project.layout.PomReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link PomReader#getProjectModel(File)} on generated POMs of growing
+ * size.
+ *
+ * @since 1.3.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PomReaderBenchmark {
+
+	/** Number of dependencies and of properties in the POM. */
+	@Param({ "10", "500" })
+	public int entries;
+
+	private File dir;
+	private File pom;
+	private PomReader reader;
+
+	/**
+	 * Writes the POM.
+	 */
+	@Setup
+	public void setUp() {
+		dir = Fixtures.tempDir("pom");
+		pom = new File(dir, "pom.xml");
+		Fixtures.write(pom, Fixtures.pom("benchmark", entries, entries, new Random(Fixtures.SEED)));
+		reader = new PomReader();
+	}
+
+	/**
+	 * Removes the fixture directory.
+	 */
+	@TearDown
+	public void tearDown() {
+		Fixtures.delete(dir);
+	}
+
+	/**
+	 * Reads the project model.
+	 *
+	 * @return the model
+	 */
+	@Benchmark
+	public Model read() {
+		return reader.getProjectModel(pom);
+	}
+}
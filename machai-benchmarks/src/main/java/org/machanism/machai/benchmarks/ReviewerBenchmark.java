@@ -0,0 +1,86 @@
+package org.machanism.machai.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.machanism.machai.gw.reviewer.JavaReviewer;
+import org.machanism.machai.gw.reviewer.MarkdownReviewer;
+import org.machanism.machai.gw.reviewer.Reviewer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures guidance detection by the Java and Markdown reviewers on large files,
+ * with the guidance tag at the end of the file or missing.
+ *
+ * @since 1.3.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReviewerBenchmark {
+
+	/** Reviewed file type. */
+	@Param({ "java", "md" })
+	public String type;
+
+	/** Whether the file carries a guidance tag. */
+	@Param({ "true", "false" })
+	public boolean guidance;
+
+	private File dir;
+	private File file;
+	private Reviewer reviewer;
+
+	/**
+	 * Writes the reviewed file.
+	 */
+	@Setup
+	public void setUp() {
+		dir = Fixtures.tempDir("review");
+		Random random = new Random(Fixtures.SEED);
+		if ("java".equals(type)) {
+			file = new File(dir, "src/main/java/org/example/Large.java");
+			Fixtures.write(file, Fixtures.javaSource("org.example", "Large", 500, guidance, random));
+			reviewer = new JavaReviewer();
+		} else {
+			file = new File(dir, "README.md");
+			Fixtures.write(file, Fixtures.markdown(500, guidance, random));
+			reviewer = new MarkdownReviewer();
+		}
+	}
+
+	/**
+	 * Removes the fixture directory.
+	 */
+	@TearDown
+	public void tearDown() {
+		Fixtures.delete(dir);
+	}
+
+	/**
+	 * Reviews the file.
+	 *
+	 * @return the prompt fragment, or {@code null} without guidance
+	 * @throws IOException if the file cannot be read
+	 */
+	@Benchmark
+	public String review() throws IOException {
+		return reviewer.perform(dir, file);
+	}
+}
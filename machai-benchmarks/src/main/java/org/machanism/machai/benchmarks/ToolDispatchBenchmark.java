@@ -0,0 +1,132 @@
+package org.machanism.machai.benchmarks;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.machanism.macha.core.commons.configurator.PropertiesConfigurator;
+import org.machanism.machai.ai.provider.impl.SimulatedProvider;
+import org.machanism.machai.ai.tools.ToolFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Measures registration, lookup and guarded invocation of thousands of local tools
+ * on a provider, the path every model tool call takes.
+ *
+ * @since 1.3.3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolDispatchBenchmark {
+
+	/** Number of registered tools. */
+	@Param({ "100", "5000" })
+	public int tools;
+
+	private ToolHost host;
+	private List<String> names;
+	private JsonNode params;
+	private File projectDir;
+	private int next;
+
+	/**
+	 * Provider that exposes its protected tool dispatch to the benchmark.
+	 */
+	static final class ToolHost extends SimulatedProvider {
+
+		/**
+		 * Registers a tool.
+		 *
+		 * @param name     tool name
+		 * @param function tool implementation
+		 */
+		void register(String name, ToolFunction function) {
+			addTool(name, name, function);
+		}
+
+		/**
+		 * Looks up and invokes a tool the way a model tool call does.
+		 *
+		 * @param name       tool name
+		 * @param params     tool arguments
+		 * @param projectDir working directory of the call
+		 * @return tool result
+		 */
+		Object dispatch(String name, JsonNode params, File projectDir) {
+			return safelyInvokeTool(name, findTool(name), params, projectDir);
+		}
+	}
+
+	/**
+	 * Creates the provider and registers the tools.
+	 */
+	@Setup
+	public void setUp() {
+		names = Fixtures.toolNames(tools);
+		host = newHost();
+		ObjectNode node = new ObjectMapper().createObjectNode();
+		node.put("path", "src/main/java/org/example/Main.java");
+		node.put("limit", 200);
+		params = node;
+		projectDir = Fixtures.tempDir("tools");
+	}
+
+	/**
+	 * Removes the working directory.
+	 */
+	@TearDown
+	public void tearDown() {
+		Fixtures.delete(projectDir);
+	}
+
+	/**
+	 * Dispatches one call, cycling through all registered tools.
+	 *
+	 * @return tool result
+	 */
+	@Benchmark
+	public Object dispatch() {
+		String name = names.get(next);
+		next = (next + 1) % names.size();
+		return host.dispatch(name, params, projectDir);
+	}
+
+	/**
+	 * Creates a provider and registers all tools on it.
+	 *
+	 * @return the provider
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public Object registerAll() {
+		return newHost();
+	}
+
+	private ToolHost newHost() {
+		ToolHost provider = new ToolHost();
+		provider.init("benchmark", new PropertiesConfigurator());
+		for (String name : names) {
+			provider.register(name, (arguments, context) -> arguments.path("path").asText());
+		}
+		return provider;
+	}
+}
@@ -0,0 +1,19 @@
+/**
+ * JMH microbenchmarks for the hot paths of the Machai modules.
+ *
+ * <p>Every benchmark builds its input with {@link org.machanism.machai.benchmarks.Fixtures}
+ * from a fixed seed, so two runs on different commits measure the same work.
+ * Benchmarks use only the public API of the modules under test and live in this
+ * package, so no package is split across modules.</p>
+ *
+ * <p>Run all benchmarks and write a JSON report to
+ * {@code machai-benchmarks/target/jmh-result.json} with:</p>
+ * <pre>
+ * mvn -pl machai-benchmarks -am package -Pbenchmark
+ * </pre>
+ * <p>Use {@code -Dbenchmark.include=<regex>} to select benchmarks and
+ * {@code -Dbenchmark.report=<file>} to keep reports of several commits side by side.</p>
+ *
+ * @since 1.3.3
+ */
+package org.machanism.machai.benchmarks;
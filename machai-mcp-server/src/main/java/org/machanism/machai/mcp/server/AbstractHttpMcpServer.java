@@ -17,7 +17,10 @@ import jakarta.servlet.http.HttpServlet;
  * This class provides the foundational logic for starting and configuring an
  * HTTP server using Jetty, including thread pool management, port
  * configuration, and servlet transport provider setup. Subclasses should
- * provide specific servlet implementations for handling MCP requests.
+ * provide specific servlet implementations for handling MCP requests. When a
+ * metrics path is set, a {@link MetricsServlet} is mounted under
+ * {@link #getMetricsPath()} next to the transport provider; the endpoint is
+ * not authenticated and is off by default.
  * </p>
  *
  * @author Viktor Tovstyi
@@ -30,11 +33,28 @@ public abstract class AbstractHttpMcpServer extends AbstractMcpServer {
 	 */
 	private final Logger log = LoggerFactory.getLogger(AbstractHttpMcpServer.class);
 
+	/**
+	 * Conventional servlet path of the Prometheus metrics endpoint, for use with
+	 * {@link #setMetricsPath(String)}.
+	 */
+	public static final String DEFAULT_METRICS_PATH = "/metrics";
+
+	/**
+	 * Configuration property holding the servlet path of the metrics endpoint;
+	 * the endpoint is disabled when it is not set.
+	 */
+	public static final String METRICS_PATH_PROP_NAME = "metricsPath";
+
 	/**
 	 * The port number on which the HTTP server will listen.
 	 */
 	private int port;
 
+	/**
+	 * The servlet path of the metrics endpoint, or {@code null} if disabled.
+	 */
+	private String metricsPath;
+
 	/**
 	 * The HTTP servlet that acts as the transport provider for handling requests.
 	 */
@@ -65,6 +85,25 @@ public abstract class AbstractHttpMcpServer extends AbstractMcpServer {
 		this.port = port;
 	}
 
+	/**
+	 * Returns the servlet path of the Prometheus metrics endpoint. The endpoint
+	 * is disabled unless a path is set.
+	 *
+	 * @return the metrics path, or {@code null} if the endpoint is disabled
+	 */
+	public String getMetricsPath() {
+		return metricsPath;
+	}
+
+	/**
+	 * Sets the servlet path of the Prometheus metrics endpoint.
+	 *
+	 * @param metricsPath the metrics path, or {@code null} to disable the endpoint
+	 */
+	public void setMetricsPath(String metricsPath) {
+		this.metricsPath = metricsPath;
+	}
+
 	/**
 	 * Starts the MCP HTTP server with the configured port and transport provider.
 	 * <p>
@@ -91,6 +130,9 @@ public abstract class AbstractHttpMcpServer extends AbstractMcpServer {
 
 		ServletContextHandler context = new ServletContextHandler();
 		context.setContextPath("/");
+		if (getMetricsPath() != null) {
+			context.addServlet(new ServletHolder(new MetricsServlet()), getMetricsPath());
+		}
 		context.addServlet(new ServletHolder(getTransportProvider()), "/*");
 
 		server.setHandler(context);
@@ -124,6 +124,7 @@ public class McpServer {
 
 			Integer port = cmd.getParsedOptionValue("p");
 			mcpHttpServer.setPort(port);
+			mcpHttpServer.setMetricsPath(config.get(AbstractHttpMcpServer.METRICS_PATH_PROP_NAME, null));
 			mcpServer = mcpHttpServer;
 
 		} else {
@@ -0,0 +1,44 @@
+package org.machanism.machai.mcp.server;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.machanism.machai.ai.manager.PrometheusExporter;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet that serves the GenAI usage, request latency and tool call metrics
+ * in the Prometheus text format.
+ * <p>
+ * {@link AbstractHttpMcpServer} mounts it only when a metrics path is
+ * configured, for example {@value AbstractHttpMcpServer#DEFAULT_METRICS_PATH}
+ * through {@link AbstractHttpMcpServer#setMetricsPath(String)}, so a Prometheus
+ * server can scrape a running HTTP MCP server directly. The servlet performs
+ * no authentication.
+ * </p>
+ *
+ * @since 1.3.3
+ */
+public class MetricsServlet extends HttpServlet {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Writes the current metrics.
+	 *
+	 * @param request  the HTTP request
+	 * @param response the HTTP response
+	 * @throws IOException if the response cannot be written
+	 */
+	@Override
+	protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setContentType(PrometheusExporter.CONTENT_TYPE);
+		PrintWriter writer = response.getWriter();
+		PrometheusExporter.write(writer);
+		writer.flush();
+	}
+}
@@ -43,7 +43,10 @@
  * <p>
  * {@link AbstractMcpServer} supplies the common server contract, Machai server
  * metadata, and project-directory configuration. HTTP implementations inherit
- * Jetty connector and servlet setup from {@link AbstractHttpMcpServer}. The
+ * Jetty connector and servlet setup from {@link AbstractHttpMcpServer}, which
+ * can also mount {@link MetricsServlet} to publish GenAI usage and latency
+ * metrics in the Prometheus text format when a metrics path such as
+ * {@code /metrics} is configured; it is off by default. The
  * transport adapters ({@link StdioGenaiAdapter},
  * {@link HttpStatelessGenericGenaiAdapter}, and
  * {@link HttpStreamableGenericGenaiAdapter}) specialize tool specifications for
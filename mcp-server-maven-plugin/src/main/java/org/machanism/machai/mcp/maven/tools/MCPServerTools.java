@@ -39,7 +39,7 @@ public class MCPServerTools implements FunctionTools {
 	 *                 is 0)
 	 * @return a message indicating that the shutdown has been initiated
 	 */
-	@Tool(name = "stop_mcp_server", description = "Immediately initiates shutdown of the MCP server with the specified exit code. "
+	@Tool(name = "stop_mcp_server", concurrent = false, description = "Immediately initiates shutdown of the MCP server with the specified exit code. "
 			+ "Use this tool to safely stop the server. The default exit code is 0 (normal termination).")
 	public String stopMcpServer(
 			@Param(name = "exit_code", description = "Optional. The exit code to use when stopping the server. "
@@ -1,10 +1,20 @@
 package org.machanism.machai.project.layout;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -12,6 +22,7 @@ import org.gradle.tooling.GradleConnector;
 import org.gradle.tooling.ProjectConnection;
 import org.gradle.tooling.model.DomainObjectSet;
 import org.gradle.tooling.model.GradleProject;
+import org.gradle.tooling.model.UnsupportedMethodException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,7 +34,7 @@ import org.slf4j.LoggerFactory;
  * information:
  * </p>
  * <ul>
- *   <li>module names (based on the Gradle project children)</li>
+ *   <li>module names (based on the Gradle project children) and the project dependencies between them</li>
  *   <li>conventional source roots (defaults to {@code src/main})</li>
  *   <li>conventional test roots (defaults to {@code src/test})</li>
  *   <li>documentation inputs (defaults to {@code src/site})</li>
@@ -46,6 +57,10 @@ public class GradleProjectLayout extends ProjectLayout {
 
 	/** Logger used when the Gradle model cannot be loaded. */
 	private static final Logger logger = LoggerFactory.getLogger(GradleProjectLayout.class);
+	/** Project dependency notation, such as {@code project(':core')} or {@code project(path: ':core')}. */
+	private static final Pattern PROJECT_REFERENCE = Pattern
+			.compile("project\\s*\\(\\s*(?:path\\s*[:=]\\s*)?['\"]([^'\"]+)['\"]");
+
 	/** Conventional Gradle build descriptor used for project detection. */
 	private static final String PROJECT_MODEL_FILE_NAME = "build.gradle";
 
@@ -82,6 +97,74 @@ public class GradleProjectLayout extends ProjectLayout {
 		return children.getAll().stream().map(GradleProject::getName).collect(Collectors.toList());
 	}
 
+	/**
+	 * Returns the dependencies between the child projects of this build.
+	 * <p>
+	 * A child depends on a sibling when its build script references the sibling,
+	 * or a project nested in it, with {@code project(':path')}. Type-safe project
+	 * accessors are not recognized.
+	 * </p>
+	 *
+	 * @return module dependencies keyed by child project name
+	 */
+	@Override
+	public Map<String, Set<String>> getModuleDependencies() {
+		GradleProject gradleProject = getProject();
+		if (gradleProject == null) {
+			return Collections.emptyMap();
+		}
+
+		Map<String, Set<String>> result = new LinkedHashMap<>();
+		DomainObjectSet<? extends GradleProject> children = gradleProject.getChildren();
+		for (GradleProject child : children) {
+			Set<String> references = readProjectReferences(child);
+			Set<String> dependsOn = new LinkedHashSet<>();
+			for (GradleProject other : children) {
+				String path = other.getPath();
+				if (other != child && references.stream()
+						.anyMatch(reference -> reference.equals(path) || reference.startsWith(path + ":"))) {
+					dependsOn.add(other.getName());
+				}
+			}
+			if (!dependsOn.isEmpty()) {
+				result.put(child.getName(), dependsOn);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the absolute project paths referenced by the build script of a
+	 * project.
+	 *
+	 * @param gradleProject project whose build script is read
+	 * @return referenced project paths, such as {@code :core}
+	 */
+	private static Set<String> readProjectReferences(GradleProject gradleProject) {
+		Set<String> references = new HashSet<>();
+		File script;
+		try {
+			script = gradleProject.getBuildScript().getSourceFile();
+		} catch (UnsupportedMethodException e) {
+			return references;
+		}
+		if (script == null || !script.isFile()) {
+			return references;
+		}
+
+		try {
+			String content = new String(Files.readAllBytes(script.toPath()), StandardCharsets.UTF_8);
+			Matcher matcher = PROJECT_REFERENCE.matcher(content);
+			while (matcher.find()) {
+				String path = matcher.group(1);
+				references.add(path.startsWith(":") ? path : ":" + path);
+			}
+		} catch (IOException e) {
+			logger.warn("Build script {} could not be read: {}", script, e.getMessage());
+		}
+		return references;
+	}
+
 	/**
 	 * Loads (and caches) the Gradle project model for the configured project directory.
 	 *
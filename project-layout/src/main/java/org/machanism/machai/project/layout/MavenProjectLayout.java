@@ -2,8 +2,13 @@ package org.machanism.machai.project.layout;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -11,6 +16,8 @@ import org.apache.maven.model.Build;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
 import org.gradle.internal.impldep.javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A Maven-specific {@link ProjectLayout} implementation.
@@ -19,7 +26,8 @@ import org.gradle.internal.impldep.javax.annotation.Nullable;
  * determine:
  * </p>
  * <ul>
- * <li>modules for multi-module projects (when {@code packaging=pom})</li>
+ * <li>modules for multi-module projects (when {@code packaging=pom}) and the
+ * dependencies between them</li>
  * <li>source and resource directories</li>
  * <li>test source and resource directories</li>
  * <li>documentation inputs (defaults to <code>src/site</code>)</li>
@@ -37,6 +45,9 @@ public class MavenProjectLayout extends ProjectLayout {
 	public MavenProjectLayout() {
 	}
 
+	/** Logger used when module POMs cannot be read. */
+	private static final Logger logger = LoggerFactory.getLogger(MavenProjectLayout.class);
+
 	/** Conventional Maven project descriptor used for project detection. */
 	private static final String PROJECT_MODEL_FILE_NAME = "pom.xml";
 
@@ -74,6 +85,80 @@ public class MavenProjectLayout extends ProjectLayout {
 		return null;
 	}
 
+	/**
+	 * Returns the dependencies between the modules of this aggregator.
+	 * <p>
+	 * A module depends on a sibling module when one of the POMs in its subtree
+	 * declares a dependency on the {@code artifactId} of a POM in the sibling's
+	 * subtree. Module POMs that cannot be read contribute no dependencies.
+	 * </p>
+	 *
+	 * @return module dependencies keyed by module
+	 */
+	@Override
+	public Map<String, Set<String>> getModuleDependencies() {
+		List<String> modules = getModules();
+		if (modules == null || modules.isEmpty()) {
+			return Collections.emptyMap();
+		}
+
+		Map<String, Set<String>> artifactIds = new HashMap<>();
+		Map<String, Set<String>> dependencyIds = new HashMap<>();
+		for (String module : modules) {
+			Set<String> ids = new HashSet<>();
+			Set<String> uses = new HashSet<>();
+			collectArtifactIds(new File(getProjectDir(), module), ids, uses);
+			artifactIds.put(module, ids);
+			dependencyIds.put(module, uses);
+		}
+
+		Map<String, Set<String>> result = new LinkedHashMap<>();
+		for (String module : modules) {
+			Set<String> dependsOn = new LinkedHashSet<>();
+			for (String other : modules) {
+				if (!other.equals(module)
+						&& !Collections.disjoint(dependencyIds.get(module), artifactIds.get(other))) {
+					dependsOn.add(other);
+				}
+			}
+			if (!dependsOn.isEmpty()) {
+				result.put(module, dependsOn);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Collects the artifact ids of a module and its nested modules, and the
+	 * artifact ids of their dependencies.
+	 *
+	 * @param moduleDir module directory
+	 * @param ids       receives the artifact ids of the module subtree
+	 * @param uses      receives the dependency artifact ids of the module subtree
+	 */
+	private static void collectArtifactIds(File moduleDir, Set<String> ids, Set<String> uses) {
+		File pomFile = new File(moduleDir, PROJECT_MODEL_FILE_NAME);
+		if (!pomFile.isFile()) {
+			return;
+		}
+
+		Model moduleModel;
+		try {
+			moduleModel = new PomReader().getProjectModel(pomFile);
+		} catch (IllegalArgumentException e) {
+			logger.warn("Module dependencies of {} are ignored: {}", moduleDir, e.getMessage());
+			return;
+		}
+
+		ids.add(moduleModel.getArtifactId());
+		moduleModel.getDependencies().forEach(dependency -> uses.add(dependency.getArtifactId()));
+		if ("pom".equals(moduleModel.getPackaging())) {
+			for (String child : moduleModel.getModules()) {
+				collectArtifactIds(new File(moduleDir, child), ids, uses);
+			}
+		}
+	}
+
 	/**
 	 * Returns the parsed Maven model for the configured project directory.
 	 *
@@ -6,6 +6,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
@@ -105,6 +107,22 @@ public abstract class ProjectLayout {
 		return null;
 	}
 
+	/**
+	 * Returns the dependencies between the modules of {@link #getModules()}.
+	 * <p>
+	 * Each entry maps a module to the modules of the same list it depends on, so
+	 * callers can process a module after its dependencies, as the build tool's
+	 * reactor does. Modules without dependencies may be absent from the map.
+	 * </p>
+	 *
+	 * @return module dependencies keyed by module; empty when there are none or
+	 *         the layout cannot determine them
+	 * @since 1.3.3
+	 */
+	public Map<String, Set<String>> getModuleDependencies() {
+		return Collections.emptyMap();
+	}
+
 	/**
 	 * Computes a root-relative path for a file, based on the provided base path.
 	 *
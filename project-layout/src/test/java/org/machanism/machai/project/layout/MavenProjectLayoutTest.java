@@ -14,6 +14,7 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.maven.model.Build;
@@ -219,4 +220,31 @@ class MavenProjectLayoutTest {
 		// Assert
 		assertEquals("parent-artifact", parentId);
 	}
+
+	@Test
+	void getModuleDependencies_shouldLinkModulesThroughNestedArtifacts() throws IOException {
+		// Arrange
+		pom("app", "app", "jar", "<dependencies><dependency><groupId>g</groupId><artifactId>core-impl</artifactId>"
+				+ "<version>1</version></dependency></dependencies>");
+		pom("core", "core", "pom", "<modules><module>impl</module></modules>");
+		pom("core/impl", "core-impl", "jar", "");
+		pom("docs", "docs", "jar", "");
+		Model model = new Model();
+		model.setPackaging("pom");
+		model.setModules(Arrays.asList("app", "core", "docs"));
+		MavenProjectLayout layout = new MavenProjectLayout().projectDir(tempDir.toFile()).model(model);
+
+		// Act
+		Map<String, Set<String>> dependencies = layout.getModuleDependencies();
+
+		// Assert
+		assertEquals(Collections.singletonMap("app", Collections.singleton("core")), dependencies);
+	}
+
+	private void pom(String dir, String artifactId, String packaging, String body) throws IOException {
+		Path moduleDir = Files.createDirectories(tempDir.resolve(dir));
+		String pom = "<project><modelVersion>4.0.0</modelVersion><groupId>g</groupId><artifactId>" + artifactId
+				+ "</artifactId><version>1</version><packaging>" + packaging + "</packaging>" + body + "</project>";
+		Files.write(moduleDir.resolve("pom.xml"), pom.getBytes(StandardCharsets.UTF_8));
+	}
 }